@@ -0,0 +1,127 @@
+package com.project.demo.logic.entity.email;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el rendimiento de renderizar el correo de cuenta nueva para un grupo de destinatarios
+ * con la plantilla compilada, comparado con la concatenación de cadenas que se usaba antes.
+ * Ejecutar con {@code ./gradlew jmh}; agregar {@code -prof gc} en {@code jmh.profilers} para ver las asignaciones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private static final String LOGIN_URL = "https://edusmart.example.com/login";
+
+    @Param({"1", "40"})
+    private int recipients;
+
+    private EmailTemplateEngine engine;
+    private CompiledTemplate textTemplate;
+    private StringBuilder buffer;
+    private String[] names;
+    private String[] emails;
+    private String[] passwords;
+
+    /**
+     * Compila las plantillas y crea los destinatarios.
+     * @throws IOException si no se puede leer una plantilla
+     */
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        engine.init();
+        textTemplate = CompiledTemplate.compile("Hola {{name}},\n\n" +
+                "Tu cuenta ha sido creada con éxito. Aquí están tus credenciales:\n" +
+                "Correo: {{email}}\n" +
+                "Contraseña: {{password}}\n\n" +
+                "Por favor, cambia tu contraseña al iniciar sesión usando la dirección {{loginUrl}}.\n\n" +
+                "Saludos,\nEl equipo de EduSmart", EmailTemplate.NEW_ACCOUNT.getVariables(), false);
+        buffer = new StringBuilder(1024);
+        names = new String[recipients];
+        emails = new String[recipients];
+        passwords = new String[recipients];
+        for (int i = 0; i < recipients; i++) {
+            names[i] = "Estudiante " + i;
+            emails[i] = "estudiante" + i + "@escuela.com";
+            passwords[i] = "Tmp-" + Integer.toHexString(0x5f3759df * (i + 1));
+        }
+    }
+
+    /**
+     * Renderiza el cuerpo de texto con la concatenación anterior, como referencia.
+     * @return largo total de los cuerpos
+     */
+    @Benchmark
+    public int renderTextWithConcatenation() {
+        int length = 0;
+        for (int i = 0; i < recipients; i++) {
+            length += newAccountEmail(names[i], emails[i], passwords[i], LOGIN_URL).length();
+        }
+        return length;
+    }
+
+    /**
+     * Renderiza el cuerpo de texto con la plantilla compilada en un búfer reutilizado.
+     * @return largo total de los cuerpos
+     */
+    @Benchmark
+    public int renderTextWithCompiledTemplate() {
+        int length = 0;
+        for (int i = 0; i < recipients; i++) {
+            buffer.setLength(0);
+            textTemplate.renderTo(buffer, names[i], emails[i], passwords[i], LOGIN_URL);
+            length += buffer.toString().length();
+        }
+        return length;
+    }
+
+    /**
+     * Renderiza el correo completo con el motor: asunto, cuerpo de texto y cuerpo HTML escapado.
+     * @return largo total de los cuerpos
+     */
+    @Benchmark
+    public int renderMultipartWithEngine() {
+        int length = 0;
+        for (int i = 0; i < recipients; i++) {
+            EmailOutbox email = engine.render(EmailTemplate.NEW_ACCOUNT, emails[i],
+                    names[i], emails[i], passwords[i], LOGIN_URL);
+            length += email.getBody().length() + email.getHtmlBody().length();
+        }
+        return length;
+    }
+
+    /**
+     * Cuerpo del correo de cuenta nueva tal como se armaba antes de las plantillas compiladas.
+     * @param name nombre del usuario
+     * @param email correo del usuario
+     * @param password contraseña inicial
+     * @param loginUrl URL de inicio de sesión
+     * @return cuerpo del correo
+     */
+    private static String newAccountEmail(String name, String email, String password, String loginUrl) {
+        return "Hola " + name + ",\n\n" +
+                "Tu cuenta ha sido creada con éxito. Aquí están tus credenciales:\n" +
+                "Correo: " + email + "\n" +
+                "Contraseña: " + password + "\n\n" +
+                "Por favor, cambia tu contraseña al iniciar sesión usando la dirección " + loginUrl + ".\n\n" +
+                "Saludos,\nEl equipo de EduSmart";
+    }
+}
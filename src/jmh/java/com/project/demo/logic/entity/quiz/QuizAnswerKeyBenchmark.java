@@ -0,0 +1,114 @@
+package com.project.demo.logic.entity.quiz;
+
+import com.project.demo.logic.entity.option.OptionQuestionView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el rendimiento de calificar una entrega completa con la clave de respuestas empaquetada,
+ * comparado con un mapa de enteros con autoboxing.
+ * Ejecutar con {@code ./gradlew jmh}; agregar {@code -prof gc} en {@code jmh.profilers} para ver las asignaciones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizAnswerKeyBenchmark {
+
+    @Param({"20", "200"})
+    private int questions;
+
+    private QuizAnswerKey answerKey;
+    private Map<Integer, Integer> boxedAnswerKey;
+    private int[] questionIds;
+    private int[] selectedOptionIds;
+
+    /**
+     * Crea un cuestionario donde la pregunta {@code q} tiene como opción correcta {@code q * 10}
+     * y una entrega que acierta la mitad de las preguntas.
+     */
+    @Setup
+    public void setUp() {
+        List<OptionQuestionView> correctOptions = new ArrayList<>();
+        boxedAnswerKey = new HashMap<>();
+        questionIds = new int[questions];
+        selectedOptionIds = new int[questions];
+        for (int i = 0; i < questions; i++) {
+            int questionId = 1000 + i;
+            int optionId = questionId * 10;
+            correctOptions.add(view(optionId, questionId));
+            boxedAnswerKey.put(questionId, optionId);
+            questionIds[i] = questionId;
+            selectedOptionIds[i] = i % 2 == 0 ? optionId : optionId + 1;
+        }
+        answerKey = QuizAnswerKey.of(correctOptions);
+    }
+
+    /**
+     * Califica la entrega con la clave empaquetada.
+     * @return respuestas correctas
+     */
+    @Benchmark
+    public int gradeWithPackedKey() {
+        int correct = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            if (answerKey.isCorrect(questionIds[i], selectedOptionIds[i])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    /**
+     * Califica la entrega con un mapa de enteros con autoboxing, como referencia.
+     * @return respuestas correctas
+     */
+    @Benchmark
+    public int gradeWithBoxedMap() {
+        int correct = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            Integer correctOptionId = boxedAnswerKey.get(questionIds[i]);
+            if (correctOptionId != null && correctOptionId == selectedOptionIds[i]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    /**
+     * Crea el par de opción correcta y pregunta devuelto por el repositorio.
+     * @param optionId identificador de la opción
+     * @param questionId identificador de la pregunta
+     * @return par de opción y pregunta
+     */
+    private static OptionQuestionView view(int optionId, int questionId) {
+        return new OptionQuestionView() {
+            @Override
+            public Integer getId() {
+                return optionId;
+            }
+
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.demo.logic.entity.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.story.Story;
+import com.project.demo.logic.entity.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de serializar un listado de entregas como entidades completas (cuestionario con su historia
+ * y estudiante con rol y escuela) frente a la proyección {@link SubmissionSummaryView}.
+ * Con {@code -prof gc} la asignación por operación refleja además el tamaño del JSON de cada forma.
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmissionListingBenchmark {
+
+    @Param({"50"})
+    private int rows;
+
+    @Param({"20000"})
+    private int storyLength;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private List<Submission> entities;
+    private List<SubmissionSummaryView> summaries;
+
+    /**
+     * Crea entregas de un mismo cuestionario, cada una de un estudiante distinto.
+     */
+    @Setup
+    public void setUp() {
+        Course course = new Course();
+        course.setId(1);
+        course.setCode("LEN-1");
+        course.setTitle("Lectura");
+
+        Story story = new Story();
+        story.setId(1);
+        story.setTitle("El viaje");
+        story.setContent("a".repeat(storyLength));
+        story.setCourse(course);
+
+        Quiz quiz = new Quiz();
+        quiz.setId(1);
+        quiz.setTitle("Comprensión de lectura");
+        quiz.setDescription("Preguntas sobre la historia");
+        quiz.setStory(story);
+
+        Role role = new Role();
+        role.setId(1);
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+
+        School school = new School();
+        school.setId(1);
+        school.setName("Escuela Central");
+        school.setDomain("central.ed.cr");
+
+        entities = new ArrayList<>();
+        summaries = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            User student = new User();
+            student.setId((long) i);
+            student.setName("Estudiante " + i);
+            student.setLastname("Apellido");
+            student.setEmail("estudiante" + i + "@central.ed.cr");
+            student.setRole(role);
+            student.setSchool(school);
+
+            Submission submission = new Submission();
+            submission.setId(i);
+            submission.setSubmittedAt(LocalDateTime.of(2024, 5, 1, 10, 0));
+            submission.setScore(80);
+            submission.setCorrectCount(8);
+            submission.setAnswerCount(10);
+            submission.setQuiz(quiz);
+            submission.setStudent(student);
+            entities.add(submission);
+            summaries.add(new Summary(submission));
+        }
+    }
+
+    /**
+     * Serializa el listado de entidades completas, como lo hacía el endpoint sin proyección.
+     * @return JSON generado
+     * @throws Exception si falla la serialización
+     */
+    @Benchmark
+    public byte[] serializeEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    /**
+     * Serializa el listado de proyecciones.
+     * @return JSON generado
+     * @throws Exception si falla la serialización
+     */
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    /**
+     * Proyección construida en memoria con los mismos datos que devuelve la consulta JPQL.
+     */
+    public static final class Summary implements SubmissionSummaryView {
+        private final Submission submission;
+
+        Summary(Submission submission) {
+            this.submission = submission;
+        }
+
+        @Override
+        public Integer getId() {
+            return submission.getId();
+        }
+
+        @Override
+        public LocalDateTime getSubmittedAt() {
+            return submission.getSubmittedAt();
+        }
+
+        @Override
+        public double getScore() {
+            return submission.getScore();
+        }
+
+        @Override
+        public Integer getCorrectCount() {
+            return submission.getCorrectCount();
+        }
+
+        @Override
+        public Integer getAnswerCount() {
+            return submission.getAnswerCount();
+        }
+
+        @Override
+        public Integer getQuizId() {
+            return submission.getQuiz().getId();
+        }
+
+        @Override
+        public String getQuizTitle() {
+            return submission.getQuiz().getTitle();
+        }
+
+        @Override
+        public Long getStudentId() {
+            return submission.getStudent().getId();
+        }
+
+        @Override
+        public String getStudentName() {
+            return submission.getStudent().getName();
+        }
+
+        @Override
+        public String getStudentLastname() {
+            return submission.getStudent().getLastname();
+        }
+    }
+}
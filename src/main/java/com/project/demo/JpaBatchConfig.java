@@ -0,0 +1,28 @@
+package com.project.demo;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de inserciones y actualizaciones JDBC en lote para Hibernate.
+ * Los valores solo se aplican si no fueron definidos en las propiedades de la aplicación.
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Habilita el envío en lote y el ordenamiento de inserciones y actualizaciones.
+     * @return personalizador de propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchPropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", BATCH_SIZE);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -1,7 +1,13 @@
 package com.project.demo.logic.entity.answer;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +38,54 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
      * @return lista de respuestas
      */
     List<Answer> findByQuestionId(Integer questionId);
-}
\ No newline at end of file
+
+    /**
+     * Busca cuáles de las preguntas dadas ya tienen respuesta en una entrega.
+     * @param submissionId identificador de la entrega
+     * @param questionIds identificadores de las preguntas
+     * @return identificadores de las preguntas ya respondidas
+     */
+    @Query("SELECT a.question.id FROM Answer a WHERE a.submission.id = :submissionId AND a.question.id IN :questionIds")
+    List<Integer> findAnsweredQuestionIds(@Param("submissionId") Integer submissionId,
+                                          @Param("questionIds") Collection<Integer> questionIds);
+
+    /**
+     * Busca la pregunta y la opción seleccionada de cada respuesta de una entrega, sin cargar las entidades.
+     * @param submissionId identificador de la entrega
+     * @return pares de pregunta y opción seleccionada
+     */
+    @Query("SELECT a.question.id AS questionId, a.selectedOption.id AS selectedOptionId " +
+            "FROM Answer a WHERE a.submission.id = :submissionId")
+    List<AnswerSelectionView> findSelectionsBySubmissionId(@Param("submissionId") Integer submissionId);
+
+    /**
+     * Busca las respuestas de una entrega junto con su pregunta y opción seleccionada.
+     * @param submissionId identificador de la entrega
+     * @return lista de respuestas
+     */
+    @Query("SELECT a FROM Answer a JOIN FETCH a.question JOIN FETCH a.selectedOption WHERE a.submission.id = :submissionId")
+    List<Answer> findWithQuestionAndOptionBySubmissionId(@Param("submissionId") Integer submissionId);
+
+    /**
+     * Busca una página de respuestas de una entrega como proyección.
+     * @param submissionId identificador de la entrega
+     * @param pageable paginación
+     * @return página de respuestas ordenada por identificador
+     */
+    @Query(value = "SELECT a.id AS id, a.question.id AS questionId, a.selectedOption.id AS selectedOptionId " +
+            "FROM Answer a WHERE a.submission.id = :submissionId ORDER BY a.id",
+            countQuery = "SELECT COUNT(a) FROM Answer a WHERE a.submission.id = :submissionId")
+    Page<AnswerSummaryView> findSummariesBySubmissionId(@Param("submissionId") Integer submissionId, Pageable pageable);
+
+    /**
+     * Busca las respuestas de una entrega siguientes a un identificador (paginación por llave).
+     * @param submissionId identificador de la entrega
+     * @param afterId último identificador de la página anterior
+     * @param limit tamaño de página
+     * @return respuestas ordenadas por identificador
+     */
+    @Query("SELECT a.id AS id, a.question.id AS questionId, a.selectedOption.id AS selectedOptionId " +
+            "FROM Answer a WHERE a.submission.id = :submissionId AND a.id > :afterId ORDER BY a.id")
+    List<AnswerSummaryView> findSummariesBySubmissionIdAfter(@Param("submissionId") Integer submissionId,
+                                                             @Param("afterId") Long afterId, Limit limit);
+}
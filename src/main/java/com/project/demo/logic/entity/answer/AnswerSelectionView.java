@@ -0,0 +1,19 @@
+package com.project.demo.logic.entity.answer;
+
+/**
+ * Proyección con la pregunta de una respuesta y la opción que seleccionó el estudiante.
+ */
+public interface AnswerSelectionView {
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    Integer getQuestionId();
+
+    /**
+     * Obtiene el identificador de la opción seleccionada.
+     * @return id de la opción
+     */
+    Integer getSelectedOptionId();
+}
@@ -0,0 +1,147 @@
+package com.project.demo.logic.entity.answer;
+
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.option.OptionQuestionView;
+import com.project.demo.logic.entity.option.OptionRepository;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.question.QuestionRepository;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
+import com.project.demo.logic.request.AnswerRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para registrar respuestas de cuestionarios.
+ * Cada cambio de respuestas actualiza las estadísticas del cuestionario y la calificación de la entrega
+ * en la misma transacción, de modo que un fallo no deja contadores desfasados.
+ * Las respuestas en bloque se validan en memoria con un número fijo de consultas,
+ * sin importar cuántas preguntas tenga el cuestionario.
+ */
+@Service
+public class AnswerService {
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private SubmissionScoringService submissionScoringService;
+
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
+
+    /**
+     * Crea una respuesta, registra la selección en las estadísticas y vuelve a calificar la entrega.
+     * @param submission entrega
+     * @param question pregunta respondida
+     * @param option opción seleccionada
+     * @return respuesta creada
+     */
+    @Transactional
+    public Answer createAnswer(Submission submission, Question question, Option option) {
+        Answer answer = new Answer();
+        answer.setSubmission(submission);
+        answer.setQuestion(question);
+        answer.setSelectedOption(option);
+        Answer created = answerRepository.save(answer);
+        quizAnalyticsService.recordSelected(List.of(option.getId()));
+        submissionScoringService.score(submission);
+        return created;
+    }
+
+    /**
+     * Cambia la opción seleccionada de una respuesta, actualiza las estadísticas y vuelve a calificar la entrega.
+     * @param answer respuesta
+     * @param option opción seleccionada ahora
+     * @return respuesta actualizada
+     */
+    @Transactional
+    public Answer updateAnswer(Answer answer, Option option) {
+        int previousOptionId = answer.getSelectedOption().getId();
+        answer.setSelectedOption(option);
+        Answer updated = answerRepository.save(answer);
+        quizAnalyticsService.recordChanged(previousOptionId, option.getId());
+        submissionScoringService.score(answer.getSubmission());
+        return updated;
+    }
+
+    /**
+     * Elimina una respuesta, descuenta su selección de las estadísticas y vuelve a calificar la entrega.
+     * @param answer respuesta a eliminar
+     */
+    @Transactional
+    public void deleteAnswer(Answer answer) {
+        answerRepository.delete(answer);
+        quizAnalyticsService.recordUnselected(List.of(answer.getSelectedOption().getId()));
+        submissionScoringService.score(answer.getSubmission());
+    }
+
+    /**
+     * Crea en bloque las respuestas de una entrega en una sola transacción.
+     * Se omiten las respuestas cuya opción no existe o no pertenece a la pregunta indicada,
+     * y las preguntas que ya tienen respuesta en la entrega (o aparecen repetidas en la solicitud).
+     * Usa una consulta para las opciones, otra para las respuestas existentes y una inserción por lotes.
+     * Al terminar, actualiza las estadísticas del cuestionario y vuelve a calificar la entrega.
+     * @param submission entrega
+     * @param answerRequests respuestas a registrar
+     * @return respuestas creadas
+     */
+    @Transactional
+    public List<Answer> createBulkAnswers(Submission submission, List<AnswerRequest> answerRequests) {
+        Set<Integer> optionIds = answerRequests.stream()
+                .map(AnswerRequest::getOptionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (optionIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> questionIdByOptionId = optionRepository.findQuestionIdsByIdIn(optionIds).stream()
+                .collect(Collectors.toMap(OptionQuestionView::getId, OptionQuestionView::getQuestionId));
+        Set<Integer> questionIds = new HashSet<>(questionIdByOptionId.values());
+        if (questionIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> answeredQuestionIds = new HashSet<>(
+                answerRepository.findAnsweredQuestionIds(submission.getId(), questionIds));
+
+        List<Answer> answers = new ArrayList<>();
+        List<Integer> selectedOptionIds = new ArrayList<>();
+        for (AnswerRequest answerRequest : answerRequests) {
+            Integer questionId = answerRequest.getQuestionId();
+            if (questionId == null
+                    || !questionId.equals(questionIdByOptionId.get(answerRequest.getOptionId()))
+                    || !answeredQuestionIds.add(questionId)) {
+                continue;
+            }
+
+            Answer answer = new Answer();
+            answer.setSubmission(submission);
+            answer.setQuestion(questionRepository.getReferenceById(questionId));
+            answer.setSelectedOption(optionRepository.getReferenceById(answerRequest.getOptionId()));
+            answers.add(answer);
+            selectedOptionIds.add(answerRequest.getOptionId());
+        }
+
+        List<Answer> createdAnswers = answerRepository.saveAll(answers);
+        quizAnalyticsService.recordSelected(selectedOptionIds);
+        submissionScoringService.score(submission);
+        return createdAnswers;
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.demo.logic.entity.answer;
+
+/**
+ * Proyección de una respuesta para listados, con los identificadores de la pregunta y la opción seleccionada.
+ */
+public interface AnswerSummaryView {
+
+    /**
+     * Obtiene el identificador de la respuesta.
+     * @return id de la respuesta
+     */
+    Long getId();
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    Integer getQuestionId();
+
+    /**
+     * Obtiene el identificador de la opción seleccionada.
+     * @return id de la opción
+     */
+    Integer getSelectedOptionId();
+}
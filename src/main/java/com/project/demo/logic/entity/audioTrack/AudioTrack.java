@@ -10,7 +10,7 @@ import java.util.Date;
  * Representa una pista de audio asociada a una historia.
  * Incluye información como título, tipo de voz, URL y fecha de creación.
  */
-@Table(name = "audio_track")
+@Table(name = "audio_track", indexes = @Index(name = "idx_audio_track_content_hash", columnList = "content_hash"))
 @Entity
 public class AudioTrack {
     @Id
@@ -22,6 +22,12 @@ public class AudioTrack {
     private VoiceTypeEnum voiceType;
     private String url;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "synthesis_ms")
+    private Long synthesisMillis;
+
     @CreationTimestamp
     @Column(updatable = false, name = "created_at")
     private Date createdAt;
@@ -149,4 +155,36 @@ public class AudioTrack {
     public void setStory(Story story) {
         this.story = story;
     }
+
+    /**
+     * Obtiene el hash del texto y la configuración de voz con que se generó el audio.
+     * @return hash del contenido
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Establece el hash del texto y la configuración de voz con que se generó el audio.
+     * @param contentHash hash del contenido
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Obtiene el tiempo que tomó sintetizar el audio.
+     * @return tiempo de síntesis en milisegundos
+     */
+    public Long getSynthesisMillis() {
+        return synthesisMillis;
+    }
+
+    /**
+     * Establece el tiempo que tomó sintetizar el audio.
+     * @param synthesisMillis tiempo de síntesis en milisegundos
+     */
+    public void setSynthesisMillis(Long synthesisMillis) {
+        this.synthesisMillis = synthesisMillis;
+    }
 }
@@ -27,4 +27,18 @@ public interface AudioTrackRepository extends JpaRepository<AudioTrack, Long> {
      * @return pista de audio encontrada
      */
     AudioTrack findByStoryAndVoiceType(Story story, VoiceTypeEnum voiceTypeEnum);
+
+    /**
+     * Busca una pista con audio subido para el hash de contenido indicado, de cualquier historia.
+     * @param contentHash hash del texto, la voz y la configuración de audio
+     * @return pista encontrada, o null si ninguna tiene ese audio
+     */
+    AudioTrack findFirstByContentHashAndUrlNotNull(String contentHash);
+
+    /**
+     * Indica si alguna pista usa el audio con el hash de contenido indicado.
+     * @param contentHash hash del contenido
+     * @return verdadero si existe al menos una pista
+     */
+    boolean existsByContentHash(String contentHash);
 }
@@ -0,0 +1,115 @@
+package com.project.demo.logic.entity.audioTrack;
+
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Sintetiza fragmentos de texto en paralelo y escribe su audio en orden.
+ * Solo mantiene una ventana de {@code maxInFlight} fragmentos a la vez: el siguiente fragmento se envía
+ * cuando el más antiguo se escribió en la salida, por lo que la memoria usada no depende del largo del texto.
+ */
+final class ChunkedSynthesis {
+
+    /**
+     * Función que convierte un fragmento de texto en audio MP3.
+     */
+    @FunctionalInterface
+    interface ChunkSynthesizer {
+        /**
+         * Sintetiza un fragmento.
+         * @param chunk texto del fragmento
+         * @return audio MP3 del fragmento
+         * @throws IOException si falla la síntesis
+         */
+        ByteString synthesize(String chunk) throws IOException;
+    }
+
+    private static final int ID3_HEADER_SIZE = 10;
+
+    private ChunkedSynthesis() {
+    }
+
+    /**
+     * Sintetiza los fragmentos y concatena sus tramas MP3 en la salida, en el mismo orden que los fragmentos.
+     * Si un fragmento falla, se cancelan los pendientes.
+     * @param chunks fragmentos de texto
+     * @param synthesizer función de síntesis
+     * @param executor ejecutor de las llamadas
+     * @param maxInFlight máximo de fragmentos en curso o pendientes de escribir
+     * @param out salida del audio
+     * @return máximo de bytes de audio retenidos en memoria a la vez
+     * @throws IOException si falla la síntesis de algún fragmento o la escritura
+     */
+    static long synthesizeInOrder(List<String> chunks, ChunkSynthesizer synthesizer, ExecutorService executor,
+                                  int maxInFlight, OutputStream out) throws IOException {
+        Deque<Future<ByteString>> window = new ArrayDeque<>();
+        int next = 0;
+        long peakBufferedBytes = 0;
+        try {
+            for (int written = 0; written < chunks.size(); written++) {
+                while (next < chunks.size() && window.size() < maxInFlight) {
+                    String chunk = chunks.get(next++);
+                    window.addLast(executor.submit(() -> synthesizer.synthesize(chunk)));
+                }
+
+                ByteString audio = window.peekFirst().get();
+                peakBufferedBytes = Math.max(peakBufferedBytes, bufferedBytes(window));
+                window.removeFirst();
+                (written == 0 ? audio : stripId3(audio)).writeTo(out);
+            }
+            return peakBufferedBytes;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Error sintetizando un fragmento: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Síntesis interrumpida", e);
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Suma el tamaño del audio de los fragmentos ya sintetizados que aún no se escriben.
+     * @param window fragmentos en curso
+     * @return bytes retenidos
+     */
+    private static long bufferedBytes(Deque<Future<ByteString>> window) {
+        long total = 0;
+        for (Future<ByteString> future : window) {
+            if (future.state() == Future.State.SUCCESS) {
+                total += future.resultNow().size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Quita la etiqueta ID3v2 al inicio del audio, si existe, para poder concatenar las tramas MP3.
+     * @param audio audio MP3
+     * @return audio sin la etiqueta ID3v2
+     */
+    static ByteString stripId3(ByteString audio) {
+        if (audio.size() < ID3_HEADER_SIZE
+                || audio.byteAt(0) != 'I' || audio.byteAt(1) != 'D' || audio.byteAt(2) != '3') {
+            return audio;
+        }
+        int tagSize = (audio.byteAt(6) & 0x7F) << 21
+                | (audio.byteAt(7) & 0x7F) << 14
+                | (audio.byteAt(8) & 0x7F) << 7
+                | (audio.byteAt(9) & 0x7F);
+        boolean hasFooter = (audio.byteAt(5) & 0x10) != 0;
+        int end = ID3_HEADER_SIZE + tagSize + (hasFooter ? ID3_HEADER_SIZE : 0);
+        return end >= audio.size() ? ByteString.EMPTY : audio.substring(end);
+    }
+}
@@ -1,30 +1,97 @@
 package com.project.demo.logic.entity.audioTrack;
 
 
-import com.google.api.gax.core.FixedCredentialsProvider;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.google.api.gax.rpc.ApiException;
 import com.google.cloud.texttospeech.v1.*;
 import com.google.protobuf.ByteString;
+import com.project.demo.logic.entity.singleFlight.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio para convertir texto en audio utilizando Google Cloud Text-to-Speech.
+ * Usa el cliente compartido definido en {@link TextToSpeechConfig}, que se obtiene en la primera síntesis.
+ * Los textos que superan el límite de bytes por petición se dividen en fragmentos que se sintetizan
+ * en paralelo y se concatenan en orden.
  */
 @Service
 public class GoogleCloudTTSService {
 
     private static final Logger logger = LoggerFactory.getLogger(GoogleCloudTTSService.class);
 
-    @Value("${gcp.credentials.location}")
-    private Resource credentialsResource;
-
     private final static String LANGUAGE_CODE = "es-US";
+    private final static AudioConfig AUDIO_CONFIG = AudioConfig.newBuilder()
+            .setAudioEncoding(AudioEncoding.MP3)
+            .build();
+
+    @Value("${tts.chunk.max-bytes:4500}")
+    private int maxChunkBytes;
+
+    @Value("${tts.chunk.max-in-flight:4}")
+    private int maxChunksInFlight;
+
+    private final ObjectProvider<TextToSpeechClient> textToSpeechClient;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary synthesizedCharacters;
+    private final DistributionSummary chunksPerText;
+    private final DistributionSummary bufferedBytes;
+    private final Counter synthesisErrors;
+    private final SingleFlight<SynthesisKey, ByteString> inFlightSyntheses;
+    private final ExecutorService chunkExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tts-chunk-", 0).factory());
+
+    public GoogleCloudTTSService(ObjectProvider<TextToSpeechClient> textToSpeechClient, MeterRegistry meterRegistry) {
+        this.textToSpeechClient = textToSpeechClient;
+        this.meterRegistry = meterRegistry;
+        this.synthesizedCharacters = DistributionSummary.builder("tts.synthesis.characters")
+                .description("Caracteres enviados a Google Cloud TTS por llamada")
+                .baseUnit("characters")
+                .register(meterRegistry);
+        this.chunksPerText = DistributionSummary.builder("tts.synthesis.chunks")
+                .description("Fragmentos en que se divide cada texto")
+                .register(meterRegistry);
+        this.bufferedBytes = DistributionSummary.builder("tts.synthesis.buffered")
+                .description("Máximo de bytes de audio retenidos en memoria al concatenar fragmentos")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.inFlightSyntheses = new SingleFlight<>("tts", meterRegistry);
+        this.synthesisErrors = Counter.builder("tts.synthesis.errors")
+                .description("Llamadas fallidas a Google Cloud TTS")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene las síntesis de fragmentos en curso al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        chunkExecutor.shutdownNow();
+    }
 
     /**
      * Convierte un texto en un archivo MP3 usando Google Cloud TTS.
@@ -34,40 +101,176 @@ public class GoogleCloudTTSService {
      * @throws IOException si ocurre un error durante la conversión
      */
     public byte[] convertTextToMp3(String text, VoiceTypeEnum voiceType) throws IOException {
-        logger.info("Empezando la conversión de texto a MP3 con Google Cloud TTS");
-        GoogleCredentials credentials = GoogleCredentials.fromStream(credentialsResource.getInputStream());
+        List<String> chunks = TextChunker.split(text, maxChunkBytes);
+        if (chunks.size() == 1) {
+            chunksPerText.record(1);
+            return synthesizeChunk(chunks.get(0), voiceType).toByteArray();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeMp3(chunks, voiceType, out);
+        return out.toByteArray();
+    }
 
-        TextToSpeechSettings settings = TextToSpeechSettings.newBuilder()
-                .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
-                .build();
+    /**
+     * Convierte un texto en un archivo MP3 temporal, escribiendo cada fragmento en disco apenas se sintetiza.
+     * El llamador debe eliminar el archivo cuando ya no lo necesite.
+     * @param text texto a convertir
+     * @param voiceType tipo de voz a utilizar
+     * @return ruta del archivo MP3 temporal
+     * @throws IOException si ocurre un error durante la conversión o la escritura
+     */
+    public Path convertTextToMp3File(String text, VoiceTypeEnum voiceType) throws IOException {
+        Path file = Files.createTempFile("tts-", ".mp3");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writeTextAsMp3(text, voiceType, out);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
 
-        try (TextToSpeechClient textToSpeechClient = TextToSpeechClient.create(settings)) {
-            SynthesisInput input = SynthesisInput.newBuilder().setText(text).build();
+    /**
+     * Convierte un texto en MP3 y escribe el audio en la salida a medida que se sintetiza cada fragmento.
+     * @param text texto a convertir
+     * @param voiceType tipo de voz a utilizar
+     * @param out salida del audio
+     * @throws IOException si ocurre un error durante la conversión o la escritura
+     */
+    public void writeTextAsMp3(String text, VoiceTypeEnum voiceType, OutputStream out) throws IOException {
+        writeMp3(TextChunker.split(text, maxChunkBytes), voiceType, out);
+    }
 
-            VoiceSelectionParams.Builder voiceBuilder = VoiceSelectionParams.newBuilder()
-                    .setLanguageCode(LANGUAGE_CODE);
+    /**
+     * Sintetiza los fragmentos con un máximo de llamadas simultáneas y concatena el audio en orden.
+     * @param chunks fragmentos de texto
+     * @param voiceType tipo de voz a utilizar
+     * @param out salida del audio
+     * @throws IOException si ocurre un error durante la conversión o la escritura
+     */
+    private void writeMp3(List<String> chunks, VoiceTypeEnum voiceType, OutputStream out) throws IOException {
+        logger.info("Convirtiendo texto a MP3 en {} fragmentos", chunks.size());
+        chunksPerText.record(chunks.size());
+        long peak = ChunkedSynthesis.synthesizeInOrder(chunks, chunk -> synthesizeChunk(chunk, voiceType),
+                chunkExecutor, maxChunksInFlight, out);
+        bufferedBytes.record(peak);
+    }
 
-            if (voiceType.equals(VoiceTypeEnum.FEMALE)) {
-                voiceBuilder.setSsmlGender(SsmlVoiceGender.FEMALE);
-            } else if (voiceType.equals(VoiceTypeEnum.MALE)) {
-                voiceBuilder.setSsmlGender(SsmlVoiceGender.MALE);
-            } else {
-                voiceBuilder.setSsmlGender(SsmlVoiceGender.NEUTRAL);
+    /**
+     * Calcula la llave de contenido del audio: un hash SHA-256 del texto, la voz (incluido el idioma)
+     * y la configuración de audio. Dos llamadas con la misma llave producen el mismo audio.
+     * @param text texto a convertir
+     * @param voiceType tipo de voz a utilizar
+     * @return hash en hexadecimal
+     */
+    public String contentHash(String text, VoiceTypeEnum voiceType) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : List.of(text.getBytes(StandardCharsets.UTF_8),
+                    voiceParams(voiceType).toByteArray(), AUDIO_CONFIG.toByteArray())) {
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(part.length).array());
+                digest.update(part);
             }
-            VoiceSelectionParams voice = voiceBuilder.build();
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
 
-            AudioConfig audioConfig = AudioConfig.newBuilder()
-                    .setAudioEncoding(AudioEncoding.MP3)
-                    .build();
+    /**
+     * Construye los parámetros de voz para el tipo indicado.
+     * @param voiceType tipo de voz a utilizar
+     * @return parámetros de voz
+     */
+    private VoiceSelectionParams voiceParams(VoiceTypeEnum voiceType) {
+        VoiceSelectionParams.Builder voiceBuilder = VoiceSelectionParams.newBuilder()
+                .setLanguageCode(LANGUAGE_CODE);
 
-            SynthesizeSpeechResponse response = textToSpeechClient.synthesizeSpeech(input, voice, audioConfig);
+        if (voiceType.equals(VoiceTypeEnum.FEMALE)) {
+            voiceBuilder.setSsmlGender(SsmlVoiceGender.FEMALE);
+        } else if (voiceType.equals(VoiceTypeEnum.MALE)) {
+            voiceBuilder.setSsmlGender(SsmlVoiceGender.MALE);
+        } else {
+            voiceBuilder.setSsmlGender(SsmlVoiceGender.NEUTRAL);
+        }
+        return voiceBuilder.build();
+    }
+
+    /**
+     * Sintetiza un fragmento de texto que cabe en una sola petición.
+     * Las peticiones concurrentes con el mismo texto y voz comparten una sola llamada remota.
+     * @param text texto a convertir
+     * @param voiceType tipo de voz a utilizar
+     * @return audio MP3 del fragmento
+     * @throws IOException si ocurre un error durante la conversión
+     */
+    private ByteString synthesizeChunk(String text, VoiceTypeEnum voiceType) throws IOException {
+        try {
+            return inFlightSyntheses.execute(new SynthesisKey(text, voiceType), () -> requestSynthesis(text, voiceType));
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Conversión de texto a MP3 interrumpida", e);
+        } catch (Exception e) {
+            throw new IOException("Error durante la conversión de texto a MP3: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene el cliente compartido, creándolo en la primera llamada.
+     * @return cliente de Text-to-Speech
+     * @throws IOException si el cliente no se puede crear, por ejemplo porque faltan las credenciales
+     */
+    private TextToSpeechClient client() throws IOException {
+        try {
+            return textToSpeechClient.getObject();
+        } catch (BeansException e) {
+            synthesisErrors.increment();
+            Throwable cause = e.getMostSpecificCause();
+            logger.error("No se pudo crear el cliente de Google Cloud TTS: {}", cause.getMessage());
+            throw new IOException("No se pudo crear el cliente de Google Cloud TTS: " + cause.getMessage(), e);
+        }
+    }
+
+    /**
+     * Envía la petición de síntesis a Google Cloud TTS.
+     * @param text texto a convertir
+     * @param voiceType tipo de voz a utilizar
+     * @return audio MP3 del fragmento
+     * @throws IOException si ocurre un error durante la conversión
+     */
+    private ByteString requestSynthesis(String text, VoiceTypeEnum voiceType) throws IOException {
+        logger.info("Empezando la conversión de texto a MP3 con Google Cloud TTS");
+        SynthesisInput input = SynthesisInput.newBuilder().setText(text).build();
+
+        synthesizedCharacters.record(text.length());
+        long start = System.nanoTime();
+        try {
+            SynthesizeSpeechResponse response = client().synthesizeSpeech(input, voiceParams(voiceType), AUDIO_CONFIG);
 
             ByteString audioContents = response.getAudioContent();
             logger.info("Conversión de texto a MP3 completada exitosamente");
-            return audioContents.toByteArray();
-        } catch (IOException e) {
+            return audioContents;
+        } catch (ApiException e) {
+            synthesisErrors.increment();
             logger.error("Error durante la conversión de texto a MP3: {}", e.getMessage());
-            throw e;
+            throw new IOException("Error durante la conversión de texto a MP3: " + e.getMessage(), e);
+        } finally {
+            Timer.builder("tts.synthesis.latency")
+                    .description("Duración de las llamadas a Google Cloud TTS")
+                    .tag("voice", voiceType.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Llave de una petición de síntesis.
+     * @param text texto del fragmento
+     * @param voiceType tipo de voz
+     */
+    private record SynthesisKey(String text, VoiceTypeEnum voiceType) {
+    }
+}
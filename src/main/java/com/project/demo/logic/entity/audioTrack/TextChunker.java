@@ -0,0 +1,112 @@
+package com.project.demo.logic.entity.audioTrack;
+
+import java.nio.charset.StandardCharsets;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Divide un texto en fragmentos que no superan un tamaño máximo en bytes UTF-8.
+ * Corta preferentemente en límites de oración o párrafo; si una oración no cabe, corta entre palabras
+ * y, como último recurso, dentro de la palabra.
+ */
+final class TextChunker {
+
+    private static final Locale LOCALE = Locale.forLanguageTag("es");
+
+    private final int maxBytes;
+    private final List<String> chunks = new ArrayList<>();
+    private final StringBuilder current = new StringBuilder();
+    private int currentBytes;
+
+    private TextChunker(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Divide el texto en fragmentos de como máximo {@code maxBytes} bytes.
+     * @param text texto a dividir
+     * @param maxBytes tamaño máximo de cada fragmento en bytes UTF-8
+     * @return fragmentos en orden, sin espacios al inicio ni al final
+     */
+    static List<String> split(String text, int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de fragmento debe ser positivo");
+        }
+        TextChunker chunker = new TextChunker(maxBytes);
+        for (String sentence : segments(text, BreakIterator.getSentenceInstance(LOCALE))) {
+            if (utf8Length(sentence) <= maxBytes) {
+                chunker.append(sentence);
+                continue;
+            }
+            for (String word : segments(sentence, BreakIterator.getWordInstance(LOCALE))) {
+                if (utf8Length(word) <= maxBytes) {
+                    chunker.append(word);
+                } else {
+                    chunker.appendOversized(word);
+                }
+            }
+        }
+        chunker.flush();
+        return chunker.chunks;
+    }
+
+    /**
+     * Agrega un segmento al fragmento actual, cerrándolo antes si el segmento no cabe.
+     * @param segment segmento que cabe en un fragmento vacío
+     */
+    private void append(String segment) {
+        int bytes = utf8Length(segment);
+        if (currentBytes + bytes > maxBytes) {
+            flush();
+        }
+        current.append(segment);
+        currentBytes += bytes;
+    }
+
+    /**
+     * Agrega un segmento más grande que el máximo, cortándolo por caracteres.
+     * @param segment segmento a cortar
+     */
+    private void appendOversized(String segment) {
+        segment.codePoints().forEach(codePoint -> append(Character.toString(codePoint)));
+    }
+
+    /**
+     * Cierra el fragmento actual si contiene texto.
+     */
+    private void flush() {
+        String chunk = current.toString().strip();
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        current.setLength(0);
+        currentBytes = 0;
+    }
+
+    /**
+     * Separa el texto en segmentos según el iterador dado, conservando los espacios entre ellos.
+     * @param text texto a separar
+     * @param iterator iterador de oraciones o palabras
+     * @return segmentos en orden
+     */
+    private static List<String> segments(String text, BreakIterator iterator) {
+        List<String> segments = new ArrayList<>();
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            segments.add(text.substring(start, end));
+        }
+        return segments;
+    }
+
+    /**
+     * Calcula el tamaño en bytes UTF-8 de un texto.
+     * @param text texto
+     * @return cantidad de bytes
+     */
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
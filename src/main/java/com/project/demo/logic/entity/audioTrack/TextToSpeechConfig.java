@@ -0,0 +1,50 @@
+package com.project.demo.logic.entity.audioTrack;
+
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.texttospeech.v1.TextToSpeechClient;
+import com.google.cloud.texttospeech.v1.TextToSpeechSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Configuración para la integración con Google Cloud Text-to-Speech.
+ * Las credenciales se leen una sola vez y el cliente (y su canal gRPC) se comparte entre todas las peticiones.
+ * El cliente se crea en la primera síntesis y no al iniciar, para que la aplicación arranque sin credenciales.
+ */
+@Configuration
+public class TextToSpeechConfig {
+
+    @Value("${gcp.credentials.location}")
+    private Resource credentialsResource;
+
+    /**
+     * Crea el cliente de Text-to-Speech. Es seguro para uso concurrente y se cierra al detener la aplicación.
+     * @return instancia de TextToSpeechClient
+     * @throws IllegalStateException si no existe el archivo de credenciales
+     * @throws IOException si no se pueden leer las credenciales o crear el cliente
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public TextToSpeechClient textToSpeechClient() throws IOException {
+        if (!credentialsResource.exists()) {
+            throw new IllegalStateException("No se encontraron las credenciales de Google Cloud en "
+                    + credentialsResource.getDescription() + "; revise gcp.credentials.location");
+        }
+        GoogleCredentials credentials;
+        try (InputStream inputStream = credentialsResource.getInputStream()) {
+            credentials = GoogleCredentials.fromStream(inputStream);
+        }
+
+        TextToSpeechSettings settings = TextToSpeechSettings.newBuilder()
+                .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
+                .build();
+        return TextToSpeechClient.create(settings);
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.demo.logic.entity.auth;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +10,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,15 +26,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final HandlerExceptionResolver handlerExceptionResolver;
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
 
     public JwtAuthenticationFilter(
             JwtService jwtService,
-            UserDetailsService userDetailsService,
+            PrincipalCache principalCache,
+            TokenRevocationList tokenRevocationList,
             HandlerExceptionResolver handlerExceptionResolver
     ) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
         this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
@@ -61,14 +64,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+            final Claims claims = jwtService.extractVerifiedClaims(jwt);
+            final String userEmail = claims.getSubject();
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = resolvePrincipal(claims, userEmail);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -85,4 +89,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, exception);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el usuario autenticado del token.
+     * En modo sin estado se construye desde los claims sin consultar la base de datos,
+     * salvo que el token haya sido revocado; en otro caso se carga desde la caché de usuarios.
+     * @param claims claims verificados del token
+     * @param userEmail correo del usuario
+     * @return usuario autenticado, o null si el token fue revocado
+     */
+    private UserDetails resolvePrincipal(Claims claims, String userEmail) {
+        if (jwtService.isStatelessEnabled() && TokenPrincipal.hasPrincipalClaims(claims)) {
+            if (tokenRevocationList.isRevoked(userEmail, jwtService.extractIssuedAt(claims))) {
+                return null;
+            }
+            return TokenPrincipal.fromClaims(claims);
+        }
+        return this.principalCache.loadUserByUsername(userEmail);
+    }
+}
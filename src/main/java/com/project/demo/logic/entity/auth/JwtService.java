@@ -1,14 +1,25 @@
 package com.project.demo.logic.entity.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.project.demo.logic.entity.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -18,15 +29,58 @@ import org.springframework.stereotype.Service;
 /**
  * Servicio para la gestión de tokens JWT.
  * Permite generar, validar y extraer información de los tokens.
+ * Los claims verificados se guardan en una caché acotada por firma del token,
+ * de modo que cada token se verifica con HMAC una sola vez mientras no expire.
+ * Además de iat, que tiene precisión de segundos, cada token lleva su instante de emisión en milisegundos
+ * para compararlo con las revocaciones sin rechazar un inicio de sesión ocurrido en el mismo segundo.
  */
 @Service
 public class JwtService {
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private long jwtExpiration;
 
+    @Value("${security.jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    @Value("${security.jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    private final MeterRegistry meterRegistry;
+
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedClaims> claimsCache;
+    private Counter verificationCounter;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Construye la clave de firma, el parser y la caché de claims una sola vez al iniciar.
+     */
+    @PostConstruct
+    void init() {
+        this.signInKey = buildSignInKey();
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        this.verificationCounter = Counter.builder("jwt.verifications")
+                .description("Tokens JWT verificados criptográficamente")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+    }
+
     /**
      * Extrae el nombre de usuario (email) del token JWT.
      * @param token token JWT
@@ -48,12 +102,36 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Obtiene el instante de emisión de un token con precisión de milisegundos.
+     * Los tokens emitidos antes de incluir ese claim usan iat, con precisión de segundos.
+     * @param claims claims verificados del token
+     * @return fecha de emisión; null si el token no la incluye
+     */
+    public Date extractIssuedAt(Claims claims) {
+        Object issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        return issuedAtMillis instanceof Number millis ? new Date(millis.longValue()) : claims.getIssuedAt();
+    }
+
+    /**
+     * Obtiene los claims verificados del token, usando la caché si el token ya fue verificado.
+     * @param token token JWT
+     * @return claims verificados
+     */
+    public Claims extractVerifiedClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     /**
      * Genera un token JWT para el usuario.
+     * En modo sin estado el token incluye el id, el rol y la escuela del usuario.
      * @param userDetails detalles del usuario
      * @return token JWT generado
      */
     public String generateToken(UserDetails userDetails) {
+        if (statelessEnabled && userDetails instanceof User user && user.getRole() != null) {
+            return generateToken(TokenPrincipal.claimsOf(user), userDetails);
+        }
         return generateToken(new HashMap<>(), userDetails);
     }
 
@@ -67,6 +145,14 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    /**
+     * Indica si el modo sin estado está habilitado.
+     * @return true si los usuarios se construyen a partir de los claims del token
+     */
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
     /**
      * Obtiene el tiempo de expiración del token JWT.
      * @return tiempo de expiración en milisegundos
@@ -87,13 +173,15 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -104,38 +192,52 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
     /**
-     * Verifica si el token JWT ha expirado.
-     * @param token token JWT
-     * @return true si el token ha expirado, false en caso contrario
+     * Valida claims ya verificados contra los detalles del usuario.
+     * @param claims claims verificados del token
+     * @param userDetails detalles del usuario
+     * @return true si el token es válido, false en caso contrario
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
     }
 
     /**
-     * Extrae la fecha de expiración del token JWT.
+     * Extrae todos los claims del token JWT.
+     * Solo se verifica la firma cuando el token no está en la caché.
      * @param token token JWT
-     * @return fecha de expiración
+     * @return claims extraídos
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Claims extractAllClaims(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return parseClaims(token);
+        }
+
+        String signature = token.substring(signatureStart + 1);
+        VerifiedClaims cached = claimsCache.getIfPresent(signature);
+        if (cached != null && cached.signedContent().length() == signatureStart
+                && token.startsWith(cached.signedContent())) {
+            return cached.claims();
+        }
+
+        Claims claims = parseClaims(token);
+        claimsCache.put(signature, new VerifiedClaims(token.substring(0, signatureStart), claims));
+        return claims;
     }
 
     /**
-     * Extrae todos los claims del token JWT.
+     * Verifica la firma del token y extrae sus claims.
      * @param token token JWT
      * @return claims extraídos
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+    private Claims parseClaims(String token) {
+        verificationCounter.increment();
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -145,8 +247,41 @@ public class JwtService {
      * Utiliza la clave secreta configurada en las propiedades de la aplicación.
      * @return clave de firma
      */
-    private Key getSignInKey() {
+    private Key buildSignInKey() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    /**
+     * Claims verificados junto con el contenido firmado (encabezado y cuerpo) del token.
+     * @param signedContent encabezado y cuerpo del token
+     * @param claims claims verificados
+     */
+    private record VerifiedClaims(String signedContent, Claims claims) {
+    }
+
+    /**
+     * Hace que cada entrada de la caché expire junto con su token.
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedClaims> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+            Date expiration = value.claims().getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = Math.max(0, expiration.getTime() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
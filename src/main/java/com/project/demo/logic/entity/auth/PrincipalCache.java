@@ -0,0 +1,73 @@
+package com.project.demo.logic.entity.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada de usuarios autenticados indexada por correo electrónico.
+ * Evita consultar la tabla de usuarios en cada petición con token JWT.
+ * Las entradas nunca viven más que el tiempo de expiración del token.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.max-size:5000}")
+    private long maxSize;
+
+    @Value("${security.principal-cache.ttl:300000}")
+    private long ttl;
+
+    @Value("${security.jwt.expiration-time}")
+    private long jwtExpiration;
+
+    private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> principals;
+
+    public PrincipalCache(UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Construye la caché y publica sus métricas de aciertos y desalojos.
+     */
+    @PostConstruct
+    void init() {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.min(ttl, jwtExpiration)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    /**
+     * Obtiene el usuario por correo, consultando la base de datos solo si no está en caché.
+     * @param email correo del usuario
+     * @return detalles del usuario
+     */
+    public UserDetails loadUserByUsername(String email) {
+        return principals.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Elimina de la caché al usuario indicado para que la siguiente petición lo recargue.
+     * @param email correo del usuario
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+}
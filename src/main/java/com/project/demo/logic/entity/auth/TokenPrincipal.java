@@ -0,0 +1,140 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.user.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usuario autenticado construido únicamente a partir de los claims del token JWT.
+ * Se utiliza en el modo sin estado para autorizar peticiones sin consultar la base de datos.
+ */
+public class TokenPrincipal implements UserDetails {
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String SCHOOL_ID_CLAIM = "schoolId";
+
+    private final Long id;
+    private final String email;
+    private final RoleEnum role;
+    private final Long schoolId;
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param id identificador del usuario
+     * @param email correo del usuario
+     * @param role rol del usuario
+     * @param schoolId identificador de la escuela
+     */
+    public TokenPrincipal(Long id, String email, RoleEnum role, Long schoolId) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.schoolId = schoolId;
+    }
+
+    /**
+     * Genera los claims que identifican al usuario dentro del token.
+     * @param user usuario autenticado
+     * @return claims con id, rol y escuela
+     */
+    static Map<String, Object> claimsOf(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().getName().name());
+        if (user.getSchool() != null) {
+            claims.put(SCHOOL_ID_CLAIM, user.getSchool().getId());
+        }
+        return claims;
+    }
+
+    /**
+     * Indica si los claims contienen la información necesaria para construir el usuario.
+     * @param claims claims verificados del token
+     * @return true si el token es del formato sin estado
+     */
+    static boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(USER_ID_CLAIM) != null && claims.get(ROLE_CLAIM) != null;
+    }
+
+    /**
+     * Construye el usuario a partir de los claims verificados del token.
+     * @param claims claims verificados del token
+     * @return usuario autenticado
+     */
+    static TokenPrincipal fromClaims(Claims claims) {
+        Number schoolId = claims.get(SCHOOL_ID_CLAIM, Number.class);
+        return new TokenPrincipal(
+                claims.get(USER_ID_CLAIM, Number.class).longValue(),
+                claims.getSubject(),
+                RoleEnum.valueOf(claims.get(ROLE_CLAIM, String.class)),
+                schoolId != null ? schoolId.longValue() : null
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Obtiene el identificador del usuario.
+     * @return id del usuario
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene el rol del usuario.
+     * @return rol
+     */
+    public RoleEnum getRole() {
+        return role;
+    }
+
+    /**
+     * Obtiene el identificador de la escuela del usuario.
+     * @return id de la escuela
+     */
+    public Long getSchoolId() {
+        return schoolId;
+    }
+}
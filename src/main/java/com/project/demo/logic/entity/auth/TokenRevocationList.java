@@ -0,0 +1,63 @@
+package com.project.demo.logic.entity.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Lista de revocación de corta duración para tokens sin estado.
+ * Guarda por correo el instante de revocación en milisegundos; los tokens emitidos antes o en ese mismo milisegundo
+ * se rechazan, así que un token obtenido al volver a iniciar sesión en el mismo segundo sigue siendo válido.
+ * Cada entrada vive lo mismo que un token, tras lo cual ningún token anterior puede seguir vigente.
+ */
+@Component
+public class TokenRevocationList {
+
+    @Value("${security.jwt.expiration-time}")
+    private long jwtExpiration;
+
+    @Value("${security.jwt.revocation.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, Long> revocations;
+
+    /**
+     * Construye la caché de revocaciones.
+     */
+    @PostConstruct
+    void init() {
+        this.revocations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario.
+     * @param email correo del usuario
+     */
+    public void revoke(String email) {
+        if (email != null) {
+            revocations.put(email, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Indica si un token emitido en la fecha dada fue revocado.
+     * @param email correo del usuario
+     * @param issuedAt fecha de emisión del token, con precisión de milisegundos
+     * @return true si el token fue revocado
+     */
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long revokedAt = revocations.getIfPresent(email);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= revokedAt;
+    }
+}
@@ -0,0 +1,304 @@
+package com.project.demo.logic.entity.chatBot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caché de respuestas del chatbot.
+ * El primer nivel busca coincidencias exactas sobre el texto normalizado (minúsculas, sin tildes ni puntuación).
+ * El segundo nivel, opcional, busca la pregunta más parecida usando vectores de trigramas de caracteres
+ * y la similitud coseno, y la acepta si supera el umbral configurado. Solo compara preguntas con los mismos
+ * números, porque "2+3" y "2+5" se parecen en el texto pero no tienen la misma respuesta. Los candidatos
+ * salen de un índice invertido de trigramas, así que no se recorre toda la caché.
+ * El prompt del sistema forma parte de la llave, por lo que cambiarlo invalida las respuestas anteriores.
+ */
+@Component
+public class ChatResponseCache {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}\\s]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NUMBER = Pattern.compile("\\p{N}+");
+    private static final int NGRAM_SIZE = 3;
+
+    @Value("${chat.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${chat.cache.ttl:PT6H}")
+    private Duration ttl;
+
+    @Value("${chat.cache.similarity.enabled:false}")
+    private boolean similarityEnabled;
+
+    @Value("${chat.cache.similarity.threshold:0.9}")
+    private double similarityThreshold;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<CacheKey, CachedResponse> responses;
+    private final Map<NgramKey, Map<CacheKey, Integer>> postings = new ConcurrentHashMap<>();
+    private Counter exactHits;
+    private Counter similarHits;
+    private Counter misses;
+
+    public ChatResponseCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Construye la caché y registra sus métricas.
+     */
+    @PostConstruct
+    void init() {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((CacheKey key, CachedResponse value, RemovalCause cause) -> {
+                    if (key != null && value != null) {
+                        unindex(key, value.ngrams());
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "chat.responses");
+        this.exactHits = lookupCounter("exact");
+        this.similarHits = lookupCounter("similar");
+        this.misses = lookupCounter("miss");
+    }
+
+    /**
+     * Busca una respuesta previa para la pregunta.
+     * @param systemPrompt prompt del sistema usado para generar la respuesta
+     * @param question pregunta del usuario
+     * @return respuesta en caché (opcional)
+     */
+    public Optional<String> find(String systemPrompt, String question) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String normalized = normalize(question);
+        CachedResponse exact = responses.getIfPresent(new CacheKey(systemPrompt, normalized));
+        if (exact != null) {
+            exactHits.increment();
+            return Optional.of(exact.response());
+        }
+
+        if (similarityEnabled) {
+            Optional<String> similar = findSimilar(systemPrompt, normalized);
+            if (similar.isPresent()) {
+                similarHits.increment();
+                return similar;
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Guarda la respuesta del modelo para la pregunta.
+     * @param systemPrompt prompt del sistema usado para generar la respuesta
+     * @param question pregunta del usuario
+     * @param response respuesta del modelo
+     */
+    public void put(String systemPrompt, String question, String response) {
+        if (!enabled || response == null || response.isBlank()) {
+            return;
+        }
+        String normalized = normalize(question);
+        CacheKey key = new CacheKey(systemPrompt, normalized);
+        Map<String, Integer> ngrams = similarityEnabled ? ngrams(normalized) : Map.of();
+        CachedResponse cached = new CachedResponse(ngrams, norm(ngrams), numbers(normalized), response);
+        // se indexa dentro del cómputo de la llave: el desalojo de esa misma llave quita el índice con el mismo
+        // bloqueo, así que no puede borrar el índice de una respuesta que se acaba de guardar
+        responses.asMap().compute(key, (cacheKey, previous) -> {
+            index(cacheKey, ngrams);
+            return cached;
+        });
+    }
+
+    /**
+     * Normaliza el texto: minúsculas, sin tildes, sin puntuación y con espacios simples.
+     * @param text texto original
+     * @return texto normalizado
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        String withoutPunctuation = NON_ALPHANUMERIC.matcher(withoutAccents).replaceAll(" ");
+        return WHITESPACE.matcher(withoutPunctuation).replaceAll(" ").trim();
+    }
+
+    /**
+     * Extrae los números de un texto normalizado, en orden.
+     * @param text texto normalizado
+     * @return números encontrados
+     */
+    static List<String> numbers(String text) {
+        List<String> numbers = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(text);
+        while (matcher.find()) {
+            numbers.add(matcher.group());
+        }
+        return numbers;
+    }
+
+    /**
+     * Busca la respuesta cuya pregunta es más parecida a la dada, dentro del mismo prompt del sistema
+     * y con los mismos números. Solo evalúa las preguntas que comparten algún trigrama con la dada.
+     * @param systemPrompt prompt del sistema
+     * @param normalized pregunta normalizada
+     * @return respuesta si la similitud supera el umbral (opcional)
+     */
+    private Optional<String> findSimilar(String systemPrompt, String normalized) {
+        Map<String, Integer> ngrams = ngrams(normalized);
+        double norm = norm(ngrams);
+        if (norm == 0) {
+            return Optional.empty();
+        }
+
+        Map<CacheKey, Double> dots = new HashMap<>();
+        for (Map.Entry<String, Integer> ngram : ngrams.entrySet()) {
+            Map<CacheKey, Integer> posting = postings.get(new NgramKey(systemPrompt, ngram.getKey()));
+            if (posting == null) {
+                continue;
+            }
+            for (Map.Entry<CacheKey, Integer> entry : posting.entrySet()) {
+                dots.merge(entry.getKey(), (double) ngram.getValue() * entry.getValue(), Double::sum);
+            }
+        }
+
+        List<String> numbers = numbers(normalized);
+        CachedResponse best = null;
+        double bestSimilarity = similarityThreshold;
+        for (Map.Entry<CacheKey, Double> entry : dots.entrySet()) {
+            // asMap().get no cuenta como acierto ni fallo en las estadísticas de la caché
+            CachedResponse candidate = responses.asMap().get(entry.getKey());
+            if (candidate == null || candidate.norm() == 0 || !candidate.numbers().equals(numbers)) {
+                continue;
+            }
+            double similarity = entry.getValue() / (norm * candidate.norm());
+            if (similarity >= bestSimilarity) {
+                bestSimilarity = similarity;
+                best = candidate;
+            }
+        }
+        return Optional.ofNullable(best).map(CachedResponse::response);
+    }
+
+    /**
+     * Agrega la pregunta al índice invertido de trigramas.
+     * @param key llave de la pregunta
+     * @param ngrams vector de trigramas de la pregunta
+     */
+    private void index(CacheKey key, Map<String, Integer> ngrams) {
+        for (Map.Entry<String, Integer> ngram : ngrams.entrySet()) {
+            postings.compute(new NgramKey(key.systemPrompt(), ngram.getKey()), (ngramKey, posting) -> {
+                Map<CacheKey, Integer> updated = posting != null ? posting : new ConcurrentHashMap<>();
+                updated.put(key, ngram.getValue());
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Quita la pregunta del índice invertido de trigramas.
+     * @param key llave de la pregunta
+     * @param ngrams vector de trigramas de la pregunta
+     */
+    private void unindex(CacheKey key, Map<String, Integer> ngrams) {
+        for (String ngram : ngrams.keySet()) {
+            postings.computeIfPresent(new NgramKey(key.systemPrompt(), ngram), (ngramKey, posting) -> {
+                posting.remove(key);
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+
+    /**
+     * Calcula la frecuencia de trigramas de caracteres del texto, con espacios de relleno en los extremos.
+     * @param text texto normalizado
+     * @return frecuencia de cada trigrama
+     */
+    static Map<String, Integer> ngrams(String text) {
+        String padded = " " + text + " ";
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i + NGRAM_SIZE <= padded.length(); i++) {
+            counts.merge(padded.substring(i, i + NGRAM_SIZE), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Calcula la norma euclidiana de un vector de trigramas.
+     * @param vector vector de trigramas
+     * @return norma del vector
+     */
+    private static double norm(Map<String, Integer> vector) {
+        double sum = 0;
+        for (int count : vector.values()) {
+            sum += (double) count * count;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Crea el contador de búsquedas para el resultado indicado.
+     * @param result resultado de la búsqueda
+     * @return contador registrado
+     */
+    private Counter lookupCounter(String result) {
+        return Counter.builder("chat.cache.lookups")
+                .description("Búsquedas en la caché de respuestas del chatbot")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Llave de la caché: prompt del sistema y pregunta normalizada.
+     * @param systemPrompt prompt del sistema
+     * @param question pregunta normalizada
+     */
+    private record CacheKey(String systemPrompt, String question) {
+    }
+
+    /**
+     * Llave del índice invertido: prompt del sistema y trigrama.
+     * @param systemPrompt prompt del sistema
+     * @param ngram trigrama
+     */
+    private record NgramKey(String systemPrompt, String ngram) {
+    }
+
+    /**
+     * Respuesta guardada junto con el vector de trigramas y los números de su pregunta.
+     * @param ngrams vector de trigramas de la pregunta
+     * @param norm norma del vector
+     * @param numbers números de la pregunta, en orden
+     * @param response respuesta del modelo
+     */
+    private record CachedResponse(Map<String, Integer> ngrams, double norm, List<String> numbers, String response) {
+    }
+}
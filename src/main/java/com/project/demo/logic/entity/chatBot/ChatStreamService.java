@@ -0,0 +1,270 @@
+package com.project.demo.logic.entity.chatBot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Servicio que transmite las respuestas del modelo de LM Studio al cliente mediante Server-Sent Events.
+ * Cada fragmento recibido del API compatible con OpenAI (stream: true) se reenvía apenas llega.
+ * La lectura del modelo avanza al ritmo de escritura hacia el cliente y se cancela si el cliente se desconecta.
+ */
+@Service
+public class ChatStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatStreamService.class);
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE_MARKER = "[DONE]";
+
+    @Value("${lmstudio.api.url}")
+    private String lmStudioApiUrl;
+
+    @Value("${chat.stream.timeout:PT2M}")
+    private Duration timeout;
+
+    @Value("${chat.stream.max-concurrent:50}")
+    private int maxConcurrent;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Semaphore permits;
+    private Timer timeToFirstToken;
+    private DistributionSummary tokensPerSecond;
+    private Counter cancelledStreams;
+
+    public ChatStreamService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Inicializa el límite de transmisiones simultáneas y las métricas.
+     */
+    @PostConstruct
+    void init() {
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeToFirstToken = Timer.builder("chat.stream.time_to_first_token")
+                .description("Tiempo hasta el primer token recibido del modelo")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tokensPerSecond = DistributionSummary.builder("chat.stream.tokens_per_second")
+                .description("Fragmentos de texto por segundo transmitidos al cliente")
+                .register(meterRegistry);
+        this.cancelledStreams = Counter.builder("chat.stream.cancelled")
+                .description("Transmisiones canceladas por desconexión o tiempo de espera")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene los hilos de transmisión al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Inicia la transmisión de la respuesta del modelo.
+     * @param lmStudioRequest cuerpo de la petición al modelo (sin el campo stream)
+     * @param onComplete recibe la respuesta completa si la transmisión termina sin errores ni cancelación
+     * @return emisor SSE que recibe eventos "token", "done" y "error"
+     * @throws RejectedExecutionException si se alcanzó el máximo de transmisiones simultáneas
+     */
+    public SseEmitter stream(Map<String, Object> lmStudioRequest, Consumer<String> onComplete) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Se alcanzó el máximo de conversaciones simultáneas");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        AtomicReference<InputStream> upstream = new AtomicReference<>();
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Runnable cancel = () -> {
+            if (!finished.get() && cancelled.compareAndSet(false, true)) {
+                cancelledStreams.increment();
+                closeQuietly(upstream.get());
+            }
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        emitter.onCompletion(cancel);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    relay(lmStudioRequest, onComplete, emitter, upstream, cancelled, finished);
+                } finally {
+                    finished.set(true);
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Lee la respuesta del modelo línea por línea y reenvía cada fragmento al cliente.
+     * @param lmStudioRequest cuerpo de la petición al modelo
+     * @param onComplete recibe la respuesta completa al terminar
+     * @param emitter emisor SSE del cliente
+     * @param upstream referencia al flujo de entrada del modelo, para poder cerrarlo al cancelar
+     * @param cancelled indica si el cliente canceló la transmisión
+     * @param finished se marca antes de cerrar la transmisión para no contarla como cancelada
+     */
+    private void relay(Map<String, Object> lmStudioRequest, Consumer<String> onComplete, SseEmitter emitter,
+                       AtomicReference<InputStream> upstream, AtomicBoolean cancelled, AtomicBoolean finished) {
+        long start = System.nanoTime();
+        long firstTokenAt = 0;
+        int tokens = 0;
+        StringBuilder content = new StringBuilder();
+        try {
+            Map<String, Object> body = new HashMap<>(lmStudioRequest);
+            body.put("stream", true);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(lmStudioApiUrl))
+                    .timeout(timeout)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            upstream.set(response.body());
+            if (cancelled.get()) {
+                closeQuietly(response.body());
+                return;
+            }
+
+            if (response.statusCode() / 100 != 2) {
+                closeQuietly(response.body());
+                finished.set(true);
+                sendError(emitter, "LM Studio respondió con estado " + response.statusCode());
+                return;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while (!cancelled.get() && (line = reader.readLine()) != null) {
+                    if (!line.startsWith(DATA_PREFIX)) {
+                        continue;
+                    }
+                    String data = line.substring(DATA_PREFIX.length()).trim();
+                    if (DONE_MARKER.equals(data)) {
+                        break;
+                    }
+
+                    String token = objectMapper.readTree(data)
+                            .path("choices").path(0).path("delta").path("content").asText("");
+                    if (token.isEmpty()) {
+                        continue;
+                    }
+                    if (tokens == 0) {
+                        firstTokenAt = System.nanoTime();
+                        timeToFirstToken.record(firstTokenAt - start, TimeUnit.NANOSECONDS);
+                    }
+                    tokens++;
+                    content.append(token);
+                    emitter.send(SseEmitter.event().name("token").data(Map.of("token", token), MediaType.APPLICATION_JSON));
+                }
+            }
+
+            if (cancelled.get()) {
+                return;
+            }
+            if (tokens > 0) {
+                double seconds = (System.nanoTime() - firstTokenAt) / 1_000_000_000.0;
+                if (seconds > 0) {
+                    tokensPerSecond.record(tokens / seconds);
+                }
+            }
+            finished.set(true);
+            onComplete.accept(content.toString());
+            emitter.send(SseEmitter.event().name("done").data(Map.of("tokens", tokens), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            if (!cancelled.get()) {
+                logger.error("Error transmitiendo la respuesta de LM Studio: {}", e.getMessage());
+                finished.set(true);
+                sendError(emitter, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished.set(true);
+            emitter.complete();
+        } catch (Exception e) {
+            logger.error("Error transmitiendo la respuesta de LM Studio: {}", e.getMessage(), e);
+            finished.set(true);
+            sendError(emitter, e.getMessage());
+        }
+    }
+
+    /**
+     * Envía un evento de error al cliente y cierra la transmisión.
+     * @param emitter emisor SSE del cliente
+     * @param message mensaje de error
+     */
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("error", "Error comunicándose con LM Studio: " + message), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Cierra el flujo del modelo ignorando errores, lo que aborta la generación en curso.
+     * @param inputStream flujo a cerrar
+     */
+    private void closeQuietly(InputStream inputStream) {
+        if (inputStream == null) {
+            return;
+        }
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            logger.debug("Error cerrando el flujo de LM Studio: {}", e.getMessage());
+        }
+    }
+}
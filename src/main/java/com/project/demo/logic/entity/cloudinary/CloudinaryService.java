@@ -5,14 +5,23 @@ import com.cloudinary.utils.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Servicio para la gestión de archivos en Cloudinary.
  * Permite subir archivos de audio y obtener la URL segura.
+ * Los audios en archivo o flujo se envían desde disco sin cargarlos completos en memoria; los que superan
+ * el umbral configurado se suben por partes.
  */
 @Service
 public class CloudinaryService {
@@ -22,6 +31,12 @@ public class CloudinaryService {
     @Autowired
     private Cloudinary cloudinary;
 
+    @Value("${cloudinary.upload.large-threshold:20MB}")
+    private DataSize largeUploadThreshold;
+
+    @Value("${cloudinary.upload.chunk-size:6MB}")
+    private DataSize chunkSize;
+
     /**
      * Sube un archivo de audio a Cloudinary y retorna la URL segura.
      * @param fileBytes arreglo de bytes del archivo
@@ -36,15 +51,48 @@ public class CloudinaryService {
             logger.error("No se puede leer el archivo");
             throw new IllegalArgumentException("No hay datos para subir");
         }
-        if (fileName == null || !fileName.toLowerCase().matches(".*\\.(mp3|wav)$")) {
-            logger.error("Tipo de archivo no soportado: {}", fileName);
-            throw new IllegalArgumentException("Solo archivos de tipo .mp3 o .wav son permitidos");
+        validateFileName(fileName);
+        try {
+            Map<?, ?> uploadResult = cloudinary.uploader().upload(fileBytes, audioOptions(fileName));
+            logger.info("Archivo subido exitosamente a Cloudinary: {}", uploadResult.get("secure_url"));
+            return uploadResult.get("secure_url").toString();
+        } catch (IOException e) {
+            logger.error("Error al subir el archivo a Cloudinary: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Elimina un archivo de audio de Cloudinary.
+     * @param fileName nombre con el que se subió el archivo (public_id)
+     * @throws IOException si ocurre un error al eliminar el archivo
+     */
+    public void deleteAudio(String fileName) throws IOException {
+        logger.info("Eliminando el archivo de Cloudinary: {}", fileName);
+        cloudinary.uploader().destroy(fileName, ObjectUtils.asMap("resource_type", "video", "invalidate", true));
+    }
+
+    /**
+     * Sube un archivo de audio guardado en disco. El contenido se lee por bloques durante el envío;
+     * si supera el umbral de subida grande se envía en partes de tamaño fijo.
+     * @param file archivo local con el audio
+     * @param fileName nombre del archivo (debe ser .mp3 o .wav)
+     * @return URL segura del archivo subido
+     * @throws IOException si ocurre un error al leer o subir el archivo
+     */
+    public String uploadAudio(Path file, String fileName) throws IOException {
+        logger.info("Iniciando la subida del archivo a Cloudinary: {}", fileName);
+
+        long size = Files.size(file);
+        if (size == 0) {
+            logger.error("No se puede leer el archivo");
+            throw new IllegalArgumentException("No hay datos para subir");
         }
+        validateFileName(fileName);
         try {
-            Map uploadResult = cloudinary.uploader().upload(
-                    fileBytes,
-                    ObjectUtils.asMap("resource_type", "video", "public_id", fileName)
-            );
+            Map<?, ?> uploadResult = size > largeUploadThreshold.toBytes()
+                    ? cloudinary.uploader().uploadLarge(file.toFile(), audioOptions(fileName), (int) chunkSize.toBytes())
+                    : cloudinary.uploader().upload(file.toFile(), audioOptions(fileName));
             logger.info("Archivo subido exitosamente a Cloudinary: {}", uploadResult.get("secure_url"));
             return uploadResult.get("secure_url").toString();
         } catch (IOException e) {
@@ -52,4 +100,44 @@ public class CloudinaryService {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sube un audio leído desde un flujo. El flujo se copia a un archivo temporal para no retenerlo en memoria.
+     * @param inputStream flujo con el audio
+     * @param fileName nombre del archivo (debe ser .mp3 o .wav)
+     * @return URL segura del archivo subido
+     * @throws IOException si ocurre un error al leer o subir el archivo
+     */
+    public String uploadAudio(InputStream inputStream, String fileName) throws IOException {
+        Path tempFile = Files.createTempFile("upload-", ".tmp");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return uploadAudio(tempFile, fileName);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Valida que el nombre del archivo tenga una extensión de audio soportada.
+     * @param fileName nombre del archivo
+     */
+    private void validateFileName(String fileName) {
+        if (fileName == null || !fileName.toLowerCase().matches(".*\\.(mp3|wav)$")) {
+            logger.error("Tipo de archivo no soportado: {}", fileName);
+            throw new IllegalArgumentException("Solo archivos de tipo .mp3 o .wav son permitidos");
+        }
+    }
+
+    /**
+     * Construye las opciones de subida para un archivo de audio.
+     * @param fileName nombre del archivo
+     * @return opciones de subida
+     */
+    private Map<String, Object> audioOptions(String fileName) {
+        Map<String, Object> options = new HashMap<>();
+        options.put("resource_type", "video");
+        options.put("public_id", fileName);
+        return options;
+    }
+}
@@ -2,6 +2,7 @@ package com.project.demo.logic.entity.course;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
@@ -24,6 +25,10 @@ public class Course {
     @Column(updatable = false, name = "created_at")
     private Date createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     /**
      * Constructor por defecto.
      */
@@ -125,4 +130,20 @@ public class Course {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * Obtiene la fecha de actualización del curso.
+     * @return fecha de actualización
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de actualización del curso.
+     * @param updatedAt fecha de actualización
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
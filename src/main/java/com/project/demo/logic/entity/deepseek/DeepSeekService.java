@@ -2,6 +2,8 @@ package com.project.demo.logic.entity.deepseek;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.singleFlight.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,13 +36,42 @@ public class DeepSeekService {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private static final Logger logger = LoggerFactory.getLogger(DeepSeekService.class);
 
+    private final SingleFlight<GenerationKey, String> inFlightGenerations;
+
+    public DeepSeekService(MeterRegistry meterRegistry) {
+        this.inFlightGenerations = new SingleFlight<>("deepseek", meterRegistry);
+    }
+
     /**
      * Genera preguntas de opción múltiple basadas en el contenido educativo proporcionado.
+     * Las peticiones concurrentes con el mismo contenido y número de preguntas comparten una sola llamada al modelo.
+     * Esto solo evita llamadas repetidas al modelo; las solicitudes repetidas de un mismo cuestionario
+     * se agrupan antes, en GenerationJobService, para no guardar las preguntas dos veces.
      * @param storyContent contenido educativo
      * @param numberOfQuestions número de preguntas a generar
      * @return preguntas en formato JSON
      */
     public String generateQuizQuestions(String storyContent, int numberOfQuestions) {
+        try {
+            return inFlightGenerations.execute(new GenerationKey(storyContent, numberOfQuestions),
+                    () -> requestQuizQuestions(storyContent, numberOfQuestions));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generación de preguntas interrumpida", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generando preguntas con DeepSeek: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Envía la petición de generación de preguntas al modelo.
+     * @param storyContent contenido educativo
+     * @param numberOfQuestions número de preguntas a generar
+     * @return preguntas en formato JSON
+     */
+    private String requestQuizQuestions(String storyContent, int numberOfQuestions) {
         try {
             logger.info("Iniciando generación de preguntas con DeepSeek...");
 
@@ -211,4 +242,12 @@ public class DeepSeekService {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Llave de una petición de generación de preguntas.
+     * @param storyContent contenido educativo
+     * @param numberOfQuestions número de preguntas
+     */
+    private record GenerationKey(String storyContent, int numberOfQuestions) {
+    }
+}
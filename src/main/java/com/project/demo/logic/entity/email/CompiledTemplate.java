@@ -0,0 +1,117 @@
+package com.project.demo.logic.entity.email;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plantilla de correo compilada: el texto fijo y las variables {@code {{nombre}}} se separan una sola vez
+ * en una lista de segmentos, y cada variable se resuelve al índice de su valor.
+ * Renderizar solo copia segmentos y valores al búfer recibido, sin volver a buscar las variables.
+ * En las plantillas HTML los valores se escapan al copiarlos.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean html;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, int[] slots, boolean html) {
+        this.literals = literals;
+        this.slots = slots;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila una plantilla.
+     * @param source texto de la plantilla
+     * @param variables nombres de las variables, en el orden en que se pasan sus valores al renderizar
+     * @param html true si los valores se deben escapar como HTML
+     * @return plantilla compilada
+     * @throws IllegalArgumentException si la plantilla usa una variable no declarada o tiene una variable sin cerrar
+     */
+    public static CompiledTemplate compile(String source, List<String> variables, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Variable sin cerrar en la posición " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).strip();
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Variable no declarada: " + name);
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(), html);
+    }
+
+    /**
+     * Agrega la plantilla renderizada al búfer.
+     * @param out búfer de salida
+     * @param values valores de las variables, en el orden declarado al compilar; null se renderiza vacío
+     */
+    public void renderTo(StringBuilder out, String... values) {
+        int capacity = literalLength;
+        for (int slot : slots) {
+            String value = values[slot];
+            capacity += value != null ? value.length() : 0;
+        }
+        out.ensureCapacity(out.length() + capacity);
+
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            if (value == null) {
+                continue;
+            }
+            if (html) {
+                escapeHtml(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * Copia un valor al búfer escapando los caracteres especiales de HTML.
+     * Copia por tramos los caracteres que no necesitan escaparse.
+     * @param out búfer de salida
+     * @param value valor a copiar
+     */
+    private static void escapeHtml(StringBuilder out, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+}
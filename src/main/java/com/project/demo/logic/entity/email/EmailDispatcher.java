@@ -0,0 +1,386 @@
+package com.project.demo.logic.entity.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Despachador en segundo plano de la bandeja de salida de correos.
+ * Un número fijo de hilos toma lotes de correos disponibles y envía cada lote por una sola conexión SMTP,
+ * en lugar de abrir una conexión (con su saludo y STARTTLS) por correo.
+ * Los fallos transitorios se reintentan con espera exponencial; los permanentes, como una dirección rechazada,
+ * y los que agotan los intentos quedan descartados en estado DEAD con el último error.
+ * Los hilos esperan nuevos correos hasta el siguiente sondeo o hasta que se confirma un correo encolado.
+ * Un correo tomado por un hilo que se detuvo vuelve a estar disponible cuando vence su plazo.
+ * El resultado de cada envío se guarda solo si el correo sigue tomado con la marca del lote,
+ * para que un hilo cuyo plazo venció no sobrescriba el resultado del que volvió a tomar el correo.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    @Value("${email.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.dispatcher.workers:2}")
+    private int workers;
+
+    @Value("${email.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.dispatcher.poll-interval:PT10S}")
+    private Duration pollInterval;
+
+    @Value("${email.dispatcher.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${email.dispatcher.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.dispatcher.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${email.dispatcher.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${email.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Value("${email.from:}")
+    private String from;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Object signal = new Object();
+    private final AtomicLong lastPurge = new AtomicLong();
+    private boolean signaled;
+    private volatile boolean running;
+    private ExecutorService executor;
+    private Counter sent;
+    private Counter retried;
+    private Counter dead;
+    private Timer deliveryLatency;
+
+    public EmailDispatcher(EmailOutboxRepository outboxRepository, JavaMailSender mailSender,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra las métricas e inicia los hilos de envío si el despachador está habilitado.
+     */
+    @PostConstruct
+    void init() {
+        this.sent = Counter.builder("email.outbox.sent")
+                .description("Correos enviados desde la bandeja de salida")
+                .register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried")
+                .description("Envíos fallidos que se volverán a intentar")
+                .register(meterRegistry);
+        this.dead = Counter.builder("email.outbox.dead")
+                .description("Correos descartados por errores permanentes o por agotar los intentos")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("email.outbox.delivery.latency")
+                .description("Tiempo entre que se encola un correo y se envía")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (enabled) {
+            running = true;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "email-dispatcher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < workers; i++) {
+                executor.execute(this::work);
+            }
+        }
+    }
+
+    /**
+     * Detiene los hilos de envío al cerrar la aplicación, esperando que terminen el lote en curso.
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        wakeUp();
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Despierta a los hilos de envío para que revisen la bandeja de salida sin esperar al siguiente sondeo.
+     */
+    public void wakeUp() {
+        synchronized (signal) {
+            signaled = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Ciclo de un hilo de envío: despacha lotes mientras haya correos disponibles y luego espera.
+     */
+    private void work() {
+        while (running) {
+            try {
+                if (dispatchBatch() == 0) {
+                    purgeIfDue();
+                    awaitWork();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error al despachar correos: {}", e.getMessage(), e);
+                try {
+                    awaitWork();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera hasta el siguiente sondeo o hasta que se encole un correo.
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    private void awaitWork() throws InterruptedException {
+        synchronized (signal) {
+            if (!signaled && running) {
+                signal.wait(pollInterval.toMillis());
+            }
+            signaled = false;
+        }
+    }
+
+    /**
+     * Toma un lote de correos disponibles, los envía por una sola conexión y registra el resultado de cada uno.
+     * @return cantidad de correos tomados
+     */
+    int dispatchBatch() {
+        String token = UUID.randomUUID().toString();
+        Date now = new Date();
+        List<EmailOutbox> emails = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty() || outboxRepository.claim(ids, token, now, new Date(now.getTime() + lease.toMillis())) == 0) {
+                return List.of();
+            }
+            return outboxRepository.findByClaimToken(token);
+        });
+        if (emails == null || emails.isEmpty()) {
+            return 0;
+        }
+
+        MimeMessage[] messages = new MimeMessage[emails.size()];
+        Exception[] failures = new Exception[emails.size()];
+        List<MimeMessage> prepared = new ArrayList<>(emails.size());
+        for (int i = 0; i < messages.length; i++) {
+            try {
+                messages[i] = message(emails.get(i));
+                prepared.add(messages[i]);
+            } catch (MessagingException e) {
+                failures[i] = new MailPreparationException(e);
+            }
+        }
+        Map<Object, Exception> sendFailures = new IdentityHashMap<>();
+        try {
+            if (!prepared.isEmpty()) {
+                mailSender.send(prepared.toArray(MimeMessage[]::new));
+            }
+        } catch (MailSendException e) {
+            sendFailures.putAll(e.getFailedMessages());
+            if (sendFailures.isEmpty()) {
+                prepared.forEach(message -> sendFailures.put(message, e));
+            }
+        } catch (MailException e) {
+            prepared.forEach(message -> sendFailures.put(message, e));
+        }
+
+        Date finished = new Date();
+        for (int i = 0; i < messages.length; i++) {
+            Exception failure = failures[i] != null ? failures[i] : sendFailures.get(messages[i]);
+            record(emails.get(i), failure, finished);
+        }
+        Integer reclaimed = transactionTemplate.execute(status -> {
+            int skipped = 0;
+            for (EmailOutbox email : emails) {
+                if (finish(email, token) == 0) {
+                    skipped++;
+                }
+            }
+            return skipped;
+        });
+        if (reclaimed != null && reclaimed > 0) {
+            logger.warn("{} de {} correos se volvieron a tomar al vencer el plazo del lote; se conserva el resultado del otro despachador",
+                    reclaimed, emails.size());
+        }
+        return emails.size();
+    }
+
+    /**
+     * Guarda el resultado del envío de un correo si sigue tomado con la marca del lote.
+     * @param email correo con el resultado registrado
+     * @param token marca del lote
+     * @return 1 si se guardó; 0 si otro despachador lo volvió a tomar
+     */
+    private int finish(EmailOutbox email, String token) {
+        if (email.getStatus() == EmailOutboxStatus.PENDING) {
+            return outboxRepository.release(email.getId(), token, email.getAttempts(), email.getLastError(),
+                    email.getNextAttemptAt());
+        }
+        return outboxRepository.finish(email.getId(), token, email.getStatus(), email.getAttempts(),
+                email.getLastError(), email.getSentAt());
+    }
+
+    /**
+     * Registra el resultado del envío de un correo.
+     * @param email correo enviado
+     * @param failure error del envío; null si se envió
+     * @param now fecha del envío
+     */
+    private void record(EmailOutbox email, Exception failure, Date now) {
+        if (failure == null) {
+            email.markSent(now);
+            sent.increment();
+            deliveryLatency.record(now.getTime() - email.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+        } else if (isPermanent(failure) || email.getAttempts() + 1 >= maxAttempts) {
+            email.markDead(failure.getMessage());
+            dead.increment();
+            logger.warn("Correo {} a {} descartado tras {} intentos: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), failure.getMessage());
+        } else {
+            Duration delay = backoff(email.getAttempts() + 1, initialBackoff, maxBackoff);
+            long jitter = ThreadLocalRandom.current().nextLong(delay.toMillis() / 5 + 1);
+            email.markRetry(failure.getMessage(), new Date(now.getTime() + delay.toMillis() + jitter));
+            retried.increment();
+            logger.info("Correo {} a {} se reintentará en {}: {}",
+                    email.getId(), email.getRecipient(), delay, failure.getMessage());
+        }
+    }
+
+    /**
+     * Elimina los correos enviados o descartados más antiguos que la retención, como máximo una vez por hora.
+     */
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL.toMillis() || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteByStatusInAndCreatedAtBefore(
+                EnumSet.of(EmailOutboxStatus.SENT, EmailOutboxStatus.DEAD), new Date(now - retention.toMillis())));
+        if (purged != null && purged > 0) {
+            logger.info("Se eliminaron {} correos antiguos de la bandeja de salida", purged);
+        }
+    }
+
+    /**
+     * Construye el mensaje de un correo: multiparte con texto plano y HTML si el correo tiene cuerpo HTML,
+     * o solo texto plano si no.
+     * @param email correo de la bandeja de salida
+     * @return mensaje a enviar
+     * @throws MessagingException si el mensaje no se puede armar, por ejemplo por una dirección inválida
+     */
+    private MimeMessage message(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean multipart = email.getHtmlBody() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, multipart, StandardCharsets.UTF_8.name());
+        if (!from.isBlank()) {
+            helper.setFrom(from);
+        }
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        if (multipart) {
+            helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+            helper.setText(email.getBody());
+        }
+        return message;
+    }
+
+    /**
+     * Calcula la espera antes de un reintento: se duplica con cada intento hasta el máximo.
+     * @param attempt número del intento fallido, empezando en 1
+     * @param initial espera después del primer intento
+     * @param max espera máxima
+     * @return espera antes del siguiente intento
+     */
+    static Duration backoff(int attempt, Duration initial, Duration max) {
+        int exponent = Math.min(attempt - 1, 30);
+        Duration delay = initial.multipliedBy(1L << exponent);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    /**
+     * Indica si un error de envío no se resolverá al reintentar: el mensaje no se pudo armar
+     * o el servidor rechazó la dirección del destinatario.
+     * @param failure error del envío
+     * @return true si el error es permanente
+     */
+    static boolean isPermanent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MailParseException || cause instanceof MailPreparationException
+                    || cause instanceof AddressException) {
+                return true;
+            }
+            if (cause instanceof SendFailedException sendFailed
+                    && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
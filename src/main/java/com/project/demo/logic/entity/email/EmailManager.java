@@ -1,41 +1,61 @@
 package com.project.demo.logic.entity.email;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Servicio para el envío de correos electrónicos.
- * Utiliza JavaMailSender para enviar mensajes simples.
+ * Los correos se renderizan con las plantillas compiladas, se guardan en la bandeja de salida
+ * y EmailDispatcher los envía en segundo plano, por lo que quien encola no espera al servidor SMTP. Si se encola dentro de una transacción,
+ * el correo solo se envía si esa transacción se confirma.
  */
 @Service
 public class EmailManager {
 
-    private static final Logger logger = LoggerFactory.getLogger(EmailManager.class);
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private EmailTemplateEngine templateEngine;
 
     /**
-     * Envía un correo electrónico con el asunto y cuerpo especificados.
+     * Renderiza una plantilla y encola el correo resultante.
+     * @param template plantilla del correo
      * @param toEmail dirección de correo del destinatario
-     * @param subject asunto del correo
-     * @param body cuerpo del correo
+     * @param values valores de las variables, en el orden declarado en la plantilla
      */
-    public void sendEmail(String toEmail, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject(subject);
-        message.setText(body);
-
-        try {
-            mailSender.send(message);
-            logger.info("Correo enviado a: {}", toEmail);
-
-        } catch (Exception e) {
-            logger.error("Error al enviar correo a {}: {}", toEmail, e.getMessage());
+    public void queueTemplate(EmailTemplate template, String toEmail, String... values) {
+        queueEmails(List.of(templateEngine.render(template, toEmail, values)));
+    }
+
+    /**
+     * Encola varios correos con una inserción en lote y despierta al despachador al confirmar la transacción.
+     * @param emails correos a encolar
+     */
+    @Transactional
+    public void queueEmails(Collection<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(emails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailDispatcher.wakeUp();
+                }
+            });
+        } else {
+            emailDispatcher.wakeUp();
         }
     }
 
@@ -0,0 +1,246 @@
+package com.project.demo.logic.entity.email;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+
+/**
+ * Correo pendiente en la bandeja de salida.
+ * Se guarda en la misma transacción que el cambio que lo origina y un despachador en segundo plano lo envía,
+ * de modo que la petición HTTP no espera al servidor SMTP y un fallo de envío no pierde el correo.
+ * El identificador usa una secuencia para que varios correos se inserten en lote.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_outbox_claim", columnList = "claim_token")
+})
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 320)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "html_body", columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Date nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private Date lockedUntil;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private Date createdAt;
+
+    @Column(name = "sent_at")
+    private Date sentAt;
+
+    /**
+     * Constructor por defecto.
+     */
+    public EmailOutbox() {}
+
+    /**
+     * Crea un correo de texto plano listo para enviarse.
+     * @param recipient dirección de correo del destinatario
+     * @param subject asunto del correo
+     * @param body cuerpo del correo
+     */
+    public EmailOutbox(String recipient, String subject, String body) {
+        this(recipient, subject, body, null);
+    }
+
+    /**
+     * Crea un correo listo para enviarse, con cuerpo de texto plano y opcionalmente HTML.
+     * @param recipient dirección de correo del destinatario
+     * @param subject asunto del correo
+     * @param body cuerpo de texto plano
+     * @param htmlBody cuerpo HTML; null para enviar solo texto plano
+     */
+    public EmailOutbox(String recipient, String subject, String body, String htmlBody) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.htmlBody = htmlBody;
+        this.nextAttemptAt = new Date();
+    }
+
+    /**
+     * Obtiene el identificador del correo.
+     * @return id del correo
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene el destinatario.
+     * @return dirección de correo del destinatario
+     */
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Obtiene el asunto.
+     * @return asunto del correo
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Obtiene el cuerpo de texto plano.
+     * @return cuerpo del correo; null después de enviarse o descartarse
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Obtiene el cuerpo HTML.
+     * @return cuerpo HTML; null si el correo es solo texto o ya se envió o descartó
+     */
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    /**
+     * Obtiene el estado.
+     * @return estado del correo
+     */
+    public EmailOutboxStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Obtiene la cantidad de intentos fallidos.
+     * @return intentos fallidos
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Obtiene la fecha a partir de la cual se puede intentar el envío.
+     * @return fecha del siguiente intento
+     */
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    /**
+     * Establece la fecha a partir de la cual se puede intentar el envío.
+     * @param nextAttemptAt fecha del siguiente intento
+     */
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Obtiene el plazo del despachador que tomó el correo.
+     * @return fecha en que vence el plazo; null si no está tomado
+     */
+    public Date getLockedUntil() {
+        return lockedUntil;
+    }
+
+    /**
+     * Obtiene el último error de envío.
+     * @return mensaje del último error; null si no hubo errores
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Obtiene la fecha de creación.
+     * @return fecha de creación
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Obtiene la fecha de envío.
+     * @return fecha de envío; null si no se ha enviado
+     */
+    public Date getSentAt() {
+        return sentAt;
+    }
+
+    /**
+     * Marca el correo como enviado y descarta los cuerpos, que pueden contener contraseñas temporales.
+     * @param now fecha de envío
+     */
+    public void markSent(Date now) {
+        this.status = EmailOutboxStatus.SENT;
+        this.sentAt = now;
+        this.body = null;
+        this.htmlBody = null;
+        this.lockedUntil = null;
+        this.claimToken = null;
+    }
+
+    /**
+     * Registra un intento fallido y programa el siguiente.
+     * @param error mensaje del error
+     * @param nextAttemptAt fecha del siguiente intento
+     */
+    public void markRetry(String error, Date nextAttemptAt) {
+        this.attempts++;
+        this.status = EmailOutboxStatus.PENDING;
+        this.lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+        this.lockedUntil = null;
+        this.claimToken = null;
+    }
+
+    /**
+     * Registra un intento fallido y descarta el correo junto con sus cuerpos, que pueden contener contraseñas temporales.
+     * @param error mensaje del error
+     */
+    public void markDead(String error) {
+        this.attempts++;
+        this.status = EmailOutboxStatus.DEAD;
+        this.lastError = truncate(error);
+        this.body = null;
+        this.htmlBody = null;
+        this.lockedUntil = null;
+        this.claimToken = null;
+    }
+
+    /**
+     * Recorta un mensaje de error al largo de la columna.
+     * @param error mensaje del error
+     * @return mensaje recortado
+     */
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
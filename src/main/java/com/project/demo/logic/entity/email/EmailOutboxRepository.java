@@ -0,0 +1,101 @@
+package com.project.demo.logic.entity.email;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repositorio para la bandeja de salida de correos.
+ * Un correo está disponible si está pendiente y llegó su siguiente intento,
+ * o si lo tomó un despachador cuyo plazo ya venció.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    String DUE = "((e.status = com.project.demo.logic.entity.email.EmailOutboxStatus.PENDING AND e.nextAttemptAt <= :now)"
+            + " OR (e.status = com.project.demo.logic.entity.email.EmailOutboxStatus.SENDING AND e.lockedUntil < :now))";
+
+    /**
+     * Obtiene los identificadores de los correos disponibles, empezando por los que esperan hace más tiempo.
+     * @param now fecha actual
+     * @param pageable cantidad máxima de correos
+     * @return identificadores de correos disponibles
+     */
+    @Query("SELECT e.id FROM EmailOutbox e WHERE " + DUE + " ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("now") Date now, Pageable pageable);
+
+    /**
+     * Toma los correos indicados que sigan disponibles.
+     * La condición se vuelve a evaluar en la actualización, por lo que dos despachadores nunca toman el mismo correo.
+     * @param ids identificadores de los correos
+     * @param token marca del despachador que los toma
+     * @param now fecha actual
+     * @param lockedUntil fecha en que vence el plazo del despachador
+     * @return cantidad de correos tomados
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.project.demo.logic.entity.email.EmailOutboxStatus.SENDING, "
+            + "e.claimToken = :token, e.lockedUntil = :lockedUntil WHERE e.id IN :ids AND " + DUE)
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") Date now, @Param("lockedUntil") Date lockedUntil);
+
+    /**
+     * Programa un nuevo intento de un correo que sigue tomado con la marca indicada.
+     * Si el plazo venció y otro despachador lo volvió a tomar, la marca ya no coincide y no se modifica.
+     * @param id identificador del correo
+     * @param token marca del despachador que lo tomó
+     * @param attempts intentos fallidos
+     * @param lastError mensaje del último error
+     * @param nextAttemptAt fecha del siguiente intento
+     * @return 1 si se actualizó; 0 si otro despachador lo tomó
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.project.demo.logic.entity.email.EmailOutboxStatus.PENDING, "
+            + "e.attempts = :attempts, e.lastError = :lastError, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lockedUntil = NULL, e.claimToken = NULL WHERE e.id = :id AND e.claimToken = :token")
+    int release(@Param("id") Long id, @Param("token") String token, @Param("attempts") int attempts,
+                @Param("lastError") String lastError, @Param("nextAttemptAt") Date nextAttemptAt);
+
+    /**
+     * Marca como enviado o descartado un correo que sigue tomado con la marca indicada y descarta sus cuerpos.
+     * Si el plazo venció y otro despachador lo volvió a tomar, la marca ya no coincide y no se modifica.
+     * @param id identificador del correo
+     * @param token marca del despachador que lo tomó
+     * @param status estado final
+     * @param attempts intentos fallidos
+     * @param lastError mensaje del último error
+     * @param sentAt fecha de envío; null si se descartó
+     * @return 1 si se actualizó; 0 si otro despachador lo tomó
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = :attempts, e.lastError = :lastError, "
+            + "e.sentAt = :sentAt, e.body = NULL, e.htmlBody = NULL, e.lockedUntil = NULL, e.claimToken = NULL "
+            + "WHERE e.id = :id AND e.claimToken = :token")
+    int finish(@Param("id") Long id, @Param("token") String token, @Param("status") EmailOutboxStatus status,
+               @Param("attempts") int attempts, @Param("lastError") String lastError, @Param("sentAt") Date sentAt);
+
+    /**
+     * Obtiene los correos tomados con una marca.
+     * @param claimToken marca del despachador
+     * @return correos tomados
+     */
+    List<EmailOutbox> findByClaimToken(String claimToken);
+
+    /**
+     * Elimina los correos enviados o descartados creados antes de una fecha.
+     * @param statuses estados a eliminar
+     * @param before fecha límite de creación
+     * @return cantidad de correos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status IN :statuses AND e.createdAt < :before")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<EmailOutboxStatus> statuses,
+                                           @Param("before") Date before);
+}
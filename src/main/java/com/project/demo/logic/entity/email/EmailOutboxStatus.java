@@ -0,0 +1,11 @@
+package com.project.demo.logic.entity.email;
+
+/**
+ * Estado de un correo en la bandeja de salida.
+ */
+public enum EmailOutboxStatus {
+    PENDING,  // En espera de envío o de un nuevo intento
+    SENDING,  // Tomado por el despachador; vuelve a estar disponible si vence su plazo
+    SENT,     // Enviado
+    DEAD      // Descartado tras agotar los intentos o por un error permanente
+}
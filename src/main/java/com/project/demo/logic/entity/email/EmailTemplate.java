@@ -0,0 +1,52 @@
+package com.project.demo.logic.entity.email;
+
+import java.util.List;
+
+/**
+ * Plantillas de correo electrónico utilizadas por el sistema.
+ * Cada plantilla tiene un asunto y un cuerpo de texto plano en {@code email-templates/<archivo>.txt},
+ * y opcionalmente un cuerpo HTML en {@code email-templates/<archivo>.html}.
+ * Las variables se declaran en el orden en que se pasan sus valores al renderizar.
+ */
+public enum EmailTemplate {
+    NEW_ACCOUNT("new-account", "Bienvenido a EduSmart",
+            "name", "email", "password", "loginUrl"),
+    TEMPORARY_PASSWORD("temporary-password", "Generación de Contraseña Temporal",
+            "name", "email", "password", "loginUrl"),
+    GROUP_ANNOUNCEMENT("group-announcement", "{{groupName}}: {{subject}}",
+            "name", "groupName", "teacherName", "subject", "message");
+
+    private final String file;
+    private final String subject;
+    private final List<String> variables;
+
+    EmailTemplate(String file, String subject, String... variables) {
+        this.file = file;
+        this.subject = subject;
+        this.variables = List.of(variables);
+    }
+
+    /**
+     * Obtiene el nombre de los archivos de la plantilla, sin extensión.
+     * @return nombre de los archivos
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Obtiene el asunto, que puede usar las mismas variables que el cuerpo.
+     * @return asunto de la plantilla
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Obtiene los nombres de las variables.
+     * @return variables en el orden de sus valores
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+}
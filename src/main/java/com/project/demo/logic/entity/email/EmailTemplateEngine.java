@@ -0,0 +1,120 @@
+package com.project.demo.logic.entity.email;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor de plantillas de correo.
+ * Al iniciar la aplicación lee y compila todas las plantillas de {@link EmailTemplate}, de modo que una plantilla
+ * inválida impide el arranque en lugar de fallar al enviar. Cada hilo renderiza en un búfer propio que se reutiliza
+ * entre correos, así que un envío masivo solo crea las cadenas finales del asunto y los cuerpos.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "email-templates/";
+    private static final int INITIAL_BUFFER = 2048;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<EmailTemplate, Compiled> templates = new EnumMap<>(EmailTemplate.class);
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER));
+
+    /**
+     * Lee y compila las plantillas.
+     * @throws IOException si no se puede leer una plantilla
+     * @throws IllegalStateException si falta el cuerpo de texto de una plantilla o una plantilla no es válida
+     */
+    @PostConstruct
+    void init() throws IOException {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            List<String> variables = template.getVariables();
+            String text = read(template.getFile() + ".txt");
+            if (text == null) {
+                throw new IllegalStateException("Falta la plantilla " + LOCATION + template.getFile() + ".txt");
+            }
+            String html = read(template.getFile() + ".html");
+            try {
+                templates.put(template, new Compiled(
+                        CompiledTemplate.compile(template.getSubject(), variables, false),
+                        CompiledTemplate.compile(text, variables, false),
+                        html != null ? CompiledTemplate.compile(html, variables, true) : null));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Plantilla " + template.getFile() + " inválida: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Renderiza una plantilla como un correo listo para encolar.
+     * @param template plantilla
+     * @param recipient dirección de correo del destinatario
+     * @param values valores de las variables, en el orden declarado en la plantilla
+     * @return correo con asunto, cuerpo de texto y, si la plantilla lo tiene, cuerpo HTML
+     * @throws IllegalArgumentException si la cantidad de valores no coincide con las variables de la plantilla
+     */
+    public EmailOutbox render(EmailTemplate template, String recipient, String... values) {
+        if (values.length != template.getVariables().size()) {
+            throw new IllegalArgumentException("La plantilla " + template + " espera "
+                    + template.getVariables().size() + " valores y recibió " + values.length);
+        }
+        Compiled compiled = templates.get(template);
+        StringBuilder buffer = buffers.get();
+        String subject = render(compiled.subject(), buffer, values);
+        String text = render(compiled.text(), buffer, values);
+        String html = compiled.html() != null ? render(compiled.html(), buffer, values) : null;
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return new EmailOutbox(recipient, subject, text, html);
+    }
+
+    /**
+     * Renderiza una plantilla compilada en el búfer del hilo.
+     * @param template plantilla compilada
+     * @param buffer búfer del hilo
+     * @param values valores de las variables
+     * @return texto renderizado
+     */
+    private static String render(CompiledTemplate template, StringBuilder buffer, String[] values) {
+        buffer.setLength(0);
+        template.renderTo(buffer, values);
+        return buffer.toString();
+    }
+
+    /**
+     * Lee un archivo de plantilla sin el salto de línea final.
+     * @param file nombre del archivo
+     * @return contenido; null si el archivo no existe
+     * @throws IOException si falla la lectura
+     */
+    private static String read(String file) throws IOException {
+        ClassPathResource resource = new ClassPathResource(LOCATION + file);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (content.endsWith("\r\n")) {
+                return content.substring(0, content.length() - 2);
+            }
+            return content.endsWith("\n") ? content.substring(0, content.length() - 1) : content;
+        }
+    }
+
+    /**
+     * Partes compiladas de una plantilla.
+     * @param subject asunto
+     * @param text cuerpo de texto plano
+     * @param html cuerpo HTML; null si la plantilla no tiene
+     */
+    private record Compiled(CompiledTemplate subject, CompiledTemplate text, CompiledTemplate html) {
+    }
+}
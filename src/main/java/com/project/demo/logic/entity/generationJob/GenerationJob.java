@@ -0,0 +1,148 @@
+package com.project.demo.logic.entity.generationJob;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Representa un trabajo asíncrono de generación de preguntas con IA para un cuestionario.
+ * Incluye su estado, las preguntas creadas y las fechas de cada etapa.
+ */
+public class GenerationJob {
+    private final String id;
+    private final Integer quizId;
+    private final int numberOfQuestions;
+    private final String requestedBy;
+    private final LocalDateTime createdAt;
+
+    private volatile GenerationJobStatusEnum status = GenerationJobStatusEnum.QUEUED;
+    private volatile List<Integer> questionIds = List.of();
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    /**
+     * Constructor con los datos de la solicitud.
+     * @param id identificador del trabajo
+     * @param quizId identificador del cuestionario
+     * @param numberOfQuestions número de preguntas a generar
+     * @param requestedBy usuario que solicitó el trabajo
+     */
+    public GenerationJob(String id, Integer quizId, int numberOfQuestions, String requestedBy) {
+        this.id = id;
+        this.quizId = quizId;
+        this.numberOfQuestions = numberOfQuestions;
+        this.requestedBy = requestedBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marca el trabajo como en ejecución.
+     */
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = GenerationJobStatusEnum.RUNNING;
+    }
+
+    /**
+     * Marca el trabajo como finalizado con éxito.
+     * @param questionIds identificadores de las preguntas creadas
+     */
+    void markDone(List<Integer> questionIds) {
+        this.questionIds = List.copyOf(questionIds);
+        this.finishedAt = LocalDateTime.now();
+        this.status = GenerationJobStatusEnum.DONE;
+    }
+
+    /**
+     * Marca el trabajo como fallido.
+     * @param error mensaje de error
+     */
+    void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = GenerationJobStatusEnum.FAILED;
+    }
+
+    /**
+     * Obtiene el identificador del trabajo.
+     * @return id del trabajo
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene el identificador del cuestionario.
+     * @return id del cuestionario
+     */
+    public Integer getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * Obtiene el número de preguntas solicitadas.
+     * @return número de preguntas
+     */
+    public int getNumberOfQuestions() {
+        return numberOfQuestions;
+    }
+
+    /**
+     * Obtiene el usuario que solicitó el trabajo. No se expone en la respuesta.
+     * @return nombre de usuario
+     */
+    @JsonIgnore
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    /**
+     * Obtiene el estado del trabajo.
+     * @return estado
+     */
+    public GenerationJobStatusEnum getStatus() {
+        return status;
+    }
+
+    /**
+     * Obtiene los identificadores de las preguntas creadas.
+     * @return lista de ids de preguntas
+     */
+    public List<Integer> getQuestionIds() {
+        return questionIds;
+    }
+
+    /**
+     * Obtiene el mensaje de error si el trabajo falló.
+     * @return mensaje de error
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Obtiene la fecha de creación del trabajo.
+     * @return fecha de creación
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Obtiene la fecha de inicio de la ejecución.
+     * @return fecha de inicio
+     */
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Obtiene la fecha de finalización.
+     * @return fecha de finalización
+     */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,187 @@
+package com.project.demo.logic.entity.generationJob;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.demo.logic.entity.question.QuestionGenerationService;
+import com.project.demo.logic.entity.quiz.Quiz;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que ejecuta la generación de preguntas con IA fuera del hilo de la petición.
+ * Usa un pool de hilos acotado con una cola de capacidad fija y guarda los trabajos en memoria
+ * para que el cliente consulte su estado. Los trabajos en cola o en ejecución se guardan aparte de los
+ * terminados, así el límite de tamaño solo descarta trabajos cuyo resultado ya se conoce.
+ * Cada cuestionario tiene como mucho un trabajo activo: una solicitud repetida mientras el anterior
+ * sigue en cola o en ejecución recibe ese mismo trabajo en lugar de generar preguntas otra vez.
+ */
+@Service
+public class GenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+
+    @Value("${quiz.generation.pool-size:2}")
+    private int poolSize;
+
+    @Value("${quiz.generation.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${quiz.generation.job-retention:PT1H}")
+    private Duration jobRetention;
+
+    @Value("${quiz.generation.max-finished-jobs:1000}")
+    private long maxFinishedJobs;
+
+    private final QuestionGenerationService questionGenerationService;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private final Map<String, GenerationJob> activeJobs = new ConcurrentHashMap<>();
+    private final Map<Integer, GenerationJob> activeJobsByQuiz = new ConcurrentHashMap<>();
+    private Cache<String, GenerationJob> finishedJobs;
+    private Timer jobLatency;
+    private Counter failedJobs;
+    private Counter rejectedJobs;
+    private Counter coalescedJobs;
+
+    public GenerationJobService(QuestionGenerationService questionGenerationService, MeterRegistry meterRegistry) {
+        this.questionGenerationService = questionGenerationService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Crea el pool de hilos, el almacén de trabajos y las métricas.
+     */
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "quiz-generation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.finishedJobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .maximumSize(maxFinishedJobs)
+                .build();
+
+        Gauge.builder("quiz.generation.queue.depth", executor, e -> e.getQueue().size())
+                .description("Trabajos de generación en espera")
+                .register(meterRegistry);
+        Gauge.builder("quiz.generation.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Trabajos de generación en ejecución")
+                .register(meterRegistry);
+        this.jobLatency = Timer.builder("quiz.generation.latency")
+                .description("Tiempo de ejecución de los trabajos de generación")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedJobs = Counter.builder("quiz.generation.failures")
+                .description("Trabajos de generación fallidos")
+                .register(meterRegistry);
+        this.rejectedJobs = Counter.builder("quiz.generation.rejected")
+                .description("Trabajos de generación rechazados por cola llena")
+                .register(meterRegistry);
+        this.coalescedJobs = Counter.builder("quiz.generation.coalesced")
+                .description("Solicitudes de generación atendidas con un trabajo activo del mismo cuestionario")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene el pool de hilos al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Encola la generación de preguntas para un cuestionario.
+     * Si el cuestionario ya tiene un trabajo en cola o en ejecución, devuelve ese trabajo sin encolar otro;
+     * el trabajo conserva el usuario y el número de preguntas de la primera solicitud.
+     * @param quiz cuestionario al que se agregarán las preguntas
+     * @param numberOfQuestions número de preguntas a generar
+     * @param requestedBy usuario que solicita la generación
+     * @return trabajo creado en estado QUEUED, o el trabajo activo del cuestionario
+     * @throws RejectedExecutionException si la cola de trabajos está llena
+     */
+    public GenerationJob submit(Quiz quiz, int numberOfQuestions, String requestedBy) {
+        GenerationJob created = new GenerationJob(UUID.randomUUID().toString(), quiz.getId(), numberOfQuestions, requestedBy);
+        GenerationJob job = activeJobsByQuiz.computeIfAbsent(quiz.getId(), quizId -> created);
+        if (job != created) {
+            coalescedJobs.increment();
+            return job;
+        }
+        activeJobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, quiz));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            activeJobsByQuiz.remove(quiz.getId(), job);
+            rejectedJobs.increment();
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Busca un trabajo por su identificador.
+     * @param jobId identificador del trabajo
+     * @return trabajo (opcional)
+     */
+    public Optional<GenerationJob> getJob(String jobId) {
+        GenerationJob job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.getIfPresent(jobId);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Ejecuta un trabajo y registra su resultado.
+     * @param job trabajo a ejecutar
+     * @param quiz cuestionario asociado
+     */
+    private void run(GenerationJob job, Quiz quiz) {
+        job.markRunning();
+        long start = System.nanoTime();
+        try {
+            List<Integer> questionIds = questionGenerationService.generateQuestionsWithAI(quiz, job.getNumberOfQuestions());
+            job.markDone(questionIds);
+        } catch (Exception e) {
+            logger.error("Error en el trabajo de generación {}: {}", job.getId(), e.getMessage(), e);
+            failedJobs.increment();
+            job.markFailed(e.getMessage());
+        } finally {
+            jobLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            finishedJobs.put(job.getId(), job);
+            activeJobsByQuiz.remove(quiz.getId(), job);
+            activeJobs.remove(job.getId());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.demo.logic.entity.generationJob;
+
+/**
+ * Enum que representa los estados de un trabajo de generación de preguntas con IA.
+ */
+public enum GenerationJobStatusEnum {
+    QUEUED,   // En cola, esperando un hilo libre
+    RUNNING,  // En ejecución
+    DONE,     // Finalizado con éxito
+    FAILED    // Finalizado con error
+}
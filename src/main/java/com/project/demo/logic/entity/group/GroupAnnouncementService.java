@@ -0,0 +1,56 @@
+package com.project.demo.logic.entity.group;
+
+import com.project.demo.logic.entity.email.EmailManager;
+import com.project.demo.logic.entity.email.EmailOutbox;
+import com.project.demo.logic.entity.email.EmailTemplate;
+import com.project.demo.logic.entity.email.EmailTemplateEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servicio de anuncios por correo a todos los estudiantes de un grupo.
+ * Lee solo el nombre y el correo de los estudiantes, renderiza cada correo con la plantilla compilada
+ * y los encola con una sola inserción en lote.
+ */
+@Service
+public class GroupAnnouncementService {
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private EmailTemplateEngine templateEngine;
+
+    @Autowired
+    private EmailManager emailManager;
+
+    /**
+     * Encola un anuncio para cada estudiante del grupo.
+     * @param groupId identificador del grupo
+     * @param subject asunto del anuncio
+     * @param message texto del anuncio
+     * @return cantidad de correos encolados; vacío si el grupo no existe
+     */
+    @Transactional
+    public Optional<Integer> announce(Long groupId, String subject, String message) {
+        Optional<GroupSummaryView> group = groupRepository.findSummaryById(groupId);
+        if (group.isEmpty()) {
+            return Optional.empty();
+        }
+        String groupName = group.get().getName();
+        String teacherName = group.get().getTeacherName() + " " + group.get().getTeacherLastname();
+        List<StudentContactView> students = groupRepository.findStudentContactsByGroupId(groupId);
+        List<EmailOutbox> emails = new ArrayList<>(students.size());
+        for (StudentContactView student : students) {
+            emails.add(templateEngine.render(EmailTemplate.GROUP_ANNOUNCEMENT, student.getEmail(),
+                    student.getName(), groupName, teacherName, subject, message));
+        }
+        emailManager.queueEmails(emails);
+        return Optional.of(emails.size());
+    }
+}
@@ -2,48 +2,144 @@ package com.project.demo.logic.entity.group;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad Group.
  * Permite consultar grupos por curso, profesor y estudiante.
+ * Los listados devuelven proyecciones con una sola consulta y cuentan el total sin las uniones.
  */
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
+
+    /**
+     * Columnas de la proyección de grupos para listados.
+     */
+    String SUMMARY_SELECT = "SELECT g.id AS id, g.name AS name, c.id AS courseId, c.code AS courseCode, " +
+            "c.title AS courseTitle, t.id AS teacherId, t.name AS teacherName, t.lastname AS teacherLastname, " +
+            "SIZE(g.students) AS studentCount FROM Group g JOIN g.course c JOIN g.teacher t ";
+
+    /**
+     * Busca una página de grupos como proyección.
+     * @param pageable paginación
+     * @return página de grupos ordenada por identificador
+     */
+    @Query(value = SUMMARY_SELECT + "ORDER BY g.id",
+            countQuery = "SELECT COUNT(g) FROM Group g")
+    Page<GroupSummaryView> findSummaries(Pageable pageable);
+
     /**
-     * Busca los grupos por el identificador del curso.
+     * Busca una página de grupos de un curso como proyección.
      * @param courseId identificador del curso
      * @param pageable paginación
-     * @return página de grupos
+     * @return página de grupos ordenada por identificador
      */
-    Page<Group> findGroupsByCourseId(Long courseId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :courseId ORDER BY g.id",
+            countQuery = "SELECT COUNT(g) FROM Group g WHERE g.course.id = :courseId")
+    Page<GroupSummaryView> findSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
 
     /**
-     * Busca los grupos por el identificador del profesor.
+     * Busca una página de grupos de un profesor como proyección.
      * @param teacherId identificador del profesor
      * @param pageable paginación
-     * @return página de grupos
+     * @return página de grupos ordenada por identificador
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE t.id = :teacherId ORDER BY g.id",
+            countQuery = "SELECT COUNT(g) FROM Group g WHERE g.teacher.id = :teacherId")
+    Page<GroupSummaryView> findSummariesByTeacherId(@Param("teacherId") Long teacherId, Pageable pageable);
+
+    /**
+     * Busca una página de grupos de un estudiante como proyección.
+     * @param studentId identificador del estudiante
+     * @param pageable paginación
+     * @return página de grupos ordenada por identificador
+     */
+    @Query(value = SUMMARY_SELECT + "JOIN g.students s WHERE s.id = :studentId ORDER BY g.id",
+            countQuery = "SELECT COUNT(g) FROM Group g JOIN g.students s WHERE s.id = :studentId")
+    Page<GroupSummaryView> findSummariesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Busca un grupo como proyección.
+     * @param groupId identificador del grupo
+     * @return grupo (opcional)
+     */
+    @Query(SUMMARY_SELECT + "WHERE g.id = :groupId")
+    Optional<GroupSummaryView> findSummaryById(@Param("groupId") Long groupId);
+
+    /**
+     * Obtiene el nombre y el correo de los estudiantes del grupo, sin cargar las entidades.
+     * @param groupId identificador del grupo
+     * @return contactos de los estudiantes ordenados por identificador
      */
-    Page<Group> findGroupsByTeacherId(Long teacherId, Pageable pageable);
+    @Query("SELECT s.name AS name, s.email AS email FROM Group g JOIN g.students s WHERE g.id = :groupId ORDER BY s.id")
+    List<StudentContactView> findStudentContactsByGroupId(@Param("groupId") Long groupId);
 
     /**
-     * Busca un grupo junto con sus estudiantes por el identificador del grupo.
+     * Busca un grupo junto con su curso, su profesor y sus estudiantes, con el rol y la escuela de cada usuario,
+     * en una sola consulta.
      * @param groupId identificador del grupo
      * @return grupo con estudiantes (opcional)
      */
+    @EntityGraph(attributePaths = {"course", "teacher.role", "teacher.school", "students.role", "students.school"})
     Optional<Group> findWithStudentsById(Long groupId);
 
     /**
-     * Busca los grupos por el identificador del estudiante.
-     * @param studentId identificador del estudiante
-     * @param pageable paginación
-     * @return página de grupos
+     * Obtiene los identificadores de los estudiantes del grupo, leyendo solo la tabla de unión.
+     * @param groupId identificador del grupo
+     * @return identificadores de los estudiantes
+     */
+    @Query(value = "SELECT gs.user_id FROM group_student gs WHERE gs.group_id = :groupId", nativeQuery = true)
+    List<Long> findStudentIdsByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Obtiene cuáles de los usuarios indicados ya pertenecen al grupo.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los usuarios
+     * @return identificadores de los usuarios que ya son estudiantes del grupo
+     */
+    @Query(value = "SELECT gs.user_id FROM group_student gs WHERE gs.group_id = :groupId AND gs.user_id IN (:studentIds)",
+            nativeQuery = true)
+    List<Long> findStudentIdsByGroupIdAndStudentIdIn(@Param("groupId") Long groupId,
+                                                     @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Inscribe a los usuarios indicados en el grupo, omitiendo a los que no existen o ya pertenecen a él.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los usuarios
+     * @return cantidad de filas insertadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO group_student (group_id, user_id) " +
+            "SELECT :groupId, u.id FROM `user` u WHERE u.id IN (:studentIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM group_student gs WHERE gs.group_id = :groupId AND gs.user_id = u.id)",
+            nativeQuery = true)
+    int insertStudents(@Param("groupId") Long groupId, @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Retira del grupo a los usuarios indicados.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los usuarios
+     * @return cantidad de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM group_student WHERE group_id = :groupId AND user_id IN (:studentIds)", nativeQuery = true)
+    int deleteStudents(@Param("groupId") Long groupId, @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Retira del grupo a todos sus estudiantes.
+     * @param groupId identificador del grupo
+     * @return cantidad de filas eliminadas
      */
-    @Query("SELECT DISTINCT g FROM Group g JOIN g.students s WHERE s.id = :studentId")
-    Page<Group> findGroupsByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM group_student WHERE group_id = :groupId", nativeQuery = true)
+    int deleteAllStudents(@Param("groupId") Long groupId);
 }
@@ -0,0 +1,151 @@
+package com.project.demo.logic.entity.group;
+
+import com.project.demo.logic.entity.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio de matrícula de estudiantes en grupos por lotes.
+ * Trabaja directamente sobre la tabla de unión group_student con sentencias por conjunto,
+ * sin cargar el grupo ni su colección de estudiantes, por lo que cada operación ejecuta
+ * la misma cantidad de sentencias sin importar cuántos estudiantes incluya.
+ * Las sentencias limpian el contexto de persistencia para que ningún grupo cargado conserve estudiantes anteriores.
+ */
+@Service
+public class GroupRosterService {
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Añade estudiantes a un grupo.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los estudiantes
+     * @return resultado por estudiante, en el orden recibido y sin repetidos
+     */
+    @Transactional
+    public List<RosterResult> addStudents(Long groupId, Collection<Long> studentIds) {
+        Set<Long> requested = distinct(studentIds);
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> members = new HashSet<>(groupRepository.findStudentIdsByGroupIdAndStudentIdIn(groupId, requested));
+        return enroll(groupId, requested, members);
+    }
+
+    /**
+     * Retira estudiantes de un grupo.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los estudiantes
+     * @return resultado por estudiante, en el orden recibido y sin repetidos
+     */
+    @Transactional
+    public List<RosterResult> removeStudents(Long groupId, Collection<Long> studentIds) {
+        Set<Long> requested = distinct(studentIds);
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> members = new HashSet<>(groupRepository.findStudentIdsByGroupIdAndStudentIdIn(groupId, requested));
+        if (!members.isEmpty()) {
+            groupRepository.deleteStudents(groupId, members);
+        }
+
+        List<RosterResult> results = new ArrayList<>(requested.size());
+        for (Long studentId : requested) {
+            results.add(new RosterResult(studentId, members.contains(studentId) ? RosterOutcome.REMOVED : RosterOutcome.NOT_MEMBER));
+        }
+        return results;
+    }
+
+    /**
+     * Reemplaza los estudiantes de un grupo: retira a los que no están en la lista y añade a los que faltan.
+     * Solo una lista vacía vacía el grupo; una lista ausente se rechaza para no retirar a todos por omisión.
+     * @param groupId identificador del grupo
+     * @param studentIds identificadores de los estudiantes que debe tener el grupo
+     * @return resultado por estudiante recibido, seguido de los estudiantes retirados
+     * @throws IllegalArgumentException si studentIds es null
+     */
+    @Transactional
+    public List<RosterResult> replaceStudents(Long groupId, Collection<Long> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("La lista de estudiantes es obligatoria");
+        }
+        Set<Long> requested = distinct(studentIds);
+        Set<Long> members = new HashSet<>(groupRepository.findStudentIdsByGroupId(groupId));
+
+        List<Long> removed = new ArrayList<>();
+        for (Long memberId : members) {
+            if (!requested.contains(memberId)) {
+                removed.add(memberId);
+            }
+        }
+        if (requested.isEmpty()) {
+            groupRepository.deleteAllStudents(groupId);
+        } else if (!removed.isEmpty()) {
+            groupRepository.deleteStudents(groupId, removed);
+        }
+
+        List<RosterResult> results = requested.isEmpty() ? new ArrayList<>() : enroll(groupId, requested, members);
+        for (Long studentId : removed) {
+            results.add(new RosterResult(studentId, RosterOutcome.REMOVED));
+        }
+        return results;
+    }
+
+    /**
+     * Inscribe a los estudiantes solicitados que existen y aún no pertenecen al grupo.
+     * @param groupId identificador del grupo
+     * @param requested estudiantes solicitados
+     * @param members estudiantes solicitados que ya pertenecen al grupo
+     * @return resultado por estudiante solicitado
+     */
+    private List<RosterResult> enroll(Long groupId, Set<Long> requested, Set<Long> members) {
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(requested));
+        List<Long> toAdd = new ArrayList<>();
+        List<RosterResult> results = new ArrayList<>(requested.size());
+        for (Long studentId : requested) {
+            RosterOutcome outcome;
+            if (!existing.contains(studentId)) {
+                outcome = RosterOutcome.NOT_FOUND;
+            } else if (members.contains(studentId)) {
+                outcome = RosterOutcome.ALREADY_MEMBER;
+            } else {
+                outcome = RosterOutcome.ADDED;
+                toAdd.add(studentId);
+            }
+            results.add(new RosterResult(studentId, outcome));
+        }
+        if (!toAdd.isEmpty()) {
+            groupRepository.insertStudents(groupId, toAdd);
+        }
+        return results;
+    }
+
+    /**
+     * Elimina identificadores nulos y repetidos, conservando el orden.
+     * @param studentIds identificadores recibidos
+     * @return identificadores distintos
+     */
+    private static Set<Long> distinct(Collection<Long> studentIds) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (studentIds != null) {
+            for (Long studentId : studentIds) {
+                if (studentId != null) {
+                    distinct.add(studentId);
+                }
+            }
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.demo.logic.entity.group;
+
+/**
+ * Proyección de un grupo para listados, con los datos básicos del curso y del profesor
+ * y la cantidad de estudiantes en lugar de las entidades completas.
+ */
+public interface GroupSummaryView {
+
+    /**
+     * Obtiene el identificador del grupo.
+     * @return id del grupo
+     */
+    Long getId();
+
+    /**
+     * Obtiene el nombre del grupo.
+     * @return nombre
+     */
+    String getName();
+
+    /**
+     * Obtiene el identificador del curso.
+     * @return id del curso
+     */
+    Long getCourseId();
+
+    /**
+     * Obtiene el código del curso.
+     * @return código del curso
+     */
+    String getCourseCode();
+
+    /**
+     * Obtiene el título del curso.
+     * @return título del curso
+     */
+    String getCourseTitle();
+
+    /**
+     * Obtiene el identificador del profesor.
+     * @return id del profesor
+     */
+    Long getTeacherId();
+
+    /**
+     * Obtiene el nombre del profesor.
+     * @return nombre del profesor
+     */
+    String getTeacherName();
+
+    /**
+     * Obtiene el apellido del profesor.
+     * @return apellido del profesor
+     */
+    String getTeacherLastname();
+
+    /**
+     * Obtiene la cantidad de estudiantes del grupo.
+     * @return cantidad de estudiantes
+     */
+    Integer getStudentCount();
+}
@@ -0,0 +1,12 @@
+package com.project.demo.logic.entity.group;
+
+/**
+ * Resultado de un cambio de matrícula para un estudiante.
+ */
+public enum RosterOutcome {
+    ADDED,           // El estudiante se añadió al grupo
+    ALREADY_MEMBER,  // El estudiante ya pertenecía al grupo
+    REMOVED,         // El estudiante se retiró del grupo
+    NOT_MEMBER,      // El estudiante no pertenecía al grupo
+    NOT_FOUND        // El usuario no existe
+}
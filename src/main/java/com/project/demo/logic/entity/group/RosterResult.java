@@ -0,0 +1,36 @@
+package com.project.demo.logic.entity.group;
+
+/**
+ * Resultado de un cambio de matrícula para un estudiante del grupo.
+ */
+public class RosterResult {
+
+    private final Long studentId;
+    private final RosterOutcome outcome;
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param studentId identificador del estudiante
+     * @param outcome resultado para el estudiante
+     */
+    public RosterResult(Long studentId, RosterOutcome outcome) {
+        this.studentId = studentId;
+        this.outcome = outcome;
+    }
+
+    /**
+     * Obtiene el identificador del estudiante.
+     * @return id del estudiante
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Obtiene el resultado para el estudiante.
+     * @return resultado
+     */
+    public RosterOutcome getOutcome() {
+        return outcome;
+    }
+}
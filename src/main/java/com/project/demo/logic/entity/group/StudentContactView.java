@@ -0,0 +1,19 @@
+package com.project.demo.logic.entity.group;
+
+/**
+ * Proyección con los datos de contacto de un estudiante de un grupo.
+ */
+public interface StudentContactView {
+
+    /**
+     * Obtiene el nombre del estudiante.
+     * @return nombre
+     */
+    String getName();
+
+    /**
+     * Obtiene el correo electrónico del estudiante.
+     * @return correo electrónico
+     */
+    String getEmail();
+}
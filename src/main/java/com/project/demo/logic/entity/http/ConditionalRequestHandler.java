@@ -0,0 +1,147 @@
+package com.project.demo.logic.entity.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Maneja las peticiones GET condicionales (If-None-Match) de los endpoints de lectura.
+ * El ETag débil y la fecha de modificación salen de la versión del recurso, que se obtiene con una consulta agregada,
+ * así que un recurso sin cambios se responde con 304 sin ejecutar la consulta del cuerpo ni serializarlo.
+ * Solo se valida el ETag: incluye la cantidad de elementos, de modo que eliminar uno que no es el más reciente
+ * también cambia la versión. If-Modified-Since se ignora porque una fecha sola no detecta esa eliminación.
+ * Las respuestas se marcan como privadas y de revalidación obligatoria para que el cliente pueda guardarlas.
+ */
+@Component
+public class ConditionalRequestHandler {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final MeterRegistry meterRegistry;
+
+    private Counter notModified;
+    private Counter modified;
+
+    public ConditionalRequestHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra los contadores de respuestas y la proporción de respuestas 304.
+     */
+    @PostConstruct
+    void init() {
+        this.notModified = Counter.builder("http.conditional.responses")
+                .description("Respuestas de lectura con validadores")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("http.conditional.responses")
+                .description("Respuestas de lectura con validadores")
+                .tag("result", "modified")
+                .register(meterRegistry);
+        Gauge.builder("http.conditional.not_modified.ratio", this, ConditionalRequestHandler::notModifiedRatio)
+                .description("Proporción de respuestas de lectura resueltas con 304")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Responde 304 si el cliente ya tiene la versión actual del recurso; en caso contrario construye la respuesta
+     * y le agrega el ETag, la fecha de modificación y la política de caché.
+     * @param version versión actual del recurso
+     * @param request petición HTTP
+     * @param response construye la respuesta completa; solo se llama si el recurso cambió
+     * @return respuesta 304 sin cuerpo o la respuesta completa con sus validadores
+     */
+    public ResponseEntity<?> handle(ResourceVersionView version, HttpServletRequest request,
+                                    Supplier<ResponseEntity<?>> response) {
+        String etag = etag(version);
+        long lastModified = version.getLastModified() != null ? version.getLastModified().getTime() : -1;
+
+        if (isNotModified(request, etag)) {
+            notModified.increment();
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+        }
+
+        modified.increment();
+        ResponseEntity<?> full = response.get();
+        if (!full.getStatusCode().is2xxSuccessful()) {
+            return full;
+        }
+        return validators(ResponseEntity.status(full.getStatusCode()).headers(full.getHeaders()), etag, lastModified)
+                .body(full.getBody());
+    }
+
+    /**
+     * Agrega el ETag, la fecha de modificación si se conoce y la política de caché.
+     * @param builder respuesta en construcción
+     * @param etag ETag actual
+     * @param lastModified última modificación en milisegundos, o -1 si no se conoce
+     * @return respuesta en construcción con los validadores
+     */
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, String etag, long lastModified) {
+        builder.eTag(etag).cacheControl(CACHE_CONTROL);
+        if (lastModified != -1) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    /**
+     * Calcula el ETag débil de una versión: la cantidad de elementos y la última modificación en milisegundos.
+     * @param version versión del recurso
+     * @return ETag débil entre comillas
+     */
+    static String etag(ResourceVersionView version) {
+        long count = version.getCount() != null ? version.getCount() : 0;
+        long lastModified = version.getLastModified() != null ? version.getLastModified().getTime() : 0;
+        return "W/\"" + count + "-" + lastModified + "\"";
+    }
+
+    /**
+     * Evalúa If-None-Match en forma débil. Sin If-None-Match la respuesta es completa, aunque venga If-Modified-Since.
+     * @param request petición HTTP
+     * @param etag ETag actual
+     * @return true si el cliente tiene la versión actual
+     */
+    static boolean isNotModified(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita el prefijo de ETag débil para comparar solo el valor.
+     * @param tag ETag
+     * @return valor del ETag entre comillas
+     */
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Calcula la proporción de respuestas 304 sobre las respuestas con validadores.
+     * @return proporción entre 0 y 1
+     */
+    private double notModifiedRatio() {
+        double total = notModified.count() + modified.count();
+        return total > 0 ? notModified.count() / total : 0;
+    }
+}
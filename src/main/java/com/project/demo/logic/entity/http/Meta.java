@@ -1,8 +1,11 @@
 package com.project.demo.logic.entity.http;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Representa los metadatos de una respuesta HTTP.
  * Incluye información sobre el método, URL y paginación.
+ * En la paginación por llave solo se llenan el tamaño de página y el cursor de la página siguiente.
  */
 public class Meta {
     private String method;
@@ -11,6 +14,8 @@ public class Meta {
     private long totalElements;
     private int pageNumber;
     private int pageSize;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long nextCursor;
 
     /**
      * Constructor con método y URL.
@@ -117,4 +122,20 @@ public class Meta {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    /**
+     * Obtiene el identificador a enviar en el parámetro "after" para pedir la página siguiente.
+     * @return cursor de la página siguiente, null si no hay más resultados
+     */
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Establece el cursor de la página siguiente.
+     * @param nextCursor cursor de la página siguiente
+     */
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
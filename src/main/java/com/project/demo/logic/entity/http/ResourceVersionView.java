@@ -0,0 +1,22 @@
+package com.project.demo.logic.entity.http;
+
+import java.util.Date;
+
+/**
+ * Versión de un recurso o de un listado, calculada con una consulta agregada sin cargar las entidades.
+ * Cualquier alta, cambio o baja modifica la fecha de la última modificación o la cantidad de elementos.
+ */
+public interface ResourceVersionView {
+
+    /**
+     * Obtiene la fecha de la última modificación de los elementos.
+     * @return fecha de la última modificación; null si no hay elementos
+     */
+    Date getLastModified();
+
+    /**
+     * Obtiene la cantidad de elementos.
+     * @return cantidad de elementos
+     */
+    Long getCount();
+}
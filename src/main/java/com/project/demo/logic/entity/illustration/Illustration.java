@@ -3,6 +3,7 @@ package com.project.demo.logic.entity.illustration;
 import com.project.demo.logic.entity.story.Story;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
@@ -25,6 +26,10 @@ public class Illustration {
     @Column(updatable = false, name = "created_at")
     private Date createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "story_id", referencedColumnName = "id", nullable = false)
     private Story story;
@@ -133,6 +138,22 @@ public class Illustration {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Obtiene la fecha de actualización de la ilustración.
+     * @return fecha de actualización
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de actualización de la ilustración.
+     * @param updatedAt fecha de actualización
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Obtiene la historia asociada a la ilustración.
      * @return historia
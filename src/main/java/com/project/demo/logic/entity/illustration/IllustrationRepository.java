@@ -1,8 +1,11 @@
 package com.project.demo.logic.entity.illustration;
 
+import com.project.demo.logic.entity.http.ResourceVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,4 +21,15 @@ public interface IllustrationRepository extends JpaRepository<Illustration, Long
      * @return página de ilustraciones
      */
     Page<Illustration> findIllustrationsByStoryId(Long storyId, Pageable pageable);
+
+    /**
+     * Obtiene la versión de las ilustraciones de una historia sin cargarlas.
+     * La última modificación incluye la historia y su curso, que se serializan con cada ilustración.
+     * @param storyId identificador de la historia
+     * @return última modificación y cantidad de ilustraciones
+     */
+    @Query("SELECT MAX(GREATEST(COALESCE(i.updatedAt, i.createdAt), COALESCE(s.updatedAt, s.createdAt, i.createdAt), " +
+            "COALESCE(c.updatedAt, c.createdAt, i.createdAt))) AS lastModified, COUNT(i) AS count " +
+            "FROM Illustration i JOIN i.story s JOIN s.course c WHERE s.id = :storyId")
+    ResourceVersionView findVersionByStoryId(@Param("storyId") Long storyId);
 }
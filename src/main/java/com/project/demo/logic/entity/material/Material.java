@@ -4,6 +4,7 @@ import com.project.demo.logic.entity.course.Course;
 import com.project.demo.logic.entity.user.User;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
@@ -25,6 +26,10 @@ public class Material {
     @Column(updatable = false, name = "uploaded_at")
     private Date uploadedAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "course_id", referencedColumnName = "id", nullable = false)
     private Course course;
@@ -121,6 +126,22 @@ public class Material {
         this.uploadedAt = uploadedAt;
     }
 
+    /**
+     * Obtiene la fecha de actualización del material.
+     * @return fecha de actualización
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de actualización del material.
+     * @param updatedAt fecha de actualización
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Obtiene el curso asociado al material.
      * @return curso
@@ -1,8 +1,11 @@
 package com.project.demo.logic.entity.material;
 
+import com.project.demo.logic.entity.http.ResourceVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,6 +14,15 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
+
+    /**
+     * Expresión JPQL con la última modificación de un material {@code m} y de lo que se serializa con él:
+     * curso {@code c}, profesor {@code t}, rol {@code r} y escuela {@code sc}.
+     * Cada fecha ausente se reemplaza por la del material para que GREATEST no devuelva null.
+     */
+    String MATERIAL_GRAPH_MODIFIED = "GREATEST(COALESCE(m.updatedAt, m.uploadedAt), " +
+            "COALESCE(c.updatedAt, c.createdAt, m.uploadedAt), COALESCE(t.updatedAt, t.createdAt, m.uploadedAt), " +
+            "COALESCE(r.updatedAt, r.createdAt, m.uploadedAt), COALESCE(sc.updatedAt, sc.createdAt, m.uploadedAt))";
     /**
      * Busca los materiales por el identificador del curso.
      * @param courseId identificador del curso
@@ -26,4 +38,26 @@ public interface MaterialRepository extends JpaRepository<Material, Long> {
      * @return página de materiales
      */
     Page<Material> findMaterialsByTeacherId(Long teacherId, Pageable pageable);
+
+    /**
+     * Obtiene la versión de los materiales de un curso sin cargarlos.
+     * La última modificación incluye el curso, el profesor, su rol y su escuela, que se serializan con cada material.
+     * @param courseId identificador del curso
+     * @return última modificación y cantidad de materiales
+     */
+    @Query("SELECT MAX(" + MATERIAL_GRAPH_MODIFIED + ") AS lastModified, COUNT(m) AS count " +
+            "FROM Material m JOIN m.course c LEFT JOIN m.teacher t LEFT JOIN t.role r LEFT JOIN t.school sc " +
+            "WHERE c.id = :courseId")
+    ResourceVersionView findVersionByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Obtiene la versión de los materiales de un profesor sin cargarlos.
+     * La última modificación incluye el curso, el profesor, su rol y su escuela, que se serializan con cada material.
+     * @param teacherId identificador del profesor
+     * @return última modificación y cantidad de materiales
+     */
+    @Query("SELECT MAX(" + MATERIAL_GRAPH_MODIFIED + ") AS lastModified, COUNT(m) AS count " +
+            "FROM Material m JOIN m.teacher t LEFT JOIN m.course c LEFT JOIN t.role r LEFT JOIN t.school sc " +
+            "WHERE t.id = :teacherId")
+    ResourceVersionView findVersionByTeacherId(@Param("teacherId") Long teacherId);
 }
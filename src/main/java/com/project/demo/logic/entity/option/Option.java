@@ -12,7 +12,8 @@ import jakarta.persistence.*;
 @Table(name = "option")
 public class Option {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "option_seq")
+    @SequenceGenerator(name = "option_seq", sequenceName = "option_seq", allocationSize = 50)
     private int id;
 
     private String text;
@@ -0,0 +1,19 @@
+package com.project.demo.logic.entity.option;
+
+/**
+ * Proyección con el identificador de una opción y el de la pregunta a la que pertenece.
+ */
+public interface OptionQuestionView {
+
+    /**
+     * Obtiene el identificador de la opción.
+     * @return id de la opción
+     */
+    Integer getId();
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    Integer getQuestionId();
+}
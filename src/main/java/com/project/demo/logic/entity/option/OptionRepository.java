@@ -1,5 +1,9 @@
 package com.project.demo.logic.entity.option;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,4 +24,21 @@ public interface OptionRepository extends JpaRepository<Option, Integer> {
      * @return opción correcta
      */
     Option findByQuestionIdAndIsCorrectTrue(Integer questionId);
-}
\ No newline at end of file
+
+    /**
+     * Busca la pregunta a la que pertenece cada opción, sin cargar las entidades.
+     * @param ids identificadores de las opciones
+     * @return pares de opción y pregunta
+     */
+    @Query("SELECT o.id AS id, o.question.id AS questionId FROM Option o WHERE o.id IN :ids")
+    List<OptionQuestionView> findQuestionIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Busca las opciones correctas de todas las preguntas de un cuestionario, sin cargar las entidades.
+     * @param quizId identificador del cuestionario
+     * @return pares de opción correcta y pregunta
+     */
+    @Query("SELECT o.id AS id, o.question.id AS questionId FROM Option o " +
+            "WHERE o.question.quiz.id = :quizId AND o.isCorrect = true")
+    List<OptionQuestionView> findCorrectByQuizId(@Param("quizId") Integer quizId);
+}
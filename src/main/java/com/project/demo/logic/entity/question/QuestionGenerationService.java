@@ -4,13 +4,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.demo.logic.entity.deepseek.DeepSeekService;
 import com.project.demo.logic.entity.option.Option;
-import com.project.demo.logic.entity.option.OptionRepository;
 import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.story.StoryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Servicio para la generación automática de preguntas y opciones usando IA.
  */
@@ -24,45 +31,83 @@ public class QuestionGenerationService {
     private QuestionRepository questionRepository;
 
     @Autowired
-    private OptionRepository optionRepository;
+    private QuizAnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static final Logger logger = LoggerFactory.getLogger(QuestionGenerationService.class);
 
     /**
      * Genera preguntas y opciones para un cuestionario usando IA.
+     * Todas las preguntas y sus opciones se guardan en una sola transacción, en cascada y en lote.
      * @param quiz cuestionario al que se agregarán las preguntas
      * @param numberOfQuestions número de preguntas a generar
+     * @return identificadores de las preguntas creadas
+     * @throws IllegalStateException si la generación falla
      */
-    public void generateQuestionsWithAI(Quiz quiz, int numberOfQuestions) {
+    public List<Integer> generateQuestionsWithAI(Quiz quiz, int numberOfQuestions) {
+        List<Question> questions;
         try {
-            String storyContent = quiz.getStory().getContent();
+            // el contenido es perezoso y el cuestionario llega separado de su sesión, así que se consulta aparte
+            String storyContent = storyRepository.findContentById(quiz.getStory().getId()).orElse("");
             String aiResponse = deepSeekService.generateQuizQuestions(storyContent, numberOfQuestions);
+            questions = parseQuestions(aiResponse, quiz);
+        } catch (Exception e) {
+            logger.error("Error generando preguntas con IA: {}", e.getMessage(), e);
+            throw new IllegalStateException("Error generando preguntas con IA: " + e.getMessage(), e);
+        }
+
+        // saveAll corre en una sola transacción y las opciones se insertan en cascada
+        List<Question> savedQuestions = questionRepository.saveAll(questions);
+        answerKeyCache.invalidate(quiz.getId());
+        quizAnalyticsService.invalidate(quiz.getId());
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(aiResponse);
-            JsonNode questionsNode = rootNode.get("questions");
-
-            if (questionsNode != null && questionsNode.isArray()) {
-                for (JsonNode questionNode : questionsNode) {
-                    Question question = new Question();
-                    question.setText(questionNode.get("question").asText());
-                    question.setQuiz(quiz);
-                    Question savedQuestion = questionRepository.save(question);
-
-                    JsonNode optionsNode = questionNode.get("options");
-                    if (optionsNode != null && optionsNode.isArray()) {
-                        for (JsonNode optionNode : optionsNode) {
-                            Option option = new Option();
-                            option.setText(optionNode.get("text").asText());
-                            option.setCorrect(optionNode.get("correct").asBoolean());
-                            option.setQuestion(savedQuestion);
-                            optionRepository.save(option);
-                        }
+        List<Integer> questionIds = new ArrayList<>();
+        for (Question question : savedQuestions) {
+            questionIds.add(question.getId());
+        }
+        return questionIds;
+    }
+
+    /**
+     * Convierte la respuesta JSON de la IA en preguntas con sus opciones asociadas.
+     * @param aiResponse respuesta JSON de la IA
+     * @param quiz cuestionario al que pertenecen las preguntas
+     * @return preguntas listas para guardar en cascada
+     * @throws Exception si la respuesta no es un JSON válido
+     */
+    private List<Question> parseQuestions(String aiResponse, Quiz quiz) throws Exception {
+        JsonNode rootNode = objectMapper.readTree(aiResponse);
+        JsonNode questionsNode = rootNode.get("questions");
+
+        List<Question> questions = new ArrayList<>();
+        if (questionsNode != null && questionsNode.isArray()) {
+            for (JsonNode questionNode : questionsNode) {
+                Question question = new Question();
+                question.setText(questionNode.get("question").asText());
+                question.setQuiz(quiz);
+
+                Set<Option> options = new LinkedHashSet<>();
+                JsonNode optionsNode = questionNode.get("options");
+                if (optionsNode != null && optionsNode.isArray()) {
+                    for (JsonNode optionNode : optionsNode) {
+                        Option option = new Option();
+                        option.setText(optionNode.get("text").asText());
+                        option.setCorrect(optionNode.get("correct").asBoolean());
+                        option.setQuestion(question);
+                        options.add(option);
                     }
                 }
+                question.setOptions(options);
+                questions.add(question);
             }
-        } catch (Exception e) {
-            logger.error("Error generando preguntas con IA: {}", e.getMessage(), e);
         }
+        return questions;
     }
 }
@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.question;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Seeder que alinea las secuencias de identificadores de preguntas, opciones y respuestas con los datos existentes.
+ * Las tablas usaban AUTO_INCREMENT; al pasar a secuencias (necesarias para insertar en lote)
+ * la secuencia debe empezar después del mayor id ya usado.
+ */
+@Order(4)
+@Component
+public class QuestionSequenceSeeder implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSequenceSeeder.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "question", "question_seq",
+            "`option`", "option_seq",
+            "answer", "answer_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuestionSequenceSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Método que se ejecuta al iniciar el contexto de la aplicación.
+     * @param contextRefreshedEvent evento de inicio de contexto
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        SEQUENCES.forEach(this::alignSequence);
+    }
+
+    /**
+     * Reinicia la secuencia si su siguiente bloque de ids se solapa con ids existentes.
+     * @param table tabla de la entidad
+     * @param sequence secuencia de la entidad
+     */
+    private void alignSequence(String table, String sequence) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long nextValue = jdbcTemplate.queryForObject("SELECT NEXTVAL(" + sequence + ")", Long.class);
+            if (maxId != null && nextValue != null && nextValue - ALLOCATION_SIZE < maxId) {
+                long restartValue = maxId + ALLOCATION_SIZE + 1;
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartValue);
+                logger.info("Secuencia {} reiniciada en {}", sequence, restartValue);
+            }
+        } catch (Exception e) {
+            logger.warn("No se pudo alinear la secuencia {}: {}", sequence, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.quiz;
+
+import com.project.demo.logic.entity.option.OptionQuestionView;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clave de respuestas de un cuestionario.
+ * Guarda cada par (pregunta, opción correcta) empaquetado en un long dentro de un arreglo ordenado,
+ * por lo que ocupa 8 bytes por pregunta y consultar si una respuesta es correcta es una búsqueda binaria
+ * sin crear objetos. Admite preguntas con más de una opción correcta.
+ */
+public final class QuizAnswerKey {
+
+    private final long[] correctPairs;
+
+    private QuizAnswerKey(long[] correctPairs) {
+        this.correctPairs = correctPairs;
+    }
+
+    /**
+     * Construye la clave a partir de las opciones correctas del cuestionario.
+     * @param correctOptions pares de opción correcta y pregunta
+     * @return clave de respuestas
+     */
+    public static QuizAnswerKey of(List<OptionQuestionView> correctOptions) {
+        long[] pairs = new long[correctOptions.size()];
+        for (int i = 0; i < pairs.length; i++) {
+            OptionQuestionView option = correctOptions.get(i);
+            pairs[i] = pack(option.getQuestionId(), option.getId());
+        }
+        Arrays.sort(pairs);
+        return new QuizAnswerKey(pairs);
+    }
+
+    /**
+     * Indica si la opción seleccionada es correcta para la pregunta.
+     * @param questionId identificador de la pregunta
+     * @param selectedOptionId identificador de la opción seleccionada
+     * @return true si es correcta, false en caso contrario
+     */
+    public boolean isCorrect(int questionId, int selectedOptionId) {
+        return Arrays.binarySearch(correctPairs, pack(questionId, selectedOptionId)) >= 0;
+    }
+
+    /**
+     * Obtiene la cantidad de opciones correctas de la clave.
+     * @return cantidad de opciones correctas
+     */
+    public int size() {
+        return correctPairs.length;
+    }
+
+    /**
+     * Empaqueta la pregunta en los 32 bits altos y la opción en los 32 bits bajos.
+     * @param questionId identificador de la pregunta
+     * @param optionId identificador de la opción
+     * @return par empaquetado
+     */
+    private static long pack(int questionId, int optionId) {
+        return ((long) questionId << 32) | (optionId & 0xFFFFFFFFL);
+    }
+}
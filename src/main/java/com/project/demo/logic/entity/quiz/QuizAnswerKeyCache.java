@@ -0,0 +1,68 @@
+package com.project.demo.logic.entity.quiz;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.project.demo.logic.entity.option.OptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada de las claves de respuestas por cuestionario.
+ * Cada clave se construye con una sola consulta y se invalida cuando cambian las preguntas u opciones del cuestionario.
+ * La invalidación espera a que termine una carga en curso de la misma clave, por lo que invalidar después
+ * de guardar los cambios nunca deja una clave anterior en la caché.
+ */
+@Component
+public class QuizAnswerKeyCache {
+
+    @Value("${quiz.answer-key.cache.max-size:500}")
+    private long maxSize;
+
+    @Value("${quiz.answer-key.cache.ttl:PT12H}")
+    private Duration ttl;
+
+    private final OptionRepository optionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private LoadingCache<Integer, QuizAnswerKey> answerKeys;
+
+    public QuizAnswerKeyCache(OptionRepository optionRepository, MeterRegistry meterRegistry) {
+        this.optionRepository = optionRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Construye la caché y registra sus métricas.
+     */
+    @PostConstruct
+    void init() {
+        this.answerKeys = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(quizId -> QuizAnswerKey.of(optionRepository.findCorrectByQuizId(quizId)));
+        CaffeineCacheMetrics.monitor(meterRegistry, answerKeys, "quiz.answer_keys");
+    }
+
+    /**
+     * Obtiene la clave de respuestas de un cuestionario, cargándola si no está en caché.
+     * @param quizId identificador del cuestionario
+     * @return clave de respuestas
+     */
+    public QuizAnswerKey get(int quizId) {
+        return answerKeys.get(quizId);
+    }
+
+    /**
+     * Descarta la clave de respuestas de un cuestionario.
+     * @param quizId identificador del cuestionario
+     */
+    public void invalidate(int quizId) {
+        answerKeys.invalidate(quizId);
+    }
+}
@@ -1,5 +1,11 @@
 package com.project.demo.logic.entity.quiz;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 /**
@@ -28,4 +34,23 @@ public interface QuizRepository extends JpaRepository<Quiz, Integer> {
      */
     List<Quiz> findByTitleContainingIgnoreCase(String title);
 
+    /**
+     * Busca una página de cuestionarios como proyección, sin cargar el contenido de las historias.
+     * @param pageable paginación
+     * @return página de cuestionarios ordenada por identificador
+     */
+    @Query(value = "SELECT q.id AS id, q.title AS title, q.description AS description, q.dueDate AS dueDate, " +
+            "s.id AS storyId, s.title AS storyTitle FROM Quiz q LEFT JOIN q.story s ORDER BY q.id",
+            countQuery = "SELECT COUNT(q) FROM Quiz q")
+    Page<QuizSummaryView> findSummaries(Pageable pageable);
+
+    /**
+     * Busca los cuestionarios siguientes a un identificador (paginación por llave), sin contar el total.
+     * @param afterId último identificador de la página anterior
+     * @param limit tamaño de página
+     * @return cuestionarios ordenados por identificador
+     */
+    @Query("SELECT q.id AS id, q.title AS title, q.description AS description, q.dueDate AS dueDate, " +
+            "s.id AS storyId, s.title AS storyTitle FROM Quiz q LEFT JOIN q.story s WHERE q.id > :afterId ORDER BY q.id")
+    List<QuizSummaryView> findSummariesAfter(@Param("afterId") Integer afterId, Limit limit);
 }
\ No newline at end of file
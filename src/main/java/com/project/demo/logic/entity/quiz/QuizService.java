@@ -2,6 +2,9 @@ package com.project.demo.logic.entity.quiz;
 
 import com.project.demo.logic.entity.story.StoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,11 +24,22 @@ public class QuizService {
     private StoryRepository storyRepository;
 
     /**
-     * Obtiene todos los cuestionarios.
-     * @return lista de cuestionarios
+     * Obtiene una página de cuestionarios como proyección para listados.
+     * @param pageable paginación
+     * @return página de cuestionarios
+     */
+    public Page<QuizSummaryView> getQuizSummaries(Pageable pageable) {
+        return quizRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Obtiene los cuestionarios siguientes a un identificador, para la paginación por llave.
+     * @param afterId último identificador de la página anterior
+     * @param size tamaño de página
+     * @return cuestionarios ordenados por identificador
      */
-    public List<Quiz> getAllQuizzes(){
-        return quizRepository.findAll();
+    public List<QuizSummaryView> getQuizSummariesAfter(Integer afterId, int size) {
+        return quizRepository.findSummariesAfter(afterId, Limit.of(size));
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.project.demo.logic.entity.quiz;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un cuestionario para listados, con el título de su historia en lugar de la historia completa.
+ */
+public interface QuizSummaryView {
+
+    /**
+     * Obtiene el identificador del cuestionario.
+     * @return id del cuestionario
+     */
+    Integer getId();
+
+    /**
+     * Obtiene el título del cuestionario.
+     * @return título
+     */
+    String getTitle();
+
+    /**
+     * Obtiene la descripción del cuestionario.
+     * @return descripción
+     */
+    String getDescription();
+
+    /**
+     * Obtiene la fecha de entrega del cuestionario.
+     * @return fecha de entrega
+     */
+    LocalDateTime getDueDate();
+
+    /**
+     * Obtiene el identificador de la historia.
+     * @return id de la historia
+     */
+    Long getStoryId();
+
+    /**
+     * Obtiene el título de la historia.
+     * @return título de la historia
+     */
+    String getStoryTitle();
+}
@@ -0,0 +1,44 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+/**
+ * Proyección con las sumas por pregunta necesarias para el índice de discriminación:
+ * respuestas, aciertos y puntajes de las entregas que respondieron la pregunta.
+ */
+public interface ItemScoreView {
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    Integer getQuestionId();
+
+    /**
+     * Obtiene la cantidad de respuestas a la pregunta.
+     * @return respuestas
+     */
+    long getResponses();
+
+    /**
+     * Obtiene la cantidad de respuestas correctas.
+     * @return respuestas correctas
+     */
+    long getCorrect();
+
+    /**
+     * Obtiene la suma de los puntajes de las entregas que acertaron la pregunta.
+     * @return suma de puntajes de quienes acertaron
+     */
+    double getCorrectScoreSum();
+
+    /**
+     * Obtiene la suma de los puntajes de las entregas que respondieron la pregunta.
+     * @return suma de puntajes
+     */
+    double getScoreSum();
+
+    /**
+     * Obtiene la suma de los cuadrados de los puntajes de las entregas que respondieron la pregunta.
+     * @return suma de cuadrados de puntajes
+     */
+    double getScoreSquareSum();
+}
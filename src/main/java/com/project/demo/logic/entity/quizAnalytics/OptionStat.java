@@ -0,0 +1,89 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+import jakarta.persistence.*;
+
+/**
+ * Resumen de cuántas veces se seleccionó una opción en las entregas de su cuestionario.
+ * Es una tabla derivada de las respuestas: se reconstruye con una consulta agregada
+ * y luego se actualiza de forma incremental con cada respuesta.
+ */
+@Entity
+@Table(name = "option_stat", indexes = @Index(name = "idx_option_stat_quiz", columnList = "quiz_id"))
+public class OptionStat {
+    @Id
+    @Column(name = "option_id")
+    private Integer optionId;
+
+    @Column(name = "question_id", nullable = false)
+    private Integer questionId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Integer quizId;
+
+    @Column(nullable = false)
+    private long selections;
+
+    /**
+     * Obtiene el identificador de la opción.
+     * @return id de la opción
+     */
+    public Integer getOptionId() {
+        return optionId;
+    }
+
+    /**
+     * Establece el identificador de la opción.
+     * @param optionId identificador de la opción
+     */
+    public void setOptionId(Integer optionId) {
+        this.optionId = optionId;
+    }
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    public Integer getQuestionId() {
+        return questionId;
+    }
+
+    /**
+     * Establece el identificador de la pregunta.
+     * @param questionId identificador de la pregunta
+     */
+    public void setQuestionId(Integer questionId) {
+        this.questionId = questionId;
+    }
+
+    /**
+     * Obtiene el identificador del cuestionario.
+     * @return id del cuestionario
+     */
+    public Integer getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * Establece el identificador del cuestionario.
+     * @param quizId identificador del cuestionario
+     */
+    public void setQuizId(Integer quizId) {
+        this.quizId = quizId;
+    }
+
+    /**
+     * Obtiene cuántas veces se seleccionó la opción.
+     * @return cantidad de selecciones
+     */
+    public long getSelections() {
+        return selections;
+    }
+
+    /**
+     * Establece cuántas veces se seleccionó la opción.
+     * @param selections cantidad de selecciones
+     */
+    public void setSelections(long selections) {
+        this.selections = selections;
+    }
+}
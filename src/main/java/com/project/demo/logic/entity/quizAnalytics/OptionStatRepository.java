@@ -0,0 +1,99 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para el resumen de selecciones por opción y las consultas de analítica de cuestionarios.
+ */
+public interface OptionStatRepository extends JpaRepository<OptionStat, Integer> {
+
+    /**
+     * Indica si el resumen de un cuestionario ya fue construido.
+     * @param quizId identificador del cuestionario
+     * @return true si existe al menos una fila del cuestionario
+     */
+    boolean existsByQuizId(Integer quizId);
+
+    /**
+     * Construye o corrige el resumen de un cuestionario con una sola consulta agregada sobre las respuestas,
+     * incluyendo las opciones que nunca fueron seleccionadas.
+     * Las filas existentes se reemplazan por el conteo actual, por lo que ejecutarla de nuevo o al mismo tiempo
+     * que otra petición deja el mismo resultado.
+     * @param quizId identificador del cuestionario
+     * @return filas insertadas o actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO option_stat (option_id, question_id, quiz_id, selections) " +
+            "SELECT o.id, o.question_id, q.quiz_id, COUNT(a.id) " +
+            "FROM `option` o JOIN question q ON q.id = o.question_id " +
+            "LEFT JOIN answer a ON a.selected_option_id = o.id " +
+            "WHERE q.quiz_id = :quizId " +
+            "GROUP BY o.id, o.question_id, q.quiz_id " +
+            "ON DUPLICATE KEY UPDATE selections = VALUES(selections)", nativeQuery = true)
+    int rebuildByQuizId(@Param("quizId") Integer quizId);
+
+    /**
+     * Elimina del resumen de un cuestionario las opciones que ya no le pertenecen.
+     * @param quizId identificador del cuestionario
+     * @return filas eliminadas
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OptionStat s WHERE s.quizId = :quizId AND s.optionId NOT IN " +
+            "(SELECT o.id FROM Option o WHERE o.question.quiz.id = :quizId)")
+    int deleteStaleByQuizId(@Param("quizId") Integer quizId);
+
+    /**
+     * Suma el valor dado a las selecciones de las opciones, si su cuestionario ya tiene resumen.
+     * @param optionIds identificadores de las opciones
+     * @param delta valor a sumar (negativo para restar)
+     * @return filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OptionStat s SET s.selections = s.selections + :delta WHERE s.optionId IN :optionIds")
+    int addSelections(@Param("optionIds") Collection<Integer> optionIds, @Param("delta") long delta);
+
+    /**
+     * Elimina el resumen de un cuestionario para que se reconstruya en la siguiente consulta.
+     * @param quizId identificador del cuestionario
+     * @return filas eliminadas
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OptionStat s WHERE s.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Integer quizId);
+
+    /**
+     * Busca el resumen de un cuestionario junto con los textos de sus preguntas y opciones.
+     * @param quizId identificador del cuestionario
+     * @return selecciones por opción, ordenadas por pregunta y opción
+     */
+    @Query("SELECT s.questionId AS questionId, q.text AS questionText, o.id AS optionId, o.text AS optionText, " +
+            "o.isCorrect AS correct, s.selections AS selections " +
+            "FROM OptionStat s JOIN Option o ON o.id = s.optionId JOIN o.question q " +
+            "WHERE s.quizId = :quizId ORDER BY s.questionId, o.id")
+    List<OptionStatView> findViewsByQuizId(@Param("quizId") Integer quizId);
+
+    /**
+     * Calcula por pregunta las respuestas, los aciertos y las sumas de puntajes de las entregas,
+     * con una sola consulta agregada sobre las respuestas del cuestionario.
+     * @param quizId identificador del cuestionario
+     * @return sumas por pregunta
+     */
+    @Query("SELECT a.question.id AS questionId, COUNT(a) AS responses, " +
+            "SUM(CASE WHEN o.isCorrect = true THEN 1 ELSE 0 END) AS correct, " +
+            "SUM(CASE WHEN o.isCorrect = true THEN s.score ELSE 0 END) AS correctScoreSum, " +
+            "SUM(s.score) AS scoreSum, SUM(s.score * s.score) AS scoreSquareSum " +
+            "FROM Answer a JOIN a.selectedOption o JOIN a.submission s " +
+            "WHERE s.quiz.id = :quizId GROUP BY a.question.id")
+    List<ItemScoreView> findItemScoresByQuizId(@Param("quizId") Integer quizId);
+}
@@ -0,0 +1,43 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+/**
+ * Proyección con las selecciones de una opción junto con los textos de la opción y su pregunta.
+ */
+public interface OptionStatView {
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    Integer getQuestionId();
+
+    /**
+     * Obtiene el texto de la pregunta.
+     * @return texto de la pregunta
+     */
+    String getQuestionText();
+
+    /**
+     * Obtiene el identificador de la opción.
+     * @return id de la opción
+     */
+    Integer getOptionId();
+
+    /**
+     * Obtiene el texto de la opción.
+     * @return texto de la opción
+     */
+    String getOptionText();
+
+    /**
+     * Indica si la opción es correcta.
+     * @return true si es correcta, false en caso contrario
+     */
+    boolean isCorrect();
+
+    /**
+     * Obtiene cuántas veces se seleccionó la opción.
+     * @return cantidad de selecciones
+     */
+    long getSelections();
+}
@@ -0,0 +1,190 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de estadísticas por pregunta de los cuestionarios.
+ * Las selecciones por opción se guardan en la tabla option_stat: se construye con una consulta agregada
+ * la primera vez que se consulta un cuestionario y después se actualiza en la misma transacción que cada respuesta
+ * creada, cambiada o eliminada, por lo que leerla depende del número de opciones y no del número de estudiantes.
+ * Crear, cambiar o eliminar opciones, generar preguntas o eliminar entregas descarta el resumen del cuestionario para reconstruirlo en la siguiente consulta.
+ * La reconstrucción reemplaza los conteos existentes, así que también se repite como conciliación
+ * en la primera consulta de cada cuestionario después del intervalo configurado, corrigiendo cualquier desvío.
+ * El índice de discriminación depende del puntaje total de cada entrega, así que se calcula con una consulta agregada
+ * sobre las respuestas y se guarda en caché por un tiempo acotado.
+ */
+@Service
+public class QuizAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizAnalyticsService.class);
+
+    @Value("${quiz.analytics.discrimination-ttl:PT5M}")
+    private Duration discriminationTtl;
+
+    @Value("${quiz.analytics.discrimination-max-size:500}")
+    private long discriminationMaxSize;
+
+    @Value("${quiz.analytics.reconcile-interval:PT1H}")
+    private Duration reconcileInterval;
+
+    private final OptionStatRepository optionStatRepository;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Integer, Map<Integer, Double>> discrimination;
+    private Cache<Integer, Boolean> reconciled;
+    private Counter rebuilds;
+
+    public QuizAnalyticsService(OptionStatRepository optionStatRepository, MeterRegistry meterRegistry) {
+        this.optionStatRepository = optionStatRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Construye las cachés de índices de discriminación y de cuestionarios conciliados, y las métricas.
+     */
+    @PostConstruct
+    void init() {
+        this.discrimination = Caffeine.newBuilder()
+                .maximumSize(discriminationMaxSize)
+                .expireAfterWrite(discriminationTtl)
+                .build();
+        this.reconciled = Caffeine.newBuilder()
+                .maximumSize(discriminationMaxSize)
+                .expireAfterWrite(reconcileInterval)
+                .build();
+        this.rebuilds = Counter.builder("quiz.analytics.rebuilds")
+                .description("Reconstrucciones del resumen de selecciones de un cuestionario")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene las selecciones por opción de un cuestionario, construyendo el resumen si aún no existe
+     * o conciliándolo si pasó el intervalo desde la última vez.
+     * @param quizId identificador del cuestionario
+     * @return selecciones por opción, ordenadas por pregunta y opción
+     */
+    public List<OptionStatView> getOptionStats(int quizId) {
+        if (!optionStatRepository.existsByQuizId(quizId) || reconciled.getIfPresent(quizId) == null) {
+            rebuild(quizId);
+        }
+        return optionStatRepository.findViewsByQuizId(quizId);
+    }
+
+    /**
+     * Obtiene el índice de discriminación de cada pregunta de un cuestionario.
+     * @param quizId identificador del cuestionario
+     * @return índice por identificador de pregunta; null si no se puede calcular
+     */
+    public Map<Integer, Double> getDiscrimination(int quizId) {
+        return discrimination.get(quizId, id -> {
+            Map<Integer, Double> indices = new HashMap<>();
+            for (ItemScoreView item : optionStatRepository.findItemScoresByQuizId(id)) {
+                indices.put(item.getQuestionId(), pointBiserial(item));
+            }
+            return indices;
+        });
+    }
+
+    /**
+     * Registra nuevas selecciones de opciones.
+     * @param optionIds identificadores de las opciones seleccionadas
+     */
+    public void recordSelected(Collection<Integer> optionIds) {
+        if (!optionIds.isEmpty()) {
+            optionStatRepository.addSelections(optionIds, 1);
+        }
+    }
+
+    /**
+     * Registra selecciones de opciones que se eliminaron.
+     * @param optionIds identificadores de las opciones que dejaron de estar seleccionadas
+     */
+    public void recordUnselected(Collection<Integer> optionIds) {
+        if (!optionIds.isEmpty()) {
+            optionStatRepository.addSelections(optionIds, -1);
+        }
+    }
+
+    /**
+     * Registra el cambio de la opción seleccionada en una respuesta.
+     * @param previousOptionId opción seleccionada antes
+     * @param optionId opción seleccionada ahora
+     */
+    public void recordChanged(int previousOptionId, int optionId) {
+        if (previousOptionId != optionId) {
+            recordUnselected(List.of(previousOptionId));
+            recordSelected(List.of(optionId));
+        }
+    }
+
+    /**
+     * Descarta el resumen de un cuestionario para que se reconstruya en la siguiente consulta.
+     * @param quizId identificador del cuestionario
+     */
+    public void invalidate(int quizId) {
+        optionStatRepository.deleteByQuizId(quizId);
+        discrimination.invalidate(quizId);
+        reconciled.invalidate(quizId);
+    }
+
+    /**
+     * Índice de dificultad clásico: proporción de respuestas correctas.
+     * @param correct respuestas correctas
+     * @param responses respuestas totales
+     * @return proporción entre 0 y 1; null si no hay respuestas
+     */
+    public static Double difficulty(long correct, long responses) {
+        return responses > 0 ? (double) correct / responses : null;
+    }
+
+    /**
+     * Índice de discriminación como correlación punto-biserial entre acertar la pregunta y el puntaje de la entrega.
+     * Usa el puntaje total sin excluir la pregunta, por lo que tiende a sobrestimar en cuestionarios cortos.
+     * @param item sumas de la pregunta
+     * @return correlación entre -1 y 1; null si todos acertaron, nadie acertó o los puntajes no varían
+     */
+    static Double pointBiserial(ItemScoreView item) {
+        long n = item.getResponses();
+        long correct = item.getCorrect();
+        if (correct == 0 || correct == n) {
+            return null;
+        }
+        double mean = item.getScoreSum() / n;
+        double variance = item.getScoreSquareSum() / n - mean * mean;
+        if (variance <= 0) {
+            return null;
+        }
+        double correctMean = item.getCorrectScoreSum() / correct;
+        double incorrectMean = (item.getScoreSum() - item.getCorrectScoreSum()) / (n - correct);
+        double p = (double) correct / n;
+        return (correctMean - incorrectMean) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+    }
+
+    /**
+     * Construye o concilia el resumen de un cuestionario: reemplaza los conteos por los actuales
+     * y elimina las opciones que ya no pertenecen al cuestionario.
+     * Si otra petición lo reconstruye al mismo tiempo, ambas dejan el mismo resultado.
+     * @param quizId identificador del cuestionario
+     */
+    private void rebuild(int quizId) {
+        int rows = optionStatRepository.rebuildByQuizId(quizId);
+        int stale = optionStatRepository.deleteStaleByQuizId(quizId);
+        reconciled.put(quizId, Boolean.TRUE);
+        rebuilds.increment();
+        logger.debug("Resumen del cuestionario {} conciliado: {} filas, {} opciones eliminadas", quizId, rows, stale);
+    }
+}
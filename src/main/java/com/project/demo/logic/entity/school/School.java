@@ -2,6 +2,7 @@ package com.project.demo.logic.entity.school;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
@@ -23,6 +24,10 @@ public class School {
     @Column(updatable = false, name = "created_at")
     private Date createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     /**
      * Constructor por defecto.
      */
@@ -106,4 +111,20 @@ public class School {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * Obtiene la fecha de actualización de la escuela.
+     * @return fecha de actualización
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de actualización de la escuela.
+     * @param updatedAt fecha de actualización
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,117 @@
+package com.project.demo.logic.entity.singleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Agrupa llamadas concurrentes con la misma llave para que solo una llegue al servicio remoto.
+ * El primer hilo (líder) ejecuta la llamada en su propio hilo; los demás esperan su resultado.
+ * <ul>
+ *     <li>El resultado o el error del líder se comparte con todos los que esperaban. No se guarda en caché:
+ *     una llamada posterior con la misma llave vuelve a ejecutarse.</li>
+ *     <li>Si un hilo que espera es interrumpido, solo él deja de esperar; la llamada compartida continúa.</li>
+ *     <li>Si el líder es interrumpido, los hilos que aún esperan vuelven a intentar y uno de ellos se convierte
+ *     en el nuevo líder, de modo que la cancelación de un llamador no se propaga a los demás.</li>
+ * </ul>
+ * Publica el contador {@code singleflight.calls} con las etiquetas {@code name} y {@code result}
+ * ({@code issued}: llamadas ejecutadas, {@code coalesced}: llamadas que reutilizaron una en curso)
+ * y el indicador {@code singleflight.in_flight}.
+ * @param <K> tipo de la llave
+ * @param <V> tipo del resultado
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issuedCalls;
+    private final Counter coalescedCalls;
+
+    /**
+     * Crea el grupo de llamadas y registra sus métricas.
+     * @param name nombre del grupo, usado como etiqueta de las métricas
+     * @param meterRegistry registro de métricas
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.issuedCalls = Counter.builder("singleflight.calls")
+                .description("Llamadas remotas ejecutadas o agrupadas con una en curso")
+                .tag("name", name)
+                .tag("result", "issued")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("singleflight.calls")
+                .description("Llamadas remotas ejecutadas o agrupadas con una en curso")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Llamadas remotas en curso")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la llamada, o espera la que ya está en curso para la misma llave.
+     * @param key llave de la llamada; debe implementar equals y hashCode
+     * @param call llamada remota
+     * @return resultado de la llamada
+     * @throws Exception el error de la llamada, o InterruptedException si este hilo fue interrumpido mientras esperaba
+     */
+    public V execute(K key, Callable<V> call) throws Exception {
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                issuedCalls.increment();
+                return lead(key, flight, call);
+            }
+
+            coalescedCalls.increment();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof LeaderInterruptedException) {
+                    continue;
+                }
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw (Error) e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la llamada como líder y publica el resultado a los hilos que esperan.
+     * @param key llave de la llamada
+     * @param flight futuro compartido
+     * @param call llamada remota
+     * @return resultado de la llamada
+     * @throws Exception el error de la llamada
+     */
+    private V lead(K key, CompletableFuture<V> flight, Callable<V> call) throws Exception {
+        try {
+            V value = call.call();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            boolean interrupted = e instanceof InterruptedException || Thread.currentThread().isInterrupted();
+            flight.completeExceptionally(interrupted ? new LeaderInterruptedException() : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Indica a los hilos que esperan que el líder fue interrumpido y deben volver a intentar.
+     */
+    private static final class LeaderInterruptedException extends Exception {
+        LeaderInterruptedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.project.demo.logic.entity.story;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.demo.logic.entity.course.Course;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
 /**
  * Representa una historia educativa dentro de la plataforma.
  * Contiene información como título, contenido, fecha de creación y curso asociado.
+ * El contenido es perezoso: con las clases mejoradas por el plugin de Hibernate no se lee al cargar la historia,
+ * solo cuando se accede a él. Tampoco se serializa, ni en la historia ni dentro de los cuestionarios, pistas
+ * de audio e ilustraciones que la incluyen; se recibe al crear o actualizar y se consulta aparte
+ * con {@link StoryRepository#findContentById(Long)}.
  */
 @Table(name = "story")
 @Entity
@@ -19,6 +25,8 @@ public class Story {
     private String title;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(columnDefinition = "MEDIUMTEXT")
     private String content;
 
@@ -26,6 +34,10 @@ public class Story {
     @Column(updatable = false, name = "created_at")
     private Date createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "course_id", referencedColumnName = "id", nullable = false)
     private Course course;
@@ -116,6 +128,22 @@ public class Story {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Obtiene la fecha de actualización de la historia.
+     * @return fecha de actualización
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Establece la fecha de actualización de la historia.
+     * @param updatedAt fecha de actualización
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Obtiene el curso asociado a la historia.
      * @return curso
@@ -5,14 +5,52 @@ import com.project.demo.logic.entity.audioTrack.AudioTrackRepository;
 import com.project.demo.logic.entity.audioTrack.GoogleCloudTTSService;
 import com.project.demo.logic.entity.audioTrack.VoiceTypeEnum;
 import com.project.demo.logic.entity.cloudinary.CloudinaryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Servicio para la generación, actualización y eliminación de pistas de audio asociadas a una historia.
+ * Cada voz se procesa en su propio flujo (síntesis y subida) y ambos flujos se ejecutan en paralelo
+ * sobre hilos virtuales, con un límite global de flujos simultáneos y un tiempo máximo por historia.
+ * Cada pista guarda el hash del contenido con que se generó (texto, voz, idioma y configuración de audio)
+ * y los archivos en Cloudinary se nombran por ese hash. Antes de sintetizar una voz se busca cualquier pista,
+ * de esta u otra historia, con el mismo hash y se reutiliza su URL; solo se sintetizan las voces sin audio previo.
  */
 @Service
 public class StoryAudioTrackService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryAudioTrackService.class);
+
+    private static final List<VoiceTypeEnum> VOICES = List.of(VoiceTypeEnum.MALE, VoiceTypeEnum.FEMALE);
+    private static final Duration CLEANUP_GRACE = Duration.ofSeconds(30);
+
     @Autowired
     private GoogleCloudTTSService googleCloudTTSService;
 
@@ -22,64 +60,128 @@ public class StoryAudioTrackService {
     @Autowired
     private AudioTrackRepository audioTrackRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${story.audio.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${story.audio.timeout:PT2M}")
+    private Duration timeout;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("story-audio-", 0).factory());
+
+    private Semaphore permits;
+    private Timer audioLatency;
+    private Counter skippedCharacters;
+    private Counter skippedMillis;
+
+    /**
+     * Inicializa el límite de flujos simultáneos y las métricas.
+     */
+    @PostConstruct
+    void init() {
+        this.permits = new Semaphore(maxConcurrent);
+        this.audioLatency = Timer.builder("story.audio.latency")
+                .description("Tiempo total para sintetizar y subir las pistas de audio de una historia")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.skippedCharacters = Counter.builder("story.audio.skipped.characters")
+                .description("Caracteres que no se volvieron a sintetizar porque el audio ya existía")
+                .baseUnit("characters")
+                .register(meterRegistry);
+        this.skippedMillis = Counter.builder("story.audio.skipped.time")
+                .description("Tiempo de síntesis ahorrado al reutilizar audio existente")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene los flujos en curso al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
     /**
      * Genera y guarda las pistas de audio (masculina y femenina) para una historia.
+     * Si alguna voz falla, se eliminan de Cloudinary los archivos que ya se habían subido.
      * @param story historia para la que se generan las pistas
      * @throws Exception si ocurre un error en la generación o guardado
      */
     public void generateAndSaveAudioTracksForStory(Story story) throws Exception {
-        String content = story.getContent();
-        Long storyId = story.getId();
-
-        byte[] maleAudio = googleCloudTTSService.convertTextToMp3(content, VoiceTypeEnum.MALE);
-        byte[] femaleAudio = googleCloudTTSService.convertTextToMp3(content, VoiceTypeEnum.FEMALE);
-
-        String maleUrl = cloudinaryService.uploadAudio(maleAudio, "story_" + storyId + "_male.mp3");
-        String femaleUrl = cloudinaryService.uploadAudio(femaleAudio, "story_" + storyId + "_female.mp3");
-
-        AudioTrack maleTrack = new AudioTrack();
-        maleTrack.setTitle(story.getTitle() + " (Masuculino)");
-        maleTrack.setVoiceType(VoiceTypeEnum.MALE);
-        maleTrack.setUrl(maleUrl);
-        maleTrack.setStory(story);
-
-        AudioTrack femaleTrack = new AudioTrack();
-        femaleTrack.setTitle(story.getTitle() + " (Femenino)");
-        femaleTrack.setVoiceType(VoiceTypeEnum.FEMALE);
-        femaleTrack.setUrl(femaleUrl);
-        femaleTrack.setStory(story);
-
-        audioTrackRepository.save(maleTrack);
-        audioTrackRepository.save(femaleTrack);
+        Map<VoiceTypeEnum, AudioTrack> tracks = new EnumMap<>(VoiceTypeEnum.class);
+        for (VoiceTypeEnum voiceType : VOICES) {
+            AudioTrack track = new AudioTrack();
+            track.setVoiceType(voiceType);
+            track.setStory(story);
+            tracks.put(voiceType, track);
+        }
+        saveTracks(story, tracks);
     }
 
     /**
-     * Actualiza las pistas de audio (masculina y femenina) para una historia.
+     * Actualiza las pistas de audio (masculina y femenina) para una historia y renueva sus títulos.
+     * Las voces cuyo hash de contenido no cambió conservan su URL; solo se sintetizan las que no tienen audio reutilizable.
      * @param story historia para la que se actualizan las pistas
      * @throws Exception si ocurre un error en la actualización
      */
     public void updateAudioTracksForStory(Story story) throws Exception {
-        String content = story.getContent();
-        Long storyId = story.getId();
-
-        byte[] maleAudio = googleCloudTTSService.convertTextToMp3(content, VoiceTypeEnum.MALE);
-        byte[] femaleAudio = googleCloudTTSService.convertTextToMp3(content, VoiceTypeEnum.FEMALE);
+        Map<VoiceTypeEnum, AudioTrack> tracks = new EnumMap<>(VoiceTypeEnum.class);
+        for (VoiceTypeEnum voiceType : VOICES) {
+            AudioTrack track = audioTrackRepository.findByStoryAndVoiceType(story, voiceType);
+            if (track == null) {
+                track = new AudioTrack();
+                track.setVoiceType(voiceType);
+                track.setStory(story);
+            }
+            tracks.put(voiceType, track);
+        }
+        saveTracks(story, tracks);
+    }
 
-        String maleUrl = cloudinaryService.uploadAudio(maleAudio, "story_" + storyId + "_male.mp3");
-        String femaleUrl = cloudinaryService.uploadAudio(femaleAudio, "story_" + storyId + "_female.mp3");
+    /**
+     * Completa el audio de cada pista y las guarda con el título de la historia.
+     * Una pista conserva su audio si su hash coincide; si no, reutiliza el de cualquier pista con el mismo hash,
+     * y solo las voces sin audio reutilizable se sintetizan y suben.
+     * @param story historia de las pistas
+     * @param tracks pista de cada voz
+     * @throws Exception si falla la síntesis o la subida
+     */
+    private void saveTracks(Story story, Map<VoiceTypeEnum, AudioTrack> tracks) throws Exception {
+        List<VoiceTypeEnum> staleVoices = new ArrayList<>();
+        for (Map.Entry<VoiceTypeEnum, AudioTrack> entry : tracks.entrySet()) {
+            AudioTrack track = entry.getValue();
+            String contentHash = googleCloudTTSService.contentHash(story.getContent(), entry.getKey());
+            if (track.getUrl() != null && contentHash.equals(track.getContentHash())) {
+                recordSkippedSynthesis(story, track);
+                continue;
+            }
+            AudioTrack cached = audioTrackRepository.findFirstByContentHashAndUrlNotNull(contentHash);
+            if (cached != null) {
+                recordSkippedSynthesis(story, cached);
+                track.setUrl(cached.getUrl());
+                track.setContentHash(contentHash);
+                track.setSynthesisMillis(cached.getSynthesisMillis());
+            } else {
+                staleVoices.add(entry.getKey());
+            }
+        }
 
-        AudioTrack maleTrack = audioTrackRepository.findByStoryAndVoiceType(story, VoiceTypeEnum.MALE);
-        AudioTrack femaleTrack = audioTrackRepository.findByStoryAndVoiceType(story, VoiceTypeEnum.FEMALE);
+        Map<VoiceTypeEnum, GeneratedAudio> audios = staleVoices.isEmpty()
+                ? Map.of()
+                : synthesizeAndUpload(story, staleVoices);
 
-        if (maleTrack != null) {
-            maleTrack.setUrl(maleUrl);
-            maleTrack.setTitle(story.getTitle() + " (Masculino)");
-            audioTrackRepository.save(maleTrack);
-        }
-        if (femaleTrack != null) {
-            femaleTrack.setUrl(femaleUrl);
-            femaleTrack.setTitle(story.getTitle() + " (Femenino)");
-            audioTrackRepository.save(femaleTrack);
+        for (Map.Entry<VoiceTypeEnum, AudioTrack> entry : tracks.entrySet()) {
+            AudioTrack track = entry.getValue();
+            track.setTitle(trackTitle(story, entry.getKey()));
+            GeneratedAudio audio = audios.get(entry.getKey());
+            if (audio != null) {
+                audio.applyTo(track);
+            }
+            audioTrackRepository.save(track);
         }
     }
 
@@ -98,4 +200,163 @@ public class StoryAudioTrackService {
             audioTrackRepository.delete(femaleTrack);
         }
     }
+
+    /**
+     * Sintetiza y sube el audio de cada voz en paralelo.
+     * Ante el primer error o al vencer el tiempo máximo se cancelan los flujos restantes
+     * y se eliminan de Cloudinary los archivos que llegaron a subirse.
+     * @param story historia a convertir
+     * @param voices voces a generar
+     * @return audio subido de cada voz
+     * @throws Exception el error del primer flujo que falló, o TimeoutException si se venció el tiempo máximo
+     */
+    private Map<VoiceTypeEnum, GeneratedAudio> synthesizeAndUpload(Story story, List<VoiceTypeEnum> voices) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Map<VoiceTypeEnum, GeneratedAudio> audios = new ConcurrentHashMap<>();
+        CountDownLatch finished = new CountDownLatch(voices.size());
+        ExecutorCompletionService<VoiceTypeEnum> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<VoiceTypeEnum>> futures = new ArrayList<>();
+
+        for (VoiceTypeEnum voiceType : voices) {
+            futures.add(completionService.submit(() -> {
+                try {
+                    return runPipeline(story, voiceType, audios);
+                } finally {
+                    finished.countDown();
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < voices.size(); i++) {
+                Future<VoiceTypeEnum> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new TimeoutException("Se venció el tiempo para generar el audio de la historia " + story.getId());
+                }
+                done.get();
+            }
+            return audios;
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            discardUploads(story, audios, finished);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (e instanceof ExecutionException && e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            audioLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Sintetiza el audio de una voz y lo sube a Cloudinary.
+     * @param story historia a convertir
+     * @param voiceType voz a generar
+     * @param audios mapa donde se registra el audio apenas termina la subida
+     * @return voz procesada
+     * @throws Exception si falla la síntesis o la subida
+     */
+    private VoiceTypeEnum runPipeline(Story story, VoiceTypeEnum voiceType, Map<VoiceTypeEnum, GeneratedAudio> audios) throws Exception {
+        permits.acquire();
+        try {
+            String contentHash = googleCloudTTSService.contentHash(story.getContent(), voiceType);
+            long start = System.nanoTime();
+            Path audio = googleCloudTTSService.convertTextToMp3File(story.getContent(), voiceType);
+            try {
+                long synthesisMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                String url = cloudinaryService.uploadAudio(audio, fileName(contentHash));
+                audios.put(voiceType, new GeneratedAudio(url, contentHash, synthesisMillis));
+                return voiceType;
+            } finally {
+                Files.deleteIfExists(audio);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Espera a que terminen los flujos cancelados y elimina los archivos que llegaron a subirse,
+     * salvo los que otra pista ya referencia por tener el mismo contenido.
+     * @param story historia procesada
+     * @param audios audio de las voces subidas
+     * @param finished se libera cuando todos los flujos terminaron
+     */
+    private void discardUploads(Story story, Map<VoiceTypeEnum, GeneratedAudio> audios, CountDownLatch finished) {
+        try {
+            if (!finished.await(CLEANUP_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Algunos flujos de audio de la historia {} no terminaron a tiempo", story.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Map.Entry<VoiceTypeEnum, GeneratedAudio> entry : audios.entrySet()) {
+            String contentHash = entry.getValue().contentHash();
+            if (audioTrackRepository.existsByContentHash(contentHash)) {
+                continue;
+            }
+            VoiceTypeEnum voiceType = entry.getKey();
+            try {
+                cloudinaryService.deleteAudio(fileName(contentHash));
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar el audio {} de la historia {}: {}", voiceType, story.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registra el ahorro de reutilizar el audio de una pista con el mismo hash de contenido.
+     * @param story historia que reutiliza el audio
+     * @param track pista cuyo audio se reutiliza
+     */
+    private void recordSkippedSynthesis(Story story, AudioTrack track) {
+        logger.info("Reutilizando el audio {} para la historia {}: ya existe con el mismo contenido", track.getVoiceType(), story.getId());
+        skippedCharacters.increment(story.getContent().length());
+        if (track.getSynthesisMillis() != null) {
+            skippedMillis.increment(track.getSynthesisMillis());
+        }
+    }
+
+    /**
+     * Construye el nombre del archivo de audio en Cloudinary a partir del hash de su contenido,
+     * de modo que un archivo nunca se sobrescribe con otro audio mientras alguna pista lo usa.
+     * @param contentHash hash del contenido del audio
+     * @return nombre del archivo
+     */
+    private String fileName(String contentHash) {
+        return "audio_" + contentHash + ".mp3";
+    }
+
+    /**
+     * Construye el título de la pista de audio.
+     * @param story historia
+     * @param voiceType tipo de voz
+     * @return título de la pista
+     */
+    private String trackTitle(Story story, VoiceTypeEnum voiceType) {
+        return story.getTitle() + (voiceType == VoiceTypeEnum.MALE ? " (Masculino)" : " (Femenino)");
+    }
+
+    /**
+     * Audio generado y subido para una voz.
+     * @param url URL segura en Cloudinary
+     * @param contentHash hash del contenido con que se generó
+     * @param synthesisMillis tiempo de síntesis en milisegundos
+     */
+    private record GeneratedAudio(String url, String contentHash, long synthesisMillis) {
+
+        /**
+         * Copia los datos del audio en la pista.
+         * @param track pista a actualizar
+         */
+        void applyTo(AudioTrack track) {
+            track.setUrl(url);
+            track.setContentHash(contentHash);
+            track.setSynthesisMillis(synthesisMillis);
+        }
+    }
 }
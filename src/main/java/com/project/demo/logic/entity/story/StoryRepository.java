@@ -1,10 +1,15 @@
 package com.project.demo.logic.entity.story;
 
+import com.project.demo.logic.entity.http.ResourceVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Repositorio para la entidad Story.
  * Permite consultar historias por curso.
@@ -12,10 +17,40 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StoryRepository extends JpaRepository<Story, Long> {
     /**
-     * Busca las historias asociadas a un curso por su identificador.
+     * Busca una página de historias de un curso como proyección, sin leer su contenido.
      * @param courseId identificador del curso
      * @param pageable paginación
-     * @return página de historias
+     * @return página de historias ordenada por identificador
+     */
+    @Query(value = "SELECT s.id AS id, s.title AS title, s.createdAt AS createdAt, " +
+            "c.id AS courseId, c.title AS courseTitle FROM Story s JOIN s.course c WHERE c.id = :courseId ORDER BY s.id",
+            countQuery = "SELECT COUNT(s) FROM Story s WHERE s.course.id = :courseId")
+    Page<StorySummaryView> findSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Obtiene solo el contenido de una historia.
+     * @param id identificador de la historia
+     * @return contenido (opcional); vacío si la historia no existe o no tiene contenido
+     */
+    @Query("SELECT s.content FROM Story s WHERE s.id = :id")
+    Optional<String> findContentById(@Param("id") Long id);
+
+    /**
+     * Obtiene la versión de las historias de un curso sin cargarlas.
+     * La última modificación incluye el curso, cuyo título se serializa con cada historia.
+     * @param courseId identificador del curso
+     * @return última modificación y cantidad de historias
+     */
+    @Query("SELECT MAX(GREATEST(COALESCE(s.updatedAt, s.createdAt), COALESCE(c.updatedAt, c.createdAt, s.createdAt))) " +
+            "AS lastModified, COUNT(s) AS count FROM Story s JOIN s.course c WHERE c.id = :courseId")
+    ResourceVersionView findVersionByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Obtiene la versión de una historia sin cargarla.
+     * @param id identificador de la historia
+     * @return última modificación y cantidad (0 o 1)
      */
-    Page<Story> findStoriesByCourseId(Long courseId, Pageable pageable);
+    @Query("SELECT MAX(COALESCE(s.updatedAt, s.createdAt)) AS lastModified, COUNT(s) AS count " +
+            "FROM Story s WHERE s.id = :id")
+    ResourceVersionView findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,39 @@
+package com.project.demo.logic.entity.story;
+
+import java.util.Date;
+
+/**
+ * Proyección de una historia para listados, sin su contenido y con el título del curso en lugar del curso completo.
+ */
+public interface StorySummaryView {
+
+    /**
+     * Obtiene el identificador de la historia.
+     * @return id de la historia
+     */
+    Long getId();
+
+    /**
+     * Obtiene el título de la historia.
+     * @return título
+     */
+    String getTitle();
+
+    /**
+     * Obtiene la fecha de creación de la historia.
+     * @return fecha de creación
+     */
+    Date getCreatedAt();
+
+    /**
+     * Obtiene el identificador del curso.
+     * @return id del curso
+     */
+    Long getCourseId();
+
+    /**
+     * Obtiene el título del curso.
+     * @return título del curso
+     */
+    String getCourseTitle();
+}
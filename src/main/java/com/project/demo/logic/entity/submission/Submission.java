@@ -24,6 +24,15 @@ public class Submission {
     private LocalDateTime submittedAt;
     private double score;
 
+    @Column(name = "correct_count")
+    private Integer correctCount;
+
+    @Column(name = "answer_count")
+    private Integer answerCount;
+
+    @Column(name = "manual_score")
+    private Double manualScore;
+
     @ManyToOne
     @JoinColumn(name = "quiz_id", nullable = false)
     private Quiz quiz;
@@ -130,4 +139,52 @@ public class Submission {
     public void setAnswers(Set<Answer> answers) {
         this.answers = answers;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la cantidad de respuestas correctas calculada al calificar la entrega.
+     * @return respuestas correctas, o null si la entrega no se ha calificado
+     */
+    public Integer getCorrectCount() {
+        return correctCount;
+    }
+
+    /**
+     * Establece la cantidad de respuestas correctas.
+     * @param correctCount respuestas correctas
+     */
+    public void setCorrectCount(Integer correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    /**
+     * Obtiene la cantidad de respuestas consideradas al calificar la entrega.
+     * @return respuestas calificadas, o null si la entrega no se ha calificado
+     */
+    public Integer getAnswerCount() {
+        return answerCount;
+    }
+
+    /**
+     * Establece la cantidad de respuestas consideradas al calificar la entrega.
+     * @param answerCount respuestas calificadas
+     */
+    public void setAnswerCount(Integer answerCount) {
+        this.answerCount = answerCount;
+    }
+
+    /**
+     * Obtiene el puntaje asignado por el docente, que reemplaza al calculado al calificar.
+     * @return puntaje manual, o null si la entrega usa el puntaje calculado
+     */
+    public Double getManualScore() {
+        return manualScore;
+    }
+
+    /**
+     * Establece el puntaje asignado por el docente.
+     * @param manualScore puntaje manual, o null para volver al puntaje calculado
+     */
+    public void setManualScore(Double manualScore) {
+        this.manualScore = manualScore;
+    }
+}
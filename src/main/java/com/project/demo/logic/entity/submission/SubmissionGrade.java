@@ -0,0 +1,47 @@
+package com.project.demo.logic.entity.submission;
+
+/**
+ * Resultado de calificar una entrega contra la clave de respuestas de su cuestionario.
+ */
+public class SubmissionGrade {
+
+    private final int answerCount;
+    private final int correctCount;
+    private final double score;
+
+    /**
+     * Crea el resultado de una calificación.
+     * @param answerCount respuestas calificadas
+     * @param correctCount respuestas correctas
+     * @param score puntaje
+     */
+    public SubmissionGrade(int answerCount, int correctCount, double score) {
+        this.answerCount = answerCount;
+        this.correctCount = correctCount;
+        this.score = score;
+    }
+
+    /**
+     * Obtiene la cantidad de respuestas calificadas.
+     * @return respuestas calificadas
+     */
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    /**
+     * Obtiene la cantidad de respuestas correctas.
+     * @return respuestas correctas
+     */
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    /**
+     * Obtiene el puntaje: el asignado por el docente si existe, o el porcentaje de respuestas correctas.
+     * @return puntaje
+     */
+    public double getScore() {
+        return score;
+    }
+}
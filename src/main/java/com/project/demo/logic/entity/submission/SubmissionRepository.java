@@ -1,5 +1,14 @@
 package com.project.demo.logic.entity.submission;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +18,36 @@ import java.util.Optional;
  */
 public interface SubmissionRepository extends JpaRepository<Submission, Integer> {
 
+    /**
+     * Columnas de la proyección de entregas para listados.
+     */
+    String SUMMARY_SELECT = "SELECT s.id AS id, s.submittedAt AS submittedAt, s.score AS score, " +
+            "s.correctCount AS correctCount, s.answerCount AS answerCount, q.id AS quizId, q.title AS quizTitle, " +
+            "u.id AS studentId, u.name AS studentName, u.lastname AS studentLastname " +
+            "FROM Submission s JOIN s.quiz q JOIN s.student u ";
+
+    /**
+     * Subconsulta SQL con la cantidad de respuestas de la entrega {@code s}.
+     */
+    String ANSWER_COUNT_SQL = "(SELECT COUNT(*) FROM answer a WHERE a.submission_id = s.id)";
+
+    /**
+     * Subconsulta SQL con la cantidad de respuestas correctas de la entrega {@code s}: la opción elegida
+     * es correcta y pertenece a la pregunta respondida, igual que en la clave de respuestas.
+     */
+    String CORRECT_COUNT_SQL = "(SELECT COUNT(*) FROM answer a JOIN `option` o ON o.id = a.selected_option_id " +
+            "WHERE a.submission_id = s.id AND o.question_id = a.question_id AND o.is_correct = TRUE)";
+
+    /**
+     * Sentencia SQL que califica entregas con las mismas reglas que SubmissionScoringService,
+     * conservando el puntaje asignado por el docente.
+     */
+    String SCORE_SQL = "UPDATE submission s SET answer_count = " + ANSWER_COUNT_SQL +
+            ", correct_count = " + CORRECT_COUNT_SQL +
+            ", score = CASE WHEN s.manual_score IS NOT NULL THEN s.manual_score" +
+            " WHEN " + ANSWER_COUNT_SQL + " > 0 THEN " + CORRECT_COUNT_SQL + " * 1e2 / " + ANSWER_COUNT_SQL +
+            " ELSE 0 END ";
+
     /**
      * Busca una entrega por el identificador del cuestionario y del estudiante.
      * @param quizId identificador del cuestionario
@@ -30,4 +69,75 @@ public interface SubmissionRepository extends JpaRepository<Submission, Integer>
      * @return lista de entregas
      */
     List<Submission> findByStudentId(Integer studentId);
-}
\ No newline at end of file
+
+    /**
+     * Busca una página de entregas de un cuestionario como proyección.
+     * @param quizId identificador del cuestionario
+     * @param pageable paginación
+     * @return página de entregas ordenada por identificador
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE q.id = :quizId ORDER BY s.id",
+            countQuery = "SELECT COUNT(s) FROM Submission s WHERE s.quiz.id = :quizId")
+    Page<SubmissionSummaryView> findSummariesByQuizId(@Param("quizId") Integer quizId, Pageable pageable);
+
+    /**
+     * Busca las entregas de un cuestionario siguientes a un identificador (paginación por llave).
+     * @param quizId identificador del cuestionario
+     * @param afterId último identificador de la página anterior
+     * @param limit tamaño de página
+     * @return entregas ordenadas por identificador
+     */
+    @Query(SUMMARY_SELECT + "WHERE q.id = :quizId AND s.id > :afterId ORDER BY s.id")
+    List<SubmissionSummaryView> findSummariesByQuizIdAfter(@Param("quizId") Integer quizId,
+                                                           @Param("afterId") Integer afterId, Limit limit);
+
+    /**
+     * Busca una página de entregas de un estudiante como proyección.
+     * @param studentId identificador del estudiante
+     * @param pageable paginación
+     * @return página de entregas ordenada por identificador
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :studentId ORDER BY s.id",
+            countQuery = "SELECT COUNT(s) FROM Submission s WHERE s.student.id = :studentId")
+    Page<SubmissionSummaryView> findSummariesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Busca las entregas de un estudiante siguientes a un identificador (paginación por llave).
+     * @param studentId identificador del estudiante
+     * @param afterId último identificador de la página anterior
+     * @param limit tamaño de página
+     * @return entregas ordenadas por identificador
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.id = :studentId AND s.id > :afterId ORDER BY s.id")
+    List<SubmissionSummaryView> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+                                                              @Param("afterId") Integer afterId, Limit limit);
+
+    /**
+     * Busca las entregas que aún no tienen totales calificados.
+     * @param limit cantidad máxima de entregas
+     * @return identificadores ordenados
+     */
+    @Query("SELECT s.id FROM Submission s WHERE s.correctCount IS NULL OR s.answerCount IS NULL ORDER BY s.id")
+    List<Integer> findUnscoredIds(Limit limit);
+
+    /**
+     * Califica las entregas indicadas con una sola sentencia.
+     * @param ids identificadores de las entregas
+     * @return filas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query(value = SCORE_SQL + "WHERE s.id IN (:ids)", nativeQuery = true)
+    int scoreByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Vuelve a calificar todas las entregas de un cuestionario con una sola sentencia.
+     * No limpia el contexto de persistencia: quien llama debe refrescar las entregas que tenga cargadas.
+     * @param quizId identificador del cuestionario
+     * @return filas actualizadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = SCORE_SQL + "WHERE s.quiz_id = :quizId", nativeQuery = true)
+    int scoreByQuizId(@Param("quizId") Integer quizId);
+}
@@ -0,0 +1,66 @@
+package com.project.demo.logic.entity.submission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tarea de arranque que califica las entregas creadas antes de que el puntaje se guardara en la entrega.
+ * Procesa las entregas sin totales por lotes, cada uno con una sola sentencia y su propia transacción,
+ * de modo que consultar los resultados nunca necesita escribir.
+ */
+@Order(5)
+@Component
+public class SubmissionScoreBackfill implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionScoreBackfill.class);
+
+    @Value("${submissions.score-backfill.batch-size:500}")
+    private int batchSize;
+
+    private final SubmissionRepository submissionRepository;
+
+    public SubmissionScoreBackfill(SubmissionRepository submissionRepository) {
+        this.submissionRepository = submissionRepository;
+    }
+
+    /**
+     * Método que se ejecuta al iniciar el contexto de la aplicación.
+     * @param contextRefreshedEvent evento de inicio de contexto
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        try {
+            int scored = backfill();
+            if (scored > 0) {
+                logger.info("Entregas calificadas al iniciar: {}", scored);
+            }
+        } catch (Exception e) {
+            logger.warn("No se pudieron calificar las entregas pendientes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Califica por lotes todas las entregas sin totales.
+     * @return entregas calificadas
+     */
+    int backfill() {
+        int scored = 0;
+        List<Integer> ids;
+        while (!(ids = submissionRepository.findUnscoredIds(Limit.of(batchSize))).isEmpty()) {
+            int updated = submissionRepository.scoreByIdIn(ids);
+            if (updated == 0) {
+                break;
+            }
+            scored += updated;
+        }
+        return scored;
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.demo.logic.entity.submission;
+
+import com.project.demo.logic.entity.answer.AnswerRepository;
+import com.project.demo.logic.entity.answer.AnswerSelectionView;
+import com.project.demo.logic.entity.quiz.QuizAnswerKey;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que califica las entregas en el servidor.
+ * El puntaje se calcula cuando cambian las respuestas y se guarda en la entrega,
+ * de modo que consultar los resultados no vuelve a recorrer las respuestas.
+ * Un puntaje asignado por el docente reemplaza al calculado y ningún cambio de respuestas lo sobrescribe.
+ * Cambiar la clave de respuestas de un cuestionario vuelve a calificar todas sus entregas en la misma transacción
+ * y refresca solo las entregas de ese cuestionario que ya estaban cargadas.
+ */
+@Service
+public class SubmissionScoringService {
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private QuizAnswerKeyCache answerKeyCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Califica la entrega contra la clave de respuestas en caché del cuestionario
+     * y guarda el puntaje, las respuestas correctas y el total.
+     * Si el docente asignó un puntaje manual, se conserva y solo se actualizan los totales.
+     * @param submission entrega a calificar
+     * @return entrega calificada
+     */
+    @Transactional
+    public Submission score(Submission submission) {
+        SubmissionGrade grade = grade(submission);
+        submission.setAnswerCount(grade.getAnswerCount());
+        submission.setCorrectCount(grade.getCorrectCount());
+        submission.setScore(grade.getScore());
+        return submissionRepository.save(submission);
+    }
+
+    /**
+     * Aplica un cambio a las preguntas u opciones de un cuestionario y vuelve a calificar sus entregas
+     * en la misma transacción, con una sola sentencia.
+     * La clave en caché se descarta al calificar y otra vez al confirmar, para que una carga concurrente
+     * no conserve la clave anterior.
+     * @param quizId identificador del cuestionario
+     * @param change cambio a aplicar
+     */
+    @Transactional
+    public void changeAnswerKey(int quizId, Runnable change) {
+        change.run();
+        answerKeyCache.invalidate(quizId);
+        submissionRepository.scoreByQuizId(quizId);
+        refreshLoadedSubmissions(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    answerKeyCache.invalidate(quizId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Refresca las entregas del cuestionario que están en el contexto de persistencia,
+     * para que no conserven los totales anteriores a la calificación en lote.
+     * El resto de entidades cargadas sigue administrado.
+     * @param quizId identificador del cuestionario
+     */
+    private void refreshLoadedSubmissions(int quizId) {
+        Map.Entry<Object, EntityEntry>[] entries = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal().reentrantSafeEntityEntries();
+        for (Map.Entry<Object, EntityEntry> entry : entries) {
+            if (entry.getKey() instanceof Submission submission && submission.getQuiz().getId() == quizId) {
+                entityManager.refresh(submission);
+            }
+        }
+    }
+
+    /**
+     * Califica la entrega sin guardar el resultado.
+     * Solo consulta los pares de pregunta y opción de las respuestas; no carga preguntas ni opciones.
+     * El puntaje es el porcentaje de respuestas correctas sobre las respondidas, salvo que el docente haya asignado uno.
+     * @param submission entrega a calificar
+     * @return respuestas calificadas, correctas y puntaje
+     */
+    public SubmissionGrade grade(Submission submission) {
+        QuizAnswerKey answerKey = answerKeyCache.get(submission.getQuiz().getId());
+        List<AnswerSelectionView> selections = answerRepository.findSelectionsBySubmissionId(submission.getId());
+
+        int correct = 0;
+        for (AnswerSelectionView selection : selections) {
+            if (answerKey.isCorrect(selection.getQuestionId(), selection.getSelectedOptionId())) {
+                correct++;
+            }
+        }
+        int total = selections.size();
+        double score = submission.getManualScore() != null ? submission.getManualScore()
+                : total > 0 ? correct * 100.0 / total : 0;
+        return new SubmissionGrade(total, correct, score);
+    }
+}
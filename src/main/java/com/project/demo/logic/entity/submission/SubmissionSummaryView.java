@@ -0,0 +1,70 @@
+package com.project.demo.logic.entity.submission;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una entrega para listados, con el título del cuestionario y el nombre del estudiante
+ * en lugar de las entidades completas.
+ */
+public interface SubmissionSummaryView {
+
+    /**
+     * Obtiene el identificador de la entrega.
+     * @return id de la entrega
+     */
+    Integer getId();
+
+    /**
+     * Obtiene la fecha de entrega.
+     * @return fecha de entrega
+     */
+    LocalDateTime getSubmittedAt();
+
+    /**
+     * Obtiene el puntaje de la entrega.
+     * @return puntaje
+     */
+    double getScore();
+
+    /**
+     * Obtiene la cantidad de respuestas correctas.
+     * @return respuestas correctas
+     */
+    Integer getCorrectCount();
+
+    /**
+     * Obtiene la cantidad de respuestas.
+     * @return respuestas
+     */
+    Integer getAnswerCount();
+
+    /**
+     * Obtiene el identificador del cuestionario.
+     * @return id del cuestionario
+     */
+    Integer getQuizId();
+
+    /**
+     * Obtiene el título del cuestionario.
+     * @return título del cuestionario
+     */
+    String getQuizTitle();
+
+    /**
+     * Obtiene el identificador del estudiante.
+     * @return id del estudiante
+     */
+    Long getStudentId();
+
+    /**
+     * Obtiene el nombre del estudiante.
+     * @return nombre del estudiante
+     */
+    String getStudentName();
+
+    /**
+     * Obtiene el apellido del estudiante.
+     * @return apellido del estudiante
+     */
+    String getStudentLastname();
+}
@@ -4,8 +4,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,4 +63,20 @@ public interface UserRepository extends JpaRepository<User, Long>  {
      * @return página de usuarios
      */
     Page<User> findBySchoolIdAndRoleId(Long schoolId, int roleId, Pageable pageable);
+
+    /**
+     * Obtiene cuáles de los identificadores indicados corresponden a usuarios existentes.
+     * @param ids identificadores de usuario
+     * @return identificadores existentes
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene cuáles de los correos indicados ya están registrados.
+     * @param emails correos a buscar
+     * @return correos registrados, tal como están guardados
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,268 @@
+package com.project.demo.logic.entity.userImport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lector incremental de filas de usuarios en formato CSV o NDJSON.
+ * Lee una fila a la vez desde el flujo de entrada, por lo que el archivo nunca se carga completo en memoria.
+ * El CSV requiere una fila de encabezado con las columnas name y email (lastname es opcional, el orden es libre)
+ * y admite campos entre comillas con comas, comillas dobles escapadas y saltos de línea.
+ * En NDJSON cada línea es un objeto con los campos name, lastname y email.
+ * Las filas que no se pueden leer se devuelven con un error en lugar de detener la lectura.
+ */
+public abstract class UserImportReader {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int UTF8_BOM = '\uFEFF';
+    private static final int MAX_FIELD_LENGTH = 1000;
+
+    protected final BufferedReader reader;
+    protected long row;
+
+    private UserImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Crea el lector que corresponde al tipo de contenido.
+     * En CSV lee el encabezado antes de devolver el lector.
+     * @param contentType tipo de contenido de la petición
+     * @param in flujo con el archivo
+     * @return lector de filas
+     * @throws IllegalArgumentException si el tipo de contenido no es CSV ni NDJSON o el encabezado no es válido
+     * @throws IOException si falla la lectura del encabezado
+     */
+    public static UserImportReader open(String contentType, InputStream in) throws IOException {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith(CSV)) {
+            return new Csv(in);
+        }
+        if (type.startsWith(NDJSON)) {
+            return new Ndjson(in);
+        }
+        throw new IllegalArgumentException("Formato no soportado, use " + CSV + " o " + NDJSON);
+    }
+
+    /**
+     * Lee la siguiente fila.
+     * @return fila leída; null al llegar al final del archivo
+     * @throws IOException si falla la lectura del flujo
+     */
+    public abstract UserImportRow next() throws IOException;
+
+    /**
+     * Normaliza un valor leído: quita espacios y convierte los vacíos en null.
+     * @param value valor leído
+     * @return valor normalizado
+     */
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Lector de CSV con encabezado.
+     */
+    private static final class Csv extends UserImportReader {
+
+        private final int nameColumn;
+        private final int lastnameColumn;
+        private final int emailColumn;
+        private final int columns;
+        private boolean truncated;
+
+        /**
+         * Lee el encabezado y ubica las columnas.
+         * @param in flujo con el archivo
+         * @throws IOException si falla la lectura
+         */
+        private Csv(InputStream in) throws IOException {
+            super(in);
+            reader.mark(1);
+            if (reader.read() != UTF8_BOM) {
+                reader.reset();
+            }
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("El archivo está vacío");
+            }
+            int name = -1;
+            int lastname = -1;
+            int email = -1;
+            for (int i = 0; i < header.size(); i++) {
+                switch (String.valueOf(clean(header.get(i))).toLowerCase(Locale.ROOT)) {
+                    case "name" -> name = i;
+                    case "lastname" -> lastname = i;
+                    case "email" -> email = i;
+                    default -> { }
+                }
+            }
+            if (name < 0 || email < 0) {
+                throw new IllegalArgumentException("El encabezado debe incluir las columnas name y email");
+            }
+            this.nameColumn = name;
+            this.lastnameColumn = lastname;
+            this.emailColumn = email;
+            this.columns = header.size();
+        }
+
+        @Override
+        public UserImportRow next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && clean(record.get(0)) == null);
+
+            row++;
+            if (truncated) {
+                return new UserImportRow(row, null, null, null,
+                        "Un campo supera los " + MAX_FIELD_LENGTH + " caracteres");
+            }
+            if (record.size() != columns) {
+                return new UserImportRow(row, null, null, null,
+                        "Se esperaban " + columns + " columnas y se encontraron " + record.size());
+            }
+            return new UserImportRow(row,
+                    clean(record.get(nameColumn)),
+                    lastnameColumn >= 0 ? clean(record.get(lastnameColumn)) : null,
+                    clean(record.get(emailColumn)),
+                    null);
+        }
+
+        /**
+         * Lee un registro completo, que puede ocupar varias líneas si tiene campos entre comillas.
+         * Los campos más largos que el máximo se recortan y marcan el registro como truncado,
+         * para que una comilla sin cerrar no acumule el resto del archivo en memoria.
+         * @return campos del registro; null al llegar al final del archivo
+         * @throws IOException si falla la lectura
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            truncated = false;
+            while (c >= 0) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            append(field, '"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        append(field, c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                } else {
+                    append(field, c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        /**
+         * Agrega un carácter al campo si no supera el largo máximo.
+         * @param field campo en construcción
+         * @param c carácter leído
+         */
+        private void append(StringBuilder field, int c) {
+            if (field.length() < MAX_FIELD_LENGTH) {
+                field.append((char) c);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    /**
+     * Lector de NDJSON, un objeto JSON por línea.
+     */
+    private static final class Ndjson extends UserImportReader {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        /**
+         * Constructor.
+         * @param in flujo con el archivo
+         */
+        private Ndjson(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public UserImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                if (row == 0 && !line.isEmpty() && line.charAt(0) == UTF8_BOM) {
+                    line = line.substring(1);
+                }
+            } while (line.isBlank());
+
+            row++;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    return new UserImportRow(row, null, null, null, "La línea no es un objeto JSON");
+                }
+                return new UserImportRow(row, text(node, "name"), text(node, "lastname"), text(node, "email"), null);
+            } catch (JsonProcessingException e) {
+                return new UserImportRow(row, null, null, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+
+        /**
+         * Obtiene un campo de texto del objeto.
+         * @param node objeto de la línea
+         * @param field nombre del campo
+         * @return valor normalizado; null si no existe
+         */
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : clean(value.asText());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.demo.logic.entity.userImport;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de importar una fila de usuarios.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    private final long row;
+    private final String email;
+    private final UserImportStatus status;
+    private final String message;
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param row número de fila
+     * @param email correo de la fila
+     * @param status resultado de la fila
+     * @param message detalle del resultado; null si no aplica
+     */
+    public UserImportResult(long row, String email, UserImportStatus status, String message) {
+        this.row = row;
+        this.email = email;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Obtiene el número de fila.
+     * @return número de fila
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * Obtiene el correo de la fila.
+     * @return correo
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtiene el resultado de la fila.
+     * @return resultado
+     */
+    public UserImportStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Obtiene el detalle del resultado.
+     * @return detalle; null si no aplica
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.demo.logic.entity.userImport;
+
+/**
+ * Fila leída de un archivo de importación de usuarios.
+ */
+public class UserImportRow {
+
+    private final long row;
+    private final String name;
+    private final String lastname;
+    private final String email;
+    private final String error;
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param row número de fila de datos, empezando en 1
+     * @param name nombre del usuario
+     * @param lastname apellido del usuario
+     * @param email correo del usuario
+     * @param error motivo por el que no se pudo leer la fila; null si se leyó correctamente
+     */
+    public UserImportRow(long row, String name, String lastname, String email, String error) {
+        this.row = row;
+        this.name = name;
+        this.lastname = lastname;
+        this.email = email;
+        this.error = error;
+    }
+
+    /**
+     * Obtiene el número de fila.
+     * @return número de fila
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * Obtiene el nombre del usuario.
+     * @return nombre
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtiene el apellido del usuario.
+     * @return apellido
+     */
+    public String getLastname() {
+        return lastname;
+    }
+
+    /**
+     * Obtiene el correo del usuario.
+     * @return correo
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtiene el motivo por el que no se pudo leer la fila.
+     * @return motivo; null si se leyó correctamente
+     */
+    public String getError() {
+        return error;
+    }
+}
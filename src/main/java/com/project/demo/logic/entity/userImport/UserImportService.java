@@ -0,0 +1,410 @@
+package com.project.demo.logic.entity.userImport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.auth.PasswordGenerator;
+import com.project.demo.logic.entity.email.EmailManager;
+import com.project.demo.logic.entity.email.EmailOutbox;
+import com.project.demo.logic.entity.email.EmailTemplate;
+import com.project.demo.logic.entity.email.EmailTemplateEngine;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Servicio de importación masiva de usuarios de una escuela.
+ * Procesa las filas en bloques: por cada bloque consulta con un IN los correos ya registrados,
+ * cifra las contraseñas en un pool de hilos acotado, inserta los usuarios con una inserción JDBC por lotes
+ * y encola los correos de bienvenida en la bandeja de salida dentro de la misma transacción,
+ * de modo que cada usuario creado tiene su correo y ninguno se envía si la inserción se revierte.
+ * Solo guarda en memoria el bloque actual y los correos vistos, para detectar filas repetidas en el archivo.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO `user` "
+            + "(name, lastname, email, password, role_id, school_id, needs_password_change, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_EMAIL_LENGTH = 100;
+    private static final int PASSWORD_LENGTH = 12;
+
+    @Value("${app.login.url}")
+    private String loginUrl;
+
+    @Value("${users.import.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${users.import.hash-threads:0}")
+    private int hashThreads;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordGenerator passwordGenerator;
+    private final EmailManager emailManager;
+    private final EmailTemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ThreadPoolExecutor hashExecutor;
+    private DistributionSummary rowsPerSecond;
+
+    public UserImportService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager, PasswordEncoder passwordEncoder,
+                             PasswordGenerator passwordGenerator, EmailManager emailManager,
+                             EmailTemplateEngine templateEngine, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.passwordGenerator = passwordGenerator;
+        this.emailManager = emailManager;
+        this.templateEngine = templateEngine;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Crea el pool de cifrado de contraseñas y las métricas.
+     * Sin un tamaño configurado, el pool usa un hilo por procesador; si su cola se llena,
+     * el hilo de la importación cifra la contraseña, lo que frena la lectura del archivo.
+     */
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(chunkSize, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.rowsPerSecond = DistributionSummary.builder("users.import.rows_per_second")
+                .description("Filas por segundo procesadas en cada importación de usuarios")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene el pool de cifrado al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Importa los usuarios y escribe el resultado como NDJSON: una línea por fila, en el orden del archivo,
+     * y una línea final {"summary": ...} con los totales y las filas por segundo.
+     * Vacía el flujo de salida después de cada bloque para que el cliente reciba el avance.
+     * @param reader lector de filas
+     * @param role rol de los usuarios creados
+     * @param school escuela de los usuarios creados
+     * @param out flujo de salida de la respuesta
+     * @return totales de la importación
+     * @throws IOException si falla la lectura del archivo o la escritura de la respuesta
+     */
+    public UserImportSummary importUsers(UserImportReader reader, Role role, School school, OutputStream out)
+            throws IOException {
+        UserImportSummary summary;
+        try {
+            summary = importUsers(reader, role, school, results -> {
+                try {
+                    for (UserImportResult result : results) {
+                        writeLine(out, result);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeLine(out, Map.of("summary", summary));
+        out.flush();
+        return summary;
+    }
+
+    /**
+     * Importa los usuarios bloque por bloque.
+     * Las filas sin nombre o con un correo inválido, las repetidas en el archivo y las de correos ya registrados
+     * se omiten; las demás se crean con una contraseña temporal que el usuario debe cambiar al iniciar sesión.
+     * Cada bloque se inserta en una transacción; si la base de datos rechaza el lote, por ejemplo porque otra
+     * petición registró el mismo correo, las filas del bloque se insertan una por una para aislar las rechazadas.
+     * @param reader lector de filas
+     * @param role rol de los usuarios creados
+     * @param school escuela de los usuarios creados
+     * @param onChunk recibe los resultados de cada bloque, en el orden del archivo
+     * @return totales de la importación
+     * @throws IOException si falla la lectura del archivo
+     */
+    public UserImportSummary importUsers(UserImportReader reader, Role role, School school,
+                                         Consumer<List<UserImportResult>> onChunk) throws IOException {
+        long start = System.nanoTime();
+        Set<String> seenEmails = new HashSet<>();
+        long[] totals = new long[UserImportStatus.values().length];
+        long rows = 0;
+
+        List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+        UserImportRow row;
+        do {
+            row = reader.next();
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                List<UserImportResult> results = processChunk(chunk, role, school, seenEmails);
+                for (UserImportResult result : results) {
+                    totals[result.getStatus().ordinal()]++;
+                }
+                rows += results.size();
+                onChunk.accept(results);
+                chunk.clear();
+            }
+        } while (row != null);
+
+        for (UserImportStatus status : UserImportStatus.values()) {
+            meterRegistry.counter("users.import.rows", "status", status.name()).increment(totals[status.ordinal()]);
+        }
+        UserImportSummary summary = new UserImportSummary(rows,
+                totals[UserImportStatus.CREATED.ordinal()],
+                totals[UserImportStatus.EXISTS.ordinal()] + totals[UserImportStatus.DUPLICATE.ordinal()],
+                totals[UserImportStatus.INVALID.ordinal()] + totals[UserImportStatus.FAILED.ordinal()],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        rowsPerSecond.record(summary.getRowsPerSecond());
+        logger.info("Importación de usuarios en la escuela {}: {} filas, {} creadas, {} filas/s",
+                school.getId(), summary.getRows(), summary.getCreated(), Math.round(summary.getRowsPerSecond()));
+        return summary;
+    }
+
+    /**
+     * Procesa un bloque de filas.
+     * @param chunk filas del bloque
+     * @param role rol de los usuarios creados
+     * @param school escuela de los usuarios creados
+     * @param seenEmails correos vistos en bloques anteriores, en minúsculas
+     * @return resultados del bloque, en el orden de las filas
+     */
+    private List<UserImportResult> processChunk(List<UserImportRow> chunk, Role role, School school,
+                                                Set<String> seenEmails) {
+        UserImportResult[] results = new UserImportResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+        List<String> candidateEmails = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow row = chunk.get(i);
+            String problem = validate(row);
+            if (problem != null) {
+                results[i] = new UserImportResult(row.getRow(), row.getEmail(), UserImportStatus.INVALID, problem);
+            } else if (!seenEmails.add(row.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = new UserImportResult(row.getRow(), row.getEmail(), UserImportStatus.DUPLICATE,
+                        "El correo aparece en una fila anterior");
+            } else {
+                candidates.add(i);
+                candidateEmails.add(row.getEmail());
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existing = new HashSet<>();
+            for (String email : userRepository.findExistingEmails(candidateEmails)) {
+                existing.add(email.toLowerCase(Locale.ROOT));
+            }
+
+            List<NewUser> newUsers = new ArrayList<>(candidates.size());
+            for (int i : candidates) {
+                UserImportRow row = chunk.get(i);
+                if (existing.contains(row.getEmail().toLowerCase(Locale.ROOT))) {
+                    results[i] = new UserImportResult(row.getRow(), row.getEmail(), UserImportStatus.EXISTS,
+                            "Correo se encuentra registrado");
+                } else {
+                    String password = passwordGenerator.generatePassword(PASSWORD_LENGTH);
+                    newUsers.add(new NewUser(i, row, password, hashExecutor.submit(() -> passwordEncoder.encode(password))));
+                }
+            }
+            insert(newUsers, role, school, results);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Inserta los usuarios nuevos del bloque junto con sus correos de bienvenida y registra su resultado.
+     * @param newUsers usuarios a crear
+     * @param role rol de los usuarios
+     * @param school escuela de los usuarios
+     * @param results resultados del bloque, indexados por posición en el bloque
+     */
+    private void insert(List<NewUser> newUsers, Role role, School school, UserImportResult[] results) {
+        if (newUsers.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> batch = new ArrayList<>(newUsers.size());
+        for (NewUser newUser : newUsers) {
+            batch.add(parameters(newUser, role, school, now));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                emailManager.queueEmails(newUsers.stream().map(this::welcomeEmail).toList());
+            });
+            for (NewUser newUser : newUsers) {
+                created(newUser, results);
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Lote de importación rechazado, se insertan las filas una por una: {}", e.getMessage());
+            for (int i = 0; i < newUsers.size(); i++) {
+                NewUser newUser = newUsers.get(i);
+                UserImportRow row = newUser.row();
+                Object[] parameters = batch.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, parameters);
+                        emailManager.queueEmails(List.of(welcomeEmail(newUser)));
+                    });
+                    created(newUser, results);
+                } catch (DuplicateKeyException duplicate) {
+                    results[newUser.index()] = new UserImportResult(row.getRow(), row.getEmail(),
+                            UserImportStatus.EXISTS, "Correo se encuentra registrado");
+                } catch (DataIntegrityViolationException rejected) {
+                    results[newUser.index()] = new UserImportResult(row.getRow(), row.getEmail(),
+                            UserImportStatus.FAILED, "La base de datos rechazó la fila");
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra la fila como creada.
+     * @param newUser usuario creado
+     * @param results resultados del bloque
+     */
+    private static void created(NewUser newUser, UserImportResult[] results) {
+        UserImportRow row = newUser.row();
+        results[newUser.index()] = new UserImportResult(row.getRow(), row.getEmail(), UserImportStatus.CREATED, null);
+    }
+
+    /**
+     * Arma el correo de bienvenida con la contraseña temporal.
+     * @param newUser usuario creado
+     * @return correo a encolar
+     */
+    private EmailOutbox welcomeEmail(NewUser newUser) {
+        UserImportRow row = newUser.row();
+        return templateEngine.render(EmailTemplate.NEW_ACCOUNT, row.getEmail(),
+                row.getName(), row.getEmail(), newUser.password(), loginUrl);
+    }
+
+    /**
+     * Arma los parámetros de inserción de un usuario, esperando el cifrado de su contraseña.
+     * @param newUser usuario a crear
+     * @param role rol del usuario
+     * @param school escuela del usuario
+     * @param now fecha de creación
+     * @return parámetros en el orden de INSERT_SQL
+     */
+    private static Object[] parameters(NewUser newUser, Role role, School school, Timestamp now) {
+        UserImportRow row = newUser.row();
+        return new Object[]{row.getName(), row.getLastname(), row.getEmail(), hashed(newUser),
+                role.getId(), school.getId(), true, now, now};
+    }
+
+    /**
+     * Espera el cifrado de la contraseña de un usuario.
+     * @param newUser usuario a crear
+     * @return contraseña cifrada
+     */
+    private static String hashed(NewUser newUser) {
+        try {
+            return newUser.passwordHash().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo cifrar la contraseña", e.getCause());
+        }
+    }
+
+    /**
+     * Valida los datos de una fila.
+     * @param row fila leída
+     * @return motivo por el que la fila no es válida; null si es válida
+     */
+    private static String validate(UserImportRow row) {
+        if (row.getError() != null) {
+            return row.getError();
+        }
+        if (row.getName() == null) {
+            return "El nombre es obligatorio";
+        }
+        String email = row.getEmail();
+        if (email == null) {
+            return "El correo es obligatorio";
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@') || at == email.length() - 1
+                || email.length() > MAX_EMAIL_LENGTH || email.chars().anyMatch(Character::isWhitespace)) {
+            return "Correo inválido";
+        }
+        return null;
+    }
+
+    /**
+     * Escribe un objeto como una línea JSON.
+     * @param out flujo de salida
+     * @param value objeto a escribir
+     * @throws IOException si falla la escritura
+     */
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    /**
+     * Usuario pendiente de crear.
+     * @param index posición de la fila en el bloque
+     * @param row fila leída
+     * @param password contraseña temporal
+     * @param passwordHash cifrado de la contraseña en curso
+     */
+    private record NewUser(int index, UserImportRow row, String password, Future<String> passwordHash) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.demo.logic.entity.userImport;
+
+/**
+ * Resultado de importar una fila de usuarios.
+ */
+public enum UserImportStatus {
+    CREATED,    // El usuario se creó
+    EXISTS,     // Ya existe un usuario con el correo
+    DUPLICATE,  // El correo aparece en una fila anterior del archivo
+    INVALID,    // La fila no se pudo leer o le faltan datos
+    FAILED      // La base de datos rechazó la fila
+}
@@ -0,0 +1,77 @@
+package com.project.demo.logic.entity.userImport;
+
+/**
+ * Totales de una importación de usuarios.
+ */
+public class UserImportSummary {
+
+    private final long rows;
+    private final long created;
+    private final long skipped;
+    private final long failed;
+    private final long elapsedMillis;
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param rows filas procesadas
+     * @param created usuarios creados
+     * @param skipped filas omitidas porque el correo ya existía o estaba repetido
+     * @param failed filas inválidas o rechazadas por la base de datos
+     * @param elapsedMillis duración de la importación en milisegundos
+     */
+    public UserImportSummary(long rows, long created, long skipped, long failed, long elapsedMillis) {
+        this.rows = rows;
+        this.created = created;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Obtiene las filas procesadas.
+     * @return filas procesadas
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtiene los usuarios creados.
+     * @return usuarios creados
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * Obtiene las filas omitidas.
+     * @return filas omitidas
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Obtiene las filas inválidas o rechazadas.
+     * @return filas fallidas
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Obtiene la duración de la importación.
+     * @return duración en milisegundos
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Obtiene el rendimiento de la importación.
+     * @return filas procesadas por segundo
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+    }
+}
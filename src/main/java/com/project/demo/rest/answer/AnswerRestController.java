@@ -2,19 +2,27 @@ package com.project.demo.rest.answer;
 
 import com.project.demo.logic.entity.answer.Answer;
 import com.project.demo.logic.entity.answer.AnswerRepository;
+import com.project.demo.logic.entity.answer.AnswerService;
+import com.project.demo.logic.entity.answer.AnswerSummaryView;
 import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.submission.SubmissionGrade;
 import com.project.demo.logic.entity.submission.SubmissionRepository;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
 import com.project.demo.logic.entity.question.Question;
 import com.project.demo.logic.entity.question.QuestionRepository;
 import com.project.demo.logic.entity.option.Option;
 import com.project.demo.logic.entity.option.OptionRepository;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.request.AnswerRequest;
 import com.project.demo.logic.request.AnswerUpdateRequest;
 import com.project.demo.rest.answer.dto.AnswerResultDto;
 import com.project.demo.rest.submission.dto.SubmissionResultDto;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -44,17 +52,50 @@ public class AnswerRestController {
     @Autowired
     private OptionRepository optionRepository;
 
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private SubmissionScoringService submissionScoringService;
+
     /**
-     * Obtiene todas las respuestas asociadas a una entrega.
+     * Obtiene las respuestas asociadas a una entrega, paginadas.
+     * Si se envía "after", usa paginación por llave: devuelve las respuestas con id mayor y no calcula totales.
      * @param submissionId identificador de la entrega
+     * @param page número de página
+     * @param size tamaño de página
+     * @param after último id de la página anterior (opcional)
      * @param request petición HTTP
      * @return respuestas de la entrega
      */
     @GetMapping("/submission/{submissionId}")
     @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'SUPER_ADMIN')")
-    public ResponseEntity<?> getAnswersBySubmission(@PathVariable Integer submissionId, HttpServletRequest request) {
-        List<Answer> answers = answerRepository.findBySubmissionId(submissionId);
-        return new GlobalResponseHandler().handleResponse("Respuestas obtenidas correctamente", answers, HttpStatus.OK, request);
+    public ResponseEntity<?> getAnswersBySubmission(@PathVariable Integer submissionId,
+                                                    @RequestParam(defaultValue = "1") int page,
+                                                    @RequestParam(defaultValue = "10") int size,
+                                                    @RequestParam(required = false) Long after,
+                                                    HttpServletRequest request) {
+        if (page < 1 || size < 1) {
+            return new GlobalResponseHandler().handleResponse("page y size deben ser mayores que 0",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        List<AnswerSummaryView> answers;
+        if (after != null) {
+            answers = answerRepository.findSummariesBySubmissionIdAfter(submissionId, after, Limit.of(size));
+            meta.setPageSize(size);
+            if (answers.size() == size) {
+                meta.setNextCursor(answers.get(answers.size() - 1).getId());
+            }
+        } else {
+            Page<AnswerSummaryView> answerPage = answerRepository.findSummariesBySubmissionId(submissionId, PageRequest.of(page - 1, size));
+            answers = answerPage.getContent();
+            meta.setTotalPages(answerPage.getTotalPages());
+            meta.setTotalElements(answerPage.getTotalElements());
+            meta.setPageNumber(answerPage.getNumber() + 1);
+            meta.setPageSize(answerPage.getSize());
+        }
+        return new GlobalResponseHandler().handleResponse("Respuestas obtenidas correctamente", answers, HttpStatus.OK, meta);
     }
 
     /**
@@ -108,17 +149,13 @@ public class AnswerRestController {
             return new GlobalResponseHandler().handleResponse("Ya existe una respuesta para esta pregunta en esta submission", HttpStatus.CONFLICT, request);
         }
 
-        Answer answer = new Answer();
-        answer.setSubmission(foundSubmission.get());
-        answer.setQuestion(foundQuestion.get());
-        answer.setSelectedOption(foundOption.get());
-
-        answerRepository.save(answer);
+        Answer answer = answerService.createAnswer(foundSubmission.get(), foundQuestion.get(), foundOption.get());
         return new GlobalResponseHandler().handleResponse("Respuesta creada con éxito", answer, HttpStatus.OK, request);
     }
 
     /**
      * Crea respuestas en bloque para una entrega.
+     * Se omiten las respuestas con opciones que no pertenecen a su pregunta o preguntas ya respondidas.
      * @param submissionId identificador de la entrega
      * @param answerRequests lista de respuestas
      * @param request petición HTTP
@@ -134,25 +171,7 @@ public class AnswerRestController {
             return new GlobalResponseHandler().handleResponse("Submission " + submissionId + " no encontrada", HttpStatus.NOT_FOUND, request);
         }
 
-        List<Answer> createdAnswers = new ArrayList<>();
-
-        for (AnswerRequest answerRequest : answerRequests) {
-            Optional<Question> foundQuestion = questionRepository.findById(answerRequest.getQuestionId());
-            Optional<Option> foundOption = optionRepository.findById(answerRequest.getOptionId());
-
-            if (foundQuestion.isPresent() && foundOption.isPresent()) {
-                Optional<Answer> existingAnswer = answerRepository.findBySubmissionIdAndQuestionId(submissionId, answerRequest.getQuestionId());
-                if (!existingAnswer.isPresent()) {
-                    Answer answer = new Answer();
-                    answer.setSubmission(foundSubmission.get());
-                    answer.setQuestion(foundQuestion.get());
-                    answer.setSelectedOption(foundOption.get());
-
-                    answerRepository.save(answer);
-                    createdAnswers.add(answer);
-                }
-            }
-        }
+        List<Answer> createdAnswers = answerService.createBulkAnswers(foundSubmission.get(), answerRequests);
 
         return new GlobalResponseHandler().handleResponse("Respuestas creadas con éxito", createdAnswers, HttpStatus.OK, request);
     }
@@ -173,9 +192,7 @@ public class AnswerRestController {
         if (foundAnswer.isPresent()) {
             Optional<Option> foundOption = optionRepository.findById(updateRequest.getOptionId());
             if (foundOption.isPresent()) {
-                Answer answer = foundAnswer.get();
-                answer.setSelectedOption(foundOption.get());
-                answerRepository.save(answer);
+                Answer answer = answerService.updateAnswer(foundAnswer.get(), foundOption.get());
                 return new GlobalResponseHandler().handleResponse("Respuesta actualizada con éxito", answer, HttpStatus.OK, request);
             } else {
                 return new GlobalResponseHandler().handleResponse("Opción " + updateRequest.getOptionId() + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -196,7 +213,7 @@ public class AnswerRestController {
     public ResponseEntity<?> deleteAnswer(@PathVariable Long id, HttpServletRequest request) {
         Optional<Answer> foundAnswer = answerRepository.findById(id);
         if (foundAnswer.isPresent()) {
-            answerRepository.delete(foundAnswer.get());
+            answerService.deleteAnswer(foundAnswer.get());
             return new GlobalResponseHandler().handleResponse("Respuesta eliminada con éxito", foundAnswer.get(), HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Respuesta " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -218,6 +235,8 @@ public class AnswerRestController {
 
     /**
      * Obtiene los resultados de una entrega, incluyendo el puntaje y respuestas.
+     * El puntaje y los totales son los guardados al calificar la entrega; si una entrega aún no fue calificada
+     * por SubmissionScoreBackfill, se califican sin guardar el resultado.
      * @param submissionId identificador de la entrega
      * @param request petición HTTP
      * @return resultados de la entrega
@@ -230,31 +249,34 @@ public class AnswerRestController {
             return new GlobalResponseHandler().handleResponse("Submission " + submissionId + " no encontrada", HttpStatus.NOT_FOUND, request);
         }
 
-        List<Answer> answers = answerRepository.findBySubmissionId(submissionId);
+        Submission submission = foundSubmission.get();
+        int answerCount;
+        int correctCount;
+        double score;
+        if (submission.getCorrectCount() != null && submission.getAnswerCount() != null) {
+            answerCount = submission.getAnswerCount();
+            correctCount = submission.getCorrectCount();
+            score = submission.getScore();
+        } else {
+            SubmissionGrade grade = submissionScoringService.grade(submission);
+            answerCount = grade.getAnswerCount();
+            correctCount = grade.getCorrectCount();
+            score = grade.getScore();
+        }
 
-        int totalQuestions = answers.size();
-        int correctAnswers = 0;
+        List<Answer> answers = answerRepository.findWithQuestionAndOptionBySubmissionId(submissionId);
         List<AnswerResultDto> results = new ArrayList<>();
-
         for (Answer answer : answers) {
-            boolean isCorrect = answer.getSelectedOption().isCorrect();
-            if (isCorrect) {
-                correctAnswers++;
-            }
-
-            AnswerResultDto answerResult = new AnswerResultDto(
+            results.add(new AnswerResultDto(
                     answer.getQuestion().getText(),
                     answer.getSelectedOption().getText(),
-                    isCorrect
-            );
-            results.add(answerResult);
+                    answer.getSelectedOption().isCorrect()
+            ));
         }
 
-        double score = totalQuestions > 0 ? (double) correctAnswers / totalQuestions * 100 : 0;
-
         SubmissionResultDto submissionResult = new SubmissionResultDto(
-                totalQuestions,
-                correctAnswers,
+                answerCount,
+                correctCount,
                 score,
                 results
         );
@@ -1,5 +1,8 @@
 package com.project.demo.rest.chatBot;
 
+import com.project.demo.logic.entity.chatBot.ChatResponseCache;
+import com.project.demo.logic.entity.chatBot.ChatStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -7,8 +10,10 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controlador REST para el chatbot especializado en historia de Costa Rica.
@@ -20,6 +25,12 @@ public class ChatController {
 
     private final RestTemplate restTemplate = new RestTemplate();
 
+    @Autowired
+    private ChatStreamService chatStreamService;
+
+    @Autowired
+    private ChatResponseCache chatResponseCache;
+
     @Value("${lmstudio.api.url}")
     private String lmStudioApiUrl;
 
@@ -37,6 +48,7 @@ public class ChatController {
     private static final String ERROR_EMPTY_MESSAGE = "Message cannot be empty";
     private static final String ERROR_MODEL_RESPONSE = "No se pudo obtener una respuesta válida del modelo.";
     private static final String ERROR_LMSTUDIO_COMM = "Error comunicándose con LM Studio: ";
+    private static final String ERROR_TOO_MANY_STREAMS = "Demasiadas conversaciones activas, intenta de nuevo en unos segundos";
 
     /**
      * Envía un mensaje al chatbot y retorna la respuesta.
@@ -56,15 +68,13 @@ public class ChatController {
             return ResponseEntity.ok(Map.of("response", GREETING_RESPONSE));
         }
 
-        try {
-            Map<String, Object> lmStudioRequest = new HashMap<>();
-            lmStudioRequest.put("model", MODEL_NAME);
+        Optional<String> cachedResponse = chatResponseCache.find(SYSTEM_PROMPT, userMessage);
+        if (cachedResponse.isPresent()) {
+            return ResponseEntity.ok(Map.of("response", cachedResponse.get()));
+        }
 
-            List<Map<String, String>> messages = new ArrayList<>();
-            messages.add(Map.of("role", "system", "content", SYSTEM_PROMPT));
-            messages.add(Map.of("role", "user", "content", userMessage));
-            lmStudioRequest.put("messages", messages);
-            lmStudioRequest.put("temperature", TEMPERATURE);
+        try {
+            Map<String, Object> lmStudioRequest = buildLmStudioRequest(userMessage);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -83,6 +93,7 @@ public class ChatController {
                 if (choices != null && !choices.isEmpty()) {
                     Map<String, String> message = (Map<String, String>) ((Map<String, Object>) choices.get(0)).get("message");
                     String botResponse = message.get("content");
+                    chatResponseCache.put(SYSTEM_PROMPT, userMessage, botResponse);
                     return ResponseEntity.ok(Map.of("response", botResponse));
                 }
             }
@@ -94,4 +105,71 @@ public class ChatController {
             return ResponseEntity.status(500).body(Map.of("error", ERROR_LMSTUDIO_COMM + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Envía un mensaje al chatbot y transmite la respuesta token por token mediante Server-Sent Events.
+     * Emite eventos "token" con cada fragmento, "done" al finalizar y "error" si falla el modelo.
+     * @param request mapa con el mensaje del usuario
+     * @return emisor SSE con la respuesta del chatbot
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamMessage(@RequestBody Map<String, String> request) {
+        String userMessage = request.get("message");
+
+        if (userMessage == null || userMessage.trim().isEmpty()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", ERROR_EMPTY_MESSAGE));
+        }
+
+        if (GREETINGS.contains(userMessage.toLowerCase())) {
+            return ResponseEntity.ok(singleTokenEmitter(GREETING_RESPONSE));
+        }
+
+        Optional<String> cachedResponse = chatResponseCache.find(SYSTEM_PROMPT, userMessage);
+        if (cachedResponse.isPresent()) {
+            return ResponseEntity.ok(singleTokenEmitter(cachedResponse.get()));
+        }
+
+        try {
+            return ResponseEntity.ok(chatStreamService.stream(buildLmStudioRequest(userMessage),
+                    botResponse -> chatResponseCache.put(SYSTEM_PROMPT, userMessage, botResponse)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", ERROR_TOO_MANY_STREAMS));
+        }
+    }
+
+    /**
+     * Crea un emisor SSE que envía una respuesta ya conocida como un único evento "token" seguido de "done".
+     * @param response respuesta completa
+     * @return emisor SSE finalizado
+     */
+    private SseEmitter singleTokenEmitter(String response) {
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name("token").data(Map.of("token", response), MediaType.APPLICATION_JSON));
+            emitter.send(SseEmitter.event().name("done").data(Map.of("tokens", 1), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Construye el cuerpo de la petición a LM Studio con el prompt del sistema y el mensaje del usuario.
+     * @param userMessage mensaje del usuario
+     * @return cuerpo de la petición
+     */
+    private Map<String, Object> buildLmStudioRequest(String userMessage) {
+        Map<String, Object> lmStudioRequest = new HashMap<>();
+        lmStudioRequest.put("model", MODEL_NAME);
+
+        List<Map<String, String>> messages = new ArrayList<>();
+        messages.add(Map.of("role", "system", "content", SYSTEM_PROMPT));
+        messages.add(Map.of("role", "user", "content", userMessage));
+        lmStudioRequest.put("messages", messages);
+        lmStudioRequest.put("temperature", TEMPERATURE);
+        return lmStudioRequest;
+    }
+}
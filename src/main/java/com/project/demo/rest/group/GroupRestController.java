@@ -3,11 +3,18 @@ package com.project.demo.rest.group;
 import com.project.demo.logic.entity.course.Course;
 import com.project.demo.logic.entity.course.CourseRepository;
 import com.project.demo.logic.entity.group.Group;
+import com.project.demo.logic.entity.group.GroupAnnouncementService;
 import com.project.demo.logic.entity.group.GroupRepository;
+import com.project.demo.logic.entity.group.GroupRosterService;
+import com.project.demo.logic.entity.group.GroupSummaryView;
+import com.project.demo.logic.entity.group.RosterOutcome;
+import com.project.demo.logic.entity.group.RosterResult;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.rest.group.dto.AnnouncementRequestDto;
+import com.project.demo.rest.group.dto.RosterRequestDto;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -18,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,8 +45,14 @@ public class GroupRestController {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private GroupRosterService groupRosterService;
+
+    @Autowired
+    private GroupAnnouncementService groupAnnouncementService;
+
     /**
-     * Obtiene todos los grupos paginados.
+     * Obtiene todos los grupos paginados, sin la lista de estudiantes.
      * @param page número de página
      * @param size tamaño de página
      * @param request petición HTTP
@@ -52,7 +66,7 @@ public class GroupRestController {
             HttpServletRequest request) {
 
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Group> groupPage = groupRepository.findAll(pageable);
+        Page<GroupSummaryView> groupPage = groupRepository.findSummaries(pageable);
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
         meta.setTotalPages(groupPage.getTotalPages());
@@ -93,7 +107,7 @@ public class GroupRestController {
     }
 
     /**
-     * Obtiene los grupos asociados a un curso.
+     * Obtiene los grupos asociados a un curso, sin la lista de estudiantes.
      * @param courseId identificador del curso
      * @param page número de página
      * @param size tamaño de página
@@ -107,10 +121,9 @@ public class GroupRestController {
                                                @RequestParam(defaultValue = "10") int size,
                                                HttpServletRequest request) {
 
-        Optional<Course> foundCourse = courseRepository.findById(courseId);
-        if (foundCourse.isPresent()) {
+        if (courseRepository.existsById(courseId)) {
             Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Group> groupPage = groupRepository.findGroupsByCourseId(courseId, pageable);
+            Page<GroupSummaryView> groupPage = groupRepository.findSummariesByCourseId(courseId, pageable);
 
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
             meta.setTotalPages(groupPage.getTotalPages());
@@ -127,7 +140,7 @@ public class GroupRestController {
     }
 
     /**
-     * Obtiene los grupos asociados a un docente.
+     * Obtiene los grupos asociados a un docente, sin la lista de estudiantes.
      * @param teacherId identificador del docente
      * @param page número de página
      * @param size tamaño de página
@@ -141,10 +154,9 @@ public class GroupRestController {
                                                 @RequestParam(defaultValue = "10") int size,
                                                 HttpServletRequest request) {
 
-        Optional<User> foundTeacher = userRepository.findById(teacherId);
-        if (foundTeacher.isPresent()) {
+        if (userRepository.existsById(teacherId)) {
             Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Group> groupPage = groupRepository.findGroupsByTeacherId(teacherId, pageable);
+            Page<GroupSummaryView> groupPage = groupRepository.findSummariesByTeacherId(teacherId, pageable);
 
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
             meta.setTotalPages(groupPage.getTotalPages());
@@ -226,6 +238,110 @@ public class GroupRestController {
         }
     }
 
+    /**
+     * Añade varios estudiantes a un grupo en una sola transacción.
+     * @param groupId identificador del grupo
+     * @param roster estudiantes a añadir
+     * @param request petición HTTP
+     * @return resultado por estudiante
+     */
+    @PostMapping("/{groupId}/students")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> addStudentsToGroup(@PathVariable Long groupId,
+                                                @RequestBody RosterRequestDto roster,
+                                                HttpServletRequest request) {
+        if (roster.getStudentIds() == null) {
+            return new GlobalResponseHandler().handleResponse("La lista studentIds es obligatoria",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        if (!groupRepository.existsById(groupId)) {
+            return new GlobalResponseHandler().handleResponse("Grupo " + groupId + " no encontrado",
+                    HttpStatus.NOT_FOUND, request);
+        }
+        List<RosterResult> results = groupRosterService.addStudents(groupId, roster.getStudentIds());
+        return new GlobalResponseHandler().handleResponse("Estudiantes añadidos al grupo: " +
+                count(results, RosterOutcome.ADDED) + " de " + results.size(), results, HttpStatus.OK, request);
+    }
+
+    /**
+     * Retira varios estudiantes de un grupo en una sola transacción.
+     * @param groupId identificador del grupo
+     * @param roster estudiantes a retirar
+     * @param request petición HTTP
+     * @return resultado por estudiante
+     */
+    @DeleteMapping("/{groupId}/students")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> removeStudentsFromGroup(@PathVariable Long groupId,
+                                                     @RequestBody RosterRequestDto roster,
+                                                     HttpServletRequest request) {
+        if (roster.getStudentIds() == null) {
+            return new GlobalResponseHandler().handleResponse("La lista studentIds es obligatoria",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        if (!groupRepository.existsById(groupId)) {
+            return new GlobalResponseHandler().handleResponse("Grupo " + groupId + " no encontrado",
+                    HttpStatus.NOT_FOUND, request);
+        }
+        List<RosterResult> results = groupRosterService.removeStudents(groupId, roster.getStudentIds());
+        return new GlobalResponseHandler().handleResponse("Estudiantes retirados del grupo: " +
+                count(results, RosterOutcome.REMOVED) + " de " + results.size(), results, HttpStatus.OK, request);
+    }
+
+    /**
+     * Reemplaza los estudiantes de un grupo por la lista recibida en una sola transacción.
+     * La lista es obligatoria; para retirar a todos los estudiantes se envía una lista vacía.
+     * @param groupId identificador del grupo
+     * @param roster estudiantes que debe tener el grupo
+     * @param request petición HTTP
+     * @return resultado por estudiante, incluidos los retirados
+     */
+    @PutMapping("/{groupId}/students")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> replaceGroupStudents(@PathVariable Long groupId,
+                                                  @RequestBody RosterRequestDto roster,
+                                                  HttpServletRequest request) {
+        if (roster.getStudentIds() == null) {
+            return new GlobalResponseHandler().handleResponse("La lista studentIds es obligatoria; envíe [] para retirar a todos los estudiantes",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        if (!groupRepository.existsById(groupId)) {
+            return new GlobalResponseHandler().handleResponse("Grupo " + groupId + " no encontrado",
+                    HttpStatus.NOT_FOUND, request);
+        }
+        List<RosterResult> results = groupRosterService.replaceStudents(groupId, roster.getStudentIds());
+        return new GlobalResponseHandler().handleResponse("Estudiantes del grupo reemplazados: " +
+                count(results, RosterOutcome.ADDED) + " añadidos, " + count(results, RosterOutcome.REMOVED) + " retirados",
+                results, HttpStatus.OK, request);
+    }
+
+    /**
+     * Envía un anuncio por correo a todos los estudiantes de un grupo.
+     * @param groupId identificador del grupo
+     * @param announcement asunto y texto del anuncio
+     * @param request petición HTTP
+     * @return cantidad de correos encolados
+     */
+    @PostMapping("/{groupId}/announcement")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> announceToGroup(@PathVariable Long groupId,
+                                             @RequestBody AnnouncementRequestDto announcement,
+                                             HttpServletRequest request) {
+        if (announcement.getSubject() == null || announcement.getSubject().isBlank()
+                || announcement.getMessage() == null || announcement.getMessage().isBlank()) {
+            return new GlobalResponseHandler().handleResponse("El asunto y el mensaje del anuncio son obligatorios",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        Optional<Integer> queued = groupAnnouncementService.announce(groupId,
+                announcement.getSubject().strip(), announcement.getMessage().strip());
+        if (queued.isEmpty()) {
+            return new GlobalResponseHandler().handleResponse("Grupo " + groupId + " no encontrado",
+                    HttpStatus.NOT_FOUND, request);
+        }
+        return new GlobalResponseHandler().handleResponse("Anuncio encolado para " + queued.get() + " estudiantes",
+                queued.get(), HttpStatus.OK, request);
+    }
+
     /**
      * Actualiza los datos de un grupo.
      * @param groupId identificador del grupo
@@ -305,7 +421,7 @@ public class GroupRestController {
     }
 
     /**
-     * Obtiene los grupos asociados a un estudiante.
+     * Obtiene los grupos asociados a un estudiante, sin la lista de estudiantes.
      * @param studentId identificador del estudiante
      * @param page número de página
      * @param size tamaño de página
@@ -320,7 +436,7 @@ public class GroupRestController {
                                                 HttpServletRequest request) {
 
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Group> groupPage = groupRepository.findGroupsByStudentId(studentId, pageable);
+        Page<GroupSummaryView> groupPage = groupRepository.findSummariesByStudentId(studentId, pageable);
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
         meta.setTotalPages(groupPage.getTotalPages());
@@ -359,4 +475,14 @@ public class GroupRestController {
                     HttpStatus.NOT_FOUND, request);
         }
     }
+
+    /**
+     * Cuenta los estudiantes con un resultado dado.
+     * @param results resultados por estudiante
+     * @param outcome resultado a contar
+     * @return cantidad de estudiantes
+     */
+    private static long count(List<RosterResult> results, RosterOutcome outcome) {
+        return results.stream().filter(result -> result.getOutcome() == outcome).count();
+    }
 }
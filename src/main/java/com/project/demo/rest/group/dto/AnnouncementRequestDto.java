@@ -0,0 +1,48 @@
+package com.project.demo.rest.group.dto;
+
+/**
+ * DTO con el asunto y el texto de un anuncio para un grupo.
+ */
+public class AnnouncementRequestDto {
+
+    private String subject;
+    private String message;
+
+    /**
+     * Constructor por defecto.
+     */
+    public AnnouncementRequestDto() {
+    }
+
+    /**
+     * Obtiene el asunto del anuncio.
+     * @return asunto
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Establece el asunto del anuncio.
+     * @param subject asunto
+     */
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    /**
+     * Obtiene el texto del anuncio.
+     * @return texto
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Establece el texto del anuncio.
+     * @param message texto
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
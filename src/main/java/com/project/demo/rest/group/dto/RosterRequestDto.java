@@ -0,0 +1,33 @@
+package com.project.demo.rest.group.dto;
+
+import java.util.List;
+
+/**
+ * DTO con los estudiantes de un cambio de matrícula por lotes.
+ */
+public class RosterRequestDto {
+
+    private List<Long> studentIds;
+
+    /**
+     * Constructor por defecto.
+     */
+    public RosterRequestDto() {
+    }
+
+    /**
+     * Obtiene los identificadores de los estudiantes.
+     * @return identificadores de los estudiantes
+     */
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * Establece los identificadores de los estudiantes.
+     * @param studentIds identificadores de los estudiantes
+     */
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.demo.rest.illustration;
 
+import com.project.demo.logic.entity.http.ConditionalRequestHandler;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.illustration.Illustration;
@@ -31,8 +32,12 @@ public class IllustrationRestController {
     @Autowired
     private StoryRepository storyRepository;
 
+    @Autowired
+    private ConditionalRequestHandler conditionalRequests;
+
     /**
      * Obtiene todas las ilustraciones asociadas a una historia.
+     * Responde 304 si el cliente envía la versión actual del listado en If-None-Match.
      * @param storyId identificador de la historia
      * @param page número de página
      * @param size tamaño de página
@@ -45,18 +50,19 @@ public class IllustrationRestController {
                                                      @RequestParam(defaultValue = "1") int page,
                                                      @RequestParam(defaultValue = "10") int size,
                                                      HttpServletRequest request) {
-        Optional<Story> foundStory = storyRepository.findById(storyId);
-        if (foundStory.isPresent()) {
-            Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Illustration> illustrationPage = illustrationRepository.findIllustrationsByStoryId(storyId, pageable);
-            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(illustrationPage.getTotalPages());
-            meta.setTotalElements(illustrationPage.getTotalElements());
-            meta.setPageNumber(illustrationPage.getNumber() + 1);
-            meta.setPageSize(illustrationPage.getSize());
+        if (storyRepository.existsById(storyId)) {
+            return conditionalRequests.handle(illustrationRepository.findVersionByStoryId(storyId), request, () -> {
+                Pageable pageable = PageRequest.of(page - 1, size);
+                Page<Illustration> illustrationPage = illustrationRepository.findIllustrationsByStoryId(storyId, pageable);
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setTotalPages(illustrationPage.getTotalPages());
+                meta.setTotalElements(illustrationPage.getTotalElements());
+                meta.setPageNumber(illustrationPage.getNumber() + 1);
+                meta.setPageSize(illustrationPage.getSize());
 
-            return new GlobalResponseHandler().handleResponse("Illustraciones obtenidas correctamente por ID de historia",
-                    illustrationPage.getContent(), HttpStatus.OK, meta);
+                return new GlobalResponseHandler().handleResponse("Illustraciones obtenidas correctamente por ID de historia",
+                        illustrationPage.getContent(), HttpStatus.OK, meta);
+            });
         } else {
             return new GlobalResponseHandler().handleResponse("Historia " + storyId + " no encontrada",
                     HttpStatus.NOT_FOUND, request);
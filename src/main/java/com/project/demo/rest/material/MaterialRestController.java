@@ -2,6 +2,7 @@ package com.project.demo.rest.material;
 
 import com.project.demo.logic.entity.course.Course;
 import com.project.demo.logic.entity.course.CourseRepository;
+import com.project.demo.logic.entity.http.ConditionalRequestHandler;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.material.Material;
@@ -37,8 +38,12 @@ public class MaterialRestController {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ConditionalRequestHandler conditionalRequests;
+
     /**
      * Obtiene los materiales asociados a un curso.
+     * Responde 304 si el cliente envía la versión actual del listado en If-None-Match.
      * @param courseId identificador del curso
      * @param page número de página
      * @param size tamaño de página
@@ -52,18 +57,19 @@ public class MaterialRestController {
                                                   @RequestParam(defaultValue = "10") int size,
                                                   HttpServletRequest request) {
 
-        Optional<Course> foundCourse = courseRepository.findById(courseId);
-        if (foundCourse.isPresent()) {
-            Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Material> materialPage = materialRepository.findMaterialsByCourseId(courseId, pageable);
-            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(materialPage.getTotalPages());
-            meta.setTotalElements(materialPage.getTotalElements());
-            meta.setPageNumber(materialPage.getNumber() + 1);
-            meta.setPageSize(materialPage.getSize());
-
-            return new GlobalResponseHandler().handleResponse("Materiales obtenidos correctamente por ID de curso",
-                    materialPage.getContent(), HttpStatus.OK, meta);
+        if (courseRepository.existsById(courseId)) {
+            return conditionalRequests.handle(materialRepository.findVersionByCourseId(courseId), request, () -> {
+                Pageable pageable = PageRequest.of(page - 1, size);
+                Page<Material> materialPage = materialRepository.findMaterialsByCourseId(courseId, pageable);
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setTotalPages(materialPage.getTotalPages());
+                meta.setTotalElements(materialPage.getTotalElements());
+                meta.setPageNumber(materialPage.getNumber() + 1);
+                meta.setPageSize(materialPage.getSize());
+
+                return new GlobalResponseHandler().handleResponse("Materiales obtenidos correctamente por ID de curso",
+                        materialPage.getContent(), HttpStatus.OK, meta);
+            });
         } else {
             return new GlobalResponseHandler().handleResponse("Curso " + courseId + " no encontrado",
                     HttpStatus.NOT_FOUND, request);
@@ -72,6 +78,7 @@ public class MaterialRestController {
 
     /**
      * Obtiene los materiales asociados a un profesor.
+     * Responde 304 si el cliente envía la versión actual del listado en If-None-Match.
      * @param teacherId identificador del profesor
      * @param page número de página
      * @param size tamaño de página
@@ -85,18 +92,19 @@ public class MaterialRestController {
                                                    @RequestParam(defaultValue = "10") int size,
                                                    HttpServletRequest request) {
 
-        Optional<User> foundUser = userRepository.findById(teacherId);
-        if (foundUser.isPresent()) {
-            Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Material> materialPage = materialRepository.findMaterialsByTeacherId(teacherId, pageable);
-            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(materialPage.getTotalPages());
-            meta.setTotalElements(materialPage.getTotalElements());
-            meta.setPageNumber(materialPage.getNumber() + 1);
-            meta.setPageSize(materialPage.getSize());
-
-            return new GlobalResponseHandler().handleResponse("Materiales obtenidos correctamente por ID de profesor",
-                    materialPage.getContent(), HttpStatus.OK, meta);
+        if (userRepository.existsById(teacherId)) {
+            return conditionalRequests.handle(materialRepository.findVersionByTeacherId(teacherId), request, () -> {
+                Pageable pageable = PageRequest.of(page - 1, size);
+                Page<Material> materialPage = materialRepository.findMaterialsByTeacherId(teacherId, pageable);
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setTotalPages(materialPage.getTotalPages());
+                meta.setTotalElements(materialPage.getTotalElements());
+                meta.setPageNumber(materialPage.getNumber() + 1);
+                meta.setPageSize(materialPage.getSize());
+
+                return new GlobalResponseHandler().handleResponse("Materiales obtenidos correctamente por ID de profesor",
+                        materialPage.getContent(), HttpStatus.OK, meta);
+            });
         } else {
             return new GlobalResponseHandler().handleResponse("Profesor " + teacherId + " no encontrado",
                     HttpStatus.NOT_FOUND, request);
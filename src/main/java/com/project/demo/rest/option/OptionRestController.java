@@ -4,6 +4,8 @@ import com.project.demo.logic.entity.option.Option;
 import com.project.demo.logic.entity.option.OptionRepository;
 import com.project.demo.logic.entity.question.Question;
 import com.project.demo.logic.entity.question.QuestionRepository;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +31,12 @@ public class OptionRestController {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private SubmissionScoringService submissionScoringService;
+
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
+
     /**
      * Obtiene las opciones asociadas a una pregunta.
      * @param questionId identificador de la pregunta
@@ -85,7 +93,9 @@ public class OptionRestController {
         Optional<Question> foundQuestion = questionRepository.findById(questionId);
         if (foundQuestion.isPresent()) {
             option.setQuestion(foundQuestion.get());
-            optionRepository.save(option);
+            int quizId = foundQuestion.get().getQuiz().getId();
+            submissionScoringService.changeAnswerKey(quizId, () -> optionRepository.save(option));
+            quizAnalyticsService.invalidate(quizId);
             return new GlobalResponseHandler().handleResponse("Opción creada con éxito", option, HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Pregunta " + questionId + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -107,7 +117,9 @@ public class OptionRestController {
             Option option = foundOption.get();
             option.setText(optionDetails.getText());
             option.setCorrect(optionDetails.isCorrect());
-            optionRepository.save(option);
+            int quizId = option.getQuestion().getQuiz().getId();
+            submissionScoringService.changeAnswerKey(quizId, () -> optionRepository.save(option));
+            quizAnalyticsService.invalidate(quizId);
             return new GlobalResponseHandler().handleResponse("Opción actualizada con éxito", option, HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Opción " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -125,7 +137,9 @@ public class OptionRestController {
     public ResponseEntity<?> deleteOption(@PathVariable Integer id, HttpServletRequest request) {
         Optional<Option> foundOption = optionRepository.findById(id);
         if (foundOption.isPresent()) {
-            optionRepository.delete(foundOption.get());
+            int quizId = foundOption.get().getQuestion().getQuiz().getId();
+            submissionScoringService.changeAnswerKey(quizId, () -> optionRepository.delete(foundOption.get()));
+            quizAnalyticsService.invalidate(quizId);
             return new GlobalResponseHandler().handleResponse("Opción eliminada con éxito", foundOption.get(), HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Opción " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
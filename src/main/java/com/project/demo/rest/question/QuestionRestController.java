@@ -3,7 +3,9 @@ package com.project.demo.rest.question;
 import com.project.demo.logic.entity.question.Question;
 import com.project.demo.logic.entity.question.QuestionRepository;
 import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
 import com.project.demo.logic.entity.quiz.QuizRepository;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +31,12 @@ public class QuestionRestController {
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private QuizAnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private SubmissionScoringService submissionScoringService;
+
     /**
      * Obtiene las preguntas asociadas a un quiz.
      * @param quizId identificador del quiz
@@ -86,6 +94,7 @@ public class QuestionRestController {
         if (foundQuiz.isPresent()) {
             question.setQuiz(foundQuiz.get());
             questionRepository.save(question);
+            answerKeyCache.invalidate(quizId);
             return new GlobalResponseHandler().handleResponse("Pregunta creada con éxito", question, HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Quiz " + quizId + " no encontrado", HttpStatus.NOT_FOUND, request);
@@ -107,6 +116,7 @@ public class QuestionRestController {
             Question question = foundQuestion.get();
             question.setText(questionDetails.getText());
             questionRepository.save(question);
+            answerKeyCache.invalidate(question.getQuiz().getId());
             return new GlobalResponseHandler().handleResponse("Pregunta actualizada con éxito", question, HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Pregunta " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -124,7 +134,8 @@ public class QuestionRestController {
     public ResponseEntity<?> deleteQuestion(@PathVariable Integer id, HttpServletRequest request) {
         Optional<Question> foundQuestion = questionRepository.findById(id);
         if (foundQuestion.isPresent()) {
-            questionRepository.delete(foundQuestion.get());
+            submissionScoringService.changeAnswerKey(foundQuestion.get().getQuiz().getId(),
+                    () -> questionRepository.delete(foundQuestion.get()));
             return new GlobalResponseHandler().handleResponse("Pregunta eliminada con éxito", foundQuestion.get(), HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Pregunta " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -1,19 +1,31 @@
 package com.project.demo.rest.quiz;
 
 
-import com.project.demo.logic.entity.question.QuestionGenerationService;
+import com.project.demo.logic.entity.generationJob.GenerationJob;
+import com.project.demo.logic.entity.generationJob.GenerationJobService;
 import com.project.demo.logic.entity.quiz.Quiz;
 import com.project.demo.logic.entity.quiz.QuizService;
+import com.project.demo.logic.entity.quiz.QuizSummaryView;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.rest.quiz.dto.QuizAnalyticsDto;
+import com.project.demo.rest.quiz.dto.QuizGenerationDto;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controlador REST para la gestión de quizzes.
@@ -27,19 +39,48 @@ public class QuizController {
     private QuizService quizService;
 
     @Autowired
-    private QuestionGenerationService questionGenerationService;
+    private GenerationJobService generationJobService;
+
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
 
     /**
-     * Obtiene todos los quizzes.
+     * Obtiene los quizzes paginados, sin el contenido de sus historias.
+     * Si se envía "after", usa paginación por llave: devuelve los quizzes con id mayor y no calcula totales.
+     * @param page número de página
+     * @param size tamaño de página
+     * @param after último id de la página anterior (opcional)
      * @param request petición HTTP
      * @return lista de quizzes
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
-    public ResponseEntity<?> getAllQuizzes(HttpServletRequest request) {
-        List<Quiz> quizzes = quizService.getAllQuizzes();
+    public ResponseEntity<?> getAllQuizzes(@RequestParam(defaultValue = "1") int page,
+                                           @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam(required = false) Integer after,
+                                           HttpServletRequest request) {
+        if (page < 1 || size < 1) {
+            return new GlobalResponseHandler().handleResponse("page y size deben ser mayores que 0",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        List<QuizSummaryView> quizzes;
+        if (after != null) {
+            quizzes = quizService.getQuizSummariesAfter(after, size);
+            meta.setPageSize(size);
+            if (quizzes.size() == size) {
+                meta.setNextCursor(quizzes.get(quizzes.size() - 1).getId().longValue());
+            }
+        } else {
+            Page<QuizSummaryView> quizPage = quizService.getQuizSummaries(PageRequest.of(page - 1, size));
+            quizzes = quizPage.getContent();
+            meta.setTotalPages(quizPage.getTotalPages());
+            meta.setTotalElements(quizPage.getTotalElements());
+            meta.setPageNumber(quizPage.getNumber() + 1);
+            meta.setPageSize(quizPage.getSize());
+        }
         return new GlobalResponseHandler().handleResponse("Quizzes obtenidos correctamente", quizzes, HttpStatus.OK,
-                request);
+                meta);
     }
 
     /**
@@ -61,6 +102,26 @@ public class QuizController {
         }
     }
 
+    /**
+     * Obtiene las estadísticas por pregunta de un quiz: porcentaje de aciertos, índices de dificultad
+     * y discriminación, y la distribución de respuestas por opción.
+     * @param id identificador del quiz
+     * @param request petición HTTP
+     * @return estadísticas del quiz
+     */
+    @GetMapping("/{id}/analytics")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getQuizAnalytics(@PathVariable Integer id, HttpServletRequest request) {
+        if (quizService.getQuizById(id).isEmpty()) {
+            return new GlobalResponseHandler().handleResponse("Quiz " + id + " no encontrado", HttpStatus.NOT_FOUND,
+                    request);
+        }
+        QuizAnalyticsDto analytics = QuizAnalyticsDto.from(id, quizAnalyticsService.getOptionStats(id),
+                quizAnalyticsService.getDiscrimination(id));
+        return new GlobalResponseHandler().handleResponse("Estadísticas obtenidas correctamente", analytics, HttpStatus.OK,
+                request);
+    }
+
     /**
      * Obtiene los quizzes asociados a una historia.
      * @param storyId identificador de la historia
@@ -88,7 +149,15 @@ public class QuizController {
             Optional<Quiz> savedQuiz = quizService.createQuiz(storyId, quiz);
             if (savedQuiz.isPresent()) {
                 if (quiz.isGenerateWithAI() && quiz.getNumberOfQuestions() > 0) {
-                    questionGenerationService.generateQuestionsWithAI(savedQuiz.get(), quiz.getNumberOfQuestions());
+                    try {
+                        GenerationJob job = generationJobService.submit(savedQuiz.get(), quiz.getNumberOfQuestions(),
+                                currentUsername());
+                        return new GlobalResponseHandler().handleResponse("Quiz creado, generación de preguntas en proceso",
+                                new QuizGenerationDto(savedQuiz.get(), job), HttpStatus.ACCEPTED, request);
+                    } catch (RejectedExecutionException e) {
+                        return new GlobalResponseHandler().handleResponse("Quiz creado, pero la cola de generación está llena. Intente generar las preguntas más tarde",
+                                new QuizGenerationDto(savedQuiz.get(), null), HttpStatus.CREATED, request);
+                    }
                 }
                 return new GlobalResponseHandler().handleResponse("Quiz creado con éxito", savedQuiz.get(), HttpStatus.OK, request);
             } else {
@@ -100,11 +169,11 @@ public class QuizController {
     }
 
     /**
-     * Genera preguntas automáticamente para un quiz usando IA.
+     * Encola la generación automática de preguntas para un quiz usando IA.
      * @param quizId identificador del quiz
      * @param numberOfQuestions número de preguntas a generar
      * @param request petición HTTP
-     * @return resultado de la generación
+     * @return trabajo de generación encolado
      */
     @PostMapping("/{quizId}/generate-questions")
     @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
@@ -113,8 +182,31 @@ public class QuizController {
         if (!quizOpt.isPresent()) {
             return new GlobalResponseHandler().handleResponse("Quiz no encontrado", HttpStatus.NOT_FOUND, request);
         }
-        questionGenerationService.generateQuestionsWithAI(quizOpt.get(), numberOfQuestions);
-        return new GlobalResponseHandler().handleResponse("Preguntas generadas con éxito", HttpStatus.OK, request);
+        try {
+            GenerationJob job = generationJobService.submit(quizOpt.get(), numberOfQuestions, currentUsername());
+            return new GlobalResponseHandler().handleResponse("Generación de preguntas en proceso", job, HttpStatus.ACCEPTED, request);
+        } catch (RejectedExecutionException e) {
+            return new GlobalResponseHandler().handleResponse("La cola de generación está llena. Intente más tarde",
+                    HttpStatus.SERVICE_UNAVAILABLE, request);
+        }
+    }
+
+    /**
+     * Obtiene el estado de un trabajo de generación de preguntas.
+     * Solo lo ve quien lo solicitó o un super administrador; para el resto responde 404.
+     * @param jobId identificador del trabajo
+     * @param request petición HTTP
+     * @return trabajo de generación con su estado y preguntas creadas
+     */
+    @GetMapping("/generation-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getGenerationJob(@PathVariable String jobId, HttpServletRequest request) {
+        Optional<GenerationJob> job = generationJobService.getJob(jobId).filter(this::canReadJob);
+        if (job.isPresent()) {
+            return new GlobalResponseHandler().handleResponse("Trabajo de generación obtenido correctamente", job.get(), HttpStatus.OK, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("Trabajo " + jobId + " no encontrado", HttpStatus.NOT_FOUND, request);
+        }
     }
 
     /**
@@ -151,4 +243,24 @@ public class QuizController {
             return new GlobalResponseHandler().handleResponse("Quiz " + id + " no encontrado", HttpStatus.NOT_FOUND, request);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el nombre del usuario autenticado.
+     * @return nombre de usuario
+     */
+    private String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    /**
+     * Indica si el usuario autenticado puede consultar un trabajo de generación.
+     * @param job trabajo de generación
+     * @return true si lo solicitó el usuario o si es super administrador
+     */
+    private boolean canReadJob(GenerationJob job) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getName().equals(job.getRequestedBy())
+                || authentication.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + RoleEnum.SUPER_ADMIN.name()).equals(authority.getAuthority()));
+    }
+}
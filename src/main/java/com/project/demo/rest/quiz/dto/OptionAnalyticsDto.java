@@ -0,0 +1,68 @@
+package com.project.demo.rest.quiz.dto;
+
+/**
+ * DTO con la distribución de respuestas de una opción.
+ */
+public class OptionAnalyticsDto {
+    private int optionId;
+    private String text;
+    private boolean correct;
+    private long selections;
+    private double percentSelected;
+
+    /**
+     * Constructor por defecto.
+     */
+    public OptionAnalyticsDto() {}
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param optionId identificador de la opción
+     * @param text texto de la opción
+     * @param correct si la opción es correcta
+     * @param selections veces que se seleccionó
+     * @param percentSelected porcentaje de las respuestas de la pregunta que la seleccionaron
+     */
+    public OptionAnalyticsDto(int optionId, String text, boolean correct, long selections, double percentSelected) {
+        this.optionId = optionId;
+        this.text = text;
+        this.correct = correct;
+        this.selections = selections;
+        this.percentSelected = percentSelected;
+    }
+
+    /**
+     * Obtiene el identificador de la opción.
+     * @return id de la opción
+     */
+    public int getOptionId() { return optionId; }
+    public void setOptionId(int optionId) { this.optionId = optionId; }
+
+    /**
+     * Obtiene el texto de la opción.
+     * @return texto de la opción
+     */
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    /**
+     * Indica si la opción es correcta.
+     * @return true si es correcta, false en caso contrario
+     */
+    public boolean isCorrect() { return correct; }
+    public void setCorrect(boolean correct) { this.correct = correct; }
+
+    /**
+     * Obtiene las veces que se seleccionó la opción.
+     * @return selecciones
+     */
+    public long getSelections() { return selections; }
+    public void setSelections(long selections) { this.selections = selections; }
+
+    /**
+     * Obtiene el porcentaje de las respuestas de la pregunta que seleccionaron la opción.
+     * @return porcentaje seleccionado
+     */
+    public double getPercentSelected() { return percentSelected; }
+    public void setPercentSelected(double percentSelected) { this.percentSelected = percentSelected; }
+}
@@ -0,0 +1,102 @@
+package com.project.demo.rest.quiz.dto;
+
+import java.util.List;
+
+/**
+ * DTO con las estadísticas de una pregunta: porcentaje de aciertos, índices de dificultad
+ * y discriminación, y la distribución de respuestas por opción.
+ */
+public class QuestionAnalyticsDto {
+    private int questionId;
+    private String text;
+    private long responses;
+    private long correctAnswers;
+    private double percentCorrect;
+    private Double difficulty;
+    private Double discrimination;
+    private List<OptionAnalyticsDto> options;
+
+    /**
+     * Constructor por defecto.
+     */
+    public QuestionAnalyticsDto() {}
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param questionId identificador de la pregunta
+     * @param text texto de la pregunta
+     * @param responses respuestas a la pregunta
+     * @param correctAnswers respuestas correctas
+     * @param percentCorrect porcentaje de respuestas correctas
+     * @param difficulty índice de dificultad (proporción de aciertos), null si no hay respuestas
+     * @param discrimination índice de discriminación, null si no se puede calcular
+     * @param options distribución de respuestas por opción
+     */
+    public QuestionAnalyticsDto(int questionId, String text, long responses, long correctAnswers, double percentCorrect,
+                                Double difficulty, Double discrimination, List<OptionAnalyticsDto> options) {
+        this.questionId = questionId;
+        this.text = text;
+        this.responses = responses;
+        this.correctAnswers = correctAnswers;
+        this.percentCorrect = percentCorrect;
+        this.difficulty = difficulty;
+        this.discrimination = discrimination;
+        this.options = options;
+    }
+
+    /**
+     * Obtiene el identificador de la pregunta.
+     * @return id de la pregunta
+     */
+    public int getQuestionId() { return questionId; }
+    public void setQuestionId(int questionId) { this.questionId = questionId; }
+
+    /**
+     * Obtiene el texto de la pregunta.
+     * @return texto de la pregunta
+     */
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    /**
+     * Obtiene las respuestas a la pregunta.
+     * @return respuestas
+     */
+    public long getResponses() { return responses; }
+    public void setResponses(long responses) { this.responses = responses; }
+
+    /**
+     * Obtiene las respuestas correctas.
+     * @return respuestas correctas
+     */
+    public long getCorrectAnswers() { return correctAnswers; }
+    public void setCorrectAnswers(long correctAnswers) { this.correctAnswers = correctAnswers; }
+
+    /**
+     * Obtiene el porcentaje de respuestas correctas.
+     * @return porcentaje de aciertos
+     */
+    public double getPercentCorrect() { return percentCorrect; }
+    public void setPercentCorrect(double percentCorrect) { this.percentCorrect = percentCorrect; }
+
+    /**
+     * Obtiene el índice de dificultad (proporción de aciertos entre 0 y 1).
+     * @return índice de dificultad
+     */
+    public Double getDifficulty() { return difficulty; }
+    public void setDifficulty(Double difficulty) { this.difficulty = difficulty; }
+
+    /**
+     * Obtiene el índice de discriminación (correlación punto-biserial entre -1 y 1).
+     * @return índice de discriminación
+     */
+    public Double getDiscrimination() { return discrimination; }
+    public void setDiscrimination(Double discrimination) { this.discrimination = discrimination; }
+
+    /**
+     * Obtiene la distribución de respuestas por opción.
+     * @return opciones
+     */
+    public List<OptionAnalyticsDto> getOptions() { return options; }
+    public void setOptions(List<OptionAnalyticsDto> options) { this.options = options; }
+}
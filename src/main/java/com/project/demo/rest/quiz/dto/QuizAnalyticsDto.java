@@ -0,0 +1,92 @@
+package com.project.demo.rest.quiz.dto;
+
+import com.project.demo.logic.entity.quizAnalytics.OptionStatView;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO con las estadísticas por pregunta de un cuestionario.
+ */
+public class QuizAnalyticsDto {
+    private int quizId;
+    private List<QuestionAnalyticsDto> questions;
+
+    /**
+     * Constructor por defecto.
+     */
+    public QuizAnalyticsDto() {}
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param quizId identificador del cuestionario
+     * @param questions estadísticas por pregunta
+     */
+    public QuizAnalyticsDto(int quizId, List<QuestionAnalyticsDto> questions) {
+        this.quizId = quizId;
+        this.questions = questions;
+    }
+
+    /**
+     * Agrupa las selecciones por opción en estadísticas por pregunta.
+     * @param quizId identificador del cuestionario
+     * @param optionStats selecciones por opción, ordenadas por pregunta
+     * @param discrimination índice de discriminación por pregunta
+     * @return estadísticas del cuestionario
+     */
+    public static QuizAnalyticsDto from(int quizId, List<OptionStatView> optionStats, Map<Integer, Double> discrimination) {
+        List<QuestionAnalyticsDto> questions = new ArrayList<>();
+        int start = 0;
+        while (start < optionStats.size()) {
+            int questionId = optionStats.get(start).getQuestionId();
+            int end = start;
+            long responses = 0;
+            long correct = 0;
+            while (end < optionStats.size() && optionStats.get(end).getQuestionId() == questionId) {
+                OptionStatView option = optionStats.get(end);
+                responses += option.getSelections();
+                if (option.isCorrect()) {
+                    correct += option.getSelections();
+                }
+                end++;
+            }
+
+            List<OptionAnalyticsDto> options = new ArrayList<>();
+            for (OptionStatView option : optionStats.subList(start, end)) {
+                options.add(new OptionAnalyticsDto(option.getOptionId(), option.getOptionText(), option.isCorrect(),
+                        option.getSelections(), percent(option.getSelections(), responses)));
+            }
+            questions.add(new QuestionAnalyticsDto(questionId, optionStats.get(start).getQuestionText(), responses, correct,
+                    percent(correct, responses), QuizAnalyticsService.difficulty(correct, responses),
+                    discrimination.get(questionId), options));
+            start = end;
+        }
+        return new QuizAnalyticsDto(quizId, questions);
+    }
+
+    /**
+     * Calcula un porcentaje evitando la división entre cero.
+     * @param part parte
+     * @param total total
+     * @return porcentaje, 0 si el total es 0
+     */
+    private static double percent(long part, long total) {
+        return total > 0 ? (double) part / total * 100 : 0;
+    }
+
+    /**
+     * Obtiene el identificador del cuestionario.
+     * @return id del cuestionario
+     */
+    public int getQuizId() { return quizId; }
+    public void setQuizId(int quizId) { this.quizId = quizId; }
+
+    /**
+     * Obtiene las estadísticas por pregunta.
+     * @return estadísticas por pregunta
+     */
+    public List<QuestionAnalyticsDto> getQuestions() { return questions; }
+    public void setQuestions(List<QuestionAnalyticsDto> questions) { this.questions = questions; }
+}
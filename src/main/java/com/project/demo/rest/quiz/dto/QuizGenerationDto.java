@@ -0,0 +1,66 @@
+package com.project.demo.rest.quiz.dto;
+
+import com.project.demo.logic.entity.generationJob.GenerationJob;
+import com.project.demo.logic.entity.quiz.Quiz;
+
+/**
+ * DTO que representa un cuestionario creado junto con su trabajo de generación de preguntas.
+ * Si la cola de generación estaba llena, el trabajo es nulo y generationQueued es false.
+ */
+public class QuizGenerationDto {
+    private Quiz quiz;
+    private GenerationJob job;
+    private boolean generationQueued;
+
+    /**
+     * Constructor por defecto.
+     */
+    public QuizGenerationDto() {}
+
+    /**
+     * Constructor con todos los parámetros.
+     * @param quiz cuestionario creado
+     * @param job trabajo de generación encolado, o null si no se pudo encolar
+     */
+    public QuizGenerationDto(Quiz quiz, GenerationJob job) {
+        this.quiz = quiz;
+        this.job = job;
+        this.generationQueued = job != null;
+    }
+
+    /**
+     * Obtiene el cuestionario creado.
+     * @return cuestionario
+     */
+    public Quiz getQuiz() { return quiz; }
+
+    /**
+     * Establece el cuestionario creado.
+     * @param quiz cuestionario
+     */
+    public void setQuiz(Quiz quiz) { this.quiz = quiz; }
+
+    /**
+     * Obtiene el trabajo de generación.
+     * @return trabajo de generación
+     */
+    public GenerationJob getJob() { return job; }
+
+    /**
+     * Establece el trabajo de generación.
+     * @param job trabajo de generación
+     */
+    public void setJob(GenerationJob job) { this.job = job; }
+
+    /**
+     * Indica si la generación de preguntas quedó encolada.
+     * @return true si hay un trabajo de generación
+     */
+    public boolean isGenerationQueued() { return generationQueued; }
+
+    /**
+     * Establece si la generación de preguntas quedó encolada.
+     * @param generationQueued true si hay un trabajo de generación
+     */
+    public void setGenerationQueued(boolean generationQueued) { this.generationQueued = generationQueued; }
+}
@@ -2,11 +2,14 @@ package com.project.demo.rest.story;
 
 import com.project.demo.logic.entity.course.Course;
 import com.project.demo.logic.entity.course.CourseRepository;
+import com.project.demo.logic.entity.http.ConditionalRequestHandler;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.ResourceVersionView;
 import com.project.demo.logic.entity.story.Story;
 import com.project.demo.logic.entity.story.StoryAudioTrackService;
 import com.project.demo.logic.entity.story.StoryRepository;
+import com.project.demo.logic.entity.story.StorySummaryView;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -35,8 +38,12 @@ public class StoryRestController {
     @Autowired
     private StoryAudioTrackService storyAudioTrackService;
 
+    @Autowired
+    private ConditionalRequestHandler conditionalRequests;
+
     /**
-     * Obtiene las historias asociadas a un curso.
+     * Obtiene las historias asociadas a un curso, sin su contenido.
+     * Responde 304 si el cliente envía la versión actual del listado en If-None-Match.
      * @param courseId identificador del curso
      * @param page número de página
      * @param size tamaño de página
@@ -50,24 +57,45 @@ public class StoryRestController {
                                                   @RequestParam(defaultValue = "10") int size,
                                                   HttpServletRequest request) {
 
-        Optional<Course> foundCourse = courseRepository.findById(courseId);
-        if (foundCourse.isPresent()) {
-            Pageable pageable = PageRequest.of(page - 1, size);
-            Page<Story> storyPage = storyRepository.findStoriesByCourseId(courseId, pageable);
-            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(storyPage.getTotalPages());
-            meta.setTotalElements(storyPage.getTotalElements());
-            meta.setPageNumber(storyPage.getNumber() + 1);
-            meta.setPageSize(storyPage.getSize());
-
-            return new GlobalResponseHandler().handleResponse("Historias obtenidas correctamente por ID de curso",
-                    storyPage.getContent(), HttpStatus.OK, meta);
+        if (courseRepository.existsById(courseId)) {
+            return conditionalRequests.handle(storyRepository.findVersionByCourseId(courseId), request, () -> {
+                Pageable pageable = PageRequest.of(page - 1, size);
+                Page<StorySummaryView> storyPage = storyRepository.findSummariesByCourseId(courseId, pageable);
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setTotalPages(storyPage.getTotalPages());
+                meta.setTotalElements(storyPage.getTotalElements());
+                meta.setPageNumber(storyPage.getNumber() + 1);
+                meta.setPageSize(storyPage.getSize());
+
+                return new GlobalResponseHandler().handleResponse("Historias obtenidas correctamente por ID de curso",
+                        storyPage.getContent(), HttpStatus.OK, meta);
+            });
         } else {
             return new GlobalResponseHandler().handleResponse("Curso " + courseId + " no encontrado",
                     HttpStatus.NOT_FOUND, request);
         }
     }
 
+    /**
+     * Obtiene solo el contenido de una historia.
+     * Responde 304 sin leer el contenido si el cliente envía la versión actual en If-None-Match.
+     * @param storyId identificador de la historia
+     * @param request petición HTTP
+     * @return contenido de la historia
+     */
+    @GetMapping("/{storyId}/content")
+    @PreAuthorize("hasAnyRole('STUDENT','TEACHER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getStoryContent(@PathVariable Long storyId, HttpServletRequest request) {
+        ResourceVersionView version = storyRepository.findVersionById(storyId);
+        if (version.getCount() == 0) {
+            return new GlobalResponseHandler().handleResponse("Historia " + storyId + " no encontrada",
+                    HttpStatus.NOT_FOUND, request);
+        }
+        return conditionalRequests.handle(version, request, () ->
+                new GlobalResponseHandler().handleResponse("Contenido de la historia obtenido correctamente",
+                        storyRepository.findContentById(storyId).orElse(""), HttpStatus.OK, request));
+    }
+
     /**
      * Crea una nueva historia asociada a un curso.
      * @param courseId identificador del curso
@@ -100,6 +128,8 @@ public class StoryRestController {
 
     /**
      * Actualiza los datos de una historia existente.
+     * Un contenido nulo deja el contenido sin cambios. Las pistas de audio siempre se actualizan para renovar sus títulos;
+     * el servicio de audio solo vuelve a sintetizar las voces cuyo contenido cambió.
      * @param storyId identificador de la historia
      * @param story datos actualizados
      * @param request petición HTTP
@@ -111,8 +141,11 @@ public class StoryRestController {
         Optional<Story> foundStory = storyRepository.findById(storyId);
         if (foundStory.isPresent()) {
             Story updatedStory = foundStory.get();
+            boolean contentChanged = story.getContent() != null && !story.getContent().equals(updatedStory.getContent());
             updatedStory.setTitle(story.getTitle());
-            updatedStory.setContent(story.getContent());
+            if (contentChanged) {
+                updatedStory.setContent(story.getContent());
+            }
             updatedStory.setCourse(story.getCourse());
             storyRepository.save(updatedStory);
 
@@ -2,7 +2,7 @@ package com.project.demo.rest.student;
 
 import com.project.demo.logic.entity.auth.PasswordGenerator;
 import com.project.demo.logic.entity.email.EmailManager;
-import com.project.demo.logic.entity.email.EmailTemplates;
+import com.project.demo.logic.entity.email.EmailTemplate;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.rol.Role;
@@ -12,7 +12,10 @@ import com.project.demo.logic.entity.school.School;
 import com.project.demo.logic.entity.school.SchoolRepository;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.logic.entity.userImport.UserImportReader;
+import com.project.demo.logic.entity.userImport.UserImportService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -24,11 +27,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
  * Controlador REST para la gestión de estudiantes.
- * Permite consultar y crear estudiantes asociados a escuelas.
+ * Permite consultar, crear e importar estudiantes asociados a escuelas.
  */
 @RequestMapping("/students")
 @RestController
@@ -55,6 +60,9 @@ public class StudentRestController {
     @Autowired
     private EmailManager emailManager;
 
+    @Autowired
+    private UserImportService userImportService;
+
     /**
      * Obtiene los estudiantes asociados a una escuela.
      * @param schoolId identificador de la escuela
@@ -127,8 +135,8 @@ public class StudentRestController {
             newStudentUser.setSchool(foundSchool.get());
             userRepository.save(newStudentUser);
 
-            String emailBody = EmailTemplates.newAccountEmail(newStudentUser.getName(), newStudentUser.getEmail(), randomPassword, loginUrl);
-            emailManager.sendEmail(newStudentUser.getEmail(), "Bienvenido a EduSmart", emailBody);
+            emailManager.queueTemplate(EmailTemplate.NEW_ACCOUNT, newStudentUser.getEmail(),
+                    newStudentUser.getName(), newStudentUser.getEmail(), randomPassword, loginUrl);
 
             return new GlobalResponseHandler().handleResponse("Estudiante creado con éxito",
                     newStudentUser, HttpStatus.OK, request);
@@ -137,4 +145,45 @@ public class StudentRestController {
                     HttpStatus.NOT_FOUND, request);
         }
     }
+
+    /**
+     * Importa estudiantes de una escuela desde un archivo CSV o NDJSON enviado como cuerpo de la petición.
+     * El archivo se procesa por bloques mientras se recibe y la respuesta se escribe como NDJSON:
+     * una línea con el resultado de cada fila y una línea final con los totales y las filas por segundo.
+     * @param schoolId identificador de la escuela
+     * @param request petición HTTP con el archivo
+     * @param response respuesta HTTP donde se escriben los resultados
+     * @return null si los resultados se escribieron en la respuesta; error si la escuela, el rol o el archivo no son válidos
+     * @throws IOException si falla la lectura del archivo o la escritura de la respuesta
+     */
+    @PostMapping(value = "/school/{schoolId}/import", consumes = {UserImportReader.CSV, UserImportReader.NDJSON})
+    @PreAuthorize("hasAnyRole('TEACHER','SUPER_ADMIN')")
+    public ResponseEntity<?> importStudents(@PathVariable Long schoolId, HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        Optional<Role> optionalRole = roleRepository.findByName(RoleEnum.STUDENT);
+        if (optionalRole.isEmpty()) {
+            return new GlobalResponseHandler().handleResponse("Rol no encontrado",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+
+        Optional<School> foundSchool = schoolRepository.findById(schoolId);
+        if (foundSchool.isEmpty()) {
+            return new GlobalResponseHandler().handleResponse("Escuela " + schoolId + " no encontrada",
+                    HttpStatus.NOT_FOUND, request);
+        }
+
+        UserImportReader reader;
+        try {
+            reader = UserImportReader.open(request.getContentType(), request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            return new GlobalResponseHandler().handleResponse(e.getMessage(),
+                    HttpStatus.BAD_REQUEST, request);
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(UserImportReader.NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userImportService.importUsers(reader, optionalRole.get(), foundSchool.get(), response.getOutputStream());
+        return null;
+    }
 }
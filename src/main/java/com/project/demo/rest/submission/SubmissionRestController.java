@@ -1,13 +1,19 @@
 package com.project.demo.rest.submission;
 import com.project.demo.logic.entity.submission.Submission;
 import com.project.demo.logic.entity.submission.SubmissionRepository;
+import com.project.demo.logic.entity.submission.SubmissionSummaryView;
 import com.project.demo.logic.entity.quiz.Quiz;
 import com.project.demo.logic.entity.quiz.QuizRepository;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.http.Meta;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -35,17 +41,41 @@ public class SubmissionRestController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
+
     /**
-     * Obtiene las entregas asociadas a un quiz.
+     * Obtiene las entregas asociadas a un quiz, paginadas.
+     * Si se envía "after", usa paginación por llave: devuelve las entregas con id mayor y no calcula totales.
      * @param quizId identificador del quiz
+     * @param page número de página
+     * @param size tamaño de página
+     * @param after último id de la página anterior (opcional)
      * @param request petición HTTP
      * @return lista de entregas
      */
     @GetMapping("/quiz/{quizId}")
     @PreAuthorize("hasAnyRole('TEACHER', 'SUPER_ADMIN')")
-    public ResponseEntity<?> getSubmissionsByQuiz(@PathVariable Integer quizId, HttpServletRequest request) {
-        List<Submission> submissions = submissionRepository.findByQuizId(quizId);
-        return new GlobalResponseHandler().handleResponse("Submissions obtenidas correctamente", submissions, HttpStatus.OK, request);
+    public ResponseEntity<?> getSubmissionsByQuiz(@PathVariable Integer quizId,
+                                                  @RequestParam(defaultValue = "1") int page,
+                                                  @RequestParam(defaultValue = "10") int size,
+                                                  @RequestParam(required = false) Integer after,
+                                                  HttpServletRequest request) {
+        if (page < 1 || size < 1) {
+            return new GlobalResponseHandler().handleResponse("page y size deben ser mayores que 0",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        List<SubmissionSummaryView> submissions;
+        if (after != null) {
+            submissions = submissionRepository.findSummariesByQuizIdAfter(quizId, after, Limit.of(size));
+            setKeysetMeta(meta, submissions, size);
+        } else {
+            Page<SubmissionSummaryView> submissionPage = submissionRepository.findSummariesByQuizId(quizId, PageRequest.of(page - 1, size));
+            submissions = submissionPage.getContent();
+            setPageMeta(meta, submissionPage);
+        }
+        return new GlobalResponseHandler().handleResponse("Submissions obtenidas correctamente", submissions, HttpStatus.OK, meta);
     }
 
     /**
@@ -107,7 +137,7 @@ public class SubmissionRestController {
     }
 
     /**
-     * Actualiza los datos de una entrega existente.
+     * Asigna el puntaje de una entrega. El puntaje del docente reemplaza al calculado y se conserva aunque cambien las respuestas.
      * @param id identificador de la entrega
      * @param submissionDetails datos actualizados
      * @param request petición HTTP
@@ -119,6 +149,7 @@ public class SubmissionRestController {
         Optional<Submission> foundSubmission = submissionRepository.findById(id);
         if (foundSubmission.isPresent()) {
             Submission submission = foundSubmission.get();
+            submission.setManualScore(submissionDetails.getScore());
             submission.setScore(submissionDetails.getScore());
             submissionRepository.save(submission);
             return new GlobalResponseHandler().handleResponse("Submission actualizada con éxito", submission, HttpStatus.OK, request);
@@ -139,6 +170,7 @@ public class SubmissionRestController {
         Optional<Submission> foundSubmission = submissionRepository.findById(id);
         if (foundSubmission.isPresent()) {
             submissionRepository.delete(foundSubmission.get());
+            quizAnalyticsService.invalidate(foundSubmission.get().getQuiz().getId());
             return new GlobalResponseHandler().handleResponse("Submission eliminada con éxito", foundSubmission.get(), HttpStatus.OK, request);
         } else {
             return new GlobalResponseHandler().handleResponse("Submission " + id + " no encontrada", HttpStatus.NOT_FOUND, request);
@@ -146,15 +178,61 @@ public class SubmissionRestController {
     }
 
     /**
-     * Obtiene las entregas asociadas a un estudiante.
+     * Obtiene las entregas asociadas a un estudiante, paginadas.
+     * Si se envía "after", usa paginación por llave: devuelve las entregas con id mayor y no calcula totales.
      * @param studentId identificador del estudiante
+     * @param page número de página
+     * @param size tamaño de página
+     * @param after último id de la página anterior (opcional)
      * @param request petición HTTP
      * @return lista de entregas del estudiante
      */
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'SUPER_ADMIN')")
-    public ResponseEntity<?> getSubmissionsByStudent(@PathVariable Integer studentId, HttpServletRequest request) {
-        List<Submission> submissions = submissionRepository.findByStudentId(studentId);
-        return new GlobalResponseHandler().handleResponse("Submissions del estudiante obtenidas correctamente", submissions, HttpStatus.OK, request);
+    public ResponseEntity<?> getSubmissionsByStudent(@PathVariable Long studentId,
+                                                     @RequestParam(defaultValue = "1") int page,
+                                                     @RequestParam(defaultValue = "10") int size,
+                                                     @RequestParam(required = false) Integer after,
+                                                     HttpServletRequest request) {
+        if (page < 1 || size < 1) {
+            return new GlobalResponseHandler().handleResponse("page y size deben ser mayores que 0",
+                    HttpStatus.BAD_REQUEST, request);
+        }
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        List<SubmissionSummaryView> submissions;
+        if (after != null) {
+            submissions = submissionRepository.findSummariesByStudentIdAfter(studentId, after, Limit.of(size));
+            setKeysetMeta(meta, submissions, size);
+        } else {
+            Page<SubmissionSummaryView> submissionPage = submissionRepository.findSummariesByStudentId(studentId, PageRequest.of(page - 1, size));
+            submissions = submissionPage.getContent();
+            setPageMeta(meta, submissionPage);
+        }
+        return new GlobalResponseHandler().handleResponse("Submissions del estudiante obtenidas correctamente", submissions, HttpStatus.OK, meta);
+    }
+
+    /**
+     * Llena los metadatos de paginación por número de página.
+     * @param meta metadatos de la respuesta
+     * @param submissionPage página de entregas
+     */
+    private void setPageMeta(Meta meta, Page<SubmissionSummaryView> submissionPage) {
+        meta.setTotalPages(submissionPage.getTotalPages());
+        meta.setTotalElements(submissionPage.getTotalElements());
+        meta.setPageNumber(submissionPage.getNumber() + 1);
+        meta.setPageSize(submissionPage.getSize());
+    }
+
+    /**
+     * Llena los metadatos de paginación por llave; el cursor es el último id si la página está completa.
+     * @param meta metadatos de la respuesta
+     * @param submissions entregas de la página
+     * @param size tamaño de página
+     */
+    private void setKeysetMeta(Meta meta, List<SubmissionSummaryView> submissions, int size) {
+        meta.setPageSize(size);
+        if (submissions.size() == size) {
+            meta.setNextCursor(submissions.get(submissions.size() - 1).getId().longValue());
+        }
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.project.demo.rest.user;
 
 import com.project.demo.logic.entity.auth.PasswordGenerator;
+import com.project.demo.logic.entity.auth.PrincipalCache;
+import com.project.demo.logic.entity.auth.TokenPrincipal;
+import com.project.demo.logic.entity.auth.TokenRevocationList;
 import com.project.demo.logic.entity.email.EmailManager;
-import com.project.demo.logic.entity.email.EmailTemplates;
+import com.project.demo.logic.entity.email.EmailTemplate;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.user.User;
@@ -46,6 +49,12 @@ public class UserRestController {
     @Autowired
     private EmailManager emailManager;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     /**
      * Obtiene todos los usuarios paginados.
      * @param page número de página
@@ -104,6 +113,7 @@ public class UserRestController {
             updatedUser.setLastname(user.getLastname());
             updatedUser.setProfilePic(user.getProfilePic());
             userRepository.save(updatedUser);
+            principalCache.invalidate(updatedUser.getEmail());
             return new GlobalResponseHandler().handleResponse("Usuario actualizado con éxito",
                     updatedUser, HttpStatus.OK, request);
         } else {
@@ -129,6 +139,7 @@ public class UserRestController {
             updatedUser.setLastname(user.getLastname());
             updatedUser.setProfilePic(user.getProfilePic());
             userRepository.save(updatedUser);
+            principalCache.invalidate(updatedUser.getEmail());
             return new GlobalResponseHandler().handleResponse("Usuario actualizado con éxito",
                     updatedUser, HttpStatus.OK, request);
         } else {
@@ -153,6 +164,8 @@ public class UserRestController {
             updatedUser.setPassword(passwordEncoder.encode(user.getPassword()));
             updatedUser.setNeedsPasswordChange(false);
             userRepository.save(updatedUser);
+            principalCache.invalidate(updatedUser.getEmail());
+            tokenRevocationList.revoke(updatedUser.getEmail());
             return new GlobalResponseHandler().handleResponse("Contraseña actualizada con éxito",
                     updatedUser, HttpStatus.OK, request);
         } else {
@@ -176,10 +189,12 @@ public class UserRestController {
             updatedUser.setPassword(passwordEncoder.encode(randomPassword));
             updatedUser.setNeedsPasswordChange(true);
 
-            String emailBody = EmailTemplates.temporaryPasswordEmail(updatedUser.getName(), updatedUser.getEmail(), randomPassword, loginUrl);
-            emailManager.sendEmail(updatedUser.getEmail(), "Generación de Contraseña Temporal", emailBody);
-
             userRepository.save(updatedUser);
+
+            emailManager.queueTemplate(EmailTemplate.TEMPORARY_PASSWORD, updatedUser.getEmail(),
+                    updatedUser.getName(), updatedUser.getEmail(), randomPassword, loginUrl);
+            principalCache.invalidate(updatedUser.getEmail());
+            tokenRevocationList.revoke(updatedUser.getEmail());
             return new GlobalResponseHandler().handleResponse("Contraseña actualizada con éxito",
                     updatedUser, HttpStatus.OK, request);
         } else {
@@ -200,6 +215,8 @@ public class UserRestController {
         Optional<User> foundUser = userRepository.findById(userId);
         if (foundUser.isPresent()) {
             userRepository.deleteById(userId);
+            principalCache.invalidate(foundUser.get().getEmail());
+            tokenRevocationList.revoke(foundUser.get().getEmail());
             return new GlobalResponseHandler().handleResponse("Usuario eliminado con éxito",
                     foundUser.get(), HttpStatus.OK, request);
         } else {
@@ -216,6 +233,9 @@ public class UserRestController {
     @PreAuthorize("isAuthenticated()")
     public User authenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof TokenPrincipal tokenPrincipal) {
+            return userRepository.findById(tokenPrincipal.getId()).orElseThrow();
+        }
         return (User) authentication.getPrincipal();
     }
 
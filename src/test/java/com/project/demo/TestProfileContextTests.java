@@ -0,0 +1,42 @@
+package com.project.demo;
+
+import com.project.demo.logic.entity.auth.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga el contexto completo con el perfil de pruebas sobre H2, sin base de datos ni credenciales externas,
+ * y verifica que la clave JWT del perfil sea válida para firmar y verificar tokens.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:context;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class TestProfileContextTests {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void signsAndVerifiesTokensWithTheTestSecret() {
+        UserDetails user = new User("ana@escuela.com", "secreta", List.of());
+
+        String token = jwtService.generateToken(user);
+
+        assertEquals("ana@escuela.com", jwtService.extractUsername(token));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+}
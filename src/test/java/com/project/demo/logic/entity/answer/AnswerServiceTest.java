@@ -0,0 +1,213 @@
+package com.project.demo.logic.entity.answer;
+
+import com.project.demo.JpaBatchConfig;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.request.AnswerRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que las respuestas en bloque usen el mismo número de sentencias JDBC sin importar el tamaño del cuestionario.
+ * Solo crecen las inserciones en lote y las llamadas a la secuencia: una inserción por lote y, como mucho,
+ * una llamada a la secuencia por lote más la inicial.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkAnswers;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AnswerService.class, SubmissionScoringService.class, QuizAnswerKeyCache.class, QuizAnalyticsService.class,
+        SimpleMeterRegistry.class, JpaBatchConfig.class})
+class AnswerServiceTest {
+
+    /**
+     * Opciones, respuestas existentes, estadísticas, clave de respuestas, selecciones y calificación.
+     */
+    private static final int FIXED_STATEMENTS = 6;
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 200})
+    void statementCountDoesNotGrowWithQuizSize(int quizSize) {
+        Submission submission = submission(quizSize);
+        List<Question> questions = questions(submission);
+        List<AnswerRequest> requests = new ArrayList<>();
+        for (Question question : questions) {
+            requests.add(request(question, option(question, 1)));
+        }
+        entityManager.clear();
+        Submission loaded = entityManager.find(Submission.class, submission.getId());
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<Answer> created = answerService.createBulkAnswers(loaded, requests);
+        entityManager.flush();
+
+        assertEquals(quizSize, created.size());
+        long batches = (quizSize + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertTrue(statistics.getPrepareStatementCount() <= FIXED_STATEMENTS + batches + batches + 1,
+                "sentencias: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(quizSize, answerRepository.findSelectionsBySubmissionId(submission.getId()).size());
+    }
+
+    @Test
+    void skipsMismatchedOptionsAndAnsweredQuestions() {
+        Submission submission = submission(4);
+        List<Question> questions = questions(submission);
+        Answer existing = new Answer();
+        existing.setSubmission(submission);
+        existing.setQuestion(questions.get(3));
+        existing.setSelectedOption(option(questions.get(3), 0));
+        entityManager.persist(existing);
+        entityManager.flush();
+
+        List<Answer> created = answerService.createBulkAnswers(submission, List.of(
+                request(questions.get(0), option(questions.get(0), 2)),
+                request(questions.get(1), option(questions.get(0), 2)),
+                request(questions.get(2), option(questions.get(2), 1)),
+                request(questions.get(2), option(questions.get(2), 2)),
+                request(questions.get(3), option(questions.get(3), 1))
+        ));
+        entityManager.flush();
+
+        assertEquals(2, created.size());
+        assertEquals(List.of(questions.get(0).getId(), questions.get(2).getId()),
+                created.stream().map(answer -> answer.getQuestion().getId()).toList());
+        assertEquals(option(questions.get(2), 1).getId(), created.get(1).getSelectedOption().getId());
+    }
+
+    /**
+     * Guarda una entrega de un cuestionario con la cantidad de preguntas indicada, cada una con cuatro opciones.
+     * @param quizSize cantidad de preguntas
+     * @return entrega guardada
+     */
+    private Submission submission(int quizSize) {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        User student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        entityManager.persist(student);
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Cuestionario");
+        entityManager.persist(quiz);
+        for (int q = 0; q < quizSize; q++) {
+            Question question = new Question();
+            question.setText("Pregunta " + q);
+            question.setQuiz(quiz);
+            entityManager.persist(question);
+            for (int o = 0; o < 4; o++) {
+                Option option = new Option();
+                option.setText("Opción " + o);
+                option.setCorrect(o == 1);
+                option.setQuestion(question);
+                entityManager.persist(option);
+            }
+        }
+
+        Submission submission = new Submission();
+        submission.setQuiz(quiz);
+        submission.setStudent(student);
+        submission.setSubmittedAt(LocalDateTime.now());
+        entityManager.persist(submission);
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Submission.class, submission.getId());
+    }
+
+    /**
+     * Carga las preguntas del cuestionario de una entrega en orden de identificador.
+     * @param submission entrega
+     * @return preguntas del cuestionario
+     */
+    private List<Question> questions(Submission submission) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT q FROM Question q WHERE q.quiz.id = :quizId ORDER BY q.id", Question.class)
+                .setParameter("quizId", submission.getQuiz().getId())
+                .getResultList();
+    }
+
+    /**
+     * Obtiene una opción de una pregunta según su posición por identificador.
+     * @param question pregunta
+     * @param index posición de la opción
+     * @return opción
+     */
+    private Option option(Question question, int index) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT o FROM Option o WHERE o.question.id = :questionId ORDER BY o.id", Option.class)
+                .setParameter("questionId", question.getId())
+                .getResultList()
+                .get(index);
+    }
+
+    /**
+     * Construye una solicitud de respuesta.
+     * @param question pregunta
+     * @param option opción seleccionada
+     * @return solicitud
+     */
+    private static AnswerRequest request(Question question, Option option) {
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionId(question.getId());
+        request.setOptionId(option.getId());
+        return request;
+    }
+
+    /**
+     * Obtiene las estadísticas de Hibernate de la unidad de persistencia.
+     * @return estadísticas
+     */
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
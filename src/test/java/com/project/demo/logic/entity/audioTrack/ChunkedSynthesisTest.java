@@ -0,0 +1,123 @@
+package com.project.demo.logic.entity.audioTrack;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la división de textos en fragmentos y la concatenación ordenada con un sintetizador falso.
+ */
+class ChunkedSynthesisTest {
+
+    private static final int AUDIO_BYTES_PER_CHUNK = 1024;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void splitsOnSentenceBoundariesWithinBudget() {
+        String text = "Juan Santamaría nació en Alajuela. Murió en Rivas en 1856.\n\nLa batalla fue decisiva.";
+
+        List<String> chunks = TextChunker.split(text, 40);
+
+        assertEquals(List.of("Juan Santamaría nació en Alajuela.", "Murió en Rivas en 1856.",
+                "La batalla fue decisiva."), chunks);
+    }
+
+    @Test
+    void splitsOversizedSentencesBetweenWords() {
+        String text = "palabra ".repeat(50).strip() + ".";
+
+        List<String> chunks = TextChunker.split(text, 30);
+
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.getBytes(StandardCharsets.UTF_8).length <= 30));
+        assertEquals(text, String.join(" ", chunks));
+    }
+
+    @Test
+    void writesChunksInOrderWithBoundedBuffer() throws IOException {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            chunks.add("fragmento " + i);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        ChunkedSynthesis.ChunkSynthesizer fakeSynthesizer = chunk -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(1, 15));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return audioFor(chunk);
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long peakBuffered = ChunkedSynthesis.synthesizeInOrder(chunks, fakeSynthesizer, executor, 4, out);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (String chunk : chunks) {
+            audioFor(chunk).writeTo(expected);
+        }
+        assertEquals(expected.toString(StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8));
+        assertTrue(peakInFlight.get() <= 4);
+        assertTrue(peakBuffered <= 4L * AUDIO_BYTES_PER_CHUNK);
+    }
+
+    @Test
+    void propagatesChunkFailure() {
+        List<String> chunks = List.of("uno", "dos", "tres");
+        ChunkedSynthesis.ChunkSynthesizer failingSynthesizer = chunk -> {
+            if (chunk.equals("dos")) {
+                throw new IOException("cuota excedida");
+            }
+            return audioFor(chunk);
+        };
+
+        IOException error = assertThrows(IOException.class, () ->
+                ChunkedSynthesis.synthesizeInOrder(chunks, failingSynthesizer, executor, 2, new ByteArrayOutputStream()));
+
+        assertEquals("cuota excedida", error.getMessage());
+    }
+
+    @Test
+    void stripsId3TagFromFollowingChunks() {
+        byte[] tagged = {'I', 'D', '3', 4, 0, 0, 0, 0, 0, 2, 'x', 'x', (byte) 0xFF, (byte) 0xFB};
+
+        ByteString stripped = ChunkedSynthesis.stripId3(ByteString.copyFrom(tagged));
+
+        assertEquals(ByteString.copyFrom(new byte[]{(byte) 0xFF, (byte) 0xFB}), stripped);
+    }
+
+    /**
+     * Genera audio falso de tamaño fijo que comienza con el texto del fragmento.
+     * @param chunk fragmento de texto
+     * @return audio falso
+     */
+    private static ByteString audioFor(String chunk) {
+        byte[] audio = new byte[AUDIO_BYTES_PER_CHUNK];
+        byte[] label = ("[" + chunk + "]").getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(label, 0, audio, 0, label.length);
+        return ByteString.copyFrom(audio);
+    }
+}
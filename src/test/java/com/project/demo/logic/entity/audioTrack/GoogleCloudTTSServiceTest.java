@@ -0,0 +1,156 @@
+package com.project.demo.logic.entity.audioTrack;
+
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.GrpcTransportChannel;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
+import com.google.cloud.texttospeech.v1.SsmlVoiceGender;
+import com.google.cloud.texttospeech.v1.SynthesizeSpeechRequest;
+import com.google.cloud.texttospeech.v1.SynthesizeSpeechResponse;
+import com.google.cloud.texttospeech.v1.TextToSpeechClient;
+import com.google.cloud.texttospeech.v1.TextToSpeechSettings;
+import com.google.protobuf.ByteString;
+import io.grpc.Attributes;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServerTransportFilter;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica contra un servidor gRPC local que el servicio reutiliza el mismo canal en todas las llamadas.
+ */
+class GoogleCloudTTSServiceTest {
+
+    private static final MethodDescriptor<SynthesizeSpeechRequest, SynthesizeSpeechResponse> SYNTHESIZE_SPEECH =
+            MethodDescriptor.<SynthesizeSpeechRequest, SynthesizeSpeechResponse>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName("google.cloud.texttospeech.v1.TextToSpeech/SynthesizeSpeech")
+                    .setRequestMarshaller(ProtoUtils.marshaller(SynthesizeSpeechRequest.getDefaultInstance()))
+                    .setResponseMarshaller(ProtoUtils.marshaller(SynthesizeSpeechResponse.getDefaultInstance()))
+                    .build();
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<SynthesizeSpeechRequest> requests = new CopyOnWriteArrayList<>();
+
+    private Server server;
+    private ManagedChannel channel;
+    private TextToSpeechClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        ServerServiceDefinition service = ServerServiceDefinition.builder("google.cloud.texttospeech.v1.TextToSpeech")
+                .addMethod(SYNTHESIZE_SPEECH, ServerCalls.asyncUnaryCall((request, observer) -> {
+                    requests.add(request);
+                    observer.onNext(SynthesizeSpeechResponse.newBuilder()
+                            .setAudioContent(ByteString.copyFromUtf8("mp3:" + request.getInput().getText()))
+                            .build());
+                    observer.onCompleted();
+                }))
+                .build();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(service)
+                .addTransportFilter(new ServerTransportFilter() {
+                    @Override
+                    public Attributes transportReady(Attributes transportAttrs) {
+                        connections.incrementAndGet();
+                        return transportAttrs;
+                    }
+                })
+                .build()
+                .start();
+
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        client = TextToSpeechClient.create(TextToSpeechSettings.newBuilder()
+                .setTransportChannelProvider(FixedTransportChannelProvider.create(GrpcTransportChannel.create(channel)))
+                .setCredentialsProvider(NoCredentialsProvider.create())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void reusesChannelAcrossCalls() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GoogleCloudTTSService service = new GoogleCloudTTSService(provider(client), meterRegistry);
+        ReflectionTestUtils.setField(service, "maxChunkBytes", 4500);
+        ReflectionTestUtils.setField(service, "maxChunksInFlight", 4);
+
+        byte[] male = service.convertTextToMp3("Juan Santamaría", VoiceTypeEnum.MALE);
+        byte[] female = service.convertTextToMp3("Juan Santamaría", VoiceTypeEnum.FEMALE);
+
+        assertArrayEquals("mp3:Juan Santamaría".getBytes(StandardCharsets.UTF_8), male);
+        assertArrayEquals(male, female);
+        assertEquals(2, requests.size());
+        assertEquals(SsmlVoiceGender.MALE, requests.get(0).getVoice().getSsmlGender());
+        assertEquals(SsmlVoiceGender.FEMALE, requests.get(1).getVoice().getSsmlGender());
+        assertEquals(1, connections.get());
+        assertEquals(30.0, meterRegistry.get("tts.synthesis.characters").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("tts.synthesis.latency").tag("voice", "MALE").timer().count());
+    }
+
+    @Test
+    void failsOnFirstUseWhenCredentialsAreMissing() {
+        TextToSpeechConfig config = new TextToSpeechConfig();
+        ReflectionTestUtils.setField(config, "credentialsResource", new ClassPathResource("no-existe.json"));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("textToSpeechClient", new RootBeanDefinition(TextToSpeechClient.class, () -> {
+            try {
+                return config.textToSpeechClient();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        GoogleCloudTTSService service = new GoogleCloudTTSService(
+                beanFactory.getBeanProvider(TextToSpeechClient.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxChunkBytes", 4500);
+
+        IOException error = assertThrows(IOException.class,
+                () -> service.convertTextToMp3("Juan Santamaría", VoiceTypeEnum.MALE));
+
+        assertTrue(error.getMessage().contains("no-existe.json"));
+    }
+
+    /**
+     * Expone un cliente ya creado como lo haría el contexto de Spring.
+     * @param client cliente de Text-to-Speech
+     * @return proveedor del cliente
+     */
+    private static ObjectProvider<TextToSpeechClient> provider(TextToSpeechClient client) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("textToSpeechClient", client);
+        return beanFactory.getBeanProvider(TextToSpeechClient.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.demo.logic.entity.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que revocar los tokens de un usuario rechace los emitidos antes o en el mismo milisegundo de la revocación
+ * y acepte el de un nuevo inicio de sesión, aunque ocurra en el mismo segundo.
+ */
+class TokenRevocationListTest {
+
+    private static final String EMAIL = "ana@escuela.com";
+
+    private final UserDetails user = new User(EMAIL, "secreta", List.of());
+
+    private JwtService jwtService;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", "miClaveSuperSecretaDePruebas1234567890abcdefghijklmn");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 100L);
+        jwtService.init();
+
+        revocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(revocationList, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(revocationList, "maxSize", 100L);
+        revocationList.init();
+    }
+
+    @Test
+    void acceptsReLoginInTheSameSecond() throws InterruptedException {
+        Claims before = jwtService.extractVerifiedClaims(jwtService.generateToken(user));
+        Thread.sleep(2);
+        revocationList.revoke(EMAIL);
+        Thread.sleep(2);
+        Claims after = jwtService.extractVerifiedClaims(jwtService.generateToken(user));
+
+        assertTrue(revocationList.isRevoked(EMAIL, jwtService.extractIssuedAt(before)));
+        assertFalse(revocationList.isRevoked(EMAIL, jwtService.extractIssuedAt(after)));
+        assertEquals(after.getIssuedAt().getTime(), jwtService.extractIssuedAt(after).getTime() / 1000 * 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsTokensIssuedInTheRevocationMillisecond() {
+        revocationList.revoke(EMAIL);
+        Cache<String, Long> revocations = (Cache<String, Long>) ReflectionTestUtils.getField(revocationList, "revocations");
+        long revokedAt = revocations.getIfPresent(EMAIL);
+
+        assertTrue(revocationList.isRevoked(EMAIL, new Date(revokedAt)));
+        assertFalse(revocationList.isRevoked(EMAIL, new Date(revokedAt + 1)));
+    }
+
+    @Test
+    void ignoresRevocationsOfOtherUsers() {
+        Claims claims = jwtService.extractVerifiedClaims(jwtService.generateToken(user));
+
+        revocationList.revoke("luis@escuela.com");
+
+        assertFalse(revocationList.isRevoked(EMAIL, jwtService.extractIssuedAt(claims)));
+    }
+
+    @Test
+    void rejectsTokensWithoutIssueDateAfterRevocation() {
+        revocationList.revoke(EMAIL);
+
+        assertTrue(revocationList.isRevoked(EMAIL, null));
+        assertTrue(revocationList.isRevoked(EMAIL, new Date(System.currentTimeMillis() / 1000 * 1000 - 1)));
+    }
+}
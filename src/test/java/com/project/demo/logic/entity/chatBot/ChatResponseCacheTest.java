@@ -0,0 +1,113 @@
+package com.project.demo.logic.entity.chatBot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica los dos niveles de la caché del chatbot: coincidencia exacta sobre el texto normalizado
+ * y coincidencia por similitud, que nunca mezcla preguntas con números distintos.
+ */
+class ChatResponseCacheTest {
+
+    private static final String PROMPT = "Eres un tutor de lectura";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void findsExactMatchIgnoringCaseAccentsAndPunctuation() {
+        ChatResponseCache cache = cache(false);
+        cache.put(PROMPT, "¿Qué es una metáfora?", "Una comparación implícita.");
+
+        assertEquals(Optional.of("Una comparación implícita."), cache.find(PROMPT, "que es una METAFORA"));
+        assertEquals(Optional.empty(), cache.find("Otro prompt", "¿Qué es una metáfora?"));
+        assertEquals(Optional.empty(), cache.find(PROMPT, "¿Qué es una metáfora de ejemplo?"));
+        assertEquals(1.0, lookups("exact"));
+        assertEquals(2.0, lookups("miss"));
+    }
+
+    @Test
+    void findsSimilarQuestionAboveTheThreshold() {
+        ChatResponseCache cache = cache(true);
+        cache.put(PROMPT, "¿Qué es una metáfora en un cuento?", "Una comparación implícita.");
+        cache.put(PROMPT, "¿Quién escribió el cuento?", "El autor del libro.");
+
+        assertEquals(Optional.of("Una comparación implícita."), cache.find(PROMPT, "Que es una metafora en el cuento"));
+        assertEquals(Optional.empty(), cache.find(PROMPT, "¿Cuántos personajes tiene la historia?"));
+        assertEquals(Optional.empty(), cache.find("Otro prompt", "Que es una metafora en el cuento"));
+        assertEquals(1.0, lookups("similar"));
+    }
+
+    @Test
+    void doesNotMatchQuestionsWithDifferentNumbers() {
+        ChatResponseCache cache = cache(true);
+        cache.put(PROMPT, "¿Cuánto es 2+3?", "5");
+
+        assertEquals(Optional.empty(), cache.find(PROMPT, "¿Cuánto es 2+5?"));
+        assertEquals(Optional.empty(), cache.find(PROMPT, "¿Cuánto es 3+2?"));
+        assertEquals(Optional.of("5"), cache.find(PROMPT, "cuanto es 2 + 3"));
+        assertEquals(List.of("2", "3"), ChatResponseCache.numbers(ChatResponseCache.normalize("¿Cuánto es 2+3?")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsEvictedQuestionsFromTheSimilarityIndex() {
+        ChatResponseCache cache = cache(true, 1);
+        cache.put(PROMPT, "¿Qué es una metáfora en un cuento?", "Una comparación implícita.");
+        cache.put(PROMPT, "¿Quién escribió el cuento?", "El autor del libro.");
+        Cache<?, ?> responses = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "responses");
+        responses.cleanUp();
+
+        Map<?, Map<?, ?>> postings = (Map<?, Map<?, ?>>) ReflectionTestUtils.getField(cache, "postings");
+        Set<Object> indexed = new HashSet<>();
+        postings.values().forEach(posting -> indexed.addAll(posting.keySet()));
+
+        assertEquals(1, responses.estimatedSize());
+        assertEquals(responses.asMap().keySet(), indexed);
+    }
+
+    /**
+     * Crea la caché con el nivel de similitud activado o no.
+     * @param similarityEnabled si se busca por similitud
+     * @return caché inicializada
+     */
+    private ChatResponseCache cache(boolean similarityEnabled) {
+        return cache(similarityEnabled, 100);
+    }
+
+    /**
+     * Crea la caché con el nivel de similitud activado o no y el tamaño máximo indicado.
+     * @param similarityEnabled si se busca por similitud
+     * @param maxSize cantidad máxima de respuestas
+     * @return caché inicializada
+     */
+    private ChatResponseCache cache(boolean similarityEnabled, long maxSize) {
+        ChatResponseCache cache = new ChatResponseCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "similarityEnabled", similarityEnabled);
+        ReflectionTestUtils.setField(cache, "similarityThreshold", 0.75);
+        cache.init();
+        return cache;
+    }
+
+    /**
+     * Lee el contador de búsquedas para un resultado.
+     * @param result resultado de la búsqueda
+     * @return cantidad de búsquedas
+     */
+    private double lookups(String result) {
+        return meterRegistry.get("chat.cache.lookups").tag("result", result).counter().count();
+    }
+}
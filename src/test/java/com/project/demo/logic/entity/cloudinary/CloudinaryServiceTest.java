@@ -0,0 +1,155 @@
+package com.project.demo.logic.entity.cloudinary;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mide la memoria asignada por subida contra un servidor HTTP local que imita el API de Cloudinary.
+ * El archivo de audio se lee fuera de la medición, así que solo cuenta lo que asigna la subida.
+ */
+class CloudinaryServiceTest {
+
+    private static final int AUDIO_SIZE = 8 * 1024 * 1024;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final List<String> contentRanges = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private CloudinaryService service;
+    private Path audio;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                receivedBytes.addAndGet(body.transferTo(OutputStreamSink.INSTANCE));
+            }
+            requests.incrementAndGet();
+            String contentRange = exchange.getRequestHeaders().getFirst("Content-Range");
+            if (contentRange != null) {
+                contentRanges.add(contentRange);
+            }
+            byte[] response = "{\"secure_url\":\"https://res.cloudinary.com/demo/video/upload/story_1_male.mp3\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        service = new CloudinaryService();
+        ReflectionTestUtils.setField(service, "cloudinary", new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "demo",
+                "api_key", "123",
+                "api_secret", "secret",
+                "upload_prefix", "http://127.0.0.1:" + server.getAddress().getPort()
+        )));
+        ReflectionTestUtils.setField(service, "largeUploadThreshold", DataSize.ofMegabytes(20));
+        ReflectionTestUtils.setField(service, "chunkSize", DataSize.ofMegabytes(2));
+
+        byte[] content = new byte[AUDIO_SIZE];
+        new Random(42).nextBytes(content);
+        audio = Files.write(Files.createTempFile("cloudinary-test-", ".mp3"), content);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(audio);
+    }
+
+    @Test
+    void fileUploadDoesNotBufferWholeAudio() throws IOException {
+        service.uploadAudio(audio, "story_1_male.mp3");
+        requests.set(0);
+        receivedBytes.set(0);
+
+        long fileAllocation = allocatedBy(() -> service.uploadAudio(audio, "story_1_male.mp3"));
+
+        assertEquals(1, requests.get());
+        assertTrue(receivedBytes.get() >= AUDIO_SIZE);
+        assertTrue(fileAllocation < AUDIO_SIZE / 4, "archivo: " + fileAllocation);
+    }
+
+    @Test
+    void largeFilesAreUploadedInChunks() throws IOException {
+        ReflectionTestUtils.setField(service, "largeUploadThreshold", DataSize.ofMegabytes(4));
+        service.uploadAudio(audio, "story_1_male.mp3");
+        requests.set(0);
+        receivedBytes.set(0);
+        contentRanges.clear();
+        String[] url = new String[1];
+
+        long allocation = allocatedBy(() -> url[0] = service.uploadAudio(audio, "story_1_male.mp3"));
+
+        assertEquals("https://res.cloudinary.com/demo/video/upload/story_1_male.mp3", url[0]);
+        assertEquals(4, requests.get());
+        assertEquals(List.of(
+                "bytes 0-2097151/8388608",
+                "bytes 2097152-4194303/8388608",
+                "bytes 4194304-6291455/8388608",
+                "bytes 6291456-8388607/8388608"), contentRanges);
+        assertTrue(receivedBytes.get() >= AUDIO_SIZE);
+        assertTrue(allocation < AUDIO_SIZE, "por partes: " + allocation);
+    }
+
+    /**
+     * Mide los bytes asignados en el hilo actual mientras se ejecuta la subida.
+     * @param upload subida a medir
+     * @return bytes asignados
+     * @throws IOException si la subida falla
+     */
+    private static long allocatedBy(Upload upload) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        upload.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws IOException;
+    }
+
+    /**
+     * Salida que descarta los bytes recibidos por el servidor local.
+     */
+    private static final class OutputStreamSink extends OutputStream {
+        private static final OutputStreamSink INSTANCE = new OutputStreamSink();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
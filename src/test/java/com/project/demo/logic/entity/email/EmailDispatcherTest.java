@@ -0,0 +1,251 @@
+package com.project.demo.logic.entity.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el envío de la bandeja de salida contra un servidor SMTP en proceso:
+ * un lote por conexión, cuerpos HTML y de texto en un mismo correo, reintentos con espera,
+ * descarte de correos y recuperación de correos con plazo vencido sin que el hilo anterior pise el resultado.
+ * Las pruebas no corren dentro de una transacción porque el despachador confirma las suyas.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SmtpStandIn smtp;
+    private EmailDispatcher dispatcher;
+    private EmailManager emailManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EmailTemplateEngine templateEngine = new EmailTemplateEngine();
+        templateEngine.init();
+        smtp = new SmtpStandIn();
+        dispatcher = dispatcher(smtp.getPort());
+        emailManager = new EmailManager();
+        ReflectionTestUtils.setField(emailManager, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(emailManager, "emailDispatcher", dispatcher);
+        ReflectionTestUtils.setField(emailManager, "templateEngine", templateEngine);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendsQueuedBatchOverOneConnection() {
+        for (int i = 0; i < 5; i++) {
+            queue("estudiante" + i + "@escuela.com", "Bienvenido a EduSmart", "Contraseña: secreta" + i);
+        }
+        assertEquals(0, smtp.getConnections());
+
+        assertEquals(5, dispatcher.dispatchBatch());
+
+        assertEquals(1, smtp.getConnections());
+        assertEquals(5, smtp.getReceived().size());
+        assertEquals(List.of("estudiante0@escuela.com"), smtp.getReceived().get(0).recipients());
+        for (EmailOutbox email : outboxRepository.findAll()) {
+            assertEquals(EmailOutboxStatus.SENT, email.getStatus());
+            assertNull(email.getBody());
+        }
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    @Test
+    void sendsTemplatesWithHtmlAsMultipart() {
+        emailManager.queueTemplate(EmailTemplate.NEW_ACCOUNT, "ana@escuela.com",
+                "Ana <b>", "ana@escuela.com", "secreta", "http://localhost/login");
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        String data = smtp.getReceived().get(0).data();
+        assertTrue(data.contains("multipart/alternative"));
+        assertTrue(data.contains("Hola Ana <b>,"));
+        assertTrue(data.contains("Hola Ana &lt;b&gt;,"));
+        assertNull(find("ana@escuela.com").getHtmlBody());
+    }
+
+    @Test
+    void retriesTransientFailuresAndDeadLettersTheRest() {
+        smtp.replyToRecipient("ocupado@escuela.com", "451 4.3.0 Try again later");
+        smtp.replyToRecipient("noexiste@escuela.com", "550 5.1.1 No such user");
+        queue("ocupado@escuela.com", "Asunto", "Cuerpo");
+        queue("noexiste@escuela.com", "Asunto", "Cuerpo");
+        queue("ana@escuela.com", "Asunto", "Cuerpo");
+
+        long before = System.currentTimeMillis();
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        assertEquals(1, smtp.getConnections());
+        assertEquals(EmailOutboxStatus.SENT, find("ana@escuela.com").getStatus());
+        EmailOutbox rejected = find("noexiste@escuela.com");
+        assertEquals(EmailOutboxStatus.DEAD, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNull(rejected.getBody());
+        EmailOutbox busy = find("ocupado@escuela.com");
+        assertEquals(EmailOutboxStatus.PENDING, busy.getStatus());
+        assertEquals(1, busy.getAttempts());
+        assertTrue(busy.getNextAttemptAt().getTime() >= before + INITIAL_BACKOFF.toMillis());
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        for (int attempt = 2; attempt <= 3; attempt++) {
+            busy = find("ocupado@escuela.com");
+            busy.setNextAttemptAt(new Date(0));
+            outboxRepository.save(busy);
+            assertEquals(1, dispatcher.dispatchBatch());
+            assertEquals(attempt, find("ocupado@escuela.com").getAttempts());
+        }
+        assertEquals(EmailOutboxStatus.DEAD, find("ocupado@escuela.com").getStatus());
+        assertEquals(1, smtp.getReceived().size());
+    }
+
+    @Test
+    void retriesEverythingWhenTheServerIsDown() throws IOException {
+        queue("ana@escuela.com", "Asunto", "Cuerpo");
+        queue("luis@escuela.com", "Asunto", "Cuerpo");
+        smtp.close();
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        for (EmailOutbox email : outboxRepository.findAll()) {
+            assertEquals(EmailOutboxStatus.PENDING, email.getStatus());
+            assertEquals(1, email.getAttempts());
+        }
+    }
+
+    @Test
+    void reclaimsEmailsWhoseLeaseExpired() {
+        queue("ana@escuela.com", "Asunto", "Cuerpo");
+        Long id = find("ana@escuela.com").getId();
+        Date now = new Date();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxRepository.claim(List.of(id), "hilo-detenido", now, new Date(now.getTime() - 1)));
+        assertEquals(EmailOutboxStatus.SENDING, find("ana@escuela.com").getStatus());
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        assertEquals(EmailOutboxStatus.SENT, find("ana@escuela.com").getStatus());
+    }
+
+    @Test
+    void keepsTheResultOfTheDispatcherThatReclaimedAnExpiredLease() {
+        queue("ana@escuela.com", "Asunto", "Cuerpo");
+        JavaMailSenderImpl stalled = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                assertEquals(1, dispatcher.dispatchBatch());
+                throw new MailSendException("Tiempo de espera agotado");
+            }
+        };
+        EmailDispatcher expired = dispatcher(stalled);
+        ReflectionTestUtils.setField(expired, "lease", Duration.ofMillis(-1));
+
+        assertEquals(1, expired.dispatchBatch());
+
+        EmailOutbox email = find("ana@escuela.com");
+        assertEquals(EmailOutboxStatus.SENT, email.getStatus());
+        assertEquals(0, email.getAttempts());
+        assertNull(email.getLastError());
+        assertEquals(1, smtp.getReceived().size());
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    @Test
+    void doublesBackoffUpToTheMaximum() {
+        Duration max = Duration.ofMinutes(5);
+        assertEquals(Duration.ofSeconds(30), EmailDispatcher.backoff(1, INITIAL_BACKOFF, max));
+        assertEquals(Duration.ofSeconds(60), EmailDispatcher.backoff(2, INITIAL_BACKOFF, max));
+        assertEquals(Duration.ofSeconds(240), EmailDispatcher.backoff(4, INITIAL_BACKOFF, max));
+        assertEquals(max, EmailDispatcher.backoff(5, INITIAL_BACKOFF, max));
+        assertEquals(max, EmailDispatcher.backoff(100, INITIAL_BACKOFF, max));
+    }
+
+    /**
+     * Crea un despachador sin hilos propios que envía al puerto indicado, con tres intentos por correo.
+     * @param port puerto del servidor SMTP
+     * @return despachador inicializado
+     */
+    private EmailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        return dispatcher(mailSender);
+    }
+
+    /**
+     * Crea un despachador sin hilos propios que envía con el cliente indicado, con tres intentos por correo.
+     * @param mailSender cliente de correo
+     * @return despachador inicializado
+     */
+    private EmailDispatcher dispatcher(JavaMailSenderImpl mailSender) {
+        EmailDispatcher emailDispatcher = new EmailDispatcher(outboxRepository, mailSender, transactionManager,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailDispatcher, "enabled", false);
+        ReflectionTestUtils.setField(emailDispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(emailDispatcher, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(emailDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailDispatcher, "initialBackoff", INITIAL_BACKOFF);
+        ReflectionTestUtils.setField(emailDispatcher, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(emailDispatcher, "from", "no-reply@escuela.com");
+        emailDispatcher.init();
+        return emailDispatcher;
+    }
+
+    /**
+     * Encola un correo sin plantilla.
+     * @param recipient dirección del destinatario
+     * @param subject asunto
+     * @param body cuerpo de texto plano
+     */
+    private void queue(String recipient, String subject, String body) {
+        emailManager.queueEmails(List.of(new EmailOutbox(recipient, subject, body)));
+    }
+
+    /**
+     * Busca el correo de un destinatario.
+     * @param recipient dirección del destinatario
+     * @return correo de la bandeja de salida
+     */
+    private EmailOutbox find(String recipient) {
+        return outboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.demo.logic.entity.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la compilación y el renderizado de las plantillas de correo:
+ * el texto plano coincide con el que se armaba por concatenación y el HTML escapa los valores.
+ */
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        engine.init();
+    }
+
+    @Test
+    void rendersTheSameTextAsConcatenation() {
+        EmailOutbox email = engine.render(EmailTemplate.NEW_ACCOUNT, "ana@escuela.com",
+                "Ana", "ana@escuela.com", "secreta", "http://localhost/login");
+
+        assertEquals("ana@escuela.com", email.getRecipient());
+        assertEquals("Bienvenido a EduSmart", email.getSubject());
+        assertEquals("Hola Ana,\n\n" +
+                "Tu cuenta ha sido creada con éxito. Aquí están tus credenciales:\n" +
+                "Correo: ana@escuela.com\n" +
+                "Contraseña: secreta\n\n" +
+                "Por favor, cambia tu contraseña al iniciar sesión usando la dirección http://localhost/login.\n\n" +
+                "Saludos,\nEl equipo de EduSmart", email.getBody());
+        assertTrue(email.getHtmlBody().contains("secreta"));
+    }
+
+    @Test
+    void escapesValuesOnlyInHtml() {
+        EmailOutbox email = engine.render(EmailTemplate.GROUP_ANNOUNCEMENT, "ana@escuela.com",
+                "Ana", "Matemática 7-A", "Luis Mora", "Examen", "Traer <regla> & \"compás\"");
+
+        assertEquals("Matemática 7-A: Examen", email.getSubject());
+        assertTrue(email.getBody().contains("Traer <regla> & \"compás\""));
+        assertTrue(email.getHtmlBody().contains("Traer &lt;regla&gt; &amp; &quot;compás&quot;"));
+    }
+
+    @Test
+    void rendersNullValuesAsEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("Hola {{ name }}!", List.of("name"), false);
+        StringBuilder out = new StringBuilder();
+
+        template.renderTo(out, (String) null);
+
+        assertEquals("Hola !", out.toString());
+    }
+
+    @Test
+    void rejectsInvalidTemplatesAndValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledTemplate.compile("Hola {{nombre}}", List.of("name"), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledTemplate.compile("Hola {{name", List.of("name"), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.render(EmailTemplate.NEW_ACCOUNT, "ana@escuela.com", "Ana"));
+    }
+
+    @Test
+    void rendersTemporaryPasswordTemplate() {
+        EmailOutbox email = engine.render(EmailTemplate.TEMPORARY_PASSWORD, "ana@escuela.com",
+                "Ana", "ana@escuela.com", "temporal", "http://localhost/login");
+
+        assertEquals("Generación de Contraseña Temporal", email.getSubject());
+        assertTrue(email.getBody().startsWith("Hola Ana,\n\nSe ha generado una contraseña temporal con éxito."));
+        assertTrue(email.getHtmlBody().contains("temporal"));
+    }
+}
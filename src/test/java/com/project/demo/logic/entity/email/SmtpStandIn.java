@@ -0,0 +1,169 @@
+package com.project.demo.logic.entity.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en proceso para las pruebas.
+ * Acepta EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP y QUIT sin TLS ni autenticación,
+ * guarda los mensajes recibidos, cuenta las conexiones y permite responder RCPT con un código
+ * definido por destinatario para simular rechazos temporales o permanentes.
+ */
+class SmtpStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final Map<String, String> recipientReplies = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Inicia el servidor en un puerto libre de la interfaz local.
+     * @throws IOException si no se puede abrir el puerto
+     */
+    SmtpStandIn() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::accept);
+    }
+
+    /**
+     * Obtiene el puerto del servidor.
+     * @return puerto
+     */
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Obtiene los mensajes recibidos.
+     * @return mensajes recibidos, en orden de llegada
+     */
+    List<Received> getReceived() {
+        return received;
+    }
+
+    /**
+     * Obtiene la cantidad de conexiones aceptadas.
+     * @return conexiones aceptadas
+     */
+    int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * Define la respuesta a RCPT para un destinatario.
+     * @param recipient dirección del destinatario
+     * @param reply respuesta completa, por ejemplo "550 5.1.1 No existe"
+     */
+    void replyToRecipient(String recipient, String reply) {
+        recipientReplies.put(recipient, reply);
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierre el servidor.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> session(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Atiende una conexión SMTP.
+     * @param socket conexión del cliente
+     */
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost SMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "NOOP" -> reply(out, "250 OK");
+                    case "MAIL", "RSET" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                        String custom = recipientReplies.get(recipient);
+                        if (custom == null) {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        } else {
+                            reply(out, custom);
+                        }
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append('\n');
+                        }
+                        received.add(new Received(List.copyOf(recipients), data.toString()));
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // El cliente cerró la conexión
+        }
+    }
+
+    /**
+     * Escribe una respuesta al cliente.
+     * @param out flujo hacia el cliente
+     * @param reply respuesta sin el fin de línea final
+     * @throws IOException si falla la escritura
+     */
+    private static void reply(Writer out, String reply) throws IOException {
+        out.write(reply + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mensaje recibido por el servidor.
+     * @param recipients destinatarios aceptados
+     * @param data contenido del mensaje con encabezados
+     */
+    record Received(List<String> recipients, String data) {
+    }
+}
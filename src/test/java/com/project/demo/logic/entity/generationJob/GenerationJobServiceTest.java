@@ -0,0 +1,149 @@
+package com.project.demo.logic.entity.generationJob;
+
+import com.project.demo.logic.entity.question.QuestionGenerationService;
+import com.project.demo.logic.entity.quiz.Quiz;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que el límite de trabajos guardados solo descarte trabajos terminados:
+ * un trabajo en ejecución sigue visible aunque terminen muchos otros después.
+ * También verifica que las solicitudes repetidas de un cuestionario reciban su trabajo activo.
+ */
+class GenerationJobServiceTest {
+
+    private final QuestionGenerationService questionGenerationService = mock(QuestionGenerationService.class);
+
+    private GenerationJobService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void keepsRunningJobsWhenFinishedJobsOverflow() throws Exception {
+        service = service(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Quiz slow = quiz(1);
+        Quiz fast = quiz(2);
+        when(questionGenerationService.generateQuestionsWithAI(eq(slow), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of(10);
+        });
+        when(questionGenerationService.generateQuestionsWithAI(eq(fast), anyInt())).thenReturn(List.of(20));
+
+        GenerationJob running = service.submit(slow, 1, "ana@escuela.com");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            awaitStatus(service.submit(fast, 1, "ana@escuela.com"), GenerationJobStatusEnum.DONE);
+        }
+
+        assertEquals(GenerationJobStatusEnum.RUNNING, service.getJob(running.getId()).orElseThrow().getStatus());
+
+        release.countDown();
+        awaitStatus(running, GenerationJobStatusEnum.DONE);
+        assertEquals(List.of(10), service.getJob(running.getId()).orElseThrow().getQuestionIds());
+    }
+
+    @Test
+    void coalescesRequestsForTheSameQuizWhileItsJobIsActive() throws Exception {
+        service = service(10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Quiz quiz = quiz(1);
+        when(questionGenerationService.generateQuestionsWithAI(eq(quiz), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of(10);
+        });
+
+        GenerationJob first = service.submit(quiz, 5, "ana@escuela.com");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        GenerationJob repeated = service.submit(quiz, 5, "ana@escuela.com");
+
+        assertSame(first, repeated);
+        release.countDown();
+        awaitStatus(first, GenerationJobStatusEnum.DONE);
+        verify(questionGenerationService, times(1)).generateQuestionsWithAI(quiz, 5);
+
+        GenerationJob next = service.submit(quiz, 5, "ana@escuela.com");
+        assertNotSame(first, next);
+        awaitStatus(next, GenerationJobStatusEnum.DONE);
+        verify(questionGenerationService, times(2)).generateQuestionsWithAI(quiz, 5);
+    }
+
+    @Test
+    void recordsWhoRequestedTheJob() throws Exception {
+        service = service(10);
+        when(questionGenerationService.generateQuestionsWithAI(any(), anyInt())).thenReturn(List.of());
+
+        GenerationJob job = service.submit(quiz(1), 1, "ana@escuela.com");
+        awaitStatus(job, GenerationJobStatusEnum.DONE);
+
+        assertEquals("ana@escuela.com", service.getJob(job.getId()).orElseThrow().getRequestedBy());
+    }
+
+    /**
+     * Crea el servicio con dos hilos y el límite de trabajos terminados indicado.
+     * @param maxFinishedJobs cantidad máxima de trabajos terminados guardados
+     * @return servicio inicializado
+     */
+    private GenerationJobService service(long maxFinishedJobs) {
+        GenerationJobService service = new GenerationJobService(questionGenerationService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "poolSize", 2);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "jobRetention", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "maxFinishedJobs", maxFinishedJobs);
+        service.init();
+        return service;
+    }
+
+    /**
+     * Construye un cuestionario con el identificador indicado.
+     * @param id identificador
+     * @return cuestionario
+     */
+    private static Quiz quiz(int id) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        return quiz;
+    }
+
+    /**
+     * Espera a que un trabajo llegue al estado indicado y a que el servicio lo saque de los trabajos activos.
+     * @param job trabajo
+     * @param status estado esperado
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    private void awaitStatus(GenerationJob job, GenerationJobStatusEnum status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Map<?, ?> activeJobs = (Map<?, ?>) ReflectionTestUtils.getField(service, "activeJobs");
+        while (job.getStatus() != status || activeJobs.containsKey(job.getId())) {
+            assertTrue(System.nanoTime() < deadline, "estado: " + job.getStatus());
+            Thread.sleep(10);
+        }
+    }
+}
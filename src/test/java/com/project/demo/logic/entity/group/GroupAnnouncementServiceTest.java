@@ -0,0 +1,119 @@
+package com.project.demo.logic.entity.group;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.email.EmailDispatcher;
+import com.project.demo.logic.entity.email.EmailManager;
+import com.project.demo.logic.entity.email.EmailOutbox;
+import com.project.demo.logic.entity.email.EmailOutboxRepository;
+import com.project.demo.logic.entity.email.EmailTemplateEngine;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que un anuncio se renderice con la plantilla compilada para cada estudiante del grupo
+ * y que todos los correos queden en la bandeja de salida.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:announcement;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GroupAnnouncementService.class, EmailManager.class, EmailTemplateEngine.class})
+class GroupAnnouncementServiceTest {
+
+    @Autowired
+    private GroupAnnouncementService announcementService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private EmailDispatcher emailDispatcher;
+
+    private long groupId;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        Course course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        entityManager.persist(course);
+        User teacher = user("profesor", role, school);
+
+        Set<User> enrolled = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            enrolled.add(user("estudiante" + i, role, school));
+        }
+        groupId = entityManager.persist(new Group(0, "Grupo 7-A", course, enrolled, teacher)).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void queuesOneEmailPerStudent() {
+        Optional<Integer> queued = announcementService.announce(groupId, "Examen", "Traer <regla> & lápiz");
+
+        assertEquals(Optional.of(3), queued);
+        List<EmailOutbox> emails = outboxRepository.findAll();
+        assertEquals(3, emails.size());
+        for (EmailOutbox email : emails) {
+            String name = email.getRecipient().substring(0, email.getRecipient().indexOf('@'));
+            assertEquals("Grupo 7-A: Examen", email.getSubject());
+            assertTrue(email.getBody().startsWith("Hola " + name + ",\n\nprofesor Apellido publicó un anuncio"));
+            assertTrue(email.getBody().contains("Traer <regla> & lápiz"));
+            assertTrue(email.getHtmlBody().contains("Traer &lt;regla&gt; &amp; lápiz"));
+        }
+    }
+
+    @Test
+    void skipsMissingGroups() {
+        assertEquals(Optional.empty(), announcementService.announce(999_999L, "Examen", "Mañana"));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    /**
+     * Guarda un usuario.
+     * @param name nombre del usuario
+     * @param role rol del usuario
+     * @param school escuela del usuario
+     * @return usuario guardado
+     */
+    private User user(String name, Role role, School school) {
+        User user = new User();
+        user.setName(name);
+        user.setLastname("Apellido");
+        user.setEmail(name + "@escuela.com");
+        user.setPassword("secreta");
+        user.setRole(role);
+        user.setSchool(school);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.demo.logic.entity.group;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.User;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con las estadísticas de Hibernate la cantidad exacta de consultas de cada acceso a grupos.
+ * Usa H2 en modo MariaDB con un grupo de 40 estudiantes.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groups;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class GroupRepositoryTest {
+
+    private static final int STUDENTS = 40;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Course course;
+    private User teacher;
+    private User firstStudent;
+    private long groupId;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role studentRole = role(RoleEnum.STUDENT);
+        Role teacherRole = role(RoleEnum.TEACHER);
+
+        course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        entityManager.persist(course);
+        teacher = user("profesor", teacherRole, school);
+
+        Set<User> students = new HashSet<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(user("estudiante" + i, studentRole, school));
+        }
+        firstStudent = students.iterator().next();
+        groupId = entityManager.persist(new Group(0, "Grupo A", course, students, teacher)).getId();
+        entityManager.persist(new Group(0, "Grupo B", course, new HashSet<>(Set.of(firstStudent)), teacher));
+        entityManager.persist(new Group(0, "Grupo C", course, new HashSet<>(), teacher));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadsGroupWithStudentsInOneQuery() {
+        Group group = groupRepository.findWithStudentsById(groupId).orElseThrow();
+
+        assertEquals(STUDENTS, group.getStudents().size());
+        for (User student : group.getStudents()) {
+            assertTrue(Hibernate.isInitialized(student.getRole()));
+            assertTrue(Hibernate.isInitialized(student.getSchool()));
+        }
+        assertEquals("Curso", group.getCourse().getTitle());
+        assertEquals("profesor", group.getTeacher().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listsSummariesWithOneQueryAndOneCount() {
+        Page<GroupSummaryView> page = groupRepository.findSummariesByCourseId(course.getId(), PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(STUDENTS, page.getContent().get(0).getStudentCount());
+        assertEquals("profesor", page.getContent().get(0).getTeacherName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listsStudentAndTeacherGroupsWithoutLoadingEntities() {
+        Page<GroupSummaryView> studentGroups = groupRepository.findSummariesByStudentId(firstStudent.getId(), PageRequest.of(0, 10));
+        Page<GroupSummaryView> teacherGroups = groupRepository.findSummariesByTeacherId(teacher.getId(), PageRequest.of(0, 10));
+
+        assertEquals(2, studentGroups.getTotalElements());
+        assertEquals(3, teacherGroups.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Guarda un rol.
+     * @param name nombre del rol
+     * @return rol guardado
+     */
+    private Role role(RoleEnum name) {
+        Role role = new Role();
+        role.setName(name);
+        role.setDescription(name.name());
+        return entityManager.persist(role);
+    }
+
+    /**
+     * Guarda un usuario.
+     * @param name nombre del usuario
+     * @param role rol del usuario
+     * @param school escuela del usuario
+     * @return usuario guardado
+     */
+    private User user(String name, Role role, School school) {
+        User user = new User();
+        user.setName(name);
+        user.setLastname("Apellido");
+        user.setEmail(name + "@escuela.com");
+        user.setPassword("secreta");
+        user.setRole(role);
+        user.setSchool(school);
+        return entityManager.persist(user);
+    }
+}
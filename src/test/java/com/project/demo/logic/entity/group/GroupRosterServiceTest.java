@@ -0,0 +1,164 @@
+package com.project.demo.logic.entity.group;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifica la matrícula por lotes sobre la tabla de unión: el resultado por estudiante,
+ * el contenido final del grupo y que la cantidad de sentencias no dependa de la cantidad de estudiantes.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roster;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GroupRosterService.class)
+class GroupRosterServiceTest {
+
+    private static final long MISSING_USER = 999_999L;
+
+    @Autowired
+    private GroupRosterService rosterService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private long groupId;
+    private List<Long> members;
+    private List<Long> newStudents;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        Course course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        entityManager.persist(course);
+        User teacher = user("profesor", role, school);
+
+        Set<User> enrolled = new HashSet<>();
+        members = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User student = user("miembro" + i, role, school);
+            enrolled.add(student);
+            members.add(student.getId());
+        }
+        newStudents = new ArrayList<>();
+        for (int i = 0; i < 35; i++) {
+            newStudents.add(user("nuevo" + i, role, school).getId());
+        }
+        groupId = entityManager.persist(new Group(0, "Grupo", course, enrolled, teacher)).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void addsClassWithConstantStatements() {
+        List<Long> requested = new ArrayList<>(newStudents);
+        requested.add(members.get(0));
+        requested.add(MISSING_USER);
+        requested.add(newStudents.get(0));
+
+        List<RosterResult> results = rosterService.addStudents(groupId, requested);
+
+        assertEquals(37, results.size());
+        assertEquals(35, count(results, RosterOutcome.ADDED));
+        assertEquals(RosterOutcome.ALREADY_MEMBER, results.get(35).getOutcome());
+        assertEquals(RosterOutcome.NOT_FOUND, results.get(36).getOutcome());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(38, groupRepository.findStudentIdsByGroupId(groupId).size());
+    }
+
+    @Test
+    void removesOnlyMembers() {
+        List<RosterResult> results = rosterService.removeStudents(groupId, List.of(members.get(0), members.get(1), newStudents.get(0)));
+
+        assertEquals(List.of(RosterOutcome.REMOVED, RosterOutcome.REMOVED, RosterOutcome.NOT_MEMBER),
+                results.stream().map(RosterResult::getOutcome).toList());
+        assertEquals(List.of(members.get(2)), groupRepository.findStudentIdsByGroupId(groupId));
+    }
+
+    @Test
+    void replacesRoster() {
+        List<RosterResult> results = rosterService.replaceStudents(groupId, List.of(members.get(2), newStudents.get(0)));
+
+        assertEquals(RosterOutcome.ALREADY_MEMBER, results.get(0).getOutcome());
+        assertEquals(RosterOutcome.ADDED, results.get(1).getOutcome());
+        assertEquals(2, count(results, RosterOutcome.REMOVED));
+        assertEquals(Set.of(members.get(2), newStudents.get(0)), new HashSet<>(groupRepository.findStudentIdsByGroupId(groupId)));
+
+        rosterService.replaceStudents(groupId, List.of());
+        assertEquals(0, groupRepository.findStudentIdsByGroupId(groupId).size());
+    }
+
+    @Test
+    void rejectsMissingRosterWithoutRemovingStudents() {
+        assertThrows(IllegalArgumentException.class, () -> rosterService.replaceStudents(groupId, null));
+
+        assertEquals(new HashSet<>(members), new HashSet<>(groupRepository.findStudentIdsByGroupId(groupId)));
+    }
+
+    /**
+     * Cuenta los resultados con un resultado dado.
+     * @param results resultados por estudiante
+     * @param outcome resultado a contar
+     * @return cantidad de estudiantes
+     */
+    private static long count(List<RosterResult> results, RosterOutcome outcome) {
+        return results.stream().filter(result -> result.getOutcome() == outcome).count();
+    }
+
+    /**
+     * Guarda un usuario.
+     * @param name nombre del usuario
+     * @param role rol del usuario
+     * @param school escuela del usuario
+     * @return usuario guardado
+     */
+    private User user(String name, Role role, School school) {
+        User user = new User();
+        user.setName(name);
+        user.setLastname("Apellido");
+        user.setEmail(name + "@escuela.com");
+        user.setPassword("secreta");
+        user.setRole(role);
+        user.setSchool(school);
+        return entityManager.persist(user);
+    }
+}
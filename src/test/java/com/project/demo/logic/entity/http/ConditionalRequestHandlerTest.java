@@ -0,0 +1,120 @@
+package com.project.demo.logic.entity.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica que las peticiones condicionales respondan 304 sin construir el cuerpo, que solo se valide el ETag
+ * y que la proporción de respuestas 304 se publique como métrica.
+ */
+class ConditionalRequestHandlerTest {
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger bodiesBuilt = new AtomicInteger();
+
+    private ConditionalRequestHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ConditionalRequestHandler(meterRegistry);
+        handler.init();
+    }
+
+    @Test
+    void returnsValidatorsOnFullResponse() {
+        ResponseEntity<?> response = handler.handle(version(3, LAST_MODIFIED), new MockHttpServletRequest("GET", "/stories"), this::body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"3-" + LAST_MODIFIED + "\"", response.getHeaders().getETag());
+        assertEquals(LAST_MODIFIED, response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+        assertEquals(1, bodiesBuilt.get());
+    }
+
+    @Test
+    void skipsBodyWhenETagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stories");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"3-" + LAST_MODIFIED + "\"");
+
+        ResponseEntity<?> response = handler.handle(version(3, LAST_MODIFIED), request, this::body);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(0, bodiesBuilt.get());
+    }
+
+    @Test
+    void buildsBodyWhenCountChanged() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stories");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"3-" + LAST_MODIFIED + "\"");
+
+        ResponseEntity<?> response = handler.handle(version(2, LAST_MODIFIED), request, this::body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, bodiesBuilt.get());
+    }
+
+    @Test
+    void ignoresIfModifiedSince() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/stories");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED / 1000 * 1000);
+
+        assertEquals(HttpStatus.OK, handler.handle(version(2, LAST_MODIFIED), request, this::body).getStatusCode());
+        assertEquals(HttpStatus.OK, handler.handle(version(3, LAST_MODIFIED), request, this::body).getStatusCode());
+        assertEquals(2, bodiesBuilt.get());
+    }
+
+    @Test
+    void reportsNotModifiedRatio() {
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/stories");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"3-" + LAST_MODIFIED + "\"");
+        handler.handle(version(3, LAST_MODIFIED), conditional, this::body);
+        handler.handle(version(3, LAST_MODIFIED), conditional, this::body);
+        handler.handle(version(3, LAST_MODIFIED), conditional, this::body);
+        handler.handle(version(3, LAST_MODIFIED), new MockHttpServletRequest("GET", "/stories"), this::body);
+
+        assertEquals(0.75, meterRegistry.get("http.conditional.not_modified.ratio").gauge().value());
+    }
+
+    /**
+     * Construye la respuesta completa y cuenta cuántas veces se construyó.
+     * @return respuesta completa
+     */
+    private ResponseEntity<?> body() {
+        bodiesBuilt.incrementAndGet();
+        return ResponseEntity.ok("cuerpo");
+    }
+
+    /**
+     * Crea la versión de un listado.
+     * @param count cantidad de elementos
+     * @param lastModified última modificación en milisegundos
+     * @return versión del listado
+     */
+    private static ResourceVersionView version(long count, long lastModified) {
+        return new ResourceVersionView() {
+            @Override
+            public Date getLastModified() {
+                return new Date(lastModified);
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
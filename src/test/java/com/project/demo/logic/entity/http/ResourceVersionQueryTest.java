@@ -0,0 +1,158 @@
+package com.project.demo.logic.entity.http;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.illustration.Illustration;
+import com.project.demo.logic.entity.illustration.IllustrationRepository;
+import com.project.demo.logic.entity.material.Material;
+import com.project.demo.logic.entity.material.MaterialRepository;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.story.Story;
+import com.project.demo.logic.entity.story.StoryRepository;
+import com.project.demo.logic.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Verifica contra H2 que la versión de cada listado cambie cuando cambia cualquier dato que se serializa en él:
+ * el curso y el profesor de los materiales, el curso de las historias y la historia de las ilustraciones,
+ * y también cuando se elimina un elemento que no es el más reciente.
+ * Todas las fechas parten de 2020 para que cualquier actualización sea posterior.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:versions;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ResourceVersionQueryTest {
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private IllustrationRepository illustrationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private long courseId;
+    private long teacherId;
+    private long storyId;
+    private long olderMaterialId;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.TEACHER);
+        role.setDescription("Profesor");
+        entityManager.persist(role);
+        User teacher = new User();
+        teacher.setName("Luis");
+        teacher.setLastname("Soto");
+        teacher.setEmail("luis@escuela.com");
+        teacher.setPassword("secreta");
+        teacher.setRole(role);
+        teacher.setSchool(school);
+        teacherId = entityManager.persist(teacher).getId();
+        Course course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        courseId = entityManager.persist(course).getId();
+
+        olderMaterialId = entityManager.persist(new Material(0, "Guía", "http://archivos/guia.pdf", null, course, teacher)).getId();
+        entityManager.persist(new Material(0, "Práctica", "http://archivos/practica.pdf", null, course, teacher));
+        Story story = new Story();
+        story.setTitle("Historia");
+        story.setContent("Contenido");
+        story.setCourse(course);
+        storyId = entityManager.persist(story).getId();
+        Illustration illustration = new Illustration();
+        illustration.setTitle("Ilustración");
+        illustration.setUrl("http://archivos/ilustracion.png");
+        illustration.setStory(story);
+        entityManager.persist(illustration);
+        entityManager.flush();
+
+        for (String table : List.of("school", "role", "user", "course", "story", "illustration")) {
+            entityManager.getEntityManager().createNativeQuery("UPDATE " + table +
+                    " SET created_at = TIMESTAMP '2020-01-01 00:00:00', updated_at = NULL").executeUpdate();
+        }
+        entityManager.getEntityManager().createNativeQuery("UPDATE material SET uploaded_at = TIMESTAMP '2020-01-01 00:00:00', " +
+                "updated_at = NULL").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("UPDATE material SET uploaded_at = TIMESTAMP '2020-01-02 00:00:00' " +
+                "WHERE id <> :id").setParameter("id", olderMaterialId).executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void materialVersionsFollowCourseAndTeacher() {
+        String byCourse = etag(() -> materialRepository.findVersionByCourseId(courseId));
+        String byTeacher = etag(() -> materialRepository.findVersionByTeacherId(teacherId));
+
+        entityManager.find(Course.class, courseId).setTitle("Curso renombrado");
+        entityManager.flush();
+        String byCourseAfterCourse = etag(() -> materialRepository.findVersionByCourseId(courseId));
+        String byTeacherAfterCourse = etag(() -> materialRepository.findVersionByTeacherId(teacherId));
+        assertNotEquals(byCourse, byCourseAfterCourse);
+        assertNotEquals(byTeacher, byTeacherAfterCourse);
+
+        entityManager.find(User.class, teacherId).setLastname("Soto Mora");
+        entityManager.flush();
+        assertNotEquals(byCourseAfterCourse, etag(() -> materialRepository.findVersionByCourseId(courseId)));
+        assertNotEquals(byTeacherAfterCourse, etag(() -> materialRepository.findVersionByTeacherId(teacherId)));
+    }
+
+    @Test
+    void storyAndIllustrationVersionsFollowTheirParents() {
+        String stories = etag(() -> storyRepository.findVersionByCourseId(courseId));
+        String illustrations = etag(() -> illustrationRepository.findVersionByStoryId(storyId));
+
+        entityManager.find(Course.class, courseId).setTitle("Curso renombrado");
+        entityManager.flush();
+        String illustrationsAfterCourse = etag(() -> illustrationRepository.findVersionByStoryId(storyId));
+        assertNotEquals(stories, etag(() -> storyRepository.findVersionByCourseId(courseId)));
+        assertNotEquals(illustrations, illustrationsAfterCourse);
+
+        entityManager.find(Story.class, storyId).setTitle("Historia renombrada");
+        entityManager.flush();
+        assertNotEquals(illustrationsAfterCourse, etag(() -> illustrationRepository.findVersionByStoryId(storyId)));
+    }
+
+    @Test
+    void deletingAnOlderMaterialChangesTheETag() {
+        ResourceVersionView before = materialRepository.findVersionByCourseId(courseId);
+
+        entityManager.remove(entityManager.find(Material.class, olderMaterialId));
+        entityManager.flush();
+        ResourceVersionView after = materialRepository.findVersionByCourseId(courseId);
+
+        assertEquals(before.getLastModified().getTime(), after.getLastModified().getTime());
+        assertNotEquals(ConditionalRequestHandler.etag(before), ConditionalRequestHandler.etag(after));
+    }
+
+    /**
+     * Calcula el ETag de una versión consultada.
+     * @param version consulta de la versión
+     * @return ETag débil
+     */
+    private static String etag(Supplier<ResourceVersionView> version) {
+        return ConditionalRequestHandler.etag(version.get());
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.demo.logic.entity.question;
+
+import com.project.demo.JpaBatchConfig;
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.deepseek.DeepSeekService;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.story.Story;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mide las sentencias JDBC al guardar preguntas generadas: preguntas y opciones se insertan en lote,
+ * así que el número de sentencias crece por lote de 50 filas y no por pregunta u opción.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:questionGeneration;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuestionGenerationService.class, QuizAnswerKeyCache.class, QuizAnalyticsService.class,
+        SimpleMeterRegistry.class, JpaBatchConfig.class})
+class QuestionGenerationServiceTest {
+
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private QuestionGenerationService questionGenerationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private DeepSeekService deepSeekService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void insertsQuestionsAndOptionsInBatches(int numberOfQuestions) {
+        Course course = new Course();
+        course.setCode("LEN-1");
+        course.setTitle("Lectura");
+        entityManager.persist(course);
+        Story story = new Story();
+        story.setTitle("El viaje");
+        story.setContent("Había una vez");
+        story.setCourse(course);
+        entityManager.persist(story);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Comprensión de lectura");
+        quiz.setStory(story);
+        entityManager.persist(quiz);
+        entityManager.flush();
+        entityManager.clear();
+        when(deepSeekService.generateQuizQuestions(anyString(), anyInt())).thenReturn(response(numberOfQuestions));
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<Integer> questionIds = questionGenerationService.generateQuestionsWithAI(quiz, numberOfQuestions);
+        entityManager.flush();
+
+        long questionBatches = batches(numberOfQuestions);
+        long optionBatches = batches(numberOfQuestions * OPTIONS_PER_QUESTION);
+        // contenido de la historia, limpieza de estadísticas, un insert por lote
+        // y como mucho una llamada a la secuencia por lote más la inicial
+        long maxStatements = 2 + (questionBatches + questionBatches + 1) + (optionBatches + optionBatches + 1);
+        assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+                "sentencias: " + statistics.getPrepareStatementCount());
+        assertEquals(numberOfQuestions, questionIds.size());
+        assertEquals(numberOfQuestions * OPTIONS_PER_QUESTION, entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(o) FROM Option o WHERE o.question.quiz.id = :quizId", Long.class)
+                .setParameter("quizId", quiz.getId())
+                .getSingleResult());
+    }
+
+    /**
+     * Calcula cuántos lotes se necesitan para insertar las filas indicadas.
+     * @param rows cantidad de filas
+     * @return cantidad de lotes
+     */
+    private static long batches(int rows) {
+        return (rows + BATCH_SIZE - 1) / BATCH_SIZE;
+    }
+
+    /**
+     * Construye una respuesta de la IA con preguntas de cuatro opciones, la primera correcta.
+     * @param numberOfQuestions cantidad de preguntas
+     * @return respuesta JSON
+     */
+    private static String response(int numberOfQuestions) {
+        StringBuilder json = new StringBuilder("{\"questions\":[");
+        for (int q = 0; q < numberOfQuestions; q++) {
+            if (q > 0) {
+                json.append(',');
+            }
+            json.append("{\"question\":\"Pregunta ").append(q).append("\",\"options\":[");
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                if (o > 0) {
+                    json.append(',');
+                }
+                json.append("{\"text\":\"Opción ").append(o).append("\",\"correct\":").append(o == 0).append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Obtiene las estadísticas de Hibernate de la unidad de persistencia.
+     * @return estadísticas
+     */
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
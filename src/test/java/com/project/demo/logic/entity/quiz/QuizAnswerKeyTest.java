@@ -0,0 +1,65 @@
+package com.project.demo.logic.entity.quiz;
+
+import com.project.demo.logic.entity.option.OptionQuestionView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la búsqueda de respuestas correctas en la clave empaquetada.
+ */
+class QuizAnswerKeyTest {
+
+    @Test
+    void recognisesOnlyTheCorrectOption() {
+        QuizAnswerKey answerKey = QuizAnswerKey.of(List.of(correct(2, 21), correct(1, 12)));
+
+        assertEquals(2, answerKey.size());
+        assertTrue(answerKey.isCorrect(1, 12));
+        assertTrue(answerKey.isCorrect(2, 21));
+        assertFalse(answerKey.isCorrect(1, 11));
+        assertFalse(answerKey.isCorrect(1, 21));
+        assertFalse(answerKey.isCorrect(3, 31));
+    }
+
+    @Test
+    void acceptsEveryCorrectOptionOfAQuestion() {
+        QuizAnswerKey answerKey = QuizAnswerKey.of(List.of(correct(5, 50), correct(5, 53)));
+
+        assertTrue(answerKey.isCorrect(5, 50));
+        assertTrue(answerKey.isCorrect(5, 53));
+        assertFalse(answerKey.isCorrect(5, 51));
+    }
+
+    @Test
+    void emptyKeyHasNoCorrectAnswers() {
+        QuizAnswerKey answerKey = QuizAnswerKey.of(List.of());
+
+        assertEquals(0, answerKey.size());
+        assertFalse(answerKey.isCorrect(1, 1));
+    }
+
+    /**
+     * Crea el par de opción correcta y pregunta devuelto por el repositorio.
+     * @param questionId identificador de la pregunta
+     * @param optionId identificador de la opción
+     * @return par de opción y pregunta
+     */
+    private static OptionQuestionView correct(int questionId, int optionId) {
+        return new OptionQuestionView() {
+            @Override
+            public Integer getId() {
+                return optionId;
+            }
+
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+import com.project.demo.logic.entity.answer.Answer;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica las consultas nativas y agregadas del resumen de selecciones contra H2 en modo MariaDB:
+ * la reconstrucción reemplaza los conteos en lugar de duplicarlos, las opciones eliminadas salen del resumen
+ * y las sumas por pregunta coinciden con las respuestas.
+ * Cada pregunta tiene una opción correcta y una incorrecta; tres entregas con puntajes 100, 50 y 0.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optionStats;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OptionStatRepositoryTest {
+
+    @Autowired
+    private OptionStatRepository optionStatRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Quiz quiz;
+    private Question first;
+    private Question second;
+    private Option firstCorrect;
+    private Option firstWrong;
+    private Option secondCorrect;
+    private Option secondWrong;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        User student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        entityManager.persist(student);
+
+        quiz = new Quiz();
+        quiz.setTitle("Cuestionario");
+        entityManager.persist(quiz);
+        first = question("Pregunta 1");
+        firstCorrect = option(first, "Correcta", true);
+        firstWrong = option(first, "Incorrecta", false);
+        second = question("Pregunta 2");
+        secondCorrect = option(second, "Correcta", true);
+        secondWrong = option(second, "Incorrecta", false);
+
+        submission(student, 100, firstCorrect, secondCorrect);
+        submission(student, 50, firstCorrect, secondWrong);
+        submission(student, 0, firstWrong, secondWrong);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rebuildReplacesCountsInsteadOfDuplicatingThem() {
+        assertEquals(4, optionStatRepository.rebuildByQuizId(quiz.getId()));
+        assertSelections(2, 1, 1, 2);
+
+        optionStatRepository.addSelections(List.of(firstCorrect.getId(), secondWrong.getId()), 5);
+        entityManager.clear();
+        assertSelections(7, 1, 1, 7);
+
+        optionStatRepository.rebuildByQuizId(quiz.getId());
+        entityManager.clear();
+        assertSelections(2, 1, 1, 2);
+        assertEquals(4, optionStatRepository.count());
+    }
+
+    @Test
+    void addSelectionsOnlyTouchesTheGivenOptions() {
+        optionStatRepository.rebuildByQuizId(quiz.getId());
+
+        assertEquals(1, optionStatRepository.addSelections(List.of(firstWrong.getId()), -1));
+        entityManager.clear();
+
+        assertSelections(2, 0, 1, 2);
+    }
+
+    @Test
+    void removesOptionsThatNoLongerBelongToTheQuiz() {
+        Option extra = option(first, "Nueva", false);
+        entityManager.flush();
+        optionStatRepository.rebuildByQuizId(quiz.getId());
+        assertEquals(0, optionStatRepository.deleteStaleByQuizId(quiz.getId()));
+
+        entityManager.remove(entityManager.find(Option.class, extra.getId()));
+        entityManager.flush();
+
+        assertEquals(1, optionStatRepository.deleteStaleByQuizId(quiz.getId()));
+        assertEquals(4, optionStatRepository.count());
+    }
+
+    @Test
+    void sumsItemScoresPerQuestion() {
+        List<ItemScoreView> items = optionStatRepository.findItemScoresByQuizId(quiz.getId()).stream()
+                .sorted(Comparator.comparing(ItemScoreView::getQuestionId))
+                .toList();
+
+        assertEquals(2, items.size());
+        assertItem(items.get(0), first, 2, 150);
+        assertItem(items.get(1), second, 1, 100);
+        assertEquals(0.866, QuizAnalyticsService.pointBiserial(items.get(0)), 0.001);
+    }
+
+    /**
+     * Comprueba las selecciones de cada opción, en el orden del cuestionario.
+     * @param selections selecciones esperadas por opción
+     */
+    private void assertSelections(long... selections) {
+        List<Option> options = List.of(firstCorrect, firstWrong, secondCorrect, secondWrong);
+        for (int i = 0; i < options.size(); i++) {
+            OptionStat stat = optionStatRepository.findById(options.get(i).getId()).orElseThrow();
+            assertEquals(selections[i], stat.getSelections(), options.get(i).getText() + " " + i);
+            assertEquals(quiz.getId(), stat.getQuizId());
+        }
+    }
+
+    /**
+     * Comprueba las sumas de una pregunta respondida por las tres entregas.
+     * @param item sumas de la pregunta
+     * @param question pregunta esperada
+     * @param correct aciertos esperados
+     * @param correctScoreSum suma esperada de los puntajes de quienes acertaron
+     */
+    private static void assertItem(ItemScoreView item, Question question, long correct, double correctScoreSum) {
+        assertEquals(question.getId(), item.getQuestionId());
+        assertEquals(3, item.getResponses());
+        assertEquals(correct, item.getCorrect());
+        assertEquals(correctScoreSum, item.getCorrectScoreSum(), 0.001);
+        assertEquals(150, item.getScoreSum(), 0.001);
+        assertEquals(12500, item.getScoreSquareSum(), 0.001);
+    }
+
+    /**
+     * Guarda una pregunta del cuestionario.
+     * @param text texto de la pregunta
+     * @return pregunta guardada
+     */
+    private Question question(String text) {
+        Question question = new Question();
+        question.setText(text);
+        question.setQuiz(quiz);
+        return entityManager.persist(question);
+    }
+
+    /**
+     * Guarda una opción.
+     * @param question pregunta de la opción
+     * @param text texto de la opción
+     * @param isCorrect si la opción es correcta
+     * @return opción guardada
+     */
+    private Option option(Question question, String text, boolean isCorrect) {
+        Option option = new Option();
+        option.setText(text);
+        option.setCorrect(isCorrect);
+        option.setQuestion(question);
+        return entityManager.persist(option);
+    }
+
+    /**
+     * Guarda una entrega calificada con una respuesta por pregunta.
+     * @param student estudiante
+     * @param score puntaje de la entrega
+     * @param firstAnswer opción elegida en la primera pregunta
+     * @param secondAnswer opción elegida en la segunda pregunta
+     */
+    private void submission(User student, double score, Option firstAnswer, Option secondAnswer) {
+        Submission submission = new Submission();
+        submission.setQuiz(quiz);
+        submission.setStudent(student);
+        submission.setSubmittedAt(LocalDateTime.now());
+        submission.setScore(score);
+        entityManager.persist(submission);
+        answer(submission, first, firstAnswer);
+        answer(submission, second, secondAnswer);
+    }
+
+    /**
+     * Guarda una respuesta.
+     * @param submission entrega
+     * @param question pregunta respondida
+     * @param option opción elegida
+     */
+    private void answer(Submission submission, Question question, Option option) {
+        Answer answer = new Answer();
+        answer.setSubmission(submission);
+        answer.setQuestion(question);
+        answer.setSelectedOption(option);
+        entityManager.persist(answer);
+    }
+}
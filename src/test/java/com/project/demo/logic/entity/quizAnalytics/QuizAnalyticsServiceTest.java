@@ -0,0 +1,139 @@
+package com.project.demo.logic.entity.quizAnalytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la reconstrucción perezosa del resumen y el cálculo de los índices de cada pregunta.
+ */
+class QuizAnalyticsServiceTest {
+
+    private final OptionStatRepository optionStatRepository = mock(OptionStatRepository.class);
+
+    private QuizAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new QuizAnalyticsService(optionStatRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(analyticsService, "discriminationTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(analyticsService, "discriminationMaxSize", 10L);
+        ReflectionTestUtils.setField(analyticsService, "reconcileInterval", Duration.ofHours(1));
+        analyticsService.init();
+    }
+
+    @Test
+    void rebuildsSummaryOnlyWhenMissing() {
+        when(optionStatRepository.existsByQuizId(1)).thenReturn(false, true);
+
+        analyticsService.getOptionStats(1);
+        analyticsService.getOptionStats(1);
+
+        verify(optionStatRepository, times(1)).rebuildByQuizId(1);
+        verify(optionStatRepository, times(2)).findViewsByQuizId(1);
+    }
+
+    @Test
+    void reconcilesSummaryAfterTheInterval() {
+        ReflectionTestUtils.setField(analyticsService, "reconcileInterval", Duration.ZERO);
+        analyticsService.init();
+        when(optionStatRepository.existsByQuizId(1)).thenReturn(true);
+
+        analyticsService.getOptionStats(1);
+        analyticsService.getOptionStats(1);
+
+        verify(optionStatRepository, times(2)).rebuildByQuizId(1);
+        verify(optionStatRepository, times(2)).deleteStaleByQuizId(1);
+    }
+
+    @Test
+    void cachesDiscriminationUntilInvalidated() {
+        when(optionStatRepository.findItemScoresByQuizId(anyInt()))
+                .thenReturn(List.of(item(1, 3, 2, 150, 150, 12500)));
+
+        assertEquals(0.866, analyticsService.getDiscrimination(1).get(1), 0.001);
+        analyticsService.getDiscrimination(1);
+        verify(optionStatRepository, times(1)).findItemScoresByQuizId(1);
+
+        analyticsService.invalidate(1);
+        analyticsService.getDiscrimination(1);
+        verify(optionStatRepository, times(2)).findItemScoresByQuizId(1);
+        verify(optionStatRepository).deleteByQuizId(1);
+    }
+
+    @Test
+    void unchangedSelectionDoesNotTouchSummary() {
+        analyticsService.recordChanged(10, 10);
+        analyticsService.recordSelected(List.of());
+
+        verify(optionStatRepository, never()).addSelections(any(), anyLong());
+    }
+
+    @Test
+    void indicesAreUndefinedWithoutVariation() {
+        assertNull(QuizAnalyticsService.difficulty(0, 0));
+        assertEquals(0.5, QuizAnalyticsService.difficulty(1, 2));
+        assertNull(QuizAnalyticsService.pointBiserial(item(1, 3, 3, 150, 150, 12500)));
+        assertNull(QuizAnalyticsService.pointBiserial(item(1, 2, 1, 50, 100, 5000)));
+    }
+
+    /**
+     * Crea las sumas de una pregunta devueltas por la consulta agregada.
+     * @param questionId identificador de la pregunta
+     * @param responses respuestas
+     * @param correct respuestas correctas
+     * @param correctScoreSum suma de puntajes de quienes acertaron
+     * @param scoreSum suma de puntajes
+     * @param scoreSquareSum suma de cuadrados de puntajes
+     * @return sumas de la pregunta
+     */
+    private static ItemScoreView item(int questionId, long responses, long correct,
+                                      double correctScoreSum, double scoreSum, double scoreSquareSum) {
+        return new ItemScoreView() {
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public long getResponses() {
+                return responses;
+            }
+
+            @Override
+            public long getCorrect() {
+                return correct;
+            }
+
+            @Override
+            public double getCorrectScoreSum() {
+                return correctScoreSum;
+            }
+
+            @Override
+            public double getScoreSum() {
+                return scoreSum;
+            }
+
+            @Override
+            public double getScoreSquareSum() {
+                return scoreSquareSum;
+            }
+        };
+    }
+}
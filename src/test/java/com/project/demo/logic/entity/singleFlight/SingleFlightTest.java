@@ -0,0 +1,113 @@
+package com.project.demo.logic.entity.singleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifica el agrupamiento de llamadas concurrentes y la semántica de errores y cancelación.
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("historia", () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "audio";
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("historia", () -> {
+            executions.incrementAndGet();
+            return "duplicado";
+        }));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        assertEquals("audio", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("audio", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("result", "issued").counter().count());
+    }
+
+    @Test
+    void failureIsSharedWithWaitingCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("historia", () -> {
+            release.await();
+            throw new IOException("servicio no disponible");
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("historia", () -> "duplicado"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, leaderError.getCause());
+        assertInstanceOf(IOException.class, followerError.getCause());
+    }
+
+    @Test
+    void followerRetriesWhenLeaderIsCancelled() throws Exception {
+        Future<String> leader = executor.submit(() -> singleFlight.execute("historia", () -> {
+            new CountDownLatch(1).await();
+            return "nunca";
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("historia", () -> "reintento"));
+        awaitCount("coalesced", 1);
+        leader.cancel(true);
+
+        assertEquals("reintento", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2.0, meterRegistry.get("singleflight.calls").tag("result", "issued").counter().count());
+    }
+
+    /**
+     * Espera a que haya una llamada en curso.
+     * @throws InterruptedException si el hilo es interrumpido
+     */
+    private void awaitInFlight() throws InterruptedException {
+        while (meterRegistry.get("singleflight.in_flight").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Espera a que el contador de llamadas alcance el valor dado.
+     * @param result etiqueta del resultado
+     * @param count valor esperado
+     * @throws InterruptedException si el hilo es interrumpido
+     */
+    private void awaitCount(String result, double count) throws InterruptedException {
+        while (meterRegistry.get("singleflight.calls").tag("result", result).counter().count() < count) {
+            Thread.sleep(1);
+        }
+    }
+}
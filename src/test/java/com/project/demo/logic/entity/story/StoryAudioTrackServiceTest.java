@@ -0,0 +1,179 @@
+package com.project.demo.logic.entity.story;
+
+import com.project.demo.logic.entity.audioTrack.AudioTrack;
+import com.project.demo.logic.entity.audioTrack.AudioTrackRepository;
+import com.project.demo.logic.entity.audioTrack.GoogleCloudTTSService;
+import com.project.demo.logic.entity.audioTrack.VoiceTypeEnum;
+import com.project.demo.logic.entity.cloudinary.CloudinaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que las voces se procesen en paralelo, que un fallo no deje archivos huérfanos en Cloudinary
+ * y que el audio con el mismo hash de contenido se reutilice en lugar de volver a sintetizarlo.
+ */
+class StoryAudioTrackServiceTest {
+
+    private final GoogleCloudTTSService ttsService = mock(GoogleCloudTTSService.class);
+    private final CloudinaryService cloudinaryService = mock(CloudinaryService.class);
+    private final AudioTrackRepository audioTrackRepository = mock(AudioTrackRepository.class);
+
+    private StoryAudioTrackService service;
+    private Story story;
+
+    @BeforeEach
+    void setUp() {
+        service = new StoryAudioTrackService();
+        ReflectionTestUtils.setField(service, "googleCloudTTSService", ttsService);
+        ReflectionTestUtils.setField(service, "cloudinaryService", cloudinaryService);
+        ReflectionTestUtils.setField(service, "audioTrackRepository", audioTrackRepository);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxConcurrent", 8);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofSeconds(10));
+        service.init();
+
+        story = new Story();
+        story.setId(7);
+        story.setTitle("La Campaña Nacional");
+        story.setContent("En 1856 Costa Rica enfrentó a los filibusteros.");
+        when(ttsService.contentHash(anyString(), any()))
+                .thenAnswer(invocation -> "hash-" + invocation.getArgument(1).toString().toLowerCase());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void synthesizesBothVoicesConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(ttsService.convertTextToMp3File(anyString(), any())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Las voces no se procesaron en paralelo");
+            }
+            return tempAudio();
+        });
+        when(cloudinaryService.uploadAudio(any(Path.class), anyString()))
+                .thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(1));
+
+        service.generateAndSaveAudioTracksForStory(story);
+
+        verify(audioTrackRepository, times(2)).save(any(AudioTrack.class));
+        verify(cloudinaryService).uploadAudio(any(Path.class), eq("audio_hash-male.mp3"));
+        verify(cloudinaryService).uploadAudio(any(Path.class), eq("audio_hash-female.mp3"));
+    }
+
+    @Test
+    void removesUploadedVoiceWhenOtherVoiceFails() throws Exception {
+        CountDownLatch maleUploaded = new CountDownLatch(1);
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.MALE))).thenAnswer(invocation -> tempAudio());
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.FEMALE))).thenAnswer(invocation -> {
+            maleUploaded.await(5, TimeUnit.SECONDS);
+            throw new IOException("TTS no disponible");
+        });
+        when(cloudinaryService.uploadAudio(any(Path.class), eq("audio_hash-male.mp3"))).thenAnswer(invocation -> {
+            maleUploaded.countDown();
+            return "https://cdn/audio_hash-male.mp3";
+        });
+
+        IOException error = assertThrows(IOException.class, () -> service.generateAndSaveAudioTracksForStory(story));
+
+        assertEquals("TTS no disponible", error.getMessage());
+        verify(cloudinaryService).deleteAudio("audio_hash-male.mp3");
+        verify(audioTrackRepository, never()).save(any(AudioTrack.class));
+    }
+
+    @Test
+    void reusesTracksWhoseContentDidNotChange() throws Exception {
+        AudioTrack maleTrack = new AudioTrack();
+        maleTrack.setVoiceType(VoiceTypeEnum.MALE);
+        maleTrack.setUrl("https://cdn/audio_hash-male.mp3");
+        maleTrack.setContentHash("hash-male");
+        when(audioTrackRepository.findByStoryAndVoiceType(story, VoiceTypeEnum.MALE)).thenReturn(maleTrack);
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.FEMALE))).thenAnswer(invocation -> tempAudio());
+        when(cloudinaryService.uploadAudio(any(Path.class), eq("audio_hash-female.mp3"))).thenReturn("https://cdn/audio_hash-female.mp3");
+
+        service.updateAudioTracksForStory(story);
+
+        verify(ttsService, never()).convertTextToMp3File(anyString(), eq(VoiceTypeEnum.MALE));
+        verify(ttsService).convertTextToMp3File(anyString(), eq(VoiceTypeEnum.FEMALE));
+        verify(audioTrackRepository, times(2)).save(any(AudioTrack.class));
+        assertEquals("https://cdn/audio_hash-male.mp3", maleTrack.getUrl());
+    }
+
+    @Test
+    void reusesAudioWithTheSameHashFromAnotherStory() throws Exception {
+        AudioTrack otherStoryTrack = new AudioTrack();
+        otherStoryTrack.setVoiceType(VoiceTypeEnum.FEMALE);
+        otherStoryTrack.setUrl("https://cdn/audio_hash-female.mp3");
+        otherStoryTrack.setContentHash("hash-female");
+        otherStoryTrack.setSynthesisMillis(1200L);
+        when(audioTrackRepository.findFirstByContentHashAndUrlNotNull("hash-female")).thenReturn(otherStoryTrack);
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.MALE))).thenAnswer(invocation -> tempAudio());
+        when(cloudinaryService.uploadAudio(any(Path.class), eq("audio_hash-male.mp3"))).thenReturn("https://cdn/audio_hash-male.mp3");
+        ArgumentCaptor<AudioTrack> saved = ArgumentCaptor.forClass(AudioTrack.class);
+
+        service.generateAndSaveAudioTracksForStory(story);
+
+        verify(ttsService, never()).convertTextToMp3File(anyString(), eq(VoiceTypeEnum.FEMALE));
+        verify(audioTrackRepository, times(2)).save(saved.capture());
+        AudioTrack female = saved.getAllValues().stream()
+                .filter(track -> track.getVoiceType() == VoiceTypeEnum.FEMALE).findFirst().orElseThrow();
+        assertEquals("https://cdn/audio_hash-female.mp3", female.getUrl());
+        assertEquals("hash-female", female.getContentHash());
+        assertEquals(story, female.getStory());
+    }
+
+    @Test
+    void keepsUploadedAudioThatAnotherTrackAlreadyUses() throws Exception {
+        CountDownLatch maleUploaded = new CountDownLatch(1);
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.MALE))).thenAnswer(invocation -> tempAudio());
+        when(ttsService.convertTextToMp3File(anyString(), eq(VoiceTypeEnum.FEMALE))).thenAnswer(invocation -> {
+            maleUploaded.await(5, TimeUnit.SECONDS);
+            throw new IOException("TTS no disponible");
+        });
+        when(cloudinaryService.uploadAudio(any(Path.class), eq("audio_hash-male.mp3"))).thenAnswer(invocation -> {
+            maleUploaded.countDown();
+            return "https://cdn/audio_hash-male.mp3";
+        });
+        when(audioTrackRepository.existsByContentHash("hash-male")).thenReturn(true);
+
+        assertThrows(IOException.class, () -> service.generateAndSaveAudioTracksForStory(story));
+
+        verify(cloudinaryService).uploadAudio(any(Path.class), eq("audio_hash-male.mp3"));
+        verify(cloudinaryService, never()).deleteAudio(anyString());
+    }
+
+    /**
+     * Crea un archivo de audio temporal como el que produce el servicio de TTS.
+     * @return ruta del archivo
+     * @throws IOException si no se puede crear el archivo
+     */
+    private static Path tempAudio() throws IOException {
+        return Files.write(Files.createTempFile("tts-test-", ".mp3"), new byte[]{1});
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.demo.logic.entity.submission;
+
+import com.project.demo.logic.entity.answer.Answer;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que la calificación por lotes en SQL dé los mismos totales y puntajes que SubmissionScoringService
+ * y que conserve el puntaje asignado por el docente.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:backfill;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "submissions.score-backfill.batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SubmissionScoreBackfill.class)
+class SubmissionScoreBackfillTest {
+
+    @Autowired
+    private SubmissionScoreBackfill backfill;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Quiz quiz;
+    private User student;
+    private Option[] correct;
+    private Option[] wrong;
+    private Question[] questions;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        entityManager.persist(student);
+
+        quiz = new Quiz();
+        quiz.setTitle("Cuestionario");
+        entityManager.persist(quiz);
+        questions = new Question[3];
+        correct = new Option[3];
+        wrong = new Option[3];
+        for (int i = 0; i < 3; i++) {
+            questions[i] = new Question();
+            questions[i].setText("Pregunta " + i);
+            questions[i].setQuiz(quiz);
+            entityManager.persist(questions[i]);
+            correct[i] = option(questions[i], true);
+            wrong[i] = option(questions[i], false);
+        }
+    }
+
+    @Test
+    void scoresUnscoredSubmissionsLikeTheService() {
+        Submission partial = submission(null);
+        answer(partial, questions[0], correct[0]);
+        answer(partial, questions[1], wrong[1]);
+        answer(partial, questions[2], correct[1]);
+        Submission overridden = submission(95.0);
+        answer(overridden, questions[0], wrong[0]);
+        Submission empty = submission(null);
+        Submission alreadyScored = submission(null);
+        alreadyScored.setCorrectCount(0);
+        alreadyScored.setAnswerCount(0);
+        alreadyScored.setScore(42.0);
+        entityManager.flush();
+
+        assertEquals(3, backfill.backfill());
+        entityManager.clear();
+
+        Submission scored = entityManager.find(Submission.class, partial.getId());
+        assertEquals(3, scored.getAnswerCount());
+        assertEquals(1, scored.getCorrectCount());
+        assertEquals(1 * 100.0 / 3, scored.getScore());
+        scored = entityManager.find(Submission.class, overridden.getId());
+        assertEquals(1, scored.getAnswerCount());
+        assertEquals(0, scored.getCorrectCount());
+        assertEquals(95.0, scored.getScore());
+        scored = entityManager.find(Submission.class, empty.getId());
+        assertEquals(0, scored.getAnswerCount());
+        assertEquals(0.0, scored.getScore());
+        assertEquals(42.0, entityManager.find(Submission.class, alreadyScored.getId()).getScore());
+        assertEquals(0, backfill.backfill());
+    }
+
+    /**
+     * Guarda una opción.
+     * @param question pregunta de la opción
+     * @param isCorrect si la opción es correcta
+     * @return opción guardada
+     */
+    private Option option(Question question, boolean isCorrect) {
+        Option option = new Option();
+        option.setText(isCorrect ? "Correcta" : "Incorrecta");
+        option.setCorrect(isCorrect);
+        option.setQuestion(question);
+        return entityManager.persist(option);
+    }
+
+    /**
+     * Guarda una entrega sin calificar.
+     * @param manualScore puntaje asignado por el docente, o null
+     * @return entrega guardada
+     */
+    private Submission submission(Double manualScore) {
+        Submission submission = new Submission();
+        submission.setQuiz(quiz);
+        submission.setStudent(student);
+        submission.setSubmittedAt(LocalDateTime.now());
+        submission.setManualScore(manualScore);
+        return entityManager.persist(submission);
+    }
+
+    /**
+     * Guarda una respuesta.
+     * @param submission entrega
+     * @param question pregunta respondida
+     * @param option opción elegida
+     */
+    private void answer(Submission submission, Question question, Option option) {
+        Answer answer = new Answer();
+        answer.setSubmission(submission);
+        answer.setQuestion(question);
+        answer.setSelectedOption(option);
+        entityManager.persist(answer);
+    }
+}
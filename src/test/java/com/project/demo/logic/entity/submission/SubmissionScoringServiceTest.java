@@ -0,0 +1,133 @@
+package com.project.demo.logic.entity.submission;
+
+import com.project.demo.logic.entity.answer.AnswerRepository;
+import com.project.demo.logic.entity.answer.AnswerSelectionView;
+import com.project.demo.logic.entity.option.OptionQuestionView;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKey;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que la calificación use la clave de respuestas del cuestionario y guarde el puntaje y los totales.
+ * Cada pregunta {@code q} tiene como opción correcta {@code q * 10}.
+ */
+class SubmissionScoringServiceTest {
+
+    private final AnswerRepository answerRepository = mock(AnswerRepository.class);
+    private final SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+    private final QuizAnswerKeyCache answerKeyCache = mock(QuizAnswerKeyCache.class);
+
+    private SubmissionScoringService scoringService;
+    private Submission submission;
+
+    @BeforeEach
+    void setUp() {
+        scoringService = new SubmissionScoringService();
+        ReflectionTestUtils.setField(scoringService, "answerRepository", answerRepository);
+        ReflectionTestUtils.setField(scoringService, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(scoringService, "answerKeyCache", answerKeyCache);
+
+        Quiz quiz = new Quiz();
+        quiz.setId(3);
+        submission = new Submission();
+        submission.setId(7);
+        submission.setQuiz(quiz);
+        when(answerKeyCache.get(3)).thenReturn(answerKey(8));
+        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void storesScoreAndCounts() {
+        List<AnswerSelectionView> selections = new ArrayList<>();
+        for (int q = 1; q <= 8; q++) {
+            selections.add(selection(q, q <= 6 ? q * 10 : q * 10 + 1));
+        }
+        when(answerRepository.findSelectionsBySubmissionId(7)).thenReturn(selections);
+
+        Submission scored = scoringService.score(submission);
+
+        assertEquals(8, scored.getAnswerCount());
+        assertEquals(6, scored.getCorrectCount());
+        assertEquals(75.0, scored.getScore());
+        verify(submissionRepository).save(submission);
+    }
+
+    @Test
+    void keepsTheTeacherScore() {
+        submission.setManualScore(90.0);
+        when(answerRepository.findSelectionsBySubmissionId(7)).thenReturn(List.of(selection(1, 11), selection(2, 20)));
+
+        Submission scored = scoringService.score(submission);
+
+        assertEquals(2, scored.getAnswerCount());
+        assertEquals(1, scored.getCorrectCount());
+        assertEquals(90.0, scored.getScore());
+    }
+
+    @Test
+    void scoresZeroWithoutAnswers() {
+        when(answerRepository.findSelectionsBySubmissionId(7)).thenReturn(List.of());
+
+        Submission scored = scoringService.score(submission);
+
+        assertEquals(0, scored.getAnswerCount());
+        assertEquals(0, scored.getCorrectCount());
+        assertEquals(0.0, scored.getScore());
+    }
+
+    /**
+     * Crea la clave de respuestas de un cuestionario con las preguntas 1 a {@code questions}.
+     * @param questions cantidad de preguntas
+     * @return clave de respuestas
+     */
+    private static QuizAnswerKey answerKey(int questions) {
+        List<OptionQuestionView> correctOptions = new ArrayList<>();
+        for (int q = 1; q <= questions; q++) {
+            int questionId = q;
+            correctOptions.add(new OptionQuestionView() {
+                @Override
+                public Integer getId() {
+                    return questionId * 10;
+                }
+
+                @Override
+                public Integer getQuestionId() {
+                    return questionId;
+                }
+            });
+        }
+        return QuizAnswerKey.of(correctOptions);
+    }
+
+    /**
+     * Crea el par de pregunta y opción seleccionada devuelto por el repositorio.
+     * @param questionId identificador de la pregunta
+     * @param optionId identificador de la opción seleccionada
+     * @return par de pregunta y opción
+     */
+    private static AnswerSelectionView selection(int questionId, int optionId) {
+        return new AnswerSelectionView() {
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public Integer getSelectedOptionId() {
+                return optionId;
+            }
+        };
+    }
+}
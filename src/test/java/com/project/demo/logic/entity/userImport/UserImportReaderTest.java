@@ -0,0 +1,92 @@
+package com.project.demo.logic.entity.userImport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifica la lectura incremental de archivos de importación en CSV y NDJSON.
+ */
+class UserImportReaderTest {
+
+    @Test
+    void readsCsvWithHeaderInAnyOrderAndQuotedFields() throws IOException {
+        List<UserImportRow> rows = readAll(UserImportReader.CSV,
+                "\uFEFFEmail,Name,lastname\r\n"
+                        + "ana@escuela.com,Ana,\"Pérez, Soto\"\r\n"
+                        + "\n"
+                        + "luis@escuela.com,\"Luis \"\"Lucho\"\"\",\"Mora\nRojas\"\n"
+                        + "sofia@escuela.com,Sofía\n"
+                        + "  ,  ,  ");
+
+        assertEquals(4, rows.size());
+        assertEquals("Pérez, Soto", rows.get(0).getLastname());
+        assertEquals("ana@escuela.com", rows.get(0).getEmail());
+        assertEquals("Luis \"Lucho\"", rows.get(1).getName());
+        assertEquals("Mora\nRojas", rows.get(1).getLastname());
+        assertEquals(3, rows.get(2).getRow());
+        assertNotNull(rows.get(2).getError());
+        assertNull(rows.get(3).getError());
+        assertNull(rows.get(3).getEmail());
+    }
+
+    @Test
+    void marksUnterminatedQuoteAsInvalidRow() throws IOException {
+        List<UserImportRow> rows = readAll(UserImportReader.CSV,
+                "name,email\nAna,\"ana@escuela.com\n" + "x".repeat(5000));
+
+        assertEquals(1, rows.size());
+        assertNotNull(rows.get(0).getError());
+    }
+
+    @Test
+    void readsNdjsonAndReportsMalformedLines() throws IOException {
+        List<UserImportRow> rows = readAll(UserImportReader.NDJSON + "; charset=utf-8",
+                "{\"name\":\"Ana\",\"lastname\":\"Pérez\",\"email\":\" ana@escuela.com \"}\n"
+                        + "\n"
+                        + "{\"name\":\"Luis\"\n"
+                        + "[1,2]\n"
+                        + "{\"name\":\"Sofía\",\"email\":null}");
+
+        assertEquals(4, rows.size());
+        assertEquals("ana@escuela.com", rows.get(0).getEmail());
+        assertNotNull(rows.get(1).getError());
+        assertEquals(2, rows.get(1).getRow());
+        assertNotNull(rows.get(2).getError());
+        assertEquals("Sofía", rows.get(3).getName());
+        assertNull(rows.get(3).getEmail());
+    }
+
+    @Test
+    void rejectsUnknownFormatAndMissingColumns() {
+        assertThrows(IllegalArgumentException.class, () -> readAll("application/json", "[]"));
+        assertThrows(IllegalArgumentException.class, () -> readAll(UserImportReader.CSV, "name,lastname\nAna,Pérez"));
+        assertThrows(IllegalArgumentException.class, () -> readAll(UserImportReader.CSV, ""));
+    }
+
+    /**
+     * Lee todas las filas de un archivo.
+     * @param contentType tipo de contenido del archivo
+     * @param content contenido del archivo
+     * @return filas leídas
+     * @throws IOException si falla la lectura
+     */
+    private static List<UserImportRow> readAll(String contentType, String content) throws IOException {
+        UserImportReader reader = UserImportReader.open(contentType,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        List<UserImportRow> rows = new ArrayList<>();
+        for (UserImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.demo.logic.entity.userImport;
+
+import com.project.demo.logic.entity.auth.PasswordGenerator;
+import com.project.demo.logic.entity.email.EmailDispatcher;
+import com.project.demo.logic.entity.email.EmailManager;
+import com.project.demo.logic.entity.email.EmailOutbox;
+import com.project.demo.logic.entity.email.EmailOutboxRepository;
+import com.project.demo.logic.entity.email.EmailTemplateEngine;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.school.SchoolRepository;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la importación por bloques contra la tabla de usuarios: el resultado de cada fila en el orden del archivo,
+ * los usuarios creados con contraseña cifrada y sus correos de bienvenida en la bandeja de salida.
+ * Las pruebas no corren dentro de una transacción porque cada bloque confirma la suya.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:userimport;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private final EmailDispatcher emailDispatcher = mock(EmailDispatcher.class);
+    private final EmailManager emailManager = new EmailManager();
+    private final EmailTemplateEngine templateEngine = new EmailTemplateEngine();
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private Role role;
+    private School school;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailManager, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(emailManager, "emailDispatcher", emailDispatcher);
+        ReflectionTestUtils.setField(emailManager, "templateEngine", templateEngine);
+        ReflectionTestUtils.invokeMethod(templateEngine, "init");
+
+        school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        school = schoolRepository.save(school);
+        role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        role = roleRepository.save(role);
+
+        User existing = new User();
+        existing.setName("Registrada");
+        existing.setEmail("registrada@escuela.com");
+        existing.setPassword("secreta");
+        existing.setRole(role);
+        existing.setSchool(school);
+        userRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        schoolRepository.deleteAll();
+    }
+
+    @Test
+    void importsAcrossChunksAndStreamsEachRow() throws IOException {
+        UserImportService importService = importService(userRepository);
+        StringBuilder csv = new StringBuilder("name,lastname,email\n");
+        for (int i = 0; i < 6; i++) {
+            csv.append("Estudiante").append(i).append(",Apellido,estudiante").append(i).append("@escuela.com\n");
+        }
+        csv.append("Otra,Apellido,registrada@escuela.com\n")
+                .append("Repetido,Apellido,Estudiante0@escuela.com\n")
+                .append("Sin correo,Apellido,sin-arroba\n")
+                .append(",Apellido,sin-nombre@escuela.com\n");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserImportSummary summary = importService.importUsers(reader(UserImportReader.CSV, csv.toString()), role, school, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(11, lines.length);
+        assertTrue(lines[0].contains("\"row\":1") && lines[0].contains("\"status\":\"CREATED\""));
+        assertTrue(lines[6].contains("\"status\":\"EXISTS\""));
+        assertTrue(lines[7].contains("\"status\":\"DUPLICATE\""));
+        assertTrue(lines[8].contains("\"status\":\"INVALID\""));
+        assertTrue(lines[9].contains("\"row\":10") && lines[9].contains("\"status\":\"INVALID\""));
+        assertTrue(lines[10].startsWith("{\"summary\":") && lines[10].contains("\"rowsPerSecond\""));
+
+        assertEquals(10, summary.getRows());
+        assertEquals(6, summary.getCreated());
+        assertEquals(2, summary.getSkipped());
+        assertEquals(2, summary.getFailed());
+
+        User created = userRepository.findByEmail("estudiante5@escuela.com").orElseThrow();
+        assertEquals(role.getId(), created.getRole().getId());
+        assertEquals(school.getId(), created.getSchool().getId());
+        assertTrue(created.isNeedsPasswordChange());
+        assertTrue(created.getPassword().startsWith("$2a$"));
+        assertEquals(7, userRepository.count());
+        List<EmailOutbox> welcomeEmails = outboxRepository.findAll();
+        assertEquals(6, welcomeEmails.size());
+        assertTrue(welcomeEmails.stream().allMatch(email -> email.getSubject().equals("Bienvenido a EduSmart")
+                && email.getBody().contains(email.getRecipient()) && email.getHtmlBody() != null));
+        verify(emailDispatcher, times(2)).wakeUp();
+    }
+
+    @Test
+    void isolatesRowsRejectedByTheDatabase() throws IOException {
+        UserRepository staleRepository = mock(UserRepository.class);
+        when(staleRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        UserImportService importService = importService(staleRepository);
+        String ndjson = "{\"name\":\"Ana\",\"email\":\"ana@escuela.com\"}\n"
+                + "{\"name\":\"Otra\",\"email\":\"registrada@escuela.com\"}\n"
+                + "{\"name\":\"Luis\",\"email\":\"luis@escuela.com\"}\n";
+
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = importService.importUsers(reader(UserImportReader.NDJSON, ndjson), role, school,
+                results::addAll);
+
+        assertEquals(List.of(UserImportStatus.CREATED, UserImportStatus.EXISTS, UserImportStatus.CREATED),
+                results.stream().map(UserImportResult::getStatus).toList());
+        assertEquals(2, summary.getCreated());
+        assertEquals(3, userRepository.count());
+        assertEquals(List.of("ana@escuela.com", "luis@escuela.com"),
+                outboxRepository.findAll().stream().map(EmailOutbox::getRecipient).sorted().toList());
+    }
+
+    /**
+     * Crea el servicio con bloques de cuatro filas.
+     * @param repository repositorio de usuarios a usar
+     * @return servicio inicializado
+     */
+    private UserImportService importService(UserRepository repository) {
+        UserImportService importService = new UserImportService(repository, jdbcTemplate, transactionManager,
+                passwordEncoder, new PasswordGenerator(), emailManager, templateEngine, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(importService, "loginUrl", "http://localhost/login");
+        ReflectionTestUtils.setField(importService, "chunkSize", 4);
+        ReflectionTestUtils.setField(importService, "hashThreads", 2);
+        importService.init();
+        return importService;
+    }
+
+    /**
+     * Abre un lector sobre el contenido indicado.
+     * @param contentType tipo de contenido
+     * @param content contenido del archivo
+     * @return lector de filas
+     * @throws IOException si falla la lectura del encabezado
+     */
+    private static UserImportReader reader(String contentType, String content) throws IOException {
+        return UserImportReader.open(contentType, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
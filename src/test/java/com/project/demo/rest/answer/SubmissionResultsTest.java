@@ -0,0 +1,212 @@
+package com.project.demo.rest.answer;
+
+import com.project.demo.logic.entity.answer.AnswerService;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizAnswerKeyCache;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.rest.option.OptionRestController;
+import com.project.demo.rest.submission.dto.SubmissionResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifica que los resultados de una entrega sigan a la clave de respuestas:
+ * al cambiar cuál opción es correcta, el puntaje guardado coincide con la corrección de cada respuesta.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:results;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AnswerRestController.class, OptionRestController.class, AnswerService.class, SubmissionScoringService.class,
+        QuizAnswerKeyCache.class, QuizAnalyticsService.class, SimpleMeterRegistry.class})
+class SubmissionResultsTest {
+
+    @Autowired
+    private AnswerRestController answerController;
+
+    @Autowired
+    private OptionRestController optionController;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @SpyBean
+    private QuizAnalyticsService quizAnalyticsService;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private int quizId;
+    private int submissionId;
+    private Question first;
+    private Question second;
+    private Option firstCorrect;
+    private Option secondWrong;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        User student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        entityManager.persist(student);
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Cuestionario");
+        quizId = entityManager.persist(quiz).getId();
+        first = question(quiz, "Pregunta 1");
+        firstCorrect = option(first, "Correcta", true);
+        option(first, "Incorrecta", false);
+        second = question(quiz, "Pregunta 2");
+        option(second, "Correcta", true);
+        secondWrong = option(second, "Incorrecta", false);
+
+        Submission submission = new Submission();
+        submission.setQuiz(quiz);
+        submission.setStudent(student);
+        submission.setSubmittedAt(LocalDateTime.now());
+        submissionId = entityManager.persist(submission).getId();
+        entityManager.flush();
+    }
+
+    @Test
+    void rescoresWhenTheAnswerKeyChanges() {
+        answerController.createAnswer(submissionId, first.getId(), firstCorrect.getId(), request);
+        answerController.createAnswer(submissionId, second.getId(), secondWrong.getId(), request);
+
+        SubmissionResultDto before = results();
+        assertEquals(2, before.getTotalQuestions());
+        assertEquals(1, before.getCorrectAnswers());
+        assertEquals(50.0, before.getScore());
+
+        optionController.updateOption(secondWrong.getId(), details("Incorrecta", true), request);
+
+        SubmissionResultDto after = results();
+        assertEquals(2, after.getCorrectAnswers());
+        assertEquals(100.0, after.getScore());
+        assertTrue(after.getResults().stream().allMatch(result -> result.isCorrect()));
+
+        optionController.updateOption(firstCorrect.getId(), details("Correcta", false), request);
+
+        SubmissionResultDto last = results();
+        assertEquals(1, last.getCorrectAnswers());
+        assertEquals(50.0, last.getScore());
+        assertFalse(last.getResults().get(0).isCorrect());
+    }
+
+    @Test
+    void keepsLoadedEntitiesManagedWhileRescoring() {
+        answerController.createAnswer(submissionId, first.getId(), firstCorrect.getId(), request);
+        answerController.createAnswer(submissionId, second.getId(), secondWrong.getId(), request);
+        entityManager.flush();
+        entityManager.clear();
+        Submission submission = entityManager.find(Submission.class, submissionId);
+        Option option = entityManager.find(Option.class, secondWrong.getId());
+        assertEquals(50.0, submission.getScore());
+
+        optionController.updateOption(secondWrong.getId(), details("Incorrecta", true), request);
+
+        assertTrue(entityManager.getEntityManager().contains(submission));
+        assertTrue(entityManager.getEntityManager().contains(option));
+        assertEquals(100.0, submission.getScore());
+        assertEquals(2, submission.getCorrectCount());
+    }
+
+    @Test
+    void invalidatesAnalyticsWhenOptionsChange() {
+        Option unused = option(first, "Tal vez", false);
+
+        optionController.updateOption(unused.getId(), details("Quizás", true), request);
+        optionController.deleteOption(unused.getId(), request);
+
+        verify(quizAnalyticsService, times(2)).invalidate(quizId);
+    }
+
+    /**
+     * Consulta los resultados de la entrega como lo haría el cliente.
+     * @return resultados de la entrega
+     */
+    private SubmissionResultDto results() {
+        entityManager.flush();
+        entityManager.clear();
+        ResponseEntity<?> response = answerController.getSubmissionResults(submissionId, request);
+        return (SubmissionResultDto) ((HttpResponse<?>) response.getBody()).getData();
+    }
+
+    /**
+     * Crea el cuerpo de una actualización de opción.
+     * @param text texto de la opción
+     * @param isCorrect si la opción es correcta
+     * @return datos de la opción
+     */
+    private static Option details(String text, boolean isCorrect) {
+        Option option = new Option();
+        option.setText(text);
+        option.setCorrect(isCorrect);
+        return option;
+    }
+
+    /**
+     * Guarda una pregunta.
+     * @param quiz cuestionario
+     * @param text texto de la pregunta
+     * @return pregunta guardada
+     */
+    private Question question(Quiz quiz, String text) {
+        Question question = new Question();
+        question.setText(text);
+        question.setQuiz(quiz);
+        return entityManager.persist(question);
+    }
+
+    /**
+     * Guarda una opción.
+     * @param question pregunta de la opción
+     * @param text texto de la opción
+     * @param isCorrect si la opción es correcta
+     * @return opción guardada
+     */
+    private Option option(Question question, String text, boolean isCorrect) {
+        Option option = new Option();
+        option.setText(text);
+        option.setCorrect(isCorrect);
+        option.setQuestion(question);
+        return entityManager.persist(option);
+    }
+}
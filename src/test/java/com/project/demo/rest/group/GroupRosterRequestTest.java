@@ -0,0 +1,104 @@
+package com.project.demo.rest.group;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.group.Group;
+import com.project.demo.logic.entity.group.GroupAnnouncementService;
+import com.project.demo.logic.entity.group.GroupRepository;
+import com.project.demo.logic.entity.group.GroupRosterService;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.rest.group.dto.RosterRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que reemplazar la matrícula de un grupo exija la lista de estudiantes:
+ * sin lista responde 400 y conserva a los estudiantes; una lista vacía los retira a todos.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rosterRequest;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GroupRestController.class, GroupRosterService.class})
+class GroupRosterRequestTest {
+
+    @Autowired
+    private GroupRestController groupController;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private GroupAnnouncementService groupAnnouncementService;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private long groupId;
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        Course course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        entityManager.persist(course);
+        User student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        entityManager.persist(student);
+        groupId = entityManager.persist(new Group(0, "Grupo", course, Set.of(student), student)).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rejectsMissingStudentIds() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                groupController.replaceGroupStudents(groupId, new RosterRequestDto(), request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                groupController.addStudentsToGroup(groupId, new RosterRequestDto(), request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                groupController.removeStudentsFromGroup(groupId, new RosterRequestDto(), request).getStatusCode());
+
+        assertEquals(1, groupRepository.findStudentIdsByGroupId(groupId).size());
+    }
+
+    @Test
+    void clearsRosterWithEmptyStudentIds() {
+        RosterRequestDto roster = new RosterRequestDto();
+        roster.setStudentIds(List.of());
+
+        assertEquals(HttpStatus.OK, groupController.replaceGroupStudents(groupId, roster, request).getStatusCode());
+
+        assertEquals(0, groupRepository.findStudentIdsByGroupId(groupId).size());
+    }
+}
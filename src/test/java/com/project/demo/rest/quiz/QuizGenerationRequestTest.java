@@ -0,0 +1,122 @@
+package com.project.demo.rest.quiz;
+
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.generationJob.GenerationJob;
+import com.project.demo.logic.entity.generationJob.GenerationJobService;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizService;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.story.Story;
+import com.project.demo.rest.quiz.dto.QuizGenerationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la generación de preguntas desde el controlador: si la cola está llena el quiz creado
+ * se devuelve igual, y cada trabajo solo lo consulta quien lo pidió o un super administrador.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:quizGeneration;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuizController.class, QuizService.class})
+class QuizGenerationRequestTest {
+
+    @Autowired
+    private QuizController quizController;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private GenerationJobService generationJobService;
+
+    @MockBean
+    private QuizAnalyticsService quizAnalyticsService;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void returnsTheSavedQuizWhenTheGenerationQueueIsFull() {
+        authenticate("ana@escuela.com", "TEACHER");
+        Course course = new Course();
+        course.setCode("LEN-1");
+        course.setTitle("Lectura");
+        entityManager.persist(course);
+        Story story = new Story();
+        story.setTitle("El viaje");
+        story.setContent("Había una vez");
+        story.setCourse(course);
+        entityManager.persist(story);
+        when(generationJobService.submit(any(), anyInt(), any())).thenThrow(new RejectedExecutionException());
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Comprensión de lectura");
+        quiz.setGenerateWithAI(true);
+
+        ResponseEntity<?> response = quizController.createQuiz((int) story.getId(), quiz, request);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        QuizGenerationDto dto = (QuizGenerationDto) ((HttpResponse<?>) response.getBody()).getData();
+        assertFalse(dto.isGenerationQueued());
+        assertNull(dto.getJob());
+        assertNotNull(entityManager.find(Quiz.class, dto.getQuiz().getId()));
+        verify(generationJobService).submit(any(), eq(5), eq("ana@escuela.com"));
+    }
+
+    @Test
+    void showsGenerationJobsOnlyToTheirOwnerOrSuperAdmin() {
+        GenerationJob job = new GenerationJob("job-1", 1, 5, "ana@escuela.com");
+        when(generationJobService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        authenticate("luis@escuela.com", "TEACHER");
+        assertEquals(HttpStatus.NOT_FOUND, quizController.getGenerationJob("job-1", request).getStatusCode());
+
+        authenticate("ana@escuela.com", "TEACHER");
+        assertEquals(HttpStatus.OK, quizController.getGenerationJob("job-1", request).getStatusCode());
+
+        authenticate("admin@escuela.com", "SUPER_ADMIN");
+        assertEquals(HttpStatus.OK, quizController.getGenerationJob("job-1", request).getStatusCode());
+    }
+
+    /**
+     * Autentica un usuario con el rol indicado en el contexto de seguridad.
+     * @param email correo del usuario
+     * @param role nombre del rol
+     */
+    private static void authenticate(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+}
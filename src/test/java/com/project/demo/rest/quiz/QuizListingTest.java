@@ -0,0 +1,118 @@
+package com.project.demo.rest.quiz;
+
+import com.project.demo.logic.entity.generationJob.GenerationJobService;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quiz.QuizService;
+import com.project.demo.logic.entity.quiz.QuizSummaryView;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica el listado de quizzes: la paginación por número calcula totales,
+ * la paginación por llave continúa desde el cursor y los parámetros no positivos responden 400.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:quizListing;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuizController.class, QuizService.class})
+class QuizListingTest {
+
+    @Autowired
+    private QuizController quizController;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private GenerationJobService generationJobService;
+
+    @MockBean
+    private QuizAnalyticsService quizAnalyticsService;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final List<Integer> quizIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Cuestionario " + i);
+            quizIds.add(entityManager.persist(quiz).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesQuizzesWithTotals() {
+        ResponseEntity<?> response = quizController.getAllQuizzes(1, 2, null, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(quizIds.subList(0, 2), quizIds(response));
+        Meta meta = meta(response);
+        assertEquals(3, meta.getTotalElements());
+        assertEquals(2, meta.getTotalPages());
+        assertEquals(1, meta.getPageNumber());
+    }
+
+    @Test
+    void continuesQuizzesFromTheCursor() {
+        ResponseEntity<?> firstPage = quizController.getAllQuizzes(1, 2, 0, request);
+
+        assertEquals(quizIds.subList(0, 2), quizIds(firstPage));
+        Long cursor = meta(firstPage).getNextCursor();
+        assertEquals(quizIds.get(1).longValue(), cursor);
+
+        ResponseEntity<?> lastPage = quizController.getAllQuizzes(1, 2, cursor.intValue(), request);
+
+        assertEquals(List.of(quizIds.get(2)), quizIds(lastPage));
+        assertNull(meta(lastPage).getNextCursor());
+    }
+
+    @Test
+    void rejectsNonPositivePageOrSize() {
+        assertEquals(HttpStatus.BAD_REQUEST, quizController.getAllQuizzes(0, 10, null, request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, quizController.getAllQuizzes(1, 0, null, request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, quizController.getAllQuizzes(1, 0, 0, request).getStatusCode());
+    }
+
+    /**
+     * Extrae los identificadores de los quizzes de una respuesta.
+     * @param response respuesta del controlador
+     * @return identificadores en el orden devuelto
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Integer> quizIds(ResponseEntity<?> response) {
+        List<QuizSummaryView> quizzes = (List<QuizSummaryView>) ((HttpResponse<?>) response.getBody()).getData();
+        return quizzes.stream().map(QuizSummaryView::getId).toList();
+    }
+
+    /**
+     * Obtiene los metadatos de una respuesta.
+     * @param response respuesta del controlador
+     * @return metadatos de paginación
+     */
+    private static Meta meta(ResponseEntity<?> response) {
+        return ((HttpResponse<?>) response.getBody()).getMeta();
+    }
+}
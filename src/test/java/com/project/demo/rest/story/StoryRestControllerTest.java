@@ -0,0 +1,246 @@
+package com.project.demo.rest.story;
+
+import com.project.demo.logic.entity.audioTrack.AudioTrack;
+import com.project.demo.logic.entity.audioTrack.AudioTrackRepository;
+import com.project.demo.logic.entity.audioTrack.GoogleCloudTTSService;
+import com.project.demo.logic.entity.audioTrack.VoiceTypeEnum;
+import com.project.demo.logic.entity.cloudinary.CloudinaryService;
+import com.project.demo.logic.entity.course.Course;
+import com.project.demo.logic.entity.http.ConditionalRequestHandler;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.story.Story;
+import com.project.demo.logic.entity.story.StoryAudioTrackService;
+import com.project.demo.logic.entity.story.StoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica con las estadísticas de Hibernate que el contenido de una historia solo se lee cuando se pide,
+ * y que actualizar una historia conserva el contenido omitido, renueva los títulos de sus pistas
+ * y solo vuelve a sintetizar el audio si el contenido cambió.
+ * Usa H2 en modo MariaDB con la síntesis de voz y Cloudinary simulados.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stories;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StoryRestController.class, StoryAudioTrackService.class, ConditionalRequestHandler.class, SimpleMeterRegistry.class})
+class StoryRestControllerTest {
+
+    private static final String CONTENT = "Había una vez un número primo.";
+
+    @Autowired
+    private StoryRestController storyController;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private AudioTrackRepository audioTrackRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private GoogleCloudTTSService ttsService;
+
+    @MockBean
+    private CloudinaryService cloudinaryService;
+
+    private Statistics statistics;
+    private Course course;
+    private long storyId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        course = new Course();
+        course.setCode("C1");
+        course.setTitle("Curso");
+        entityManager.persist(course);
+        Story story = new Story();
+        story.setTitle("Historia");
+        story.setContent(CONTENT);
+        story.setCourse(course);
+        storyId = entityManager.persist(story).getId();
+        when(ttsService.contentHash(anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1) + ":" + invocation.getArgument(0));
+        when(ttsService.convertTextToMp3File(anyString(), any()))
+                .thenAnswer(invocation -> Files.createTempFile("story-audio-", ".mp3"));
+        when(cloudinaryService.uploadAudio(any(Path.class), anyString()))
+                .thenAnswer(invocation -> "https://cdn/nuevo/" + invocation.getArgument(1));
+        for (VoiceTypeEnum voiceType : List.of(VoiceTypeEnum.MALE, VoiceTypeEnum.FEMALE)) {
+            AudioTrack track = new AudioTrack();
+            track.setTitle("Historia");
+            track.setVoiceType(voiceType);
+            track.setStory(story);
+            track.setUrl("https://cdn/" + voiceType);
+            track.setContentHash(ttsService.contentHash(CONTENT, voiceType));
+            entityManager.persist(track);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void contentEndpointReadsOnlyTheContent() {
+        ResponseEntity<?> response = storyController.getStoryContent(storyId, new MockHttpServletRequest());
+
+        assertEquals(CONTENT, ((HttpResponse<?>) response.getBody()).getData());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeaders().getETag());
+        ResponseEntity<?> notModified = storyController.getStoryContent(storyId, conditional);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadingAStoryLeavesContentUnread() {
+        assumeTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Story.class),
+                "El contenido solo es perezoso con las clases mejoradas por el plugin de Hibernate");
+
+        Story story = storyRepository.findById(storyId).orElseThrow();
+
+        assertFalse(Hibernate.isPropertyInitialized(story, "content"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(CONTENT, story.getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateWithoutContentKeepsContentAndAudio() throws Exception {
+        storyController.updateStory(storyId, details("Nuevo título", null), new MockHttpServletRequest());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(CONTENT, storyRepository.findContentById(storyId).orElseThrow());
+        assertEquals("Nuevo título", storyRepository.findById(storyId).orElseThrow().getTitle());
+        assertTracks("Nuevo título", "https://cdn/");
+        verify(ttsService, never()).convertTextToMp3File(anyString(), any());
+    }
+
+    @Test
+    void updateWithSameContentRenamesTracksWithoutSynthesis() throws Exception {
+        storyController.updateStory(storyId, details("Otro título", CONTENT), new MockHttpServletRequest());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTracks("Otro título", "https://cdn/");
+        verify(ttsService, never()).convertTextToMp3File(anyString(), any());
+    }
+
+    @Test
+    void updateWithNewContentRegeneratesAudio() throws Exception {
+        storyController.updateStory(storyId, details("Historia", "Otro contenido."), new MockHttpServletRequest());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("Otro contenido.", storyRepository.findContentById(storyId).orElseThrow());
+        assertTracks("Historia", "https://cdn/nuevo/");
+        verify(ttsService, times(2)).convertTextToMp3File(anyString(), any());
+    }
+
+    @Test
+    void updateReusesAudioOfAnotherStoryWithTheSameContent() throws Exception {
+        Story other = new Story();
+        other.setTitle("Copia");
+        other.setContent("Borrador.");
+        other.setCourse(course);
+        long otherId = entityManager.persist(other).getId();
+        entityManager.flush();
+        entityManager.clear();
+        double skippedBefore = skippedCharacters();
+
+        storyController.updateStory(otherId, details("Copia", CONTENT), new MockHttpServletRequest());
+        entityManager.flush();
+        entityManager.clear();
+
+        Story copy = storyRepository.findById(otherId).orElseThrow();
+        assertEquals("https://cdn/MALE", audioTrackRepository.findByStoryAndVoiceType(copy, VoiceTypeEnum.MALE).getUrl());
+        assertEquals("https://cdn/FEMALE", audioTrackRepository.findByStoryAndVoiceType(copy, VoiceTypeEnum.FEMALE).getUrl());
+        verify(ttsService, never()).convertTextToMp3File(anyString(), any());
+        assertEquals(2.0 * CONTENT.length(), skippedCharacters() - skippedBefore);
+    }
+
+    /**
+     * Lee los caracteres cuya síntesis se evitó al reutilizar audio.
+     * @return caracteres acumulados en la métrica
+     */
+    private double skippedCharacters() {
+        return meterRegistry.get("story.audio.skipped.characters").counter().count();
+    }
+
+    /**
+     * Verifica el título y la URL de las dos pistas de la historia.
+     * @param title título esperado de la historia
+     * @param urlPrefix prefijo esperado de la URL del audio
+     */
+    private void assertTracks(String title, String urlPrefix) {
+        Story story = storyRepository.findById(storyId).orElseThrow();
+        AudioTrack male = audioTrackRepository.findByStoryAndVoiceType(story, VoiceTypeEnum.MALE);
+        AudioTrack female = audioTrackRepository.findByStoryAndVoiceType(story, VoiceTypeEnum.FEMALE);
+        assertEquals(title + " (Masculino)", male.getTitle());
+        assertEquals(title + " (Femenino)", female.getTitle());
+        assertTrue(male.getUrl().startsWith(urlPrefix), male.getUrl());
+        assertTrue(female.getUrl().startsWith(urlPrefix), female.getUrl());
+    }
+
+    /**
+     * Crea el cuerpo de una actualización de historia.
+     * @param title título
+     * @param content contenido; null para no cambiarlo
+     * @return datos de la historia
+     */
+    private Story details(String title, String content) {
+        Story story = new Story();
+        story.setTitle(title);
+        story.setContent(content);
+        story.setCourse(course);
+        return story;
+    }
+}
@@ -0,0 +1,210 @@
+package com.project.demo.rest.submission;
+
+import com.project.demo.logic.entity.answer.Answer;
+import com.project.demo.logic.entity.answer.AnswerService;
+import com.project.demo.logic.entity.answer.AnswerSummaryView;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.option.Option;
+import com.project.demo.logic.entity.question.Question;
+import com.project.demo.logic.entity.quiz.Quiz;
+import com.project.demo.logic.entity.quizAnalytics.QuizAnalyticsService;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.school.School;
+import com.project.demo.logic.entity.submission.Submission;
+import com.project.demo.logic.entity.submission.SubmissionScoringService;
+import com.project.demo.logic.entity.submission.SubmissionSummaryView;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.rest.answer.AnswerRestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica los listados paginados de entregas y respuestas: la paginación por número calcula totales,
+ * la paginación por llave continúa desde el cursor y los parámetros no positivos responden 400.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:submissionListing;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,OPTION"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SubmissionRestController.class, AnswerRestController.class})
+class SubmissionListingTest {
+
+    @Autowired
+    private SubmissionRestController submissionController;
+
+    @Autowired
+    private AnswerRestController answerController;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private QuizAnalyticsService quizAnalyticsService;
+
+    @MockBean
+    private AnswerService answerService;
+
+    @MockBean
+    private SubmissionScoringService submissionScoringService;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private int quizId;
+    private long studentId;
+    private final List<Integer> submissionIds = new ArrayList<>();
+    private final List<Long> answerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        School school = new School();
+        school.setName("Escuela");
+        school.setDomain("escuela.com");
+        entityManager.persist(school);
+        Role role = new Role();
+        role.setName(RoleEnum.STUDENT);
+        role.setDescription("Estudiante");
+        entityManager.persist(role);
+        User student = new User();
+        student.setName("Ana");
+        student.setLastname("Mora");
+        student.setEmail("ana@escuela.com");
+        student.setPassword("secreta");
+        student.setRole(role);
+        student.setSchool(school);
+        studentId = entityManager.persist(student).getId();
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Cuestionario");
+        quizId = entityManager.persist(quiz).getId();
+        for (int i = 0; i < 3; i++) {
+            Submission submission = new Submission();
+            submission.setQuiz(quiz);
+            submission.setStudent(student);
+            submission.setSubmittedAt(LocalDateTime.now());
+            submissionIds.add(entityManager.persist(submission).getId());
+        }
+
+        Submission first = entityManager.find(Submission.class, submissionIds.get(0));
+        for (int i = 0; i < 3; i++) {
+            Question question = new Question();
+            question.setText("Pregunta " + i);
+            question.setQuiz(quiz);
+            entityManager.persist(question);
+            Option option = new Option();
+            option.setText("Opción " + i);
+            option.setCorrect(true);
+            option.setQuestion(question);
+            entityManager.persist(option);
+            Answer answer = new Answer();
+            answer.setSubmission(first);
+            answer.setQuestion(question);
+            answer.setSelectedOption(option);
+            answerIds.add(entityManager.persist(answer).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesSubmissionsByQuizWithTotals() {
+        ResponseEntity<?> response = submissionController.getSubmissionsByQuiz(quizId, 2, 2, null, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(submissionIds.get(2)), submissionIds(response));
+        Meta meta = meta(response);
+        assertEquals(3, meta.getTotalElements());
+        assertEquals(2, meta.getTotalPages());
+        assertEquals(2, meta.getPageNumber());
+        assertEquals(2, meta.getPageSize());
+    }
+
+    @Test
+    void continuesSubmissionsByStudentFromTheCursor() {
+        ResponseEntity<?> firstPage = submissionController.getSubmissionsByStudent(studentId, 1, 2, 0, request);
+
+        assertEquals(submissionIds.subList(0, 2), submissionIds(firstPage));
+        Long cursor = meta(firstPage).getNextCursor();
+        assertEquals(submissionIds.get(1).longValue(), cursor);
+
+        ResponseEntity<?> lastPage = submissionController.getSubmissionsByStudent(studentId, 1, 2,
+                cursor.intValue(), request);
+
+        assertEquals(List.of(submissionIds.get(2)), submissionIds(lastPage));
+        assertNull(meta(lastPage).getNextCursor());
+    }
+
+    @Test
+    void pagesAndContinuesAnswersBySubmission() {
+        int submissionId = submissionIds.get(0);
+        ResponseEntity<?> paged = answerController.getAnswersBySubmission(submissionId, 1, 2, null, request);
+
+        assertEquals(answerIds.subList(0, 2), answerIds(paged));
+        assertEquals(3, meta(paged).getTotalElements());
+
+        ResponseEntity<?> keyset = answerController.getAnswersBySubmission(submissionId, 1, 2, answerIds.get(1), request);
+
+        assertEquals(List.of(answerIds.get(2)), answerIds(keyset));
+        assertNull(meta(keyset).getNextCursor());
+    }
+
+    @Test
+    void rejectsNonPositivePageOrSize() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                submissionController.getSubmissionsByQuiz(quizId, 0, 10, null, request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                submissionController.getSubmissionsByQuiz(quizId, 1, 0, 0, request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                submissionController.getSubmissionsByStudent(studentId, 1, -1, null, request).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                answerController.getAnswersBySubmission(submissionIds.get(0), 1, 0, 0L, request).getStatusCode());
+    }
+
+    /**
+     * Extrae los identificadores de las entregas de una respuesta.
+     * @param response respuesta del controlador
+     * @return identificadores en el orden devuelto
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Integer> submissionIds(ResponseEntity<?> response) {
+        List<SubmissionSummaryView> submissions = (List<SubmissionSummaryView>) ((HttpResponse<?>) response.getBody()).getData();
+        return submissions.stream().map(SubmissionSummaryView::getId).toList();
+    }
+
+    /**
+     * Extrae los identificadores de las respuestas de una respuesta.
+     * @param response respuesta del controlador
+     * @return identificadores en el orden devuelto
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Long> answerIds(ResponseEntity<?> response) {
+        List<AnswerSummaryView> answers = (List<AnswerSummaryView>) ((HttpResponse<?>) response.getBody()).getData();
+        return answers.stream().map(AnswerSummaryView::getId).toList();
+    }
+
+    /**
+     * Obtiene los metadatos de una respuesta.
+     * @param response respuesta del controlador
+     * @return metadatos de paginación
+     */
+    private static Meta meta(ResponseEntity<?> response) {
+        return ((HttpResponse<?>) response.getBody()).getMeta();
+    }
+}